@@ -0,0 +1,25 @@
+package com.example.llmstub;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+import java.util.Map;
+
+/**
+ * OpenAI 호환 /v1/chat/completions 스텁 서버입니다.
+ * 실제 API 없이 blog-helper 애플리케이션의 부하/지연 테스트를 할 수 있도록
+ * 설정한 지연 시간 분포와 오류 비율로 미리 정해진 JSON 응답을 돌려줍니다.
+ * <p>
+ * 실행: ./gradlew :llm-stub:bootRun
+ * 연결: chatgpt.api-url=http://localhost:9100/v1/chat/completions
+ */
+@SpringBootApplication
+public class LlmStubApplication {
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(LlmStubApplication.class);
+        // 설정 파일이 없어도 blog-helper(9000)와 겹치지 않는 포트로 실행합니다.
+        application.setDefaultProperties(Map.of("server.port", "9100"));
+        application.run(args);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.llmstub.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 스텁 서버의 동작(지연 시간 분포, 스트리밍 속도, 오류 주입)을 설정합니다.
+ * application.yml의 "stub"으로 시작하는 프로퍼티들을 매핑합니다. 모든 값에 기본값이 있으므로 설정 파일 없이도 실행됩니다.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "stub")
+@Getter
+@Setter
+public class StubProperties {
+    // 응답 지연 시간 설정입니다. (stub.latency.*)
+    private final Latency latency = new Latency();
+    // 스트리밍 응답 속도 설정입니다. (stub.streaming.*)
+    private final Streaming streaming = new Streaming();
+    // 오류 주입 설정입니다. (stub.faults.*)
+    private final Faults faults = new Faults();
+
+    /**
+     * 첫 응답(스트리밍이면 첫 조각)까지의 지연 시간 분포입니다.
+     */
+    @Getter
+    @Setter
+    public static class Latency {
+        // 분포 종류입니다.
+        private Distribution distribution = Distribution.LOG_NORMAL;
+        // FIXED: 고정 지연 시간, UNIFORM: 최솟값, LOG_NORMAL: 중앙값(p50)
+        private Duration median = Duration.ofMillis(800);
+        // UNIFORM: 최댓값, LOG_NORMAL: p99
+        private Duration p99 = Duration.ofSeconds(5);
+        // 지연 시간의 상한입니다. 분포의 긴 꼬리가 테스트를 멈추지 않도록 자릅니다.
+        private Duration max = Duration.ofSeconds(30);
+
+        public enum Distribution {
+            FIXED,
+            UNIFORM,
+            LOG_NORMAL
+        }
+    }
+
+    /**
+     * stream: true 요청의 응답 속도입니다.
+     */
+    @Getter
+    @Setter
+    public static class Streaming {
+        // 초당 생성하는 토큰 수입니다.
+        private double tokensPerSecond = 50;
+        // 조각 하나에 담을 글자 수입니다. (대략 토큰 하나)
+        private int charsPerToken = 3;
+    }
+
+    /**
+     * 오류 주입 비율입니다. 요청마다 독립적으로 판정합니다.
+     */
+    @Getter
+    @Setter
+    public static class Faults {
+        // 429(Too Many Requests)로 응답할 비율입니다. (0 ~ 1)
+        private double rateLimitRate = 0;
+        // 429 응답에 넣을 Retry-After 시간입니다.
+        private Duration retryAfter = Duration.ofSeconds(1);
+        // 500/503으로 응답할 비율입니다. (0 ~ 1)
+        private double serverErrorRate = 0;
+        // 응답하지 않고 연결을 붙잡아 두어 클라이언트 타임아웃을 유발할 비율입니다. (0 ~ 1)
+        private double hangRate = 0;
+    }
+}
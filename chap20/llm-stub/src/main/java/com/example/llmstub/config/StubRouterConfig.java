@@ -0,0 +1,22 @@
+package com.example.llmstub.config;
+
+import com.example.llmstub.handler.ChatCompletionHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * OpenAI 호환 경로를 핸들러에 연결합니다.
+ */
+@Configuration
+public class StubRouterConfig {
+
+    @Bean
+    public RouterFunction<ServerResponse> chatCompletionRoutes(ChatCompletionHandler handler) {
+        return route(POST("/v1/chat/completions"), handler::complete);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.llmstub.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * OpenAI chat completions 요청 중 스텁 서버가 사용하는 필드만 매핑합니다.
+ *
+ * @param model         모델 이름 (응답에 그대로 돌려줍니다)
+ * @param messages      메시지 목록
+ * @param stream        true이면 SSE 조각으로 응답합니다.
+ * @param streamOptions 스트리밍 옵션 (include_usage)
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ChatCompletionRequest(
+        String model,
+        List<Message> messages,
+        Boolean stream,
+        @JsonProperty("stream_options") StreamOptions streamOptions
+) {
+
+    public boolean isStream() {
+        return Boolean.TRUE.equals(stream);
+    }
+
+    public boolean includeUsage() {
+        return streamOptions != null && Boolean.TRUE.equals(streamOptions.includeUsage());
+    }
+
+    /**
+     * 모든 메시지(시스템 + 사용자)의 내용을 이어 붙인 문자열입니다. 응답 형식을 고르는 데 사용합니다.
+     * 응답 형식 지시사항은 시스템 메시지에, 키워드 등 데이터는 사용자 메시지에 있을 수 있습니다.
+     */
+    public String promptText() {
+        if (messages == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        for (Message message : messages) {
+            if (message.content() != null) {
+                text.append(message.content()).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Message(String role, String content) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record StreamOptions(@JsonProperty("include_usage") Boolean includeUsage) {
+    }
+}
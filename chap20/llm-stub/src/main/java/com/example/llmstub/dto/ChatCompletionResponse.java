@@ -0,0 +1,44 @@
+package com.example.llmstub.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * OpenAI chat completions 응답 형식입니다. stream이면 object가 "chat.completion.chunk"이고 message 대신 delta를 채웁니다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChatCompletionResponse(
+        String id,
+        String object,
+        long created,
+        String model,
+        List<Choice> choices,
+        Usage usage
+) {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Choice(
+            int index,
+            Message message,
+            Message delta,
+            @JsonProperty("finish_reason") String finishReason
+    ) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Message(String role, String content) {
+    }
+
+    public record Usage(
+            @JsonProperty("prompt_tokens") int promptTokens,
+            @JsonProperty("completion_tokens") int completionTokens,
+            @JsonProperty("total_tokens") int totalTokens
+    ) {
+
+        public static Usage of(int promptTokens, int completionTokens) {
+            return new Usage(promptTokens, completionTokens, promptTokens + completionTokens);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.llmstub.handler;
+
+import com.example.llmstub.config.StubProperties;
+import com.example.llmstub.dto.ChatCompletionRequest;
+import com.example.llmstub.dto.ChatCompletionResponse;
+import com.example.llmstub.service.CannedResponses;
+import com.example.llmstub.service.LatencyModel;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ChatCompletionHandler는 POST /v1/chat/completions 요청을 처리합니다.
+ * <p>
+ * 1. 오류 주입 비율에 따라 429(Retry-After 포함), 500/503, 무응답 중 하나로 실패시킵니다.
+ * 2. 지연 시간 분포에서 뽑은 시간만큼 기다린 뒤 응답합니다.
+ * 3. stream: true이면 설정한 초당 토큰 수 속도로 SSE 조각을 보내고, 마지막에 usage 조각과 [DONE]을 보냅니다.
+ * 토큰 수는 UTF-8 바이트 수 / 3으로 계산합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatCompletionHandler {
+    private static final int BYTES_PER_TOKEN = 3;
+
+    private final StubProperties properties;
+    private final LatencyModel latencyModel;
+    private final CannedResponses cannedResponses;
+    private final ObjectMapper objectMapper;
+
+    public Mono<ServerResponse> complete(ServerRequest serverRequest) {
+        return serverRequest.bodyToMono(ChatCompletionRequest.class)
+                .flatMap(request -> {
+                    Mono<ServerResponse> fault = injectFault();
+                    if (fault != null) {
+                        return fault;
+                    }
+                    String content = cannedResponses.contentFor(request.promptText());
+                    return request.isStream() ? stream(request, content) : respond(request, content);
+                });
+    }
+
+    // 오류를 주입할 요청이면 오류 응답을, 아니면 null을 반환합니다.
+    private Mono<ServerResponse> injectFault() {
+        StubProperties.Faults faults = properties.getFaults();
+        double dice = ThreadLocalRandom.current().nextDouble();
+
+        if (dice < faults.getRateLimitRate()) {
+            Duration retryAfter = faults.getRetryAfter();
+            return ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("retry-after-ms", String.valueOf(retryAfter.toMillis()))
+                    .header("Retry-After", String.valueOf(Math.max(1, retryAfter.toSeconds())))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(error("rate_limit_exceeded", "Rate limit reached (stub)"));
+        }
+        dice -= faults.getRateLimitRate();
+        if (dice < faults.getServerErrorRate()) {
+            HttpStatus status = ThreadLocalRandom.current().nextBoolean()
+                    ? HttpStatus.INTERNAL_SERVER_ERROR
+                    : HttpStatus.SERVICE_UNAVAILABLE;
+            return Mono.delay(latencyModel.sample())
+                    .then(ServerResponse.status(status)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(error("server_error", "Injected server error (stub)")));
+        }
+        dice -= faults.getServerErrorRate();
+        if (dice < faults.getHangRate()) {
+            // 클라이언트가 타임아웃으로 끊을 때까지 응답하지 않습니다.
+            return Mono.never();
+        }
+        return null;
+    }
+
+    private Mono<ServerResponse> respond(ChatCompletionRequest request, String content) {
+        ChatCompletionResponse response = new ChatCompletionResponse(
+                "chatcmpl-" + UUID.randomUUID(),
+                "chat.completion",
+                System.currentTimeMillis() / 1000,
+                request.model(),
+                List.of(new ChatCompletionResponse.Choice(
+                        0, new ChatCompletionResponse.Message("assistant", content), null, "stop")),
+                ChatCompletionResponse.Usage.of(promptTokens(request), tokens(content))
+        );
+        return Mono.delay(latencyModel.sample())
+                .then(ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(response));
+    }
+
+    private Mono<ServerResponse> stream(ChatCompletionRequest request, String content) {
+        String id = "chatcmpl-" + UUID.randomUUID();
+        long created = System.currentTimeMillis() / 1000;
+        StubProperties.Streaming streaming = properties.getStreaming();
+        Duration interval = Duration.ofNanos((long) (1_000_000_000L / Math.max(1.0, streaming.getTokensPerSecond())));
+
+        List<String> pieces = split(content, Math.max(1, streaming.getCharsPerToken()));
+        Flux<ServerSentEvent<String>> deltas = Flux.fromIterable(pieces)
+                .index()
+                .map(indexed -> chunk(id, created, request.model(), new ChatCompletionResponse.Choice(0, null,
+                        new ChatCompletionResponse.Message(indexed.getT1() == 0 ? "assistant" : null, indexed.getT2()),
+                        null), null))
+                .delayElements(interval);
+
+        Flux<ServerSentEvent<String>> tail = Flux.just(chunk(id, created, request.model(),
+                new ChatCompletionResponse.Choice(0, null, new ChatCompletionResponse.Message(null, null), "stop"), null));
+        if (request.includeUsage()) {
+            tail = tail.concatWith(Flux.just(chunk(id, created, request.model(), null,
+                    ChatCompletionResponse.Usage.of(promptTokens(request), tokens(content)))));
+        }
+        Flux<ServerSentEvent<String>> events = Mono.delay(latencyModel.sample())
+                .thenMany(Flux.concat(deltas, tail, Flux.just(ServerSentEvent.builder("[DONE]").build())));
+
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(BodyInserters.fromServerSentEvents(events));
+    }
+
+    private ServerSentEvent<String> chunk(String id, long created, String model,
+                                          ChatCompletionResponse.Choice choice, ChatCompletionResponse.Usage usage) {
+        ChatCompletionResponse chunk = new ChatCompletionResponse(
+                id, "chat.completion.chunk", created, model, choice != null ? List.of(choice) : List.of(), usage);
+        try {
+            return ServerSentEvent.builder(objectMapper.writeValueAsString(chunk)).build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("스텁 스트리밍 조각 생성 실패", e);
+        }
+    }
+
+    private List<String> split(String content, int size) {
+        List<String> pieces = new ArrayList<>();
+        for (int i = 0; i < content.length(); i += size) {
+            pieces.add(content.substring(i, Math.min(content.length(), i + size)));
+        }
+        return pieces;
+    }
+
+    private int promptTokens(ChatCompletionRequest request) {
+        if (request.messages() == null) {
+            return 0;
+        }
+        return request.messages().stream()
+                .mapToInt(message -> tokens(message.content() != null ? message.content() : "") + 4)
+                .sum();
+    }
+
+    private int tokens(String text) {
+        return (text.getBytes(StandardCharsets.UTF_8).length + BYTES_PER_TOKEN - 1) / BYTES_PER_TOKEN;
+    }
+
+    private Map<String, Object> error(String code, String message) {
+        return Map.of("error", Map.of("type", code, "code", code, "message", message));
+    }
+}
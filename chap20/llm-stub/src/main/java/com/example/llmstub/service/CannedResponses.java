@@ -0,0 +1,162 @@
+package com.example.llmstub.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * CannedResponses는 프롬프트가 요청한 JSON 형식에 맞는 미리 정해진 응답을 만듭니다.
+ * <p>
+ * 프롬프트에 포함된 응답 형식의 필드 이름으로 종류를 판단합니다.
+ * - "results": 키워드 배치 분석 (키워드 목록의 키워드마다 결과를 만듭니다)
+ * - "edits": 편집 연산 방식의 포스트 개선 (첫 문장을 교체하는 편집 하나)
+ * - "improvementReason": 포스트 개선 (PostImprovement)
+ * - "relatedKeywords": 키워드 분석 (KeywordAnalysis)
+ * - "title": 초안 생성 (PostGenerationResponse)
+ * - "content": 긴 포스트의 구간 개선 (구간 하나의 개선된 내용)
+ * - 그 밖의 프롬프트: 짧은 일반 텍스트
+ */
+@Component
+@RequiredArgsConstructor
+public class CannedResponses {
+    // 배치 분석 프롬프트의 키워드 목록(JSON 배열) 줄
+    private static final Pattern KEYWORD_ARRAY = Pattern.compile("키워드 목록\\(JSON 배열\\): (\\[.*])");
+    // 단일 키워드 분석 프롬프트의 키워드 줄
+    // 편집 연산 프롬프트의 첫 문장 줄
+    private static final Pattern FIRST_SENTENCE = Pattern.compile("\\[(\\d+)] (.+)");
+    private static final Pattern KEYWORD_LINE = Pattern.compile("(?:주제 )?키워드: (.+)");
+    // 초안 본문 길이 (대략 한국어 블로그 포스트 한 편)
+    private static final int PARAGRAPHS = 8;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param prompt 모든 메시지의 내용
+     * @return 응답 content 문자열
+     */
+    public String contentFor(String prompt) {
+        if (prompt.contains("\"results\"")) {
+            return toJson(Map.of("results", batchResults(prompt)));
+        }
+        if (prompt.contains("\"edits\"")) {
+            return toJson(orderedMap(
+                    "title", "개선된 블로그 포스트 제목",
+                    "edits", firstSentenceEdit(prompt),
+                    "improvementReason", "첫 문장에 핵심 키워드를 배치했습니다."
+            ));
+        }
+        if (prompt.contains("\"improvementReason\"")) {
+            return toJson(orderedMap(
+                    "title", "개선된 블로그 포스트 제목",
+                    "content", postContent("개선된"),
+                    "improvementReason", "문단 구성을 정리하고 핵심 키워드를 제목과 첫 문단에 배치했습니다."
+            ));
+        }
+        if (prompt.contains("\"relatedKeywords\"")) {
+            return toJson(keywordAnalysis(keywordOf(prompt)));
+        }
+        if (prompt.contains("\"title\"")) {
+            String keyword = keywordOf(prompt);
+            return toJson(orderedMap(
+                    "title", keyword + " 완벽 가이드: 처음부터 끝까지",
+                    "content", postContent(keyword)
+            ));
+        }
+        if (prompt.contains("\"content\"")) {
+            return toJson(Map.of("content", postContent("개선된 구간").strip()));
+        }
+        return "스텁 서버의 응답입니다.";
+    }
+
+    private List<Map<String, Object>> firstSentenceEdit(String prompt) {
+        // 시스템 메시지의 예시 대신 사용자 메시지의 문장 목록에서 찾습니다.
+        Matcher matcher = FIRST_SENTENCE.matcher(prompt.substring(Math.max(0, prompt.indexOf("내용:"))));
+        if (!matcher.find()) {
+            return List.of();
+        }
+        String sentence = matcher.group(2).strip();
+        return List.of(orderedMap(
+                "op", "replace",
+                "from", Integer.parseInt(matcher.group(1)),
+                "to", Integer.parseInt(matcher.group(1)),
+                "anchor", sentence.substring(0, Math.min(10, sentence.length())),
+                "text", "개선된 첫 문장입니다."
+        ));
+    }
+
+    private List<Map<String, Object>> batchResults(String prompt) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        Matcher matcher = KEYWORD_ARRAY.matcher(prompt);
+        if (!matcher.find()) {
+            return results;
+        }
+        List<String> keywords = fromJson(matcher.group(1));
+        for (String keyword : keywords) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("keyword", keyword);
+            result.putAll(keywordAnalysis(keyword));
+            results.add(result);
+        }
+        return results;
+    }
+
+    private Map<String, Object> keywordAnalysis(String keyword) {
+        return orderedMap(
+                "relatedKeywords", List.of(keyword + " 추천", keyword + " 후기", keyword + " 비교", keyword + " 가격", keyword + " 입문"),
+                "suggestedTopics", List.of(
+                        keyword + " 처음 시작하는 사람을 위한 가이드",
+                        keyword + " 고를 때 꼭 확인할 5가지",
+                        "직접 써 본 " + keyword + " 장단점 정리"
+                )
+        );
+    }
+
+    private String postContent(String keyword) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= PARAGRAPHS; i++) {
+            content.append(i).append(". ").append(keyword)
+                    .append("에 대해 알아야 할 내용을 정리한 문단입니다. ")
+                    .append("실제 API 응답과 비슷한 길이를 만들기 위해 같은 형식의 문장을 반복합니다.\n");
+        }
+        return content.toString();
+    }
+
+    private String keywordOf(String prompt) {
+        Matcher matcher = KEYWORD_LINE.matcher(prompt);
+        return matcher.find() ? matcher.group(1).trim() : "키워드";
+    }
+
+    private Map<String, Object> orderedMap(Object... keyValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            map.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return map;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("스텁 응답 생성 실패", e);
+        }
+    }
+
+    private List<String> fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, new TypeReference<>() {
+            });
+        } catch (JsonProcessingException e) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.llmstub.service;
+
+import com.example.llmstub.config.StubProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * LatencyModel은 설정한 분포에서 응답 지연 시간을 뽑습니다.
+ * <p>
+ * LOG_NORMAL은 중앙값(median)과 p99로 분포를 정합니다. (sigma = ln(p99 / median) / 2.326)
+ * 실제 LLM API처럼 대부분의 응답은 빠르고 일부 응답이 크게 느린 긴 꼬리를 재현합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LatencyModel {
+    // 표준 정규분포의 99번째 백분위수
+    private static final double Z_99 = 2.326;
+
+    private final StubProperties properties;
+
+    /**
+     * @return 이번 요청의 지연 시간
+     */
+    public Duration sample() {
+        StubProperties.Latency latency = properties.getLatency();
+        long median = latency.getMedian().toMillis();
+        long p99 = Math.max(median, latency.getP99().toMillis());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long millis = switch (latency.getDistribution()) {
+            case FIXED -> median;
+            case UNIFORM -> median + (p99 > median ? random.nextLong(p99 - median + 1) : 0);
+            case LOG_NORMAL -> {
+                if (median <= 0) {
+                    yield 0;
+                }
+                double sigma = Math.log((double) p99 / median) / Z_99;
+                yield Math.round(Math.exp(Math.log(median) + sigma * random.nextGaussian()));
+            }
+        };
+        return Duration.ofMillis(Math.min(millis, latency.getMax().toMillis()));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.llmstub.handler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "stub.latency.distribution=FIXED",
+        "stub.latency.median=0ms",
+        "stub.streaming.tokens-per-second=100000"
+})
+@AutoConfigureWebTestClient
+class ChatCompletionHandlerTest {
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    @DisplayName("키워드 분석 프롬프트에는 KeywordAnalysis 형식의 응답을 준다")
+    void keywordAnalysisResponse() {
+        // given
+        Map<String, Object> request = Map.of(
+                "model", "gpt-4-turbo",
+                "messages", List.of(Map.of("role", "user", "content", """
+                        다음 키워드와 관련된 블로그 주제를 추천해주세요:
+                        키워드: 스타벅스
+                        {
+                            "relatedKeywords": ["연관 키워드1"],
+                            "suggestedTopics": ["추천 주제1"]
+                        }
+                        """))
+        );
+
+        // when & then
+        webTestClient.post().uri("/v1/chat/completions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.choices[0].message.content").value(content ->
+                        assertThat((String) content).contains("스타벅스 추천"))
+                .jsonPath("$.usage.total_tokens").isNumber();
+    }
+
+    @Test
+    @DisplayName("stream 요청에는 SSE 조각과 [DONE]으로 응답한다")
+    void streamingResponse() {
+        // given
+        Map<String, Object> request = Map.of(
+                "model", "gpt-4-turbo",
+                "stream", true,
+                "stream_options", Map.of("include_usage", true),
+                "messages", List.of(Map.of("role", "user", "content", "안녕"))
+        );
+
+        // when
+        List<String> events = webTestClient.post().uri("/v1/chat/completions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // then: 마지막 이벤트는 [DONE], 그 직전은 usage 조각입니다.
+        assertThat(events).isNotNull();
+        assertThat(events.get(events.size() - 1)).isEqualTo("[DONE]");
+        assertThat(events.get(events.size() - 2)).contains("total_tokens");
+    }
+}
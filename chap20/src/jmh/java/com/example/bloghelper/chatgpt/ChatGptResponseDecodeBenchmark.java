@@ -0,0 +1,118 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.dto.ChatGptResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChatGPT 응답 하나를 content 문자열로 꺼낼 때까지의 시간과 할당량을 비교합니다.
+ * <p>
+ * - recordTree: 기존 방식 (WebClient.bodyToMono와 같은 Jackson2JsonDecoder로 버퍼를 모은 뒤 ChatGptResponse 전체를 만듭니다)
+ * - streaming: ChatGptResponseDecoder (버퍼를 모으지 않고 필요한 필드만 읽습니다)
+ * <p>
+ * 실행: ./gradlew jmh  (결과의 gc.alloc.rate.norm이 응답 하나당 할당 바이트 수입니다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChatGptResponseDecodeBenchmark {
+    private static final ResolvableType RESPONSE_TYPE = ResolvableType.forClass(ChatGptResponse.class);
+
+    // 응답 content의 글자 수입니다. (개선된 블로그 글 정도의 길이)
+    @Param({"2000", "8000"})
+    int contentLength;
+
+    // 네트워크에서 한 번에 도착하는 버퍼 크기입니다.
+    @Param({"8192"})
+    int chunkSize;
+
+    private byte[] body;
+    private Jackson2JsonDecoder jacksonDecoder;
+
+    @Setup
+    public void setUp() throws Exception {
+        // WebClient가 쓰는 것과 같은 설정(모르는 필드 무시)입니다.
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        jacksonDecoder = new Jackson2JsonDecoder(objectMapper);
+        jacksonDecoder.setMaxInMemorySize(-1);
+        body = objectMapper.writeValueAsBytes(responseBody(contentLength));
+    }
+
+    @Benchmark
+    public String recordTree() {
+        ChatGptResponse response = (ChatGptResponse) jacksonDecoder
+                .decodeToMono(chunks(), RESPONSE_TYPE, null, Collections.emptyMap())
+                .block();
+        return response.choices().get(0).message().content();
+    }
+
+    @Benchmark
+    public String streaming() {
+        ChatGptResponse response = ChatGptResponseDecoder.decode(chunks()).block();
+        return response.choices().get(0).message().content();
+    }
+
+    // 본문을 chunkSize 단위로 나눈 버퍼 스트림입니다. (바이트는 복사하지 않고 감싸기만 합니다)
+    private Flux<DataBuffer> chunks() {
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += chunkSize) {
+            int length = Math.min(chunkSize, body.length - offset);
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(ByteBuffer.wrap(body, offset, length).slice()));
+        }
+        return Flux.fromIterable(buffers);
+    }
+
+    // 실제 chat/completions 응답과 같은 모양의 본문입니다.
+    private static ObjectNode responseBody(int contentLength) {
+        String paragraph = "검색 엔진 최적화를 위해 제목과 첫 문단에 핵심 키워드를 자연스럽게 배치합니다. \"인용\"과 줄바꿈도 포함합니다.\n";
+        StringBuilder content = new StringBuilder(contentLength);
+        while (content.length() < contentLength) {
+            content.append(paragraph);
+        }
+        content.setLength(contentLength);
+
+        JsonNodeFactory nodes = JsonNodeFactory.instance;
+        ObjectNode root = nodes.objectNode()
+                .put("id", "chatcmpl-benchmark")
+                .put("object", "chat.completion")
+                .put("created", 1_700_000_000L)
+                .put("model", "gpt-4o-mini")
+                .put("system_fingerprint", "fp_benchmark");
+        ObjectNode choice = root.putArray("choices").addObject();
+        choice.put("index", 0);
+        choice.putObject("message")
+                .put("role", "assistant")
+                .put("content", content.toString())
+                .putNull("refusal");
+        choice.putNull("logprobs");
+        choice.put("finish_reason", "stop");
+        ObjectNode usage = root.putObject("usage")
+                .put("prompt_tokens", 1200)
+                .put("completion_tokens", contentLength / 2)
+                .put("total_tokens", 1200 + contentLength / 2);
+        usage.putObject("prompt_tokens_details").put("cached_tokens", 1024);
+        usage.putObject("completion_tokens_details").put("reasoning_tokens", 0);
+        return root;
+    }
+}
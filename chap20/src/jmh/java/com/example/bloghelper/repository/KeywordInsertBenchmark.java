@@ -0,0 +1,98 @@
+package com.example.bloghelper.repository;
+
+import com.example.bloghelper.BlogHelperApplication;
+import com.example.bloghelper.entity.Keyword;
+import com.example.bloghelper.service.TransactionRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 키워드 분석 결과를 저장하는 두 방식의 초당 INSERT 수를 비교합니다.
+ * <p>
+ * - singleRowTransactions: 기존 방식 (분석 결과마다 짧은 트랜잭션 하나에서 keywordRepository.save)
+ * - writeBehind: KeywordWriteBuffer (미리 발급한 id로 대기열에 넣고, 저장 스레드가 JDBC 배치로 저장)
+ * <p>
+ * 두 방식 모두 분석 결과 ROWS개를 CONCURRENCY개씩 동시에 저장하고, 모두 커밋될 때까지를 한 번의 측정으로 봅니다.
+ * H2 메모리 DB에 애플리케이션 컨텍스트(웹 서버 제외)를 띄워 실제 설정 그대로 측정합니다.
+ * <p>
+ * 실행: ./gradlew jmh  (결과 단위는 초당 INSERT 수)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class KeywordInsertBenchmark {
+    private static final int ROWS = 2_000;
+    // 동시에 끝나는 ChatGPT 응답 수에 해당합니다.
+    private static final int CONCURRENCY = 64;
+
+    private ConfigurableApplicationContext context;
+    private KeywordRepository keywordRepository;
+    private TransactionRunner transactionRunner;
+    private KeywordWriteBuffer keywordWriteBuffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BlogHelperApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:keyword_benchmark",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=warn",
+                        "chatgpt.api-key=benchmark",
+                        "chatgpt.api-url=http://localhost:9/v1/chat/completions",
+                        "chatgpt.model=gpt-4o-mini",
+                        "chatgpt.usage.enabled=false"
+                )
+                .run();
+        keywordRepository = context.getBean(KeywordRepository.class);
+        transactionRunner = context.getBean(TransactionRunner.class);
+        keywordWriteBuffer = context.getBean(KeywordWriteBuffer.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public Keyword singleRowTransactions() {
+        return Flux.range(0, ROWS)
+                .flatMap(i -> transactionRunner.write(() -> keywordRepository.save(keyword(i))), CONCURRENCY)
+                .blockLast();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public Keyword writeBehind() {
+        Keyword last = Flux.range(0, ROWS)
+                .flatMap(i -> keywordWriteBuffer.add(keyword(i)), CONCURRENCY)
+                .blockLast();
+        if (!keywordWriteBuffer.flush(Duration.ofSeconds(60))) {
+            throw new IllegalStateException("키워드 저장이 60초 안에 끝나지 않았습니다.");
+        }
+        return last;
+    }
+
+    private static Keyword keyword(int i) {
+        return Keyword.createFromAnalysis("벤치마크 키워드 " + i,
+                "[\"연관 키워드1\",\"연관 키워드2\",\"연관 키워드3\"]",
+                "[\"추천 주제1\",\"추천 주제2\"]");
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.bloghelper.repository;
+
+import com.example.bloghelper.BlogHelperApplication;
+import com.example.bloghelper.entity.Post;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 게시글 하나와 개선 이력 histories개를 한 트랜잭션에서 저장할 때의 시간과 JDBC 문장 수를 비교합니다.
+ * <p>
+ * - batchSize=1: JDBC 배치 없이 행마다 INSERT 하나를 보냅니다. (IDENTITY id를 쓰던 때와 같은 문장 수)
+ * - batchSize=50: 시퀀스(pooled-lo) id와 hibernate.jdbc.batch_size로 같은 테이블의 INSERT를 배치 하나로 묶습니다.
+ * <p>
+ * 문장 수는 Hibernate 통계의 prepareStatementCount(시퀀스 조회 포함)로 세며, 측정 반복이 끝날 때마다 "statements/op"로 출력합니다.
+ * <p>
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostPersistenceBenchmark {
+
+    @Param({"1", "50"})
+    int batchSize;
+
+    // 게시글 하나에 함께 저장할 개선 이력 수입니다.
+    @Param({"10", "100"})
+    int histories;
+
+    private ConfigurableApplicationContext context;
+    private PostRepository postRepository;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private long operations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BlogHelperApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:post_benchmark",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "logging.level.root=warn",
+                        "chatgpt.api-key=benchmark",
+                        "chatgpt.api-url=http://localhost:9/v1/chat/completions",
+                        "chatgpt.model=gpt-4o-mini",
+                        "chatgpt.usage.enabled=false"
+                )
+                .run();
+        postRepository = context.getBean(PostRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        statistics.clear();
+        operations = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportStatements() {
+        if (operations > 0) {
+            System.out.printf("%nbatchSize=%d, histories=%d: statements/op = %.1f%n",
+                    batchSize, histories, (double) statistics.getPrepareStatementCount() / operations);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long savePostWithHistories() {
+        operations++;
+        return transactionTemplate.execute(status -> {
+            Post post = Post.createDraft("벤치마크 제목", "벤치마크 본문입니다.", "벤치마크", "[\"연관 키워드\"]", null);
+            for (int i = 0; i < histories; i++) {
+                post.improve("개선된 제목 " + i, "개선된 본문 " + i, "벤치마크 개선");
+            }
+            return postRepository.save(post).getId();
+        });
+    }
+}
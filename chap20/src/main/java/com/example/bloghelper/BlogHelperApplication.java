@@ -2,8 +2,10 @@ package com.example.bloghelper;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // 토큰 사용량 저장(UsageMeter.flush) 등 주기 작업을 실행합니다.
 public class BlogHelperApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,296 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.config.ChatGptConfig;
+import com.example.bloghelper.exception.ChatGptError;
+import com.example.bloghelper.exception.ChatGptException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * AdmissionScheduler는 ChatGPT API 호출을 시작할 순서를 정하는 입장(admission) 스케줄러입니다.
+ * <p>
+ * - 동시에 진행 중인 호출 수가 maxConcurrentCalls보다 적으면 바로 시작하고, 아니면 대기열에서 기다립니다.
+ * - 우선순위 클래스: 프롬프트 종류별로 대기열을 나누고, 우선순위가 높은 대기열부터 꺼냅니다.
+ *   (기본: 포스트 개선 > 키워드 분석 > 일반 > 초안 생성)
+ * - 같은 클래스 안에서는 회원(이메일)별 가중 공정 큐(start-time fair queuing)로 순서를 정합니다.
+ *   각 호출의 비용은 예상 토큰 수이며, 한 회원이 호출을 몰아서 보내도 다른 회원의 호출이 그 뒤에 밀리지 않습니다.
+ * - 종류별 동시 호출 수는 그 종류의 벌크헤드 한도(chatgpt.bulkhead)를 넘지 않게 시작합니다.
+ *   한도에 도달한 종류의 호출은 벌크헤드에서 바로 거절되는 대신 대기열에서 기다리고, 그동안 다른 종류의 호출이 먼저 시작합니다.
+ * - 대기열이 가득 차거나 maxQueueWait 동안 시작하지 못하면 LocalRejected로 거절합니다.
+ * - 메트릭: chatgpt.scheduler.wait, chatgpt.scheduler.queue.size (type 태그), chatgpt.scheduler.running
+ */
+@Component
+public class AdmissionScheduler {
+    // 회원 정보가 없는 호출(비로그인, 내부 호출 등)에 사용할 이름입니다.
+    public static final String ANONYMOUS = "anonymous";
+
+    private final ChatGptConfig.Scheduler properties;
+    private final Map<PromptType, Timer> waitTimers = new EnumMap<>(PromptType.class);
+
+    // 아래 필드는 모두 this를 잠금으로 사용하여 접근합니다.
+    private final Map<PromptType, ClassQueue> queues = new EnumMap<>(PromptType.class);
+    // 우선순위가 높은 순서로 정렬된 대기열 목록입니다.
+    private final List<ClassQueue> prioritized = new ArrayList<>();
+    private int running;
+    private int queued;
+    private long sequence;
+
+    public AdmissionScheduler(ChatGptConfig chatGptConfig, MeterRegistry meterRegistry) {
+        this.properties = chatGptConfig.getScheduler();
+
+        List<PromptType> order = new ArrayList<>(properties.getPriorities());
+        for (PromptType type : PromptType.values()) {
+            if (!order.contains(type)) {
+                order.add(type);
+            }
+        }
+        for (PromptType type : order) {
+            ClassQueue queue = new ClassQueue(chatGptConfig.getBulkhead().maxConcurrentCallsOf(type));
+            queues.put(type, queue);
+            prioritized.add(queue);
+
+            String tag = type.name().toLowerCase();
+            waitTimers.put(type, Timer.builder("chatgpt.scheduler.wait")
+                    .tag("type", tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            Gauge.builder("chatgpt.scheduler.queue.size", this, scheduler -> scheduler.queueSize(type))
+                    .tag("type", tag)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("chatgpt.scheduler.running", this, AdmissionScheduler::runningCalls).register(meterRegistry);
+    }
+
+    /**
+     * 호출을 스케줄링합니다. 순서가 되면 호출을 시작하고, 호출이 끝나면(성공, 실패, 취소) 자리를 반납합니다.
+     *
+     * @param type   프롬프트 종류 (우선순위 클래스)
+     * @param member 회원 이메일 (null이면 ANONYMOUS)
+     * @param cost   호출 비용 (예상 토큰 수)
+     * @param call   실행할 호출
+     * @param <T>    결과 타입
+     * @return 스케줄링이 적용된 Mono
+     */
+    public <T> Mono<T> schedule(PromptType type, String member, int cost, Mono<T> call) {
+        if (!properties.isEnabled()) {
+            return call;
+        }
+        return admit(type, member, cost)
+                .flatMap(ticket -> call.doFinally(signal -> ticket.release()));
+    }
+
+    /**
+     * 스트리밍 호출을 스케줄링합니다. 스트림이 끝날 때까지 자리를 차지합니다.
+     *
+     * @param type   프롬프트 종류 (우선순위 클래스)
+     * @param member 회원 이메일 (null이면 ANONYMOUS)
+     * @param cost   호출 비용 (예상 토큰 수)
+     * @param stream 실행할 스트리밍 호출
+     * @param <T>    조각 타입
+     * @return 스케줄링이 적용된 Flux
+     */
+    public <T> Flux<T> scheduleMany(PromptType type, String member, int cost, Flux<T> stream) {
+        if (!properties.isEnabled()) {
+            return stream;
+        }
+        return admit(type, member, cost)
+                .flatMapMany(ticket -> stream.doFinally(signal -> ticket.release()));
+    }
+
+    private Mono<Ticket> admit(PromptType type, String member, int cost) {
+        String owner = member != null ? member : ANONYMOUS;
+        double weight = properties.memberWeightOf(owner);
+
+        return Mono.<Ticket>create(sink -> {
+                    Waiter waiter = new Waiter(type, owner, Math.max(1, cost) / weight, sink, System.nanoTime());
+                    sink.onCancel(() -> cancel(waiter));
+                    synchronized (this) {
+                        ClassQueue queue = queues.get(type);
+                        // 같은 종류의 대기열이 비어 있고 전체와 종류별 자리가 남아 있으면 바로 시작합니다.
+                        // (남은 대기 호출은 모두 종류별 한도에 걸린 다른 종류의 호출입니다)
+                        if (running < properties.getMaxConcurrentCalls() && !queue.isSaturated() && queue.size() == 0) {
+                            running++;
+                            queue.running++;
+                            waiter.granted = true;
+                        } else if (queued >= properties.getMaxQueueSize()) {
+                            sink.error(new ChatGptException(
+                                    new ChatGptError.LocalRejected("ChatGPT API 호출 대기열이 가득 찼습니다.")));
+                            return;
+                        } else {
+                            waiter.sequence = sequence++;
+                            queue.add(waiter);
+                            queued++;
+                        }
+                    }
+                    if (waiter.granted) {
+                        grant(waiter);
+                    }
+                })
+                .timeout(properties.getMaxQueueWait())
+                .onErrorMap(TimeoutException.class, e -> new ChatGptException(
+                        new ChatGptError.LocalRejected("ChatGPT API 호출 대기 시간이 초과되었습니다.")))
+                // 취소된 뒤에 발급된 입장권은 바로 반납합니다.
+                .doOnDiscard(Ticket.class, Ticket::release);
+    }
+
+    private void cancel(Waiter waiter) {
+        synchronized (this) {
+            if (waiter.granted || !queues.get(waiter.type).remove(waiter)) {
+                return;
+            }
+            queued--;
+        }
+    }
+
+    // 자리가 남는 만큼 우선순위가 높은 대기열부터 호출을 꺼내 시작시킵니다. 종류별 한도에 도달한 대기열은 건너뜁니다.
+    private void dispatch() {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            while (running < properties.getMaxConcurrentCalls() && queued > 0) {
+                Waiter next = null;
+                for (ClassQueue queue : prioritized) {
+                    if (queue.isSaturated()) {
+                        continue;
+                    }
+                    next = queue.poll();
+                    if (next != null) {
+                        queue.running++;
+                        break;
+                    }
+                }
+                if (next == null) {
+                    break;
+                }
+                queued--;
+                running++;
+                next.granted = true;
+                granted.add(next);
+            }
+        }
+        // 구독자에게 신호를 보내는 작업은 잠금 밖에서 수행합니다.
+        granted.forEach(this::grant);
+    }
+
+    private void grant(Waiter waiter) {
+        waitTimers.get(waiter.type).record(System.nanoTime() - waiter.enqueuedNanos, TimeUnit.NANOSECONDS);
+        waiter.sink.success(new Ticket(waiter.type));
+    }
+
+    private synchronized int queueSize(PromptType type) {
+        return queues.get(type).size();
+    }
+
+    private synchronized int runningCalls() {
+        return running;
+    }
+
+    /**
+     * 프롬프트 종류 하나의 대기열입니다. (this 잠금 안에서만 사용)
+     * 회원별로 마지막 호출의 종료 태그를 기억하여, 새 호출의 시작 태그 = max(가상 시각, 같은 회원의 마지막 종료 태그)로 정하고
+     * 시작 태그가 작은 순서로 꺼냅니다.
+     */
+    private static final class ClassQueue {
+        private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(
+                Comparator.comparingDouble((Waiter waiter) -> waiter.startTag).thenComparingLong(waiter -> waiter.sequence));
+        private final Map<String, Double> lastFinishTags = new HashMap<>();
+        // 이 종류에서 동시에 진행할 수 있는 최대 호출 수(벌크헤드 한도)와 진행 중인 호출 수입니다.
+        private final int maxRunning;
+        private int running;
+        private double virtualTime;
+
+        ClassQueue(int maxRunning) {
+            this.maxRunning = maxRunning;
+        }
+
+        boolean isSaturated() {
+            return running >= maxRunning;
+        }
+
+        void add(Waiter waiter) {
+            waiter.startTag = Math.max(virtualTime, lastFinishTags.getOrDefault(waiter.member, 0.0));
+            lastFinishTags.put(waiter.member, waiter.startTag + waiter.weightedCost);
+            waiters.add(waiter);
+        }
+
+        Waiter poll() {
+            Waiter waiter = waiters.poll();
+            if (waiter == null) {
+                return null;
+            }
+            virtualTime = waiter.startTag;
+            if (waiters.isEmpty()) {
+                // 대기열이 비면 회원별 기록이 더 이상 필요 없습니다.
+                lastFinishTags.clear();
+            }
+            return waiter;
+        }
+
+        boolean remove(Waiter waiter) {
+            return waiters.remove(waiter);
+        }
+
+        int size() {
+            return waiters.size();
+        }
+    }
+
+    /**
+     * 대기열에 들어간 호출입니다.
+     */
+    private static final class Waiter {
+        private final PromptType type;
+        private final String member;
+        private final double weightedCost;
+        private final MonoSink<Ticket> sink;
+        private final long enqueuedNanos;
+        private long sequence;
+        private double startTag;
+        private boolean granted;
+
+        private Waiter(PromptType type, String member, double weightedCost, MonoSink<Ticket> sink, long enqueuedNanos) {
+            this.type = type;
+            this.member = member;
+            this.weightedCost = weightedCost;
+            this.sink = sink;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+
+    /**
+     * 호출을 시작할 수 있는 입장권입니다. 호출이 끝나면 한 번만 반납됩니다.
+     */
+    private final class Ticket {
+        private final PromptType type;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Ticket(PromptType type) {
+            this.type = type;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                synchronized (AdmissionScheduler.this) {
+                    running--;
+                    queues.get(type).running--;
+                }
+                dispatch();
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.bloghelper.chatgpt;
+
+import java.time.Duration;
+
+/**
+ * CallBudget은 원래 호출 수에 비례하여 추가 호출(재시도, 헤지 요청 등)을 허용하는 예산입니다.
+ * <p>
+ * 고정 길이 윈도우 안에서 "추가 호출 수 <= max(최소 허용치, 원래 호출 수 x 비율)"을 유지합니다.
+ * 업스트림 장애로 모든 호출이 실패하더라도 추가 호출이 원래 호출의 일정 비율을 넘지 않으므로
+ * 재시도 폭주(retry storm)로 장애를 키우지 않습니다.
+ */
+public class CallBudget {
+    private final double ratio;
+    private final int minPerWindow;
+    private final long windowNanos;
+
+    // 아래 필드는 모두 this를 잠금으로 사용하여 접근합니다.
+    private long windowStart;
+    private long calls;
+    private long extraCalls;
+
+    /**
+     * @param ratio        원래 호출 수 대비 허용할 추가 호출 비율 (예: 0.1)
+     * @param minPerWindow 호출이 적을 때도 허용할 윈도우당 최소 추가 호출 수
+     * @param window       예산을 계산하는 윈도우 길이
+     */
+    public CallBudget(double ratio, int minPerWindow, Duration window) {
+        this.ratio = ratio;
+        this.minPerWindow = minPerWindow;
+        this.windowNanos = window.toNanos();
+        this.windowStart = System.nanoTime();
+    }
+
+    /**
+     * 원래 호출 한 건을 기록합니다.
+     */
+    public synchronized void recordCall() {
+        roll();
+        calls++;
+    }
+
+    /**
+     * 추가 호출 한 건을 사용할 수 있으면 사용하고 true를 반환합니다.
+     *
+     * @return 예산이 남아 있으면 true, 소진되었으면 false
+     */
+    public synchronized boolean tryAcquire() {
+        roll();
+        long allowed = Math.max(minPerWindow, (long) (calls * ratio));
+        if (extraCalls >= allowed) {
+            return false;
+        }
+        extraCalls++;
+        return true;
+    }
+
+    // 윈도우가 지났으면 카운터를 초기화합니다.
+    private void roll() {
+        long now = System.nanoTime();
+        if (now - windowStart >= windowNanos) {
+            windowStart = now;
+            calls = 0;
+            extraCalls = 0;
+        }
+    }
+}
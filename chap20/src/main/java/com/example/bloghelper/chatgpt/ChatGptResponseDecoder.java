@@ -0,0 +1,187 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.dto.ChatGptResponse;
+import com.example.bloghelper.exception.ChatGptError;
+import com.example.bloghelper.exception.ChatGptException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * ChatGptResponseDecoder는 ChatGPT 응답 바디를 도착하는 DataBuffer 단위로 바로 해석합니다.
+ * <p>
+ * - 응답 전체를 하나의 버퍼로 모으지 않고, Netty 버퍼의 ByteBuffer를 복사 없이 Jackson 논블로킹 파서에 넣습니다.
+ * - 토큰을 읽으면서 choices[0].message.content, choices[0].finish_reason, usage만 꺼내고 나머지 필드는 객체를 만들지 않고 건너뜁니다.
+ * - content는 UTF-8 바이트에서 String으로 한 번만 만들어집니다. 이 String은 캐시와 중복 요청 병합에 그대로 쓰이고,
+ *   이후의 타입 변환(JsonConverter)도 추가 복사 없이 이 String을 직접 읽습니다.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ChatGptResponseDecoder {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * 응답 바디를 해석합니다. 해석에 사용한 버퍼는 바로 반납합니다.
+     *
+     * @param body 응답 바디 버퍼 스트림
+     * @return 필요한 필드만 채운 ChatGptResponse (id, object는 null)
+     */
+    public static Mono<ChatGptResponse> decode(Flux<DataBuffer> body) {
+        return Mono.using(
+                ResponseReader::new,
+                reader -> body
+                        .doOnNext(buffer -> {
+                            try {
+                                reader.feed(buffer);
+                            } finally {
+                                DataBufferUtils.release(buffer);
+                            }
+                        })
+                        .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                        .then(Mono.fromCallable(reader::finish)),
+                ResponseReader::close
+        );
+    }
+
+    /**
+     * 응답 하나를 해석하는 동안의 파서와 꺼낸 값입니다. (한 구독 안에서 순서대로만 사용)
+     */
+    private static final class ResponseReader {
+        private final JsonParser parser;
+        private final ByteBufferFeeder feeder;
+        private boolean sawChoice;
+        private String content;
+        private String role;
+        private String finishReason;
+        private Integer promptTokens;
+        private Integer completionTokens;
+        private Integer totalTokens;
+        private Integer cachedTokens;
+
+        private ResponseReader() {
+            try {
+                this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+            } catch (IOException e) {
+                throw new IllegalStateException("JSON 파서를 만들 수 없습니다.", e);
+            }
+            this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        private void feed(DataBuffer buffer) {
+            try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    ByteBuffer byteBuffer = iterator.next();
+                    feeder.feedInput(byteBuffer);
+                    // 파서가 버퍼를 모두 읽어야(NOT_AVAILABLE) 다음 입력을 넣을 수 있습니다.
+                    drain();
+                }
+            } catch (IOException e) {
+                throw invalidResponse(e);
+            }
+        }
+
+        private ChatGptResponse finish() {
+            try {
+                feeder.endOfInput();
+                drain();
+            } catch (IOException e) {
+                throw invalidResponse(e);
+            }
+            if (!sawChoice) {
+                throw new ChatGptException(new ChatGptError.ServerError("ChatGPT API 응답에 choices가 없습니다."));
+            }
+            ChatGptResponse.Usage usage = promptTokens == null && completionTokens == null ? null
+                    : new ChatGptResponse.Usage(promptTokens, completionTokens, totalTokens,
+                    cachedTokens != null ? new ChatGptResponse.PromptTokensDetails(cachedTokens) : null);
+            return new ChatGptResponse(null, null,
+                    List.of(new ChatGptResponse.Choice(new ChatGptResponse.Message(role, content), 0, finishReason)),
+                    usage);
+        }
+
+        private void drain() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (token == JsonToken.START_OBJECT && isFirstChoice(parser.getParsingContext())) {
+                    sawChoice = true;
+                } else if (token.isScalarValue()) {
+                    onValue(token, parser.getParsingContext());
+                }
+            }
+        }
+
+        // 값 토큰 하나를 경로에 따라 필요한 필드에 담습니다. 필요 없는 값은 문자열로 만들지 않습니다.
+        private void onValue(JsonToken token, JsonStreamContext context) throws IOException {
+            String field = context.getCurrentName();
+            JsonStreamContext parent = context.getParent();
+            if (field == null || parent == null || !context.inObject()) {
+                return;
+            }
+            if (isRootField(context, "usage")) {
+                if (token == JsonToken.VALUE_NUMBER_INT) {
+                    switch (field) {
+                        case "prompt_tokens" -> promptTokens = parser.getIntValue();
+                        case "completion_tokens" -> completionTokens = parser.getIntValue();
+                        case "total_tokens" -> totalTokens = parser.getIntValue();
+                        default -> {
+                        }
+                    }
+                }
+            } else if ("prompt_tokens_details".equals(parent.getCurrentName()) && parent.inObject() && isRootField(parent, "usage")) {
+                if (token == JsonToken.VALUE_NUMBER_INT && "cached_tokens".equals(field)) {
+                    cachedTokens = parser.getIntValue();
+                }
+            } else if (isFirstChoice(context)) {
+                if (token == JsonToken.VALUE_STRING && "finish_reason".equals(field)) {
+                    finishReason = parser.getText();
+                }
+            } else if ("message".equals(parent.getCurrentName()) && isFirstChoice(parent)) {
+                if (token == JsonToken.VALUE_STRING) {
+                    switch (field) {
+                        case "content" -> content = parser.getText();
+                        case "role" -> role = parser.getText();
+                        default -> {
+                        }
+                    }
+                }
+            }
+        }
+
+        // context가 최상위 객체의 name 필드 값(객체/배열)인지 확인합니다.
+        private static boolean isRootField(JsonStreamContext context, String name) {
+            JsonStreamContext parent = context.getParent();
+            return parent != null && parent.inObject()
+                    && parent.getParent() != null && parent.getParent().inRoot()
+                    && name.equals(parent.getCurrentName());
+        }
+
+        // context가 choices 배열의 첫 번째 객체인지 확인합니다.
+        private static boolean isFirstChoice(JsonStreamContext context) {
+            JsonStreamContext parent = context.getParent();
+            return context.inObject() && parent != null && parent.inArray()
+                    && parent.getCurrentIndex() == 0 && isRootField(parent, "choices");
+        }
+
+        private ChatGptException invalidResponse(IOException e) {
+            return new ChatGptException(new ChatGptError.ServerError("ChatGPT API 응답을 해석할 수 없습니다: " + e.getMessage()));
+        }
+
+        private void close() {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // 메모리 버퍼만 사용하므로 닫을 때 실패할 일이 없습니다.
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.config.ChatGptConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * CompletionCache는 ChatGPT 응답을 메모리에 보관하는 내용 기반(content-addressed) 캐시입니다.
+ * <p>
+ * - 키: CompletionKey로 만든 (모델, temperature, 최대 토큰 수, 메시지) 해시
+ * - 제거 정책: Caffeine의 W-TinyLFU, 전체 무게(문자 수) 상한을 넘으면 덜 쓰이는 항목부터 제거
+ * - 만료: 프롬프트 종류별 TTL (chatgpt.cache.ttl)
+ * - 메트릭: cache.gets(hit/miss), cache.evictions 등을 "chatgpt.completion" 이름으로 등록
+ */
+@Component
+public class CompletionCache {
+    private final ChatGptConfig.Cache properties;
+    private final Cache<String, CachedCompletion> cache;
+
+    public CompletionCache(ChatGptConfig chatGptConfig, MeterRegistry meterRegistry) {
+        this.properties = chatGptConfig.getCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumWeight())
+                .weigher((String key, CachedCompletion value) -> key.length() + value.content().length())
+                .expireAfter(new PerTypeExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "chatgpt.completion");
+    }
+
+    /**
+     * 캐시를 사용할 수 있는 요청인지 확인합니다.
+     *
+     * @param options 호출 옵션
+     * @return 캐시가 켜져 있고, 우회 요청이 아니며, 해당 프롬프트 종류의 TTL이 0보다 크면 true
+     */
+    public boolean isCacheable(CompletionOptions options) {
+        return properties.isEnabled()
+                && !options.bypassCache()
+                && properties.ttlOf(options.type()).isPositive();
+    }
+
+    /**
+     * 캐시된 응답을 조회합니다.
+     *
+     * @param key CompletionKey로 만든 키
+     * @return 캐시된 응답 내용, 없으면 Optional.empty()
+     */
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(cache.getIfPresent(key))
+                .map(CachedCompletion::content);
+    }
+
+    /**
+     * 응답을 캐시에 저장합니다.
+     *
+     * @param key     CompletionKey로 만든 키
+     * @param type    프롬프트 종류 (TTL 결정에 사용)
+     * @param content 저장할 응답 내용
+     */
+    public void put(String key, PromptType type, String content) {
+        cache.put(key, new CachedCompletion(type, content));
+    }
+
+    /**
+     * 캐시 항목입니다. TTL을 항목마다 계산하기 위해 프롬프트 종류를 함께 보관합니다.
+     */
+    private record CachedCompletion(PromptType type, String content) {
+    }
+
+    /**
+     * 항목의 프롬프트 종류에 따라 만료 시간을 정하는 Expiry 구현입니다.
+     * 읽기는 만료 시간을 연장하지 않습니다.
+     */
+    private class PerTypeExpiry implements Expiry<String, CachedCompletion> {
+        @Override
+        public long expireAfterCreate(String key, CachedCompletion value, long currentTime) {
+            return ttlNanos(value);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedCompletion value, long currentTime, long currentDuration) {
+            return ttlNanos(value);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedCompletion value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private long ttlNanos(CachedCompletion value) {
+            Duration ttl = properties.ttlOf(value.type());
+            return ttl.toNanos();
+        }
+    }
+}
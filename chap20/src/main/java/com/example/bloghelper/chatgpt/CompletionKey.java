@@ -0,0 +1,52 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.dto.ChatGptRequest;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * CompletionKey는 ChatGPT 요청을 내용 기반(content-addressed)으로 식별하는 키를 만듭니다.
+ * <p>
+ * 모델, temperature, 최대 토큰 수, 메시지(역할 + 내용)가 모두 같으면 같은 키가 생성되므로
+ * 캐시나 중복 요청 병합의 식별자로 사용할 수 있습니다.
+ * 모델은 요청을 만들 때의 모델(chatgpt.model)이며, 요청을 실제로 보낼 업스트림 대상의 모델이 아닙니다.
+ * 대상은 키를 만든 뒤 시도마다 고르므로(재시도 시 다른 대상으로 넘어갈 수 있음), 모델이 다른 대상들도 같은 키를 공유합니다.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CompletionKey {
+    // 필드 사이의 경계를 표시하는 구분자 (프롬프트에 등장하지 않는 문자)
+    private static final char SEPARATOR = '\u0000';
+
+    /**
+     * 요청 객체의 SHA-256 해시를 16진수 문자열로 반환합니다.
+     *
+     * @param request 키를 만들 ChatGptRequest
+     * @return 64자리 16진수 해시 문자열
+     */
+    public static String of(ChatGptRequest request) {
+        StringBuilder source = new StringBuilder()
+                .append(request.model()).append(SEPARATOR)
+                .append(request.temperature()).append(SEPARATOR)
+                .append(request.maxTokens());
+        for (ChatGptRequest.Message message : request.messages()) {
+            source.append(SEPARATOR).append(message.role())
+                    .append(SEPARATOR).append(message.content());
+        }
+        return sha256(source.toString());
+    }
+
+    private static String sha256(String source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256은 모든 JVM이 반드시 제공해야 하는 알고리즘입니다.
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+}
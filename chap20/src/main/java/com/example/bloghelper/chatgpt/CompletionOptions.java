@@ -0,0 +1,55 @@
+package com.example.bloghelper.chatgpt;
+
+/**
+ * ChatGptService 호출 한 번에 적용할 옵션을 담는 record입니다.
+ *
+ * @param type        프롬프트 용도 (캐시 TTL 등 정책 선택 기준)
+ * @param bypassCache true이면 캐시를 조회하지도, 저장하지도 않고 항상 API를 호출합니다.
+ * @param hedge       true이면 응답이 늦을 때 같은 요청을 한 번 더 보내 먼저 끝난 응답을 사용합니다. (짧은 프롬프트용)
+ * @param member      호출한 회원의 이메일 (회원별 공정 스케줄링 기준, null이면 비회원으로 처리)
+ */
+public record CompletionOptions(
+        PromptType type,
+        boolean bypassCache,
+        boolean hedge,
+        String member
+) {
+
+    /**
+     * 기본 옵션(캐시 사용)으로 CompletionOptions를 생성합니다.
+     *
+     * @param type 프롬프트 용도
+     * @return CompletionOptions 객체
+     */
+    public static CompletionOptions of(PromptType type) {
+        return new CompletionOptions(type, false, false, null);
+    }
+
+    /**
+     * 캐시를 우회하도록 설정한 복사본을 반환합니다.
+     *
+     * @return bypassCache가 true인 CompletionOptions 객체
+     */
+    public CompletionOptions withoutCache() {
+        return new CompletionOptions(type, true, hedge, member);
+    }
+
+    /**
+     * 헤지 요청을 사용하도록 설정한 복사본을 반환합니다.
+     *
+     * @return hedge가 true인 CompletionOptions 객체
+     */
+    public CompletionOptions withHedging() {
+        return new CompletionOptions(type, bypassCache, true, member);
+    }
+
+    /**
+     * 호출한 회원을 지정한 복사본을 반환합니다.
+     *
+     * @param member 회원 이메일 (JWT 인증 정보)
+     * @return member가 지정된 CompletionOptions 객체
+     */
+    public CompletionOptions forMember(String member) {
+        return new CompletionOptions(type, bypassCache, hedge, member);
+    }
+}
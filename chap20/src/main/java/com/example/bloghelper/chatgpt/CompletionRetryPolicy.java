@@ -0,0 +1,174 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.config.ChatGptConfig;
+import com.example.bloghelper.exception.ChatGptError;
+import com.example.bloghelper.exception.ChatGptException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * CompletionRetryPolicy는 ChatGPT API 호출이 일시적인 오류로 실패했을 때의 재시도 정책입니다.
+ * <p>
+ * - 재시도 대상: ServerError(5xx), RateLimited(429), 408 응답, 연결/타임아웃 등 네트워크 오류
+ * - 대기 시간: 지수 백오프 + Full Jitter (0 ~ min(maxBackoff, initialBackoff x 2^n) 사이의 무작위 값)
+ * - Retry-After: 429 응답에 Retry-After가 있으면 최소 그 시간만큼 기다리고, maxRetryAfter보다 길면 재시도하지 않습니다.
+ * - 재시도 예산: 윈도우 안의 원래 호출 수 대비 일정 비율까지만 재시도하여 재시도 폭주를 막습니다.
+ * - 메트릭: chatgpt.retry.attempts, chatgpt.retry.budget.exhausted
+ */
+@Component
+@Slf4j
+public class CompletionRetryPolicy {
+    // OpenAI가 밀리초 단위로 알려주는 재시도 대기 시간 헤더
+    private static final String RETRY_AFTER_MS = "retry-after-ms";
+
+    private final ChatGptConfig.Retry properties;
+    private final CallBudget budget;
+    private final Counter attempts;
+    private final Counter budgetExhausted;
+
+    public CompletionRetryPolicy(ChatGptConfig chatGptConfig, MeterRegistry meterRegistry) {
+        this.properties = chatGptConfig.getRetry();
+        this.budget = new CallBudget(
+                properties.getBudgetRatio(),
+                properties.getBudgetMinPerWindow(),
+                properties.getBudgetWindow()
+        );
+        this.attempts = meterRegistry.counter("chatgpt.retry.attempts");
+        this.budgetExhausted = meterRegistry.counter("chatgpt.retry.budget.exhausted");
+    }
+
+    /**
+     * 호출에 재시도 정책을 적용합니다. 원래 호출 한 건을 예산에 기록합니다.
+     *
+     * @param call 재시도할 호출 (재구독 시 새로 호출되어야 합니다)
+     * @param <T>  결과 타입
+     * @return 재시도 정책이 적용된 Mono
+     */
+    public <T> Mono<T> apply(Mono<T> call) {
+        if (!properties.isEnabled() || properties.getMaxAttempts() <= 1) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            budget.recordCall();
+            return call.retryWhen(retrySpec());
+        });
+    }
+
+    private Retry retrySpec() {
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+            long retries = signal.totalRetries();
+
+            if (retries + 1 >= properties.getMaxAttempts() || !isRetryable(failure)) {
+                return Mono.<Long>error(failure);
+            }
+            Duration retryAfter = retryAfter(failure);
+            if (retryAfter != null && retryAfter.compareTo(properties.getMaxRetryAfter()) > 0) {
+                // 너무 오래 기다려야 하면 재시도하지 않고 바로 실패합니다.
+                return Mono.<Long>error(failure);
+            }
+            if (!budget.tryAcquire()) {
+                budgetExhausted.increment();
+                log.warn("재시도 예산 소진으로 재시도하지 않습니다: {}", failure.getMessage());
+                return Mono.<Long>error(failure);
+            }
+
+            Duration delay = backoff(retries, retryAfter);
+            attempts.increment();
+            log.info("ChatGPT API 재시도 {}회차, {}ms 후 재시도: {}", retries + 1, delay.toMillis(), failure.getMessage());
+            return Mono.delay(delay);
+        }));
+    }
+
+    /**
+     * 실패 원인이 재시도로 해결될 수 있는 일시적인 오류인지 판단합니다.
+     *
+     * @param failure 실패 원인
+     * @return 재시도 대상이면 true
+     */
+    static boolean isRetryable(Throwable failure) {
+        if (failure instanceof ChatGptException e) {
+            if (e.getError() instanceof ChatGptError.ServerError || e.getError() instanceof ChatGptError.RateLimited) {
+                return true;
+            }
+            // 4xx 중 408(Request Timeout)만 재시도합니다.
+            return e.getStatus() != null && e.getStatus().value() == HttpStatus.REQUEST_TIMEOUT.value();
+        }
+        // 연결 실패, 응답 타임아웃, 커넥션 조기 종료 등
+        return failure instanceof WebClientRequestException
+                || failure instanceof TimeoutException;
+    }
+
+    /**
+     * 재시도 대기 시간을 계산합니다. (Full Jitter)
+     *
+     * @param retries    지금까지의 재시도 횟수 (0부터 시작)
+     * @param retryAfter 서버가 알려준 최소 대기 시간 (없으면 null)
+     * @return 대기 시간
+     */
+    private Duration backoff(long retries, Duration retryAfter) {
+        long ceiling = Math.min(
+                properties.getMaxBackoff().toMillis(),
+                properties.getInitialBackoff().toMillis() << Math.min(retries, 20)
+        );
+        Duration jittered = Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        if (retryAfter != null && retryAfter.compareTo(jittered) > 0) {
+            return retryAfter;
+        }
+        return jittered;
+    }
+
+    private Duration retryAfter(Throwable failure) {
+        if (failure instanceof ChatGptException e && e.getError() instanceof ChatGptError.RateLimited rateLimited) {
+            return rateLimited.retryAfter();
+        }
+        return null;
+    }
+
+    /**
+     * 응답 헤더에서 재시도 대기 시간을 읽습니다.
+     * retry-after-ms(밀리초), Retry-After(초 또는 HTTP 날짜) 순서로 확인합니다.
+     *
+     * @param headers 응답 헤더
+     * @return 대기 시간, 헤더가 없거나 해석할 수 없으면 null
+     */
+    public static Duration parseRetryAfter(HttpHeaders headers) {
+        String millis = headers.getFirst(RETRY_AFTER_MS);
+        if (millis != null) {
+            try {
+                return Duration.ofMillis((long) Double.parseDouble(millis.trim()));
+            } catch (NumberFormatException ignored) {
+                // 다음 헤더를 확인합니다.
+            }
+        }
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime retryAt = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration wait = Duration.between(ZonedDateTime.now(retryAt.getZone()), retryAt);
+                return wait.isNegative() ? Duration.ZERO : wait;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+}
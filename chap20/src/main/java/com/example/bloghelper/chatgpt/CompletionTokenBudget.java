@@ -0,0 +1,108 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.config.ChatGptConfig;
+import com.example.bloghelper.dto.ChatGptResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * CompletionTokenBudget은 프롬프트 종류별 응답 최대 토큰 수(max_completion_tokens)를 정합니다.
+ * <p>
+ * - 상한: 최근 응답 길이(completion_tokens)의 백분위수(기본 p99) x 여유 배수를
+ *   minCompletionTokens ~ max-completion-tokens 범위로 제한하고, 컨텍스트 윈도우에 남은 토큰 수를 넘지 않게 합니다.
+ * - 샘플이 부족하면 설정된 max-completion-tokens를 그대로 사용합니다.
+ * - 상한이 작을수록 분당 토큰 한도에서 적게 차감되어 빨리 시작하고, 비정상적으로 긴 응답은 일찍 끊깁니다.
+ *   상한 때문에 잘린 응답(finish_reason = "length")은 호출하는 쪽에서 원래 상한으로 다시 요청합니다.
+ * - 메트릭: chatgpt.completion.tokens, chatgpt.completion.tokens.cap, chatgpt.completion.truncated (모두 type 태그)
+ */
+@Component
+public class CompletionTokenBudget {
+    // 응답 길이 제한으로 잘린 응답의 finish_reason 값입니다.
+    private static final String FINISH_REASON_LENGTH = "length";
+
+    private final ChatGptConfig.Tokens properties;
+    private final Integer maxCompletionTokens;
+    private final Map<PromptType, RollingPercentile> samples = new EnumMap<>(PromptType.class);
+    private final Map<PromptType, DistributionSummary> completionTokens = new EnumMap<>(PromptType.class);
+    private final Map<PromptType, Counter> truncated = new EnumMap<>(PromptType.class);
+
+    public CompletionTokenBudget(ChatGptConfig chatGptConfig, MeterRegistry meterRegistry) {
+        this.properties = chatGptConfig.getTokens();
+        this.maxCompletionTokens = chatGptConfig.getMaxCompletionTokens();
+        for (PromptType type : PromptType.values()) {
+            String tag = type.name().toLowerCase();
+            samples.put(type, new RollingPercentile(properties.getSampleSize()));
+            completionTokens.put(type, DistributionSummary.builder("chatgpt.completion.tokens")
+                    .tag("type", tag)
+                    .baseUnit("tokens")
+                    .register(meterRegistry));
+            truncated.put(type, meterRegistry.counter("chatgpt.completion.truncated", "type", tag));
+            Gauge.builder("chatgpt.completion.tokens.cap", this, budget -> {
+                        Integer cap = budget.maxTokensOf(type, 0);
+                        return cap != null ? cap : Double.NaN;
+                    })
+                    .tag("type", tag)
+                    .baseUnit("tokens")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 요청에 사용할 응답 최대 토큰 수를 계산합니다.
+     *
+     * @param type         프롬프트 종류
+     * @param promptTokens 프롬프트 토큰 수
+     * @return 응답 최대 토큰 수 (max-completion-tokens가 설정되지 않았으면 null)
+     */
+    public Integer maxTokensOf(PromptType type, int promptTokens) {
+        if (maxCompletionTokens == null) {
+            return null;
+        }
+        int cap = maxCompletionTokens;
+        if (properties.isDynamicCompletionTokens()) {
+            long observed = samples.get(type).percentile(properties.getCompletionPercentile(), properties.getMinSamples());
+            if (observed >= 0) {
+                long withHeadroom = (long) Math.ceil(observed * properties.getCompletionHeadroom());
+                cap = (int) Math.max(properties.getMinCompletionTokens(), Math.min(maxCompletionTokens, withHeadroom));
+            }
+        }
+        // 프롬프트와 응답의 합이 컨텍스트 윈도우를 넘지 않도록 합니다.
+        return Math.max(1, Math.min(cap, properties.getContextWindow() - promptTokens));
+    }
+
+    /**
+     * 응답의 토큰 사용량을 기록합니다. 잘린 응답은 실제 필요한 길이를 알 수 없으므로 샘플로 사용하지 않습니다.
+     *
+     * @param type     프롬프트 종류
+     * @param response ChatGPT 응답
+     */
+    public void record(PromptType type, ChatGptResponse response) {
+        if (isTruncated(response)) {
+            truncated.get(type).increment();
+            return;
+        }
+        if (response.usage() == null || response.usage().completionTokens() == null) {
+            return;
+        }
+        int tokens = response.usage().completionTokens();
+        samples.get(type).record(tokens);
+        completionTokens.get(type).record(tokens);
+    }
+
+    /**
+     * 응답이 최대 토큰 수에 걸려 잘렸는지 확인합니다.
+     *
+     * @param response ChatGPT 응답
+     * @return 잘렸으면 true
+     */
+    public static boolean isTruncated(ChatGptResponse response) {
+        return response.choices() != null && !response.choices().isEmpty()
+                && FINISH_REASON_LENGTH.equals(response.choices().get(0).finishReason());
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.config.ChatGptConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * HedgingPolicy는 응답이 늦는 호출에 같은 요청을 한 번 더 보내(헤지) 꼬리 지연(p99)을 줄입니다.
+ * <p>
+ * - 대기 시간: 프롬프트 종류별 최근 성공 응답 시간의 백분위수(기본 p95)를 minDelay ~ maxDelay 범위로 제한한 값
+ * - 경쟁: 첫 요청과 헤지 요청 중 먼저 성공한 쪽을 사용하고, 나머지는 구독을 취소하여 연결을 끊습니다.
+ *   한쪽이 실패해도 다른 쪽이 진행 중이면 그 결과를 기다리고, 둘 다 실패하면 첫 요청의 오류를 전달합니다.
+ *   헤지 요청을 보내기 전에 첫 요청이 실패하면 헤지하지 않고 바로 오류를 전달합니다. (재시도는 바깥의 재시도 정책이 담당)
+ * - 헤지 예산: 윈도우 안의 호출 수 대비 일정 비율까지만 헤지 요청을 보내 비용 증가를 제한합니다.
+ * - 메트릭: chatgpt.hedge.calls, chatgpt.hedge.launched, chatgpt.hedge.won, chatgpt.hedge.budget.exhausted,
+ *   chatgpt.hedge.delay (모두 type 태그)
+ *   헤지 비율 = launched / calls, 승률 = won / launched
+ */
+@Component
+@Slf4j
+public class HedgingPolicy {
+    private static final int HEDGE_NOT_STARTED = 0;
+    private static final int HEDGE_IN_FLIGHT = 1;
+    private static final int HEDGE_FAILED = 2;
+
+    private final ChatGptConfig.Hedge properties;
+    private final CallBudget budget;
+    private final Map<PromptType, RollingPercentile> windows = new EnumMap<>(PromptType.class);
+    private final Map<PromptType, Counter> calls = new EnumMap<>(PromptType.class);
+    private final Map<PromptType, Counter> launched = new EnumMap<>(PromptType.class);
+    private final Map<PromptType, Counter> won = new EnumMap<>(PromptType.class);
+    private final Counter budgetExhausted;
+
+    public HedgingPolicy(ChatGptConfig chatGptConfig, MeterRegistry meterRegistry) {
+        this.properties = chatGptConfig.getHedge();
+        this.budget = new CallBudget(
+                properties.getBudgetRatio(),
+                properties.getBudgetMinPerWindow(),
+                properties.getBudgetWindow()
+        );
+        for (PromptType type : PromptType.values()) {
+            String tag = type.name().toLowerCase();
+            windows.put(type, new RollingPercentile(properties.getSampleSize()));
+            calls.put(type, meterRegistry.counter("chatgpt.hedge.calls", "type", tag));
+            launched.put(type, meterRegistry.counter("chatgpt.hedge.launched", "type", tag));
+            won.put(type, meterRegistry.counter("chatgpt.hedge.won", "type", tag));
+            Gauge.builder("chatgpt.hedge.delay", this, policy -> policy.hedgeDelay(type).toMillis())
+                    .tag("type", tag)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+        this.budgetExhausted = meterRegistry.counter("chatgpt.hedge.budget.exhausted");
+    }
+
+    /**
+     * 호출에 헤지 정책을 적용합니다.
+     *
+     * @param type 프롬프트 종류 (응답 시간 통계를 구분하는 기준)
+     * @param call 호출 (헤지 요청을 보낼 때 한 번 더 호출됩니다)
+     * @param <T>  결과 타입
+     * @return 헤지 정책이 적용된 Mono
+     */
+    public <T> Mono<T> apply(PromptType type, Supplier<Mono<T>> call) {
+        if (!properties.isEnabled()) {
+            return call.get();
+        }
+        return Mono.defer(() -> {
+            budget.recordCall();
+            calls.get(type).increment();
+
+            AtomicReference<Throwable> primaryError = new AtomicReference<>();
+            AtomicInteger hedgeState = new AtomicInteger(HEDGE_NOT_STARTED);
+
+            Mono<T> primary = timed(type, call.get())
+                    .onErrorResume(error -> {
+                        primaryError.set(error);
+                        // 헤지 요청이 진행 중이면 그 결과를 기다리고, 아니면 바로 실패합니다.
+                        return hedgeState.get() == HEDGE_IN_FLIGHT ? Mono.never() : Mono.error(error);
+                    });
+            Mono<T> hedge = Mono.delay(hedgeDelay(type))
+                    .flatMap(tick -> {
+                        if (!budget.tryAcquire()) {
+                            budgetExhausted.increment();
+                            return Mono.<T>never();
+                        }
+                        launched.get(type).increment();
+                        hedgeState.set(HEDGE_IN_FLIGHT);
+                        log.debug("{} 응답 지연으로 헤지 요청을 보냅니다.", type);
+                        return timed(type, call.get())
+                                .doOnNext(result -> won.get(type).increment());
+                    })
+                    .onErrorResume(error -> {
+                        hedgeState.set(HEDGE_FAILED);
+                        // 첫 요청도 이미 실패했으면 첫 요청의 오류를 전달하고, 아니면 첫 요청의 결과를 기다립니다.
+                        Throwable failed = primaryError.get();
+                        return failed != null ? Mono.error(failed) : Mono.never();
+                    });
+
+            // 먼저 성공하거나 최종적으로 실패한 쪽을 사용하고 나머지는 취소합니다.
+            return Mono.firstWithSignal(primary, hedge);
+        });
+    }
+
+    /**
+     * 헤지 요청을 보내기 전까지 기다릴 시간을 계산합니다.
+     *
+     * @param type 프롬프트 종류
+     * @return 대기 시간
+     */
+    Duration hedgeDelay(PromptType type) {
+        long millis = windows.get(type).percentile(properties.getPercentile(), properties.getMinSamples());
+        if (millis < 0) {
+            return properties.getInitialDelay();
+        }
+        long clamped = Math.max(properties.getMinDelay().toMillis(), Math.min(properties.getMaxDelay().toMillis(), millis));
+        return Duration.ofMillis(clamped);
+    }
+
+    // 성공한 호출의 응답 시간을 기록합니다.
+    private <T> Mono<T> timed(PromptType type, Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doOnNext(result -> windows.get(type).record((System.nanoTime() - start) / 1_000_000));
+        });
+    }
+}
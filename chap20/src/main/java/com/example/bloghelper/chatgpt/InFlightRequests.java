@@ -0,0 +1,67 @@
+package com.example.bloghelper.chatgpt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * InFlightRequests는 같은 키의 요청이 동시에 여러 번 들어올 때 실제 호출을 한 번만 수행하도록 묶어주는(single-flight) 컴포넌트입니다.
+ * <p>
+ * 처음 들어온 요청이 공유 가능한(replayable) Mono를 등록하고, 그 Mono가 끝나기 전에 들어온 같은 키의 요청은
+ * 새로 호출하지 않고 등록된 Mono를 구독합니다. 호출이 성공하든 실패하든 끝나면 등록이 해제되므로
+ * 결과 캐시와 달리 완료된 결과를 보관하지 않습니다.
+ * 호출한 회원의 토큰 사용량과 일일 한도가 정확히 계산되도록, 회원이 다른 요청은 키를 다르게 만들어 묶지 않습니다. (ChatGptService)
+ */
+@Component
+public class InFlightRequests {
+    // 진행 중인 요청: 키 -> 모든 구독자가 공유하는 Mono
+    private final Map<String, Mono<String>> inFlight = new ConcurrentHashMap<>();
+    // 진행 중인 요청에 합류하여 호출을 절약한 횟수
+    private final Counter coalesced;
+
+    public InFlightRequests(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("chatgpt.inflight", inFlight, Map::size);
+        this.coalesced = meterRegistry.counter("chatgpt.inflight.coalesced");
+    }
+
+    /**
+     * 같은 키로 진행 중인 호출이 있으면 그 결과를 공유하고, 없으면 call을 실행하여 등록합니다.
+     *
+     * @param key  요청을 식별하는 키 (CompletionKey)
+     * @param call 실제 호출을 수행하는 Mono를 만드는 함수 (진행 중인 호출이 없을 때만 사용됩니다)
+     * @return 호출 결과를 전달하는 Mono
+     */
+    public Mono<String> execute(String key, Supplier<Mono<String>> call) {
+        return Mono.defer(() -> {
+            AtomicBoolean registered = new AtomicBoolean();
+            Mono<String> shared = inFlight.computeIfAbsent(key, k -> {
+                registered.set(true);
+                return register(k, call);
+            });
+            // 등록 경쟁에서 진 요청도 진행 중인 호출에 합류한 것으로 셉니다.
+            if (!registered.get()) {
+                coalesced.increment();
+            }
+            return shared;
+        });
+    }
+
+    private Mono<String> register(String key, Supplier<Mono<String>> call) {
+        AtomicReference<Mono<String>> self = new AtomicReference<>();
+        Mono<String> shared = call.get()
+                // 성공, 실패와 관계없이 호출이 끝나면 구독자에게 결과를 전달하기 전에 등록을 해제합니다.
+                // 이 호출이 등록한 항목일 때만 해제하여, 그 사이 같은 키로 등록된 다른 호출을 지우지 않습니다.
+                .doOnTerminate(() -> inFlight.remove(key, self.get()))
+                // 여러 구독자가 하나의 호출 결과를 재생(replay)받을 수 있도록 합니다.
+                .cache();
+        self.set(shared);
+        return shared;
+    }
+}
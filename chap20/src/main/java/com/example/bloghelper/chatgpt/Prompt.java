@@ -0,0 +1,32 @@
+package com.example.bloghelper.chatgpt;
+
+/**
+ * Prompt는 ChatGPT에 보낼 프롬프트입니다.
+ * 고정 지시사항은 시스템 메시지로, 요청마다 달라지는 데이터는 그 뒤의 사용자 메시지로 보냅니다.
+ * 요청의 앞부분이 항상 같으므로 업스트림의 프롬프트 접두사 캐시(prompt caching)가 적용됩니다.
+ *
+ * @param template 프롬프트를 만든 템플릿 이름 (메트릭 태그로 사용)
+ * @param system   시스템 메시지 (null이면 보내지 않습니다)
+ * @param user     사용자 메시지
+ */
+public record Prompt(String template, String system, String user) {
+    // 템플릿 없이 만든 프롬프트의 템플릿 이름입니다.
+    public static final String ADHOC = "adhoc";
+
+    /**
+     * 템플릿 없이 사용자 메시지만으로 프롬프트를 만듭니다.
+     *
+     * @param user 사용자 메시지
+     * @return Prompt 객체
+     */
+    public static Prompt of(String user) {
+        return new Prompt(ADHOC, null, user);
+    }
+
+    /**
+     * @return 시스템 메시지와 사용자 메시지의 글자 수 합
+     */
+    public int length() {
+        return (system != null ? system.length() : 0) + user.length();
+    }
+}
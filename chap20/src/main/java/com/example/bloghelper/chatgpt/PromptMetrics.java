@@ -0,0 +1,81 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.dto.ChatGptResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PromptMetrics는 템플릿별 프롬프트 크기와 업스트림 프롬프트 접두사 캐시 적중률을 기록합니다.
+ * <p>
+ * - chatgpt.prompt.rendered.size: 렌더링된 프롬프트의 글자 수 (시스템 + 사용자 메시지)
+ * - chatgpt.prompt.tokens, chatgpt.prompt.cached.tokens: 응답 usage의 prompt_tokens와 prompt_tokens_details.cached_tokens 누적값
+ * - chatgpt.prompt.cache.hit.ratio: cached.tokens / tokens
+ * 모두 template 태그를 가지며, 캐시된 응답(API를 호출하지 않은 경우)은 usage가 없으므로 토큰 수에 포함되지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PromptMetrics {
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TemplateMeters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * 렌더링된 프롬프트의 크기를 기록합니다.
+     *
+     * @param prompt 렌더링된 프롬프트
+     */
+    public void recordRendered(Prompt prompt) {
+        metersOf(prompt.template()).renderedSize.record(prompt.length());
+    }
+
+    /**
+     * 응답의 토큰 사용량에서 프롬프트 토큰 수와 캐시된 프롬프트 토큰 수를 기록합니다.
+     *
+     * @param template 템플릿 이름
+     * @param usage    응답의 토큰 사용량 (없으면 무시합니다)
+     */
+    public void recordUsage(String template, ChatGptResponse.Usage usage) {
+        if (usage == null || usage.promptTokens() == null) {
+            return;
+        }
+        TemplateMeters templateMeters = metersOf(template);
+        templateMeters.promptTokens.increment(usage.promptTokens());
+        templateMeters.cachedTokens.increment(usage.cachedTokens());
+    }
+
+    private TemplateMeters metersOf(String template) {
+        return meters.computeIfAbsent(template, name -> new TemplateMeters(name, meterRegistry));
+    }
+
+    /**
+     * 템플릿 하나의 메트릭입니다.
+     */
+    private static final class TemplateMeters {
+        private final DistributionSummary renderedSize;
+        private final Counter promptTokens;
+        private final Counter cachedTokens;
+
+        private TemplateMeters(String template, MeterRegistry meterRegistry) {
+            this.renderedSize = DistributionSummary.builder("chatgpt.prompt.rendered.size")
+                    .tag("template", template)
+                    .baseUnit("chars")
+                    .register(meterRegistry);
+            this.promptTokens = meterRegistry.counter("chatgpt.prompt.tokens", "template", template);
+            this.cachedTokens = meterRegistry.counter("chatgpt.prompt.cached.tokens", "template", template);
+            Gauge.builder("chatgpt.prompt.cache.hit.ratio", this, TemplateMeters::hitRatio)
+                    .tag("template", template)
+                    .register(meterRegistry);
+        }
+
+        private double hitRatio() {
+            double total = promptTokens.count();
+            return total > 0 ? cachedTokens.count() / total : 0;
+        }
+    }
+}
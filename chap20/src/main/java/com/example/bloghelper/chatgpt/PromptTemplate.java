@@ -0,0 +1,104 @@
+package com.example.bloghelper.chatgpt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PromptTemplate은 미리 한 번 해석해 둔 프롬프트 템플릿입니다.
+ * <p>
+ * - 시스템 메시지: 모든 템플릿이 공유하는 공통 지시사항 + 템플릿의 고정 지시사항 (렌더링하지 않고 그대로 사용)
+ * - 사용자 메시지: {{이름}} 형태의 슬롯을 포함한 템플릿. 생성 시 리터럴 조각과 슬롯 조각으로 나누어 두고,
+ *   렌더링할 때는 필요한 길이를 미리 계산한 StringBuilder 하나에 조각을 이어 붙입니다.
+ * 템플릿은 상수로 만들어 재사용하며, 렌더링은 여러 스레드에서 동시에 호출해도 안전합니다.
+ */
+public final class PromptTemplate {
+    // 모든 템플릿의 시스템 메시지 앞부분에 들어가는 공통 지시사항입니다.
+    static final String SHARED_INSTRUCTIONS = """
+            당신은 한국어 블로그 작성을 돕는 어시스턴트입니다.
+            응답은 요청한 형식의 순수한 JSON으로만 작성하고, 마크다운 코드 블록이나 설명을 덧붙이지 마세요.
+            """;
+    private static final String SLOT_OPEN = "{{";
+    private static final String SLOT_CLOSE = "}}";
+
+    private final String name;
+    private final String system;
+    // literals[i] 다음에 slots[i]가 오며, literals는 slots보다 하나 많습니다.
+    private final String[] literals;
+    private final String[] slots;
+    private final int literalLength;
+
+    private PromptTemplate(String name, String system, String[] literals, String[] slots) {
+        this.name = name;
+        this.system = system;
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * 템플릿을 해석합니다.
+     *
+     * @param name         템플릿 이름 (메트릭 태그로 사용)
+     * @param instructions 시스템 메시지에 넣을 고정 지시사항
+     * @param user         {{이름}} 슬롯을 포함한 사용자 메시지 템플릿
+     * @return 해석된 템플릿
+     * @throws IllegalArgumentException 닫히지 않은 슬롯이 있는 경우
+     */
+    public static PromptTemplate compile(String name, String instructions, String user) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int from = 0;
+        while (true) {
+            int open = user.indexOf(SLOT_OPEN, from);
+            if (open < 0) {
+                break;
+            }
+            int close = user.indexOf(SLOT_CLOSE, open + SLOT_OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("템플릿 " + name + "에 닫히지 않은 슬롯이 있습니다: " + user.substring(open));
+            }
+            literals.add(user.substring(from, open));
+            slots.add(user.substring(open + SLOT_OPEN.length(), close).trim());
+            from = close + SLOT_CLOSE.length();
+        }
+        literals.add(user.substring(from));
+        return new PromptTemplate(name, SHARED_INSTRUCTIONS + instructions,
+                literals.toArray(String[]::new), slots.toArray(String[]::new));
+    }
+
+    /**
+     * 슬롯에 값을 채워 프롬프트를 만듭니다.
+     *
+     * @param values 슬롯 이름별 값
+     * @return 렌더링된 프롬프트
+     * @throws IllegalArgumentException 값이 없는 슬롯이 있는 경우
+     */
+    public Prompt render(Map<String, String> values) {
+        int capacity = literalLength;
+        String[] resolved = new String[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            String value = values.get(slots[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("템플릿 " + name + "의 슬롯 " + slots[i] + "에 값이 없습니다.");
+            }
+            resolved[i] = value;
+            capacity += value.length();
+        }
+
+        StringBuilder user = new StringBuilder(capacity);
+        for (int i = 0; i < slots.length; i++) {
+            user.append(literals[i]).append(resolved[i]);
+        }
+        user.append(literals[slots.length]);
+        return new Prompt(name, system, user.toString());
+    }
+
+    public String name() {
+        return name;
+    }
+}
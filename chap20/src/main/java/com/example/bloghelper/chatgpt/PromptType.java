@@ -0,0 +1,22 @@
+package com.example.bloghelper.chatgpt;
+
+/**
+ * ChatGPT에 보내는 프롬프트의 용도(유스케이스)를 구분하는 enum입니다.
+ * 캐시 TTL 등 프롬프트 종류별로 다르게 적용해야 하는 정책의 기준이 됩니다.
+ */
+public enum PromptType {
+    // 키워드 분석 (연관 키워드, 추천 주제)
+    KEYWORD_ANALYSIS,
+    // 여러 키워드를 한 번에 분석하는 배치 분석 (응답이 길고 대량으로 들어오므로 키워드 하나 분석과 따로 관리)
+    KEYWORD_BATCH,
+    // 블로그 초안 생성
+    POST_DRAFT,
+    // 블로그 포스트 개선
+    POST_IMPROVE,
+    // 바꿀 문장만 편집 연산으로 받는 포스트 개선 (응답이 본문 전체보다 훨씬 짧으므로 따로 관리)
+    POST_IMPROVE_EDITS,
+    // 긴 포스트를 구간으로 나누어 개선할 때의 구간/제목 호출 (포스트 하나가 여러 번 호출하므로 따로 관리)
+    POST_IMPROVE_CHUNK,
+    // 그 밖의 일반 프롬프트
+    GENERAL
+}
@@ -0,0 +1,41 @@
+package com.example.bloghelper.chatgpt;
+
+import java.util.Arrays;
+
+/**
+ * RollingPercentile은 최근 값들을 고정 크기 링 버퍼에 보관하고 백분위수를 계산합니다.
+ * 응답 시간(헤지 대기 시간), 응답 토큰 수(max_completion_tokens 산정) 등 최근 분포가 필요한 곳에서 사용합니다.
+ */
+class RollingPercentile {
+    private final long[] samples;
+    private int next;
+    private int count;
+
+    RollingPercentile(int size) {
+        this.samples = new long[size];
+    }
+
+    synchronized void record(long value) {
+        samples[next] = value;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    /**
+     * @param percentile 백분위수 (0 ~ 1)
+     * @param minSamples 계산에 필요한 최소 샘플 수
+     * @return 백분위수에 해당하는 값, 샘플이 부족하면 -1
+     */
+    long percentile(double percentile, int minSamples) {
+        long[] sorted;
+        synchronized (this) {
+            if (count == 0 || count < minSamples) {
+                return -1;
+            }
+            sorted = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
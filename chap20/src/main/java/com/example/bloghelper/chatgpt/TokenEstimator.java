@@ -0,0 +1,126 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.dto.ChatGptRequest;
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingRegistry;
+import com.knuddels.jtokkit.api.EncodingResult;
+import com.knuddels.jtokkit.api.EncodingType;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TokenEstimator는 요청을 보내기 전에 사용할 토큰 수를 계산합니다.
+ * <p>
+ * 모델과 같은 BPE 인코딩(gpt-4/gpt-4-turbo는 cl100k_base, gpt-4o 계열은 o200k_base)으로 직접 토큰화하므로
+ * 응답의 Usage와 거의 같은 값을 얻습니다. 어휘 파일은 jtokkit jar의 리소스에서 처음 사용할 때 한 번만 읽습니다.
+ * 알 수 없는 모델은 cl100k_base로 계산합니다.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TokenEstimator {
+    // 메시지마다 역할, 구분자(<|im_start|> 등)로 추가되는 토큰 수
+    private static final int TOKENS_PER_MESSAGE = 3;
+    // 모든 응답 앞에 붙는 assistant 역할 토큰 수
+    private static final int TOKENS_PER_REPLY = 3;
+
+    // 인코딩 레지스트리는 필요한 인코딩의 어휘만 처음 사용할 때 읽습니다.
+    private static final EncodingRegistry REGISTRY = Encodings.newLazyEncodingRegistry();
+    private static final Encoding DEFAULT_ENCODING = REGISTRY.getEncoding(EncodingType.CL100K_BASE);
+    // 모델 이름별 인코딩 (모델 이름 해석을 요청마다 반복하지 않습니다)
+    private static final Map<String, Encoding> ENCODINGS = new ConcurrentHashMap<>();
+
+    /**
+     * 프롬프트(메시지 목록)에 사용될 토큰 수를 계산합니다.
+     *
+     * @param request 계산할 요청
+     * @return 프롬프트 토큰 수
+     */
+    public static int estimatePromptTokens(ChatGptRequest request) {
+        Encoding encoding = encodingOf(request.model());
+        int tokens = TOKENS_PER_REPLY;
+        for (ChatGptRequest.Message message : request.messages()) {
+            tokens += encoding.countTokensOrdinary(message.content()) + TOKENS_PER_MESSAGE;
+        }
+        return tokens;
+    }
+
+    /**
+     * 문자열 하나의 토큰 수를 기본 인코딩(cl100k_base)으로 계산합니다.
+     *
+     * @param text 계산할 문자열
+     * @return 토큰 수
+     */
+    public static int estimateTokens(String text) {
+        return DEFAULT_ENCODING.countTokensOrdinary(text);
+    }
+
+    /**
+     * 문자열 하나의 토큰 수를 모델의 인코딩으로 계산합니다.
+     *
+     * @param text  계산할 문자열
+     * @param model 모델 이름 (null이면 기본 인코딩)
+     * @return 토큰 수
+     */
+    public static int estimateTokens(String text, String model) {
+        return encodingOf(model).countTokensOrdinary(text);
+    }
+
+    /**
+     * 프롬프트(시스템 메시지 + 사용자 메시지)의 토큰 수를 모델의 인코딩으로 계산합니다.
+     *
+     * @param prompt 계산할 프롬프트
+     * @param model  모델 이름 (null이면 기본 인코딩)
+     * @return 토큰 수
+     */
+    public static int estimateTokens(Prompt prompt, String model) {
+        Encoding encoding = encodingOf(model);
+        int tokens = encoding.countTokensOrdinary(prompt.user());
+        if (prompt.system() != null) {
+            tokens += encoding.countTokensOrdinary(prompt.system());
+        }
+        return tokens;
+    }
+
+    /**
+     * 요청 하나가 분당 토큰 한도에서 차감될 토큰 수(프롬프트 + 최대 응답 토큰)를 계산합니다.
+     *
+     * @param request 계산할 요청
+     * @return 토큰 수
+     */
+    public static int estimateTotalTokens(ChatGptRequest request) {
+        int completionTokens = request.maxTokens() != null ? request.maxTokens() : 0;
+        return estimatePromptTokens(request) + completionTokens;
+    }
+
+    /**
+     * 문자열을 앞에서부터 최대 maxTokens 토큰까지만 남기고 자릅니다.
+     *
+     * @param text      자를 문자열
+     * @param maxTokens 남길 최대 토큰 수
+     * @param model     모델 이름 (null이면 기본 인코딩)
+     * @return 잘린 문자열 (한도 이내이면 원래 문자열). 항상 원래 문자열의 앞부분(접두사)입니다.
+     */
+    public static String truncate(String text, int maxTokens, String model) {
+        Encoding encoding = encodingOf(model);
+        EncodingResult result = encoding.encodeOrdinary(text, Math.max(0, maxTokens));
+        if (!result.isTruncated()) {
+            return text;
+        }
+        String truncated = encoding.decode(result.getTokens());
+        // 토큰 경계가 글자 중간(UTF-8 바이트 중간)에 걸려 깨진 글자가 붙으면 원래 문자열의 접두사가 될 때까지 줄입니다.
+        while (!truncated.isEmpty() && !text.startsWith(truncated)) {
+            truncated = truncated.substring(0, truncated.length() - 1);
+        }
+        return truncated;
+    }
+
+    private static Encoding encodingOf(String model) {
+        if (model == null || model.isBlank()) {
+            return DEFAULT_ENCODING;
+        }
+        return ENCODINGS.computeIfAbsent(model, name -> REGISTRY.getEncodingForModel(name).orElse(DEFAULT_ENCODING));
+    }
+}
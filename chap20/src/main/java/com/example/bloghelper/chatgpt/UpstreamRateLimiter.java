@@ -0,0 +1,251 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.config.ChatGptConfig;
+import com.example.bloghelper.dto.ChatGptResponse;
+import com.example.bloghelper.exception.ChatGptError;
+import com.example.bloghelper.exception.ChatGptException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UpstreamRateLimiter는 ChatGPT API 조직 한도(분당 요청 수 RPM, 분당 토큰 수 TPM)를 클라이언트 쪽에서 지키기 위한 속도 제한기입니다.
+ * <p>
+ * - 요청 버킷과 토큰 버킷, 두 개의 토큰 버킷을 사용합니다. 각 버킷은 1분에 한도만큼 일정한 속도로 채워집니다.
+ * - 요청을 보내기 전에 예상 토큰 수(프롬프트 + 최대 응답 토큰)를 차감하고,
+ *   응답의 Usage(total_tokens)를 받으면 실제 사용량과의 차이를 되돌려(reconcile) 버킷을 보정합니다.
+ * - 한도가 부족하면 요청을 실패시키지 않고 FIFO 대기열에서 기다리게 합니다. 대기열이 가득 차면 LocalRejected로 거절합니다.
+ *   대기열의 맨 앞 요청이 통과하기 전에는 뒤의 요청이 먼저 통과하지 않으므로 큰 요청이 굶주리지 않습니다.
+ * - 업스트림 대상(API 키)마다 하나씩 생성하여 대상별로 한도를 따로 계산합니다.
+ * - 메트릭: chatgpt.ratelimit.requests.available, chatgpt.ratelimit.tokens.available,
+ *   chatgpt.ratelimit.queue.size, chatgpt.ratelimit.wait (모두 target 태그)
+ */
+public class UpstreamRateLimiter {
+    private static final double NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final ChatGptConfig.RateLimit properties;
+    private final Timer waitTimer;
+
+    // 아래 필드는 모두 this를 잠금으로 사용하여 접근합니다.
+    private final Queue<Waiter> waiters = new ArrayDeque<>();
+    private double availableRequests;
+    private double availableTokens;
+    private long lastRefillNanos;
+    private boolean drainScheduled;
+
+    /**
+     * @param target        업스트림 대상 이름 (메트릭 태그)
+     * @param properties    이 대상의 한도 설정
+     * @param meterRegistry 메트릭 레지스트리
+     */
+    public UpstreamRateLimiter(String target, ChatGptConfig.RateLimit properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.availableRequests = properties.getRequestsPerMinute();
+        this.availableTokens = properties.getTokensPerMinute();
+        this.lastRefillNanos = System.nanoTime();
+
+        Tags tags = Tags.of("target", target);
+        meterRegistry.gauge("chatgpt.ratelimit.requests.available", tags, this, UpstreamRateLimiter::currentRequests);
+        meterRegistry.gauge("chatgpt.ratelimit.tokens.available", tags, this, UpstreamRateLimiter::currentTokens);
+        meterRegistry.gauge("chatgpt.ratelimit.queue.size", tags, this, UpstreamRateLimiter::queueSize);
+        this.waitTimer = meterRegistry.timer("chatgpt.ratelimit.wait", tags);
+    }
+
+    /**
+     * 요청 하나와 예상 토큰 수만큼의 한도를 확보합니다. 한도가 부족하면 대기열에서 순서를 기다립니다.
+     *
+     * @param estimatedTokens 요청에 사용될 것으로 예상되는 토큰 수 (프롬프트 + 최대 응답 토큰)
+     * @return 한도를 확보하면 Permit을 전달하는 Mono
+     */
+    public Mono<Permit> acquire(int estimatedTokens) {
+        if (!properties.isEnabled()) {
+            return Mono.just(new Permit(0));
+        }
+        // 버킷 용량보다 큰 요청은 영원히 통과할 수 없으므로 용량으로 제한합니다.
+        int tokens = Math.min(estimatedTokens, properties.getTokensPerMinute());
+
+        return Mono.<Permit>create(sink -> {
+            Waiter waiter = new Waiter(tokens, sink, System.nanoTime());
+            sink.onCancel(() -> cancel(waiter));
+            synchronized (this) {
+                if (waiter.cancelled) {
+                    return;
+                }
+                if (waiters.size() >= properties.getMaxQueueSize()) {
+                    sink.error(new ChatGptException(
+                            new ChatGptError.LocalRejected("ChatGPT API 요청 대기열이 가득 찼습니다.")));
+                    return;
+                }
+                waiters.add(waiter);
+            }
+            drain();
+        });
+    }
+
+    /**
+     * 한도를 기다리던 요청이 취소되면 바로 대기열에서 빼서 대기열 크기에 세지 않습니다.
+     * 한도를 확보했지만 Permit을 전달하기 전에 취소되었다면, 전달되지 않은 요청 1건과 토큰을 버킷에 되돌립니다.
+     */
+    private void cancel(Waiter waiter) {
+        synchronized (this) {
+            waiter.cancelled = true;
+            if (waiter.granted) {
+                availableRequests = Math.min(properties.getRequestsPerMinute(), availableRequests + 1);
+                availableTokens = Math.min(properties.getTokensPerMinute(), availableTokens + waiter.tokens);
+            } else if (!waiters.remove(waiter)) {
+                return;
+            }
+        }
+        // 맨 앞 요청이 빠졌거나 한도가 돌아왔으면 다음 요청이 통과할 수 있습니다.
+        drain();
+    }
+
+    /**
+     * 버킷을 채운 뒤, 대기열 맨 앞부터 한도가 허락하는 만큼 요청을 통과시킵니다.
+     * 맨 앞 요청이 통과할 수 없으면 필요한 만큼 채워질 시점에 다시 실행되도록 예약합니다.
+     */
+    private void drain() {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            refill();
+            Waiter head;
+            while ((head = waiters.peek()) != null) {
+                if (availableRequests < 1 || availableTokens < head.tokens) {
+                    scheduleDrain(head);
+                    break;
+                }
+                waiters.poll();
+                availableRequests -= 1;
+                availableTokens -= head.tokens;
+                head.granted = true;
+                granted.add(head);
+            }
+        }
+        // 구독자에게 신호를 보내는 작업은 잠금 밖에서 수행합니다.
+        // 그 사이 취소된 요청의 Permit은 전달되지 않고, 확보한 한도는 cancel에서 되돌립니다.
+        long now = System.nanoTime();
+        for (Waiter waiter : granted) {
+            waitTimer.record(now - waiter.enqueuedNanos, TimeUnit.NANOSECONDS);
+            waiter.sink.success(new Permit(waiter.tokens));
+        }
+    }
+
+    // 맨 앞 요청이 통과할 수 있을 만큼 버킷이 채워지는 시점에 drain을 예약합니다. (this 잠금 안에서 호출)
+    private void scheduleDrain(Waiter head) {
+        if (drainScheduled) {
+            return;
+        }
+        double requestDeficit = Math.max(0, 1 - availableRequests);
+        double tokenDeficit = Math.max(0, head.tokens - availableTokens);
+        long waitNanos = (long) Math.max(
+                requestDeficit / properties.getRequestsPerMinute() * NANOS_PER_MINUTE,
+                tokenDeficit / properties.getTokensPerMinute() * NANOS_PER_MINUTE
+        );
+        drainScheduled = true;
+        Schedulers.parallel().schedule(() -> {
+            synchronized (this) {
+                drainScheduled = false;
+            }
+            drain();
+        }, Math.max(waitNanos, TimeUnit.MILLISECONDS.toNanos(1)), TimeUnit.NANOSECONDS);
+    }
+
+    // 마지막으로 채운 이후 지난 시간만큼 두 버킷을 채웁니다. (this 잠금 안에서 호출)
+    private void refill() {
+        long now = System.nanoTime();
+        double elapsedMinutes = (now - lastRefillNanos) / NANOS_PER_MINUTE;
+        lastRefillNanos = now;
+        availableRequests = Math.min(properties.getRequestsPerMinute(),
+                availableRequests + elapsedMinutes * properties.getRequestsPerMinute());
+        availableTokens = Math.min(properties.getTokensPerMinute(),
+                availableTokens + elapsedMinutes * properties.getTokensPerMinute());
+    }
+
+    // 실제 사용량과 예상치의 차이를 토큰 버킷에 반영합니다. 차이가 음수이면 버킷이 음수(부채)가 될 수 있습니다.
+    private void adjustTokens(double delta) {
+        synchronized (this) {
+            refill();
+            availableTokens = Math.min(properties.getTokensPerMinute(), availableTokens + delta);
+        }
+        drain();
+    }
+
+    private synchronized double currentRequests() {
+        refill();
+        return availableRequests;
+    }
+
+    private synchronized double currentTokens() {
+        refill();
+        return availableTokens;
+    }
+
+    private synchronized int queueSize() {
+        return waiters.size();
+    }
+
+    /**
+     * 대기열에 들어간 요청입니다. cancelled와 granted는 UpstreamRateLimiter의 잠금 안에서 접근합니다.
+     */
+    private static final class Waiter {
+        private final int tokens;
+        private final MonoSink<Permit> sink;
+        private final long enqueuedNanos;
+        private boolean cancelled;
+        private boolean granted;
+
+        private Waiter(int tokens, MonoSink<Permit> sink, long enqueuedNanos) {
+            this.tokens = tokens;
+            this.sink = sink;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+
+    /**
+     * 확보한 한도를 나타냅니다. 응답을 받은 뒤 실제 사용량으로 보정하는 데 사용합니다.
+     */
+    public final class Permit {
+        private final int reservedTokens;
+        private boolean reconciled;
+
+        private Permit(int reservedTokens) {
+            this.reservedTokens = reservedTokens;
+        }
+
+        /**
+         * 응답의 Usage로 예약한 토큰 수를 보정합니다. 여러 번 호출해도 처음 한 번만 반영됩니다.
+         *
+         * @param usage ChatGPT 응답의 토큰 사용량 (null이면 보정하지 않습니다)
+         */
+        public void reconcile(ChatGptResponse.Usage usage) {
+            if (usage == null || usage.totalTokens() == null) {
+                return;
+            }
+            reconcile(usage.totalTokens());
+        }
+
+        /**
+         * 실제로 사용된 토큰 수로 예약한 토큰 수를 보정합니다. 여러 번 호출해도 처음 한 번만 반영됩니다.
+         *
+         * @param actualTokens 실제 사용된 토큰 수
+         */
+        public void reconcile(int actualTokens) {
+            synchronized (this) {
+                if (reconciled || reservedTokens == 0) {
+                    return;
+                }
+                reconciled = true;
+            }
+            adjustTokens(reservedTokens - actualTokens);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.config.ChatGptConfig;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * UpstreamResilience는 ChatGPT API 호출에 서킷 브레이커와 유스케이스별 벌크헤드를 적용합니다.
+ * <p>
+ * - 서킷 브레이커: 업스트림 장애(5xx, 429, 네트워크 오류)의 비율이나 느린 호출 비율이 임계치를 넘으면 OPEN 상태가 되어
+ *   호출을 보내지 않고 CallNotPermittedException으로 즉시 실패합니다. 400 같은 요청 자체의 오류는 실패로 세지 않습니다.
+ *   스트리밍 호출은 첫 조각을 받기까지의 시간만 느린 호출 판단에 씁니다.
+ * - 벌크헤드: 키워드 분석, 초안 생성, 포스트 개선 등 유스케이스별로 동시에 진행할 수 있는 호출 수를 제한하고,
+ *   자리가 없으면 BulkheadFullException으로 즉시 거절합니다.
+ * - 메트릭: resilience4j.circuitbreaker.*, resilience4j.bulkhead.*
+ */
+@Component
+public class UpstreamResilience {
+    private final CircuitBreaker circuitBreaker;
+    private final Map<PromptType, Bulkhead> bulkheads = new EnumMap<>(PromptType.class);
+
+    public UpstreamResilience(ChatGptConfig chatGptConfig, MeterRegistry meterRegistry) {
+        ChatGptConfig.CircuitBreaker breakerProperties = chatGptConfig.getCircuitBreaker();
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(breakerProperties.getFailureRateThreshold())
+                .slowCallRateThreshold(breakerProperties.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(breakerProperties.getSlowCallDurationThreshold())
+                .slidingWindowSize(breakerProperties.getSlidingWindowSize())
+                .minimumNumberOfCalls(breakerProperties.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(breakerProperties.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(breakerProperties.getPermittedNumberOfCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // 재시도 대상인 일시적인 업스트림 오류만 실패로 기록합니다.
+                .recordException(CompletionRetryPolicy::isRetryable)
+                .build());
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("chatgpt");
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+
+        ChatGptConfig.Bulkhead bulkheadProperties = chatGptConfig.getBulkhead();
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.ofDefaults();
+        for (PromptType type : PromptType.values()) {
+            BulkheadConfig config = BulkheadConfig.custom()
+                    .maxConcurrentCalls(bulkheadProperties.maxConcurrentCallsOf(type))
+                    .maxWaitDuration(bulkheadProperties.getMaxWaitDuration())
+                    .build();
+            bulkheads.put(type, bulkheadRegistry.bulkhead("chatgpt-" + type.name().toLowerCase(), config));
+        }
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+    }
+
+    /**
+     * 시도 한 번(재시도 포함 시 각 시도)에 서킷 브레이커를 적용합니다.
+     *
+     * @param attempt API 호출 한 번
+     * @param <T>     결과 타입
+     * @return 서킷 브레이커가 적용된 Mono
+     */
+    public <T> Mono<T> withCircuitBreaker(Mono<T> attempt) {
+        return attempt.transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    /**
+     * 스트리밍 호출에 서킷 브레이커를 적용합니다.
+     * <p>
+     * 스트림 전체 시간은 생성할 텍스트 길이에 비례하므로, 스트림 전체가 아니라 첫 조각을 받기까지의 시간만 느린 호출 판단에 씁니다.
+     * 첫 조각(조각 없이 끝나면 완료)을 받으면 성공으로, 그 전에 실패하면 실패로 한 번만 기록하고,
+     * 첫 조각 전에 취소되면 결과를 기록하지 않고 허가만 반납합니다. 첫 조각 이후의 오류는 기록하지 않습니다.
+     *
+     * @param stream 스트리밍 API 호출
+     * @param <T>    조각 타입
+     * @return 서킷 브레이커가 적용된 Flux
+     */
+    public <T> Flux<T> withCircuitBreaker(Flux<T> stream) {
+        return Flux.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return Flux.error(CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+            }
+            long start = circuitBreaker.getCurrentTimestamp();
+            AtomicBoolean recorded = new AtomicBoolean();
+            return stream
+                    .doOnNext(chunk -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            circuitBreaker.onSuccess(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit());
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            circuitBreaker.onSuccess(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit());
+                        }
+                    })
+                    .doOnError(error -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), error);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            circuitBreaker.releasePermission();
+                        }
+                    });
+        });
+    }
+
+    /**
+     * 호출 전체(재시도 포함)에 유스케이스별 벌크헤드를 적용합니다.
+     *
+     * @param type 프롬프트 종류
+     * @param call 호출
+     * @param <T>  결과 타입
+     * @return 벌크헤드가 적용된 Mono
+     */
+    public <T> Mono<T> withBulkhead(PromptType type, Mono<T> call) {
+        return call.transformDeferred(BulkheadOperator.of(bulkheads.get(type)));
+    }
+
+    /**
+     * 스트리밍 호출 전체에 유스케이스별 벌크헤드를 적용합니다.
+     *
+     * @param type   프롬프트 종류
+     * @param stream 스트리밍 호출
+     * @param <T>    조각 타입
+     * @return 벌크헤드가 적용된 Flux
+     */
+    public <T> Flux<T> withBulkhead(PromptType type, Flux<T> stream) {
+        return stream.transformDeferred(BulkheadOperator.of(bulkheads.get(type)));
+    }
+}
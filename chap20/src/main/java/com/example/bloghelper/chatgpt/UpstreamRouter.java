@@ -0,0 +1,198 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.config.ChatGptConfig;
+import com.example.bloghelper.exception.ChatGptException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * UpstreamRouter는 여러 업스트림 대상(엔드포인트/API 키) 중 요청을 보낼 대상을 고릅니다.
+ * <p>
+ * - 선택 방식: 진행 중인 요청 수가 가장 적은 대상(LEAST_OUTSTANDING) 또는
+ *   응답 시간 EWMA와 진행 중인 요청 수를 함께 고려한 점수가 가장 낮은 대상(EWMA). 모두 가중치로 나눕니다.
+ * - 상태 판단: 업스트림 장애(5xx, 429, 네트워크 오류)나 인증 오류(401, 403)가 연속으로 일정 횟수 발생한 대상은
+ *   일정 시간 동안 라우팅에서 제외합니다. 재시도는 다시 대상을 고르므로 자연스럽게 다른 대상으로 넘어갑니다(failover).
+ * - 모든 대상이 비정상이면 가장 먼저 회복될 대상으로 보냅니다.
+ * - 메트릭: chatgpt.upstream.outstanding, chatgpt.upstream.latency.ewma, chatgpt.upstream.healthy,
+ *   chatgpt.upstream.failures (모두 target 태그)
+ */
+@Slf4j
+public class UpstreamRouter {
+    private final List<UpstreamTarget> targets;
+    private final ChatGptConfig.Routing.Strategy strategy;
+    private final Map<UpstreamTarget, Counter> failures = new HashMap<>();
+
+    public UpstreamRouter(List<UpstreamTarget> targets, ChatGptConfig.Routing.Strategy strategy, MeterRegistry meterRegistry) {
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("업스트림 대상이 하나 이상 필요합니다.");
+        }
+        this.targets = List.copyOf(targets);
+        this.strategy = strategy;
+        for (UpstreamTarget target : this.targets) {
+            Tags tags = Tags.of("target", target.getName());
+            meterRegistry.gauge("chatgpt.upstream.outstanding", tags, target, UpstreamTarget::outstanding);
+            meterRegistry.gauge("chatgpt.upstream.latency.ewma", tags, target, UpstreamTarget::ewmaMillis);
+            meterRegistry.gauge("chatgpt.upstream.healthy", tags, target, t -> t.isHealthy() ? 1 : 0);
+            failures.put(target, meterRegistry.counter("chatgpt.upstream.failures", tags));
+        }
+    }
+
+    /**
+     * 대상을 골라 호출합니다. 구독할 때마다(재시도 포함) 대상을 새로 고릅니다.
+     *
+     * @param call 선택된 대상으로 보낼 호출
+     * @param <T>  결과 타입
+     * @return 호출 결과
+     */
+    public <T> Mono<T> route(Function<UpstreamTarget, Mono<T>> call) {
+        return route(target -> Mono.just(target), (target, ignored) -> call.apply(target));
+    }
+
+    /**
+     * 대상을 골라 먼저 호출 자격(속도 제한 한도 등)을 확보한 뒤 호출합니다. 구독할 때마다(재시도 포함) 대상을 새로 고릅니다.
+     * 자격을 확보하기까지 기다린 시간과 그 과정의 오류는 대상의 응답 시간 EWMA와 상태에 반영하지 않습니다.
+     *
+     * @param admit 선택된 대상에서 호출 자격을 확보하는 Mono
+     * @param call  확보한 자격으로 선택된 대상에 보낼 호출
+     * @param <P>   호출 자격 타입
+     * @param <T>   결과 타입
+     * @return 호출 결과
+     */
+    public <P, T> Mono<T> route(Function<UpstreamTarget, Mono<P>> admit, BiFunction<UpstreamTarget, P, Mono<T>> call) {
+        return Mono.defer(() -> {
+            UpstreamTarget target = select();
+            UpstreamTarget.Call tracked = target.start();
+            return admit.apply(target)
+                    .flatMap(admitted -> {
+                        tracked.begin();
+                        return call.apply(target, admitted)
+                                .doOnSuccess(result -> tracked.succeeded(true))
+                                .doOnError(error -> onError(target, tracked, error));
+                    })
+                    // 자격 확보 중 실패하거나 취소되면 결과를 상태에 반영하지 않고 종료합니다.
+                    .doFinally(signal -> tracked.released());
+        });
+    }
+
+    /**
+     * 스트리밍 호출을 위해 대상을 고릅니다. 스트림 전체 시간은 응답 시간 EWMA에 반영하지 않습니다.
+     *
+     * @param call 선택된 대상으로 보낼 스트리밍 호출
+     * @param <T>  조각 타입
+     * @return 호출 결과
+     */
+    public <T> Flux<T> routeMany(Function<UpstreamTarget, Flux<T>> call) {
+        return routeMany(target -> Mono.just(target), (target, ignored) -> call.apply(target));
+    }
+
+    /**
+     * 스트리밍 호출을 위해 대상을 골라 먼저 호출 자격(속도 제한 한도 등)을 확보한 뒤 호출합니다.
+     * 자격을 확보하는 과정의 오류는 대상의 상태에 반영하지 않습니다.
+     *
+     * @param admit 선택된 대상에서 호출 자격을 확보하는 Mono
+     * @param call  확보한 자격으로 선택된 대상에 보낼 스트리밍 호출
+     * @param <P>   호출 자격 타입
+     * @param <T>   조각 타입
+     * @return 호출 결과
+     */
+    public <P, T> Flux<T> routeMany(Function<UpstreamTarget, Mono<P>> admit, BiFunction<UpstreamTarget, P, Flux<T>> call) {
+        return Flux.defer(() -> {
+            UpstreamTarget target = select();
+            UpstreamTarget.Call tracked = target.start();
+            return admit.apply(target)
+                    .flatMapMany(admitted -> {
+                        tracked.begin();
+                        return call.apply(target, admitted)
+                                .doOnComplete(() -> tracked.succeeded(false))
+                                .doOnError(error -> onError(target, tracked, error));
+                    })
+                    .doFinally(signal -> tracked.released());
+        });
+    }
+
+    /**
+     * 요청을 보낼 대상을 고릅니다. 점수가 같으면 임의의 위치부터 탐색하여 한 대상에 몰리지 않게 합니다.
+     *
+     * @return 선택된 대상
+     */
+    UpstreamTarget select() {
+        int size = targets.size();
+        int offset = size == 1 ? 0 : ThreadLocalRandom.current().nextInt(size);
+
+        UpstreamTarget best = null;
+        double bestScore = Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            UpstreamTarget target = targets.get((offset + i) % size);
+            if (!target.isHealthy()) {
+                continue;
+            }
+            double score = score(target);
+            if (score < bestScore) {
+                best = target;
+                bestScore = score;
+            }
+        }
+        if (best != null) {
+            return best;
+        }
+
+        // 모든 대상이 비정상이면 가장 먼저 회복될 대상으로 보냅니다.
+        UpstreamTarget soonest = targets.get(0);
+        for (UpstreamTarget target : targets) {
+            if (target.unhealthyUntil() - soonest.unhealthyUntil() < 0) {
+                soonest = target;
+            }
+        }
+        return soonest;
+    }
+
+    private double score(UpstreamTarget target) {
+        double load = target.outstanding() + 1;
+        if (strategy == ChatGptConfig.Routing.Strategy.EWMA) {
+            // 아직 응답 시간 샘플이 없는 대상은 1ms로 보아 먼저 시도합니다.
+            load *= Math.max(1.0, target.ewmaMillis());
+        }
+        return load / target.getWeight();
+    }
+
+    private void onError(UpstreamTarget target, UpstreamTarget.Call tracked, Throwable error) {
+        if (!isTargetFailure(error)) {
+            tracked.released();
+            return;
+        }
+        failures.get(target).increment();
+        if (tracked.failed()) {
+            log.warn("업스트림 대상 {}을(를) 연속 실패로 일시적으로 라우팅에서 제외합니다: {}", target.getName(), error.getMessage());
+        }
+    }
+
+    /**
+     * 대상의 상태 이상을 나타내는 오류인지 판단합니다.
+     * 재시도 대상인 일시적인 오류와, API 키 문제를 나타내는 인증 오류(401, 403)를 포함합니다.
+     *
+     * @param error 실패 원인
+     * @return 대상의 실패로 기록해야 하면 true
+     */
+    static boolean isTargetFailure(Throwable error) {
+        if (CompletionRetryPolicy.isRetryable(error)) {
+            return true;
+        }
+        if (error instanceof ChatGptException e && e.getStatus() != null) {
+            int status = e.getStatus().value();
+            return status == HttpStatus.UNAUTHORIZED.value() || status == HttpStatus.FORBIDDEN.value();
+        }
+        return false;
+    }
+}
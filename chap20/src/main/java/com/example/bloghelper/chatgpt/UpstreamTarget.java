@@ -0,0 +1,154 @@
+package com.example.bloghelper.chatgpt;
+
+import lombok.Getter;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * UpstreamTarget은 ChatGPT API 업스트림 대상(엔드포인트 + API 키) 하나와 그 상태를 나타냅니다.
+ * <p>
+ * 대상마다 전용 WebClient(커넥션 풀)와 속도 제한기를 가지며,
+ * 라우팅에 필요한 진행 중인 요청 수, 응답 시간 EWMA, 연속 실패 횟수를 추적합니다.
+ */
+public class UpstreamTarget {
+    @Getter
+    private final String name;
+    @Getter
+    private final String model;
+    @Getter
+    private final int weight;
+    @Getter
+    private final WebClient webClient;
+    @Getter
+    private final UpstreamRateLimiter rateLimiter;
+    private final double ewmaAlpha;
+    private final int failureThreshold;
+    private final long unhealthyNanos;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    // 아래 필드는 모두 this를 잠금으로 사용하여 접근합니다.
+    private double ewmaMillis;
+    private int consecutiveFailures;
+    private long unhealthyUntil;
+    private boolean unhealthy;
+
+    public UpstreamTarget(String name, String model, int weight, WebClient webClient, UpstreamRateLimiter rateLimiter,
+                          double ewmaAlpha, int failureThreshold, long unhealthyNanos) {
+        this.name = name;
+        this.model = model;
+        this.weight = Math.max(1, weight);
+        this.webClient = webClient;
+        this.rateLimiter = rateLimiter;
+        this.ewmaAlpha = ewmaAlpha;
+        this.failureThreshold = failureThreshold;
+        this.unhealthyNanos = unhealthyNanos;
+    }
+
+    /**
+     * 요청 하나를 시작합니다. 반환된 Call로 결과를 정확히 한 번 기록해야 합니다.
+     *
+     * @return 진행 중인 요청
+     */
+    Call start() {
+        outstanding.incrementAndGet();
+        return new Call(System.nanoTime());
+    }
+
+    /**
+     * 지금 요청을 보내도 되는 상태인지 확인합니다.
+     * 비정상 표시 시간이 지나면 다시 요청을 받아 회복 여부를 확인합니다.
+     *
+     * @return 정상이면 true
+     */
+    synchronized boolean isHealthy() {
+        if (unhealthy && System.nanoTime() - unhealthyUntil >= 0) {
+            unhealthy = false;
+        }
+        return !unhealthy;
+    }
+
+    /**
+     * 비정상 상태가 풀리는 시각(System.nanoTime 기준)입니다.
+     */
+    synchronized long unhealthyUntil() {
+        return unhealthyUntil;
+    }
+
+    int outstanding() {
+        return outstanding.get();
+    }
+
+    synchronized double ewmaMillis() {
+        return ewmaMillis;
+    }
+
+    private synchronized void recordSuccess(long latencyNanos) {
+        consecutiveFailures = 0;
+        if (latencyNanos >= 0) {
+            double millis = latencyNanos / 1_000_000.0;
+            ewmaMillis = ewmaMillis == 0 ? millis : ewmaAlpha * millis + (1 - ewmaAlpha) * ewmaMillis;
+        }
+    }
+
+    // 연속 실패 횟수가 임계치에 도달하면 비정상으로 표시하고 true를 반환합니다.
+    private synchronized boolean recordFailure() {
+        if (++consecutiveFailures < failureThreshold) {
+            return false;
+        }
+        consecutiveFailures = 0;
+        unhealthy = true;
+        unhealthyUntil = System.nanoTime() + unhealthyNanos;
+        return true;
+    }
+
+    /**
+     * 이 대상으로 보낸 요청 하나입니다. 성공, 실패, 해제 중 처음 기록된 결과만 반영됩니다.
+     */
+    final class Call {
+        private volatile long startNanos;
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private Call(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * 실제 요청을 보내기 시작한 시각으로 응답 시간 측정을 다시 시작합니다. (속도 제한 대기 시간 제외)
+         */
+        void begin() {
+            startNanos = System.nanoTime();
+        }
+
+        /**
+         * @param recordLatency true이면 응답 시간을 EWMA에 반영합니다. (스트리밍은 전체 시간이 응답 길이에 좌우되므로 제외)
+         */
+        void succeeded(boolean recordLatency) {
+            if (finished.compareAndSet(false, true)) {
+                outstanding.decrementAndGet();
+                recordSuccess(recordLatency ? System.nanoTime() - startNanos : -1);
+            }
+        }
+
+        /**
+         * @return 이 실패로 대상이 비정상으로 표시되었으면 true
+         */
+        boolean failed() {
+            if (finished.compareAndSet(false, true)) {
+                outstanding.decrementAndGet();
+                return recordFailure();
+            }
+            return false;
+        }
+
+        /**
+         * 결과를 상태에 반영하지 않고 종료합니다. (취소, 요청 자체의 오류 등 대상의 상태와 무관한 경우)
+         */
+        void released() {
+            if (finished.compareAndSet(false, true)) {
+                outstanding.decrementAndGet();
+            }
+        }
+    }
+}
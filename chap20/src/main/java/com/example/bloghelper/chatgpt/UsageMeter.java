@@ -0,0 +1,233 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.config.ChatGptConfig;
+import com.example.bloghelper.dto.ChatGptResponse;
+import com.example.bloghelper.entity.TokenUsage;
+import com.example.bloghelper.exception.ChatGptError;
+import com.example.bloghelper.exception.ChatGptException;
+import com.example.bloghelper.repository.TokenUsageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * UsageMeter는 ChatGPT 토큰 사용량을 회원/용도(PromptType)/모델별로 집계하고, 회원별 일일 한도를 적용합니다.
+ * <p>
+ * - 기록: 응답의 usage를 메모리의 LongAdder 카운터에 더하기만 합니다. 요청 처리 중에는 DB에 접근하지 않습니다.
+ * - 저장: flushInterval마다 카운터 값을 꺼내고(sumThenReset) 0이 아닌 것만 token_usage 테이블에 한꺼번에 저장합니다.
+ *   저장에 실패하면 꺼낸 값을 카운터에 되돌려 다음 주기에 다시 저장합니다. 종료할 때도 남은 값을 저장합니다.
+ * - 일일 한도: 회원별 오늘 사용량(시작 시 테이블에서 복원한 값 + 이후 기록한 값)이 한도 이상이면 호출 전에 거절합니다.
+ *   이미 시작된 호출은 막지 않으므로 동시에 진행 중인 호출만큼 한도를 조금 넘을 수 있습니다.
+ * - 메트릭: chatgpt.usage.quota.rejected
+ */
+@Component
+@Slf4j
+public class UsageMeter {
+    // 회원 정보 없이 호출한 사용량(비회원, 내부 호출)을 모으는 이름입니다. 일일 한도는 적용하지 않습니다.
+    static final String ANONYMOUS = "anonymous";
+
+    private final ChatGptConfig.Usage properties;
+    private final TokenUsageRepository tokenUsageRepository;
+    private final Map<UsageKey, UsageCounters> counters = new ConcurrentHashMap<>();
+    private final Map<String, DailyUsage> daily = new ConcurrentHashMap<>();
+    private final Counter quotaRejected;
+
+    public UsageMeter(ChatGptConfig chatGptConfig, TokenUsageRepository tokenUsageRepository, MeterRegistry meterRegistry) {
+        this.properties = chatGptConfig.getUsage();
+        this.tokenUsageRepository = tokenUsageRepository;
+        this.quotaRejected = meterRegistry.counter("chatgpt.usage.quota.rejected");
+    }
+
+    /**
+     * 응답 하나의 토큰 사용량을 기록합니다.
+     *
+     * @param member 호출한 회원의 이메일 (null이면 비회원)
+     * @param type   프롬프트 용도
+     * @param model  실제로 호출한 모델
+     * @param usage  응답의 토큰 사용량 (없으면 무시합니다)
+     */
+    public void record(String member, PromptType type, String model, ChatGptResponse.Usage usage) {
+        if (!properties.isEnabled() || usage == null) {
+            return;
+        }
+        String owner = member != null ? member : ANONYMOUS;
+        long promptTokens = usage.promptTokens() != null ? usage.promptTokens() : 0;
+        long completionTokens = usage.completionTokens() != null ? usage.completionTokens() : 0;
+        LocalDate today = LocalDate.now();
+
+        counters.computeIfAbsent(new UsageKey(owner, type, model, today), key -> new UsageCounters())
+                .add(1, promptTokens, completionTokens, usage.cachedTokens());
+        dailyOf(owner, today).tokens.add(promptTokens + completionTokens);
+    }
+
+    /**
+     * 회원의 오늘 사용량이 일일 한도 안에 있는지 확인합니다.
+     *
+     * @param member 호출한 회원의 이메일 (null이면 확인하지 않습니다)
+     * @return 한도를 넘었으면 QuotaExceeded 예외, 아니면 null
+     */
+    public ChatGptException checkQuota(String member) {
+        if (!properties.isEnabled() || member == null) {
+            return null;
+        }
+        Long quota = properties.dailyTokenQuotaOf(member);
+        if (quota == null) {
+            return null;
+        }
+        long used = usedToday(member);
+        if (used < quota) {
+            return null;
+        }
+        quotaRejected.increment();
+        // 사용량은 자정에 초기화됩니다.
+        Duration untilReset = Duration.between(LocalDateTime.now(), LocalDate.now().plusDays(1).atStartOfDay());
+        return new ChatGptException(new ChatGptError.QuotaExceeded(
+                "오늘 사용할 수 있는 토큰을 모두 사용했습니다. (사용: %d, 한도: %d)".formatted(used, quota),
+                used, quota, untilReset));
+    }
+
+    /**
+     * 회원의 오늘 토큰 사용량(프롬프트 + 응답)을 반환합니다.
+     *
+     * @param member 회원 이메일
+     * @return 오늘 사용한 토큰 수
+     */
+    public long usedToday(String member) {
+        DailyUsage usage = daily.get(member);
+        return usage != null && usage.day.equals(LocalDate.now()) ? usage.tokens.sum() : 0;
+    }
+
+    /**
+     * 메모리에 모은 사용량을 token_usage 테이블에 저장합니다.
+     */
+    @Scheduled(fixedDelayString = "#{@chatGptConfig.usage.flushInterval.toMillis()}")
+    public void flush() {
+        if (counters.isEmpty()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        List<TokenUsage> rows = new ArrayList<>();
+        for (Map.Entry<UsageKey, UsageCounters> entry : counters.entrySet()) {
+            UsageKey key = entry.getKey();
+            // 지난 날짜의 카운터는 더 쓰이지 않으므로 맵에서 빼고 마지막으로 저장합니다.
+            UsageCounters usageCounters = key.day().isBefore(today) ? counters.remove(key) : entry.getValue();
+            if (usageCounters == null) {
+                continue;
+            }
+            TokenUsage row = usageCounters.drain(key);
+            if (row != null) {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            tokenUsageRepository.saveAll(rows);
+            log.debug("토큰 사용량 {}건을 저장했습니다.", rows.size());
+        } catch (RuntimeException e) {
+            log.warn("토큰 사용량 저장에 실패하여 다음 주기에 다시 저장합니다. ({}건)", rows.size(), e);
+            for (TokenUsage row : rows) {
+                UsageKey key = new UsageKey(row.getMemberEmail(), row.getPromptType(), row.getModel(), row.getUsageDate());
+                counters.computeIfAbsent(key, k -> new UsageCounters())
+                        .add(row.getCalls(), row.getPromptTokens(), row.getCompletionTokens(), row.getCachedTokens());
+            }
+        }
+    }
+
+    /**
+     * 애플리케이션이 시작되면 테이블에 저장된 오늘 사용량을 일일 한도 계산에 반영합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreDailyUsage() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        for (Object[] row : tokenUsageRepository.sumTokensByMember(today)) {
+            String member = (String) row[0];
+            long tokens = row[1] != null ? ((Number) row[1]).longValue() : 0;
+            dailyOf(member, today).tokens.add(tokens);
+        }
+    }
+
+    /**
+     * 종료하기 전에 남은 사용량을 저장합니다.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // 회원의 오늘 사용량 카운터를 반환합니다. 날짜가 바뀌었으면 새 카운터로 바꿉니다.
+    private DailyUsage dailyOf(String member, LocalDate today) {
+        DailyUsage usage = daily.get(member);
+        if (usage != null && usage.day.equals(today)) {
+            return usage;
+        }
+        return daily.compute(member, (key, existing) ->
+                existing != null && existing.day.equals(today) ? existing : new DailyUsage(today));
+    }
+
+    /**
+     * 사용량을 나누어 모으는 기준입니다.
+     */
+    private record UsageKey(String member, PromptType type, String model, LocalDate day) {
+    }
+
+    /**
+     * 기준 하나의 사용량 카운터입니다. 여러 스레드가 동시에 더해도 경합이 적도록 LongAdder를 사용합니다.
+     */
+    private static final class UsageCounters {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder promptTokens = new LongAdder();
+        private final LongAdder completionTokens = new LongAdder();
+        private final LongAdder cachedTokens = new LongAdder();
+
+        private void add(long calls, long promptTokens, long completionTokens, long cachedTokens) {
+            this.calls.add(calls);
+            this.promptTokens.add(promptTokens);
+            this.completionTokens.add(completionTokens);
+            this.cachedTokens.add(cachedTokens);
+        }
+
+        // 지금까지 더한 값을 꺼내고 0으로 되돌립니다. 꺼낼 값이 없으면 null을 반환합니다.
+        private TokenUsage drain(UsageKey key) {
+            long drainedCalls = calls.sumThenReset();
+            long drainedPrompt = promptTokens.sumThenReset();
+            long drainedCompletion = completionTokens.sumThenReset();
+            long drainedCached = cachedTokens.sumThenReset();
+            if (drainedCalls == 0 && drainedPrompt == 0 && drainedCompletion == 0) {
+                return null;
+            }
+            return new TokenUsage(key.member(), key.type(), key.model(), key.day(),
+                    drainedCalls, drainedPrompt, drainedCompletion, drainedCached);
+        }
+    }
+
+    /**
+     * 회원 한 명의 하루 토큰 사용량입니다.
+     */
+    private static final class DailyUsage {
+        private final LocalDate day;
+        private final LongAdder tokens = new LongAdder();
+
+        private DailyUsage(LocalDate day) {
+            this.day = day;
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package com.example.bloghelper.config;
 
+import com.example.bloghelper.chatgpt.PromptType;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Configuration // 스프링 빈으로 등록하여 애플리케이션 구동 시 해당 클래스를 설정정보로 사용하게 합니다.
 @ConfigurationProperties(prefix = "chatgpt")
 // application-template.yml 파일 내에 "chatgpt"로 시작하는 프로퍼티들을
@@ -22,5 +30,410 @@ public class ChatGptConfig {
     private Double temperature;
     // 응답의 최대 토큰 길이를 설정하는 파라미터입니다.
     private Integer maxCompletionTokens;
-}
+    // 업스트림 대상(엔드포인트/API 키) 목록입니다. 비어 있으면 apiKey, apiUrl, model로 대상 하나를 구성합니다. (chatgpt.targets[*])
+    private List<Target> targets = new ArrayList<>();
+    // 업스트림 대상 선택(라우팅)과 상태 판단 설정입니다. (chatgpt.routing.*)
+    private final Routing routing = new Routing();
+    // 응답 캐시 설정입니다. (chatgpt.cache.*)
+    private final Cache cache = new Cache();
+    // 분당 요청 수/토큰 수 제한 설정입니다. (chatgpt.rate-limit.*)
+    private final RateLimit rateLimit = new RateLimit();
+    // 커넥션 풀과 타임아웃 설정입니다. (chatgpt.pool.*)
+    private final Pool pool = new Pool();
+    // 재시도 정책 설정입니다. (chatgpt.retry.*)
+    private final Retry retry = new Retry();
+    // 서킷 브레이커 설정입니다. (chatgpt.circuit-breaker.*)
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+    // 유스케이스별 동시 호출 제한(벌크헤드) 설정입니다. (chatgpt.bulkhead.*)
+    private final Bulkhead bulkhead = new Bulkhead();
+    // 헤지 요청 설정입니다. (chatgpt.hedge.*)
+    private final Hedge hedge = new Hedge();
+    // 우선순위/회원별 공정 스케줄링(admission) 설정입니다. (chatgpt.scheduler.*)
+    private final Scheduler scheduler = new Scheduler();
+    // 여러 키워드를 한 번에 분석하는 배치 요청 설정입니다. (chatgpt.batch.*)
+    private final Batch batch = new Batch();
+    // 프롬프트/응답 토큰 한도 설정입니다. (chatgpt.tokens.*)
+    private final Tokens tokens = new Tokens();
+    // 긴 포스트의 구간 분할 개선 설정입니다. (chatgpt.improve.*)
+    private final Improve improve = new Improve();
+    // 회원별 토큰 사용량 집계와 일일 한도 설정입니다. (chatgpt.usage.*)
+    private final Usage usage = new Usage();
+
+    /**
+     * 실제로 사용할 업스트림 대상 목록을 반환합니다.
+     * targets가 비어 있으면 기존 단일 설정(apiKey, apiUrl, model)으로 "default" 대상 하나를 만듭니다.
+     *
+     * @return 업스트림 대상 목록
+     */
+    public List<Target> targetsOrDefault() {
+        if (!targets.isEmpty()) {
+            return targets;
+        }
+        Target target = new Target();
+        target.setName("default");
+        target.setApiKey(apiKey);
+        target.setApiUrl(apiUrl);
+        return List.of(target);
+    }
+
+    /**
+     * 업스트림 대상 하나의 설정입니다. 대상마다 커넥션 풀과 속도 제한 한도를 따로 가집니다.
+     */
+    @Getter
+    @Setter
+    public static class Target {
+        // 메트릭 태그와 로그에 사용할 대상 이름입니다.
+        private String name;
+        // 이 대상에 사용할 API 키입니다.
+        private String apiKey;
+        // 이 대상의 API URL입니다.
+        private String apiUrl;
+        // 이 대상에서 사용할 모델입니다. 비어 있으면 chatgpt.model을 사용합니다.
+        // 응답 캐시의 키는 chatgpt.model로 만들므로, 모델이 다른 대상들의 응답도 같은 캐시 항목을 공유합니다.
+        private String model;
+        // 라우팅 가중치입니다. 클수록 더 많은 요청을 받습니다.
+        private int weight = 1;
+        // 이 대상(API 키)의 분당 요청 수 한도입니다. 비어 있으면 chatgpt.rate-limit 값을 사용합니다.
+        private Integer requestsPerMinute;
+        // 이 대상(API 키)의 분당 토큰 수 한도입니다. 비어 있으면 chatgpt.rate-limit 값을 사용합니다.
+        private Integer tokensPerMinute;
+
+        public String modelOr(String defaultModel) {
+            return model != null && !model.isBlank() ? model : defaultModel;
+        }
+
+        public RateLimit rateLimitOf(RateLimit defaults) {
+            RateLimit rateLimit = new RateLimit();
+            rateLimit.setEnabled(defaults.isEnabled());
+            rateLimit.setRequestsPerMinute(requestsPerMinute != null ? requestsPerMinute : defaults.getRequestsPerMinute());
+            rateLimit.setTokensPerMinute(tokensPerMinute != null ? tokensPerMinute : defaults.getTokensPerMinute());
+            rateLimit.setMaxQueueSize(defaults.getMaxQueueSize());
+            return rateLimit;
+        }
+    }
+
+    /**
+     * 업스트림 대상 선택(라우팅)과 상태 판단 설정입니다.
+     */
+    @Getter
+    @Setter
+    public static class Routing {
+        // 대상 선택 방식입니다.
+        private Strategy strategy = Strategy.LEAST_OUTSTANDING;
+        // 연속으로 이 횟수만큼 실패하면 대상을 비정상(unhealthy)으로 표시합니다.
+        private int failureThreshold = 5;
+        // 비정상으로 표시된 대상을 라우팅에서 제외하는 시간입니다. 이후 다시 요청을 보내 회복 여부를 확인합니다.
+        private Duration unhealthyDuration = Duration.ofSeconds(30);
+        // 응답 시간 EWMA의 평활 계수입니다. 클수록 최근 응답 시간을 크게 반영합니다.
+        private double ewmaAlpha = 0.3;
+
+        public enum Strategy {
+            // 진행 중인 요청 수 / 가중치가 가장 작은 대상을 선택합니다.
+            LEAST_OUTSTANDING,
+            // 응답 시간 EWMA x (진행 중인 요청 수 + 1) / 가중치가 가장 작은 대상을 선택합니다.
+            EWMA
+        }
+    }
+
+    /**
+     * ChatGPT 응답 캐시 설정입니다.
+     * 항목의 무게(weight)는 키와 응답 문자열의 길이(문자 수) 합으로 계산합니다.
+     */
+    @Getter
+    @Setter
+    public static class Cache {
+        // false이면 캐시를 사용하지 않습니다.
+        private boolean enabled = true;
+        // 캐시에 보관할 수 있는 전체 무게(문자 수)의 상한입니다.
+        private long maximumWeight = 20_000_000;
+        // 프롬프트 종류별 TTL이 지정되지 않았을 때 사용할 기본 TTL입니다.
+        private Duration defaultTtl = Duration.ofMinutes(30);
+        // 프롬프트 종류별 TTL입니다. 0이면 해당 종류의 응답은 캐시하지 않습니다.
+        private Map<PromptType, Duration> ttl = new EnumMap<>(PromptType.class);
+
+        public Duration ttlOf(PromptType type) {
+            return ttl.getOrDefault(type, defaultTtl);
+        }
+    }
+
+    /**
+     * ChatGPT API 조직 한도에 맞춘 클라이언트 쪽 속도 제한 설정입니다.
+     */
+    @Getter
+    @Setter
+    public static class RateLimit {
+        // false이면 속도 제한 없이 바로 요청합니다.
+        private boolean enabled = true;
+        // 분당 요청 수(RPM) 한도입니다.
+        private int requestsPerMinute = 500;
+        // 분당 토큰 수(TPM) 한도입니다.
+        private int tokensPerMinute = 200_000;
+        // 한도를 기다릴 수 있는 최대 요청 수입니다. 초과하면 즉시 실패합니다.
+        private int maxQueueSize = 1_000;
+    }
+
+    /**
+     * ChatGPT API 호출용 WebClient의 커넥션 풀(Reactor Netty ConnectionProvider)과 타임아웃 설정입니다.
+     */
+    @Getter
+    @Setter
+    public static class Pool {
+        // 최대 커넥션 수입니다.
+        private int maxConnections = 100;
+        // 커넥션을 얻기 위해 대기할 수 있는 최대 요청 수입니다. 초과하면 즉시 실패합니다.
+        private int pendingAcquireMaxCount = 500;
+        // 커넥션을 얻기 위해 기다리는 최대 시간입니다.
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+        // 이 시간 동안 사용되지 않은 커넥션은 닫습니다.
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        // 커넥션의 최대 수명입니다. 서버/로드밸런서가 끊기 전에 먼저 교체합니다.
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        // 유휴/수명 초과 커넥션을 백그라운드에서 정리하는 주기입니다.
+        private Duration evictInBackground = Duration.ofSeconds(30);
+        // TCP 연결 타임아웃입니다.
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        // true이면 HTTP/2(h2)를 우선 협상하고, false이면 HTTP/1.1 keep-alive를 사용합니다.
+        private boolean http2 = false;
+        // 프롬프트 종류별 응답 타임아웃이 지정되지 않았을 때 사용할 기본값입니다.
+        private Duration defaultResponseTimeout = Duration.ofSeconds(120);
+        // 프롬프트 종류별 응답 타임아웃입니다. (응답 데이터를 읽는 사이의 최대 대기 시간)
+        private Map<PromptType, Duration> responseTimeout = new EnumMap<>(PromptType.class);
+
+        public Duration responseTimeoutOf(PromptType type) {
+            return responseTimeout.getOrDefault(type, defaultResponseTimeout);
+        }
+    }
+
+    /**
+     * 일시적인 오류(5xx, 429, 네트워크 오류)에 대한 재시도 정책 설정입니다.
+     */
+    @Getter
+    @Setter
+    public static class Retry {
+        // false이면 재시도하지 않습니다.
+        private boolean enabled = true;
+        // 최초 호출을 포함한 최대 시도 횟수입니다.
+        private int maxAttempts = 3;
+        // 첫 번째 재시도의 최대 대기 시간입니다. 이후 시도마다 2배씩 늘어납니다.
+        private Duration initialBackoff = Duration.ofMillis(500);
+        // 재시도 대기 시간의 상한입니다.
+        private Duration maxBackoff = Duration.ofSeconds(10);
+        // Retry-After가 이 값보다 길면 기다리지 않고 바로 실패합니다.
+        private Duration maxRetryAfter = Duration.ofSeconds(30);
+        // 재시도 예산: 윈도우 안의 호출 수 대비 허용할 재시도 비율입니다. (0.1 = 최대 10% 추가 호출)
+        private double budgetRatio = 0.1;
+        // 재시도 예산을 계산하는 윈도우 길이입니다.
+        private Duration budgetWindow = Duration.ofSeconds(10);
+        // 호출이 적을 때도 허용할 윈도우당 최소 재시도 수입니다.
+        private int budgetMinPerWindow = 3;
+    }
 
+    /**
+     * ChatGPT API 호출을 감싸는 서킷 브레이커 설정입니다.
+     * 최근 호출의 실패율 또는 느린 호출 비율이 임계치를 넘으면 OPEN 상태가 되어 호출을 즉시 거절하고,
+     * 대기 시간이 지나면 HALF_OPEN 상태에서 일부 호출만 시험 삼아 통과시킵니다.
+     */
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        // OPEN으로 전환할 실패율(%)입니다.
+        private float failureRateThreshold = 50;
+        // OPEN으로 전환할 느린 호출 비율(%)입니다.
+        private float slowCallRateThreshold = 80;
+        // 이 시간보다 오래 걸린 호출을 느린 호출로 봅니다. 스트리밍 호출은 첫 조각을 받기까지의 시간으로 판단합니다.
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(90);
+        // 실패율을 계산할 최근 호출 수(슬라이딩 윈도우 크기)입니다.
+        private int slidingWindowSize = 50;
+        // 실패율을 계산하기 위한 최소 호출 수입니다.
+        private int minimumNumberOfCalls = 10;
+        // OPEN 상태를 유지하는 시간입니다. 이후 HALF_OPEN으로 전환됩니다.
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        // HALF_OPEN 상태에서 시험 삼아 통과시킬 호출 수입니다.
+        private int permittedNumberOfCallsInHalfOpenState = 3;
+    }
+
+    /**
+     * 유스케이스(프롬프트 종류)별 동시 호출 수 제한 설정입니다.
+     * 한 유스케이스가 느려져도 다른 유스케이스의 호출과 서블릿 스레드를 모두 점유하지 못하게 합니다.
+     */
+    @Getter
+    @Setter
+    public static class Bulkhead {
+        // 프롬프트 종류별 최대 동시 호출 수가 지정되지 않았을 때 사용할 기본값입니다.
+        private int defaultMaxConcurrentCalls = 20;
+        // 프롬프트 종류별 최대 동시 호출 수입니다.
+        private Map<PromptType, Integer> maxConcurrentCalls = new EnumMap<>(PromptType.class);
+        // 자리가 날 때까지 기다리는 최대 시간입니다. 0이면 기다리지 않고 즉시 거절합니다.
+        private Duration maxWaitDuration = Duration.ZERO;
+
+        public int maxConcurrentCallsOf(PromptType type) {
+            return maxConcurrentCalls.getOrDefault(type, defaultMaxConcurrentCalls);
+        }
+    }
+
+    /**
+     * 헤지(hedged) 요청 설정입니다.
+     * 첫 요청이 프롬프트 종류별 최근 응답 시간의 백분위수(기본 p95)만큼 지나도 끝나지 않으면 같은 요청을 한 번 더 보내고,
+     * 먼저 끝난 응답을 사용합니다. CompletionOptions에서 헤지를 켠 호출에만 적용됩니다.
+     */
+    @Getter
+    @Setter
+    public static class Hedge {
+        // false이면 옵션과 관계없이 헤지 요청을 보내지 않습니다.
+        private boolean enabled = true;
+        // 헤지 요청을 보낼 기준이 되는 응답 시간 백분위수입니다. (0.95 = p95)
+        private double percentile = 0.95;
+        // 백분위수를 계산할 최근 응답 시간 샘플 수입니다.
+        private int sampleSize = 200;
+        // 샘플이 이 개수보다 적으면 initialDelay를 사용합니다.
+        private int minSamples = 20;
+        // 샘플이 충분하지 않을 때 사용할 대기 시간입니다.
+        private Duration initialDelay = Duration.ofSeconds(5);
+        // 대기 시간의 하한입니다. 너무 일찍 헤지하여 호출이 두 배가 되는 것을 막습니다.
+        private Duration minDelay = Duration.ofMillis(500);
+        // 대기 시간의 상한입니다.
+        private Duration maxDelay = Duration.ofSeconds(20);
+        // 헤지 예산: 윈도우 안의 호출 수 대비 허용할 헤지 요청 비율입니다. (0.05 = 최대 5% 추가 호출)
+        private double budgetRatio = 0.05;
+        // 헤지 예산을 계산하는 윈도우 길이입니다.
+        private Duration budgetWindow = Duration.ofSeconds(10);
+        // 호출이 적을 때도 허용할 윈도우당 최소 헤지 요청 수입니다.
+        private int budgetMinPerWindow = 1;
+    }
+
+    /**
+     * ChatGPT API 호출의 입장(admission) 스케줄링 설정입니다.
+     * 동시에 진행할 수 있는 호출 수를 넘으면 호출을 대기열에 넣고,
+     * 우선순위 클래스(프롬프트 종류) 순서대로, 같은 클래스 안에서는 회원별 가중 공정 큐(WFQ)로 순서를 정합니다.
+     * 프롬프트 종류별 동시 호출 수는 벌크헤드 한도(Bulkhead.maxConcurrentCalls)를 넘지 않게 시작합니다.
+     */
+    @Getter
+    @Setter
+    public static class Scheduler {
+        // false이면 대기열 없이 바로 호출합니다.
+        private boolean enabled = true;
+        // 동시에 진행할 수 있는 최대 호출 수입니다.
+        private int maxConcurrentCalls = 32;
+        // 대기열에 넣을 수 있는 최대 호출 수입니다. 초과하면 즉시 실패합니다.
+        private int maxQueueSize = 500;
+        // 대기열에서 기다리는 최대 시간입니다. 초과하면 실패합니다.
+        private Duration maxQueueWait = Duration.ofSeconds(60);
+        // 우선순위가 높은 순서의 프롬프트 종류입니다. 목록에 없는 종류는 가장 낮은 우선순위로 처리합니다.
+        private List<PromptType> priorities = new ArrayList<>(List.of(
+                PromptType.POST_IMPROVE,
+                PromptType.POST_IMPROVE_EDITS,
+                PromptType.POST_IMPROVE_CHUNK,
+                PromptType.KEYWORD_ANALYSIS,
+                PromptType.GENERAL,
+                PromptType.POST_DRAFT,
+                PromptType.KEYWORD_BATCH
+        ));
+        // 회원(이메일)별 가중치입니다. 지정되지 않은 회원은 1입니다.
+        private Map<String, Double> memberWeights = new HashMap<>();
+
+        public double memberWeightOf(String member) {
+            return memberWeights.getOrDefault(member, 1.0);
+        }
+    }
+
+    /**
+     * 키워드 배치 분석 설정입니다.
+     * 여러 키워드를 하나의 프롬프트로 묶되, 프롬프트 토큰 수와 예상 응답 토큰 수가 예산을 넘지 않도록 묶음 크기를 정합니다.
+     */
+    @Getter
+    @Setter
+    public static class Batch {
+        // 한 번의 호출에 묶을 수 있는 최대 키워드 수입니다.
+        private int maxKeywordsPerCall = 25;
+        // 한 번의 호출에서 프롬프트에 사용할 최대 토큰 수입니다.
+        private int promptTokenBudget = 2_000;
+        // 한 번의 호출에서 응답에 사용할 최대 토큰 수입니다. 비어 있으면 chatgpt.max-completion-tokens를 사용합니다.
+        private Integer completionTokenBudget;
+        // 키워드 하나의 응답에 필요한 토큰 수의 초기 추정치입니다. 이후 실제 응답 길이로 보정합니다.
+        private int initialCompletionTokensPerKeyword = 150;
+        // 동시에 진행할 묶음(호출) 수입니다.
+        private int concurrency = 4;
+    }
+
+    /**
+     * 프롬프트와 응답의 토큰 한도 설정입니다.
+     * 프롬프트는 보내기 전에 토큰 수를 계산하여 한도를 넘으면 거절하거나 잘라내고,
+     * 응답 최대 토큰 수(max_completion_tokens)는 프롬프트 종류별 최근 응답 길이의 백분위수로 정합니다.
+     */
+    @Getter
+    @Setter
+    public static class Tokens {
+        // 모델의 컨텍스트 윈도우(프롬프트 + 응답) 크기입니다.
+        private int contextWindow = 128_000;
+        // 프롬프트의 기본 최대 토큰 수입니다.
+        private int defaultMaxPromptTokens = 16_000;
+        // 프롬프트 종류별 최대 토큰 수입니다. 지정하지 않은 종류는 defaultMaxPromptTokens를 사용합니다.
+        private Map<PromptType, Integer> maxPromptTokens = new EnumMap<>(PromptType.class);
+        // 포스트 개선 요청에서 본문이 프롬프트 한도를 넘을 때의 처리 방식입니다.
+        private Oversized oversizedContent = Oversized.TRIM;
+        // true이면 최근 응답 길이로 max_completion_tokens를 정하고, false이면 항상 max-completion-tokens를 사용합니다.
+        private boolean dynamicCompletionTokens = true;
+        // 응답 길이(completion_tokens)의 백분위수입니다. (0.99 = p99)
+        private double completionPercentile = 0.99;
+        // 백분위수에 곱할 여유 배수입니다.
+        private double completionHeadroom = 1.25;
+        // 프롬프트 종류별로 보관할 최근 응답 길이 샘플 수입니다.
+        private int sampleSize = 500;
+        // 샘플이 이 개수보다 적으면 max-completion-tokens를 사용합니다.
+        private int minSamples = 30;
+        // 동적으로 정한 응답 최대 토큰 수의 하한입니다.
+        private int minCompletionTokens = 256;
+
+        // 응답에 쓸 최소 토큰(minCompletionTokens)을 남기도록 컨텍스트 윈도우 안으로 제한한 값을 반환합니다.
+        public int maxPromptTokensOf(PromptType type) {
+            return Math.min(maxPromptTokens.getOrDefault(type, defaultMaxPromptTokens), contextWindow - minCompletionTokens);
+        }
+
+        public enum Oversized {
+            // 본문 뒷부분을 잘라 한도에 맞춥니다.
+            TRIM,
+            // 호출하지 않고 413(Payload Too Large)으로 거절합니다.
+            REJECT
+        }
+    }
+
+    /**
+     * 포스트 개선 설정입니다.
+     * 본문이 길면 문단 경계에서 구간으로 나누어 구간마다 동시에 개선하고, 제목은 별도 호출로 개선합니다.
+     * 전체 소요 시간은 본문 전체 길이가 아니라 가장 긴 구간의 개선 시간에 비례합니다.
+     */
+    @Getter
+    @Setter
+    public static class Improve {
+        // 본문이 이 토큰 수보다 길면 구간으로 나누어 개선합니다. 0 이하이면 나누지 않습니다.
+        private int chunkThresholdTokens = 1_500;
+        // 구간 하나의 최대 토큰 수입니다. (문단보다 작게 자르지는 않습니다)
+        private int chunkTokens = 800;
+        // 동시에 개선할 구간 수입니다.
+        private int concurrency = 4;
+        // 제목을 개선할 때 참고할 본문 앞부분의 최대 토큰 수입니다.
+        private int titleContextTokens = 500;
+    }
+
+    /**
+     * 회원별 토큰 사용량 집계 설정입니다.
+     * 사용량은 메모리의 카운터에 더해 두었다가 flushInterval마다 token_usage 테이블에 모아서 저장합니다.
+     */
+    @Getter
+    @Setter
+    public static class Usage {
+        // 사용량 집계와 일일 한도 적용 여부입니다.
+        private boolean enabled = true;
+        // 메모리에 모은 사용량을 테이블에 저장하는 주기입니다.
+        private Duration flushInterval = Duration.ofSeconds(30);
+        // 회원 한 명이 하루에 사용할 수 있는 토큰 수(프롬프트 + 응답)입니다. null이면 제한하지 않습니다.
+        private Long dailyTokenQuota = 200_000L;
+        // 회원(이메일)별로 다르게 적용할 일일 토큰 한도입니다.
+        private Map<String, Long> memberDailyTokenQuota = new HashMap<>();
+
+        // 회원의 일일 토큰 한도를 반환합니다. (제한하지 않으면 null)
+        public Long dailyTokenQuotaOf(String member) {
+            return memberDailyTokenQuota.getOrDefault(member, dailyTokenQuota);
+        }
+    }
+}
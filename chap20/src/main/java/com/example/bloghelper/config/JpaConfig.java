@@ -0,0 +1,31 @@
+package com.example.bloghelper.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JpaConfig는 애플리케이션 설정 파일과 관계없이 항상 적용해야 하는 Hibernate 설정을 등록합니다.
+ * <p>
+ * - 시퀀스 id 최적화는 pooled-lo를 사용합니다. 시퀀스 값이 id 블록의 첫 값이므로,
+ *   Hibernate와 KeywordIdAllocator처럼 같은 시퀀스에서 블록을 가져가는 곳이 서로 겹치지 않는 id를 발급합니다.
+ * - 모든 엔티티가 시퀀스 id를 쓰므로 INSERT/UPDATE를 JDBC 배치로 묶을 수 있습니다.
+ *   같은 테이블의 문장끼리 모이도록 정렬하여(order_inserts, order_updates) 배치가 끊기지 않게 합니다.
+ *   (배치 설정은 spring.jpa.properties.hibernate.*로 지정하면 그 값을 사용합니다)
+ */
+@Configuration
+public class JpaConfig {
+    // 배치 하나에 담는 최대 문장 수입니다.
+    private static final int JDBC_BATCH_SIZE = 50;
+
+    @Bean
+    public HibernatePropertiesCustomizer jpaBatchingCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, JDBC_BATCH_SIZE);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.bloghelper.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * JpaSchedulerConfig는 리액티브 흐름 안에서 JPA(블로킹 JDBC) 작업을 실행할 전용 스케줄러를 등록합니다.
+ * <p>
+ * - ChatGPT 응답을 기다리는 동안에는 어떤 스레드도 점유하지 않고, DB 작업이 필요한 구간만 이 스케줄러로 옮겨 실행합니다.
+ *   (Netty 이벤트 루프나 서블릿 요청 스레드에서 JDBC를 호출하지 않습니다)
+ * - 스레드 수는 커넥션 풀 크기와 같게 둡니다. 커넥션보다 많은 스레드는 커넥션을 기다리며 막힐 뿐이기 때문입니다.
+ * - 대기 작업 수에 상한을 두어 DB가 느려질 때 메모리가 무한히 늘어나지 않도록 합니다. (넘으면 작업이 즉시 실패)
+ */
+@Configuration
+public class JpaSchedulerConfig {
+
+    /**
+     * JPA 작업 전용 스케줄러를 생성합니다.
+     *
+     * @param maxPoolSize   Hikari 커넥션 풀 크기 (스레드 수)
+     * @param queuedTaskCap 스레드를 기다리는 작업 수 상한
+     * @return 크기가 제한된 boundedElastic 스케줄러
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jpaScheduler(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maxPoolSize,
+            @Value("${blog.jpa-scheduler.queued-task-cap:10000}") int queuedTaskCap
+    ) {
+        return Schedulers.newBoundedElastic(maxPoolSize, queuedTaskCap, "jpa");
+    }
+}
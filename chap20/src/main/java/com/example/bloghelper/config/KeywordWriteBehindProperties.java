@@ -0,0 +1,29 @@
+package com.example.bloghelper.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 키워드 분석 결과의 쓰기 지연(write-behind) 저장 설정입니다.
+ * 분석 결과를 대기열에 모았다가 batchSize개가 모이거나 flushInterval이 지나면 JDBC 배치 INSERT 한 번으로 저장합니다.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "blog.keyword-write-behind")
+@Getter
+@Setter
+public class KeywordWriteBehindProperties {
+    // 대기열에 담아 둘 수 있는 최대 키워드 수입니다. 저장 중인 배치도 포함합니다.
+    private int capacity = 10_000;
+    // INSERT 배치 하나에 담는 최대 키워드 수입니다.
+    private int batchSize = 200;
+    // batchSize가 모이지 않아도 이 시간이 지나면 모인 만큼 저장합니다.
+    private Duration flushInterval = Duration.ofMillis(200);
+    // 대기열이 가득 찼을 때 자리가 날 때까지 기다리는 최대 시간입니다. 넘으면 저장을 거절(503)합니다. (0이면 바로 거절)
+    private Duration maxEnqueueWait = Duration.ofSeconds(1);
+    // 종료할 때 남은 키워드를 저장하며 기다리는 최대 시간입니다.
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,24 @@
+package com.example.bloghelper.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 비동기로 처리하는 포스트 생성/개선 요청 전체의 마감 시간 설정입니다.
+ * 키워드 분석, ChatGPT 호출(재시도 포함)을 합친 시간이 마감 시간을 넘으면 504로 응답하고 결과를 저장하지 않습니다.
+ * 두 값 모두 spring.mvc.async.request-timeout보다 짧아야 비동기 요청 타임아웃(503)보다 먼저 응답할 수 있습니다.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "blog.request-deadline")
+@Getter
+@Setter
+public class RequestDeadlineProperties {
+    // 초안 생성(POST /api/posts/drafts) 전체의 마감 시간입니다.
+    private Duration draft = Duration.ofSeconds(240);
+    // SSE 스트리밍 초안 생성/개선 전체의 마감 시간입니다.
+    private Duration stream = Duration.ofSeconds(280);
+}
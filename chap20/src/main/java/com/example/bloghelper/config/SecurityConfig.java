@@ -2,6 +2,7 @@ package com.example.bloghelper.config;
 
 import com.example.bloghelper.jwt.JwtAuthenticationFilter;
 import com.example.bloghelper.jwt.JwtProvider;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -33,6 +34,8 @@ public class SecurityConfig {
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Mono/Flux를 반환하는 엔드포인트의 결과를 쓰는 비동기 디스패치입니다. 최초 요청에서 이미 인증과 인가를 마쳤습니다.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/api/members/signup",
                                 "/api/auth/login",
@@ -1,5 +1,10 @@
 package com.example.bloghelper.config;
 
+import com.example.bloghelper.chatgpt.UpstreamRateLimiter;
+import com.example.bloghelper.chatgpt.UpstreamRouter;
+import com.example.bloghelper.chatgpt.UpstreamTarget;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,12 +13,16 @@ import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
-import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
 
 /**
  * WebClientConfig 클래스는 외부 API와 통신하기 위해 WebClient를 설정하는 빈(Bean)을 정의합니다.
- * 여기서는 ChatGPT API에 요청을 보내기 위한 WebClient를 생성합니다.
+ * 여기서는 ChatGPT API 업스트림 대상마다 요청을 보내기 위한 WebClient를 생성합니다.
  */
 @Configuration // 스프링 IoC 컨테이너에서 빈으로 등록하기 위한 클래스임을 표시합니다.
 @RequiredArgsConstructor // Lombok 어노테이션으로, final 필드들에 대한 생성자를 자동 생성합니다.
@@ -23,24 +32,90 @@ public class WebClientConfig {
     private final ChatGptConfig chatGptConfig;
 
     /**
-     * ChatGPT API와 통신하기 위한 WebClient 빈(Bean)을 생성하는 메서드입니다.
+     * ChatGPT API 업스트림 대상 목록으로 라우터 빈(Bean)을 생성하는 메서드입니다.
+     * 대상마다 전용 WebClient(커넥션 풀)와 속도 제한기를 만듭니다.
      *
-     * @return ChatGPT API 호출에 사용할 WebClient 객체
+     * @param meterRegistry 풀, 속도 제한, 라우팅 메트릭을 등록할 레지스트리
+     * @return ChatGPT API 호출에 사용할 UpstreamRouter 객체
      */
     @Bean
-    public WebClient chatGptWebClient() {
+    public UpstreamRouter upstreamRouter(MeterRegistry meterRegistry) {
+        ChatGptConfig.Routing routing = chatGptConfig.getRouting();
+
+        List<UpstreamTarget> targets = chatGptConfig.targetsOrDefault().stream()
+                .map(target -> new UpstreamTarget(
+                        target.getName(),
+                        target.modelOr(chatGptConfig.getModel()),
+                        target.getWeight(),
+                        chatGptWebClient(target),
+                        new UpstreamRateLimiter(target.getName(), target.rateLimitOf(chatGptConfig.getRateLimit()), meterRegistry),
+                        routing.getEwmaAlpha(),
+                        routing.getFailureThreshold(),
+                        routing.getUnhealthyDuration().toNanos()
+                ))
+                .toList();
+
+        return new UpstreamRouter(targets, routing.getStrategy(), meterRegistry);
+    }
+
+    /**
+     * 업스트림 대상 하나와 통신하기 위한 WebClient를 생성하는 메서드입니다.
+     *
+     * @param target 업스트림 대상 설정
+     * @return 해당 대상 호출에 사용할 WebClient 객체
+     */
+    private WebClient chatGptWebClient(ChatGptConfig.Target target) {
         // WebClient.builder()를 통해 WebClient 인스턴스를 빌드합니다.
         return WebClient.builder()
-                // ChatGPT API 기본 URL을 설정합니다.
-                .baseUrl(chatGptConfig.getApiUrl())
+                // 대상 전용 풀과 타임아웃을 설정한 Reactor Netty 커넥터를 사용합니다.
+                .clientConnector(chatGptClientConnector(target.getName()))
+                // 대상의 API URL을 기본 URL로 설정합니다.
+                .baseUrl(target.getApiUrl())
                 // 요청 시 기본으로 CONTENT_TYPE을 application/json으로 설정합니다.
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                // 인증을 위해 Authorization 헤더에 Bearer 토큰을 설정합니다.
-                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + chatGptConfig.getApiKey())
+                // 인증을 위해 Authorization 헤더에 대상의 API 키를 Bearer 토큰으로 설정합니다.
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + target.getApiKey())
                 // 응답 받을 수 있는 메모리 버퍼 사이즈를 늘려 대용량 응답에 대응합니다.
                 .codecs(configurer -> configurer
                         .defaultCodecs()
                         .maxInMemorySize(16 * 1024 * 1024))
                 .build();
     }
+
+    /**
+     * ChatGPT API 호출 전용 커넥션 풀과 타임아웃을 설정한 커넥터를 생성합니다.
+     * 풀 메트릭(reactor.netty.connection.provider.*)과 클라이언트 메트릭(reactor.netty.http.client.*)을 함께 등록합니다.
+     * 풀 크기 설정은 대상마다 따로 적용됩니다.
+     *
+     * @param targetName 업스트림 대상 이름 (풀 이름에 사용)
+     * @return ChatGPT API 호출에 사용할 ClientHttpConnector
+     */
+    private ClientHttpConnector chatGptClientConnector(String targetName) {
+        ChatGptConfig.Pool pool = chatGptConfig.getPool();
+
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("chatgpt-" + targetName)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictInBackground())
+                // 가장 최근에 반납된 커넥션부터 재사용하여 유휴 커넥션이 자연스럽게 정리되도록 합니다.
+                .lifo()
+                .metrics(true)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pool.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                // 요청별 타임아웃이 지정되지 않은 경우의 기본 응답 타임아웃입니다.
+                .responseTimeout(pool.getDefaultResponseTimeout())
+                .protocol(pool.isHttp2()
+                        ? new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11}
+                        : new HttpProtocol[]{HttpProtocol.HTTP11})
+                .metrics(true, Function.identity());
+
+        return new ReactorClientHttpConnector(httpClient);
+    }
 }
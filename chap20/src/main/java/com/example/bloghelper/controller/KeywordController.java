@@ -2,15 +2,21 @@ package com.example.bloghelper.controller;
 
 import com.example.bloghelper.dto.KeywordAnalyzeRequest;
 import com.example.bloghelper.dto.KeywordAnalyzeResponse;
+import com.example.bloghelper.dto.KeywordBatchAnalyzeRequest;
 import com.example.bloghelper.dto.PostCreateRequest;
 import com.example.bloghelper.service.KeywordService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -19,13 +25,25 @@ import reactor.core.publisher.Mono;
 public class KeywordController {
     private final KeywordService keywordService;
 
+    // Cache-Control: no-cache 헤더를 보내면 캐시된 분석 결과 대신 새로 분석합니다.
     @PostMapping("/analyze")
     public Mono<ResponseEntity<KeywordAnalyzeResponse>> analyzeKeyword(
-            @RequestBody @Valid PostCreateRequest request
+            @AuthenticationPrincipal String email,
+            @RequestBody @Valid PostCreateRequest request,
+            @RequestHeader(value = HttpHeaders.CACHE_CONTROL, required = false) String cacheControl
     ) {
-        return keywordService.analyzeKeyword(request.keyword())
+        boolean bypassCache = "no-cache".equalsIgnoreCase(cacheControl);
+        return keywordService.analyzeKeyword(request.keyword(), bypassCache, email)
                 .map(ResponseEntity::ok)
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
-}
 
+    // 여러 키워드를 묶어서 분석하고, 분석이 끝나는 대로 결과를 한 줄에 하나씩(NDJSON) 보냅니다.
+    @PostMapping(value = "/analyze/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<KeywordAnalyzeResponse> analyzeKeywords(
+            @AuthenticationPrincipal String email,
+            @RequestBody @Valid KeywordBatchAnalyzeRequest request
+    ) {
+        return keywordService.analyzeKeywords(request.keywords(), email);
+    }
+}
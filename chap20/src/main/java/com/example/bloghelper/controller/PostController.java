@@ -12,9 +12,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -41,24 +44,79 @@ public class PostController {
     })
 
     @PostMapping("/drafts")
-    public ResponseEntity<PostResponse> createDraft(
+    public Mono<ResponseEntity<PostResponse>> createDraft(
             @Parameter(hidden = true) @AuthenticationPrincipal String email,
             @Parameter(description = "게시글 정보", required = true) @RequestBody @Valid PostCreateRequest request
     ) {
         log.info("authenticated email: {}", email);
 
-        // 임시로 첫번째 회원을 찾아서 사용
-//        Member member = memberRepository.findAll()
-//                .stream()
-//                .findFirst()
-//                .orElseThrow();
+        // Mono를 그대로 반환하면 Spring MVC가 비동기 요청으로 처리하여, 초안이 생성되는 동안 요청 스레드를 반납합니다.
+        return postService.createPostDraft(request, email)
+                .map(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "내 게시글 목록 조회",
+            description = "로그인한 회원의 게시글을 최신 글부터 조회합니다. 다음 페이지는 응답의 nextCursor를 cursor로 보내 조회합니다.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서"),
+            @ApiResponse(responseCode = "403", description = "인증되지 않은 사용자")
+    })
+    @GetMapping
+    public ResponseEntity<CursorPage<PostResponse>> getPosts(
+            @Parameter(hidden = true) @AuthenticationPrincipal String email,
+            @Parameter(description = "이전 페이지의 nextCursor (첫 페이지이면 생략)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(postService.getPosts(email, cursor, size));
+    }
+
+    @Operation(summary = "내 게시글 요약 목록 조회",
+            description = "목록 화면용으로 본문 없이 제목, 상태, 키워드, 버전, 수정 시간만 조회합니다. 페이지 방식은 게시글 목록 조회와 같습니다.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서"),
+            @ApiResponse(responseCode = "403", description = "인증되지 않은 사용자")
+    })
+    @GetMapping("/summaries")
+    public ResponseEntity<CursorPage<PostSummary>> getPostSummaries(
+            @Parameter(hidden = true) @AuthenticationPrincipal String email,
+            @Parameter(description = "이전 페이지의 nextCursor (첫 페이지이면 생략)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(postService.getPostSummaries(email, cursor, size));
+    }
 
+    @Operation(summary = "최근 수정한 게시글 요약 조회", description = "대시보드용으로 최근에 수정한 게시글의 요약을 조회합니다.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "403", description = "인증되지 않은 사용자")
+    })
+    @GetMapping("/summaries/recent")
+    public ResponseEntity<List<PostSummary>> getRecentlyUpdatedPostSummaries(
+            @Parameter(hidden = true) @AuthenticationPrincipal String email,
+            @Parameter(description = "조회할 개수 (최대 100)") @RequestParam(defaultValue = "5") int size
+    ) {
+        return ResponseEntity.ok(postService.getRecentlyUpdatedPostSummaries(email, size));
+    }
 
-        return ResponseEntity
-                .ok()
-                .body(postService.createPostDraft(request, email)
-                        .block())
-                ;
+    @Operation(summary = "블로그 초안 게시글 스트리밍 작성",
+            description = "Accept: text/event-stream 요청 시 생성 중인 초안을 SSE 이벤트(keywords, delta, complete)로 전달합니다.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "스트리밍 시작"),
+            @ApiResponse(responseCode = "403", description = "인증되지 않은 사용자"),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청")
+    })
+    @PostMapping(value = "/drafts", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamDraft(
+            @Parameter(hidden = true) @AuthenticationPrincipal String email,
+            @Parameter(description = "게시글 정보", required = true) @RequestBody @Valid PostCreateRequest request
+    ) {
+        return postService.streamPostDraft(request, email);
     }
 
     @Operation(summary = "블로그 포스트 개선", description = "ChatGPT를 사용하여 블로그 포스트를 개선합니다.")
@@ -70,26 +128,64 @@ public class PostController {
     })
     @PostMapping("/{postId}/improve")
     public Mono<ResponseEntity<PostImproveResponse>> improvePost(
+            @Parameter(hidden = true) @AuthenticationPrincipal String email,
             @Parameter(description = "게시글 ID") @PathVariable Long postId,
             @Parameter(description = "개선 요청 정보") @RequestBody @Valid PostImproveRequest request
     ) {
-        return postImproveService.improvePost(postId, request)
+        return postImproveService.improvePost(postId, request, email)
                 .map(ResponseEntity::ok)
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    @Operation(summary = "블로그 포스트 스트리밍 개선",
+            description = "Accept: text/event-stream 요청 시 개선 중인 내용을 SSE 이벤트(delta, complete)로 전달합니다.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "스트리밍 시작"),
+            @ApiResponse(responseCode = "404", description = "게시글을 찾을 수 없음"),
+            @ApiResponse(responseCode = "403", description = "인증되지 않은 사용자")
+    })
+    @PostMapping(value = "/{postId}/improve", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamImprovePost(
+            @Parameter(hidden = true) @AuthenticationPrincipal String email,
+            @Parameter(description = "게시글 ID") @PathVariable Long postId,
+            @Parameter(description = "개선 요청 정보") @RequestBody @Valid PostImproveRequest request
+    ) {
+        return postImproveService.streamImprovePost(postId, request, email);
+    }
+
 
-    @Operation(summary = "블로그 포스트 개선 이력 조회", description = "블로그 포스트의 개선 이력을 조회합니다.")
+    @Operation(summary = "블로그 포스트 개선 이력 조회",
+            description = "블로그 포스트의 개선 이력을 최신 버전부터 조회합니다. 본문 없이 버전, 개선 이유, 개선 시간만 반환하며, 다음 페이지는 nextCursor를 cursor로 보내 조회합니다.")
     @SecurityRequirement(name = "bearerAuth")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서"),
+            @ApiResponse(responseCode = "404", description = "게시글을 찾을 수 없음"),
             @ApiResponse(responseCode = "403", description = "인증되지 않은 사용자")
     })
-
     @GetMapping("/{postId}/histories")
-    public ResponseEntity<List<PostHistoryResponse>> getPostHistories(
-            @Parameter(description = "게시글 ID") @PathVariable Long postId) {
+    public ResponseEntity<CursorPage<PostHistorySummary>> getPostHistories(
+            @Parameter(description = "게시글 ID") @PathVariable Long postId,
+            @Parameter(description = "이전 페이지의 nextCursor (첫 페이지이면 생략)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size
+    ) {
         return ResponseEntity.ok()
-                .body(postImproveService.getPostHistories(postId));
+                .body(postImproveService.getPostHistories(postId, cursor, size));
+    }
+
+    @Operation(summary = "블로그 포스트 개선 이력 버전 조회", description = "개선 이력 중 한 버전의 제목과 본문을 조회합니다.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "404", description = "해당 버전의 이력을 찾을 수 없음"),
+            @ApiResponse(responseCode = "403", description = "인증되지 않은 사용자")
+    })
+    @GetMapping("/{postId}/histories/{version}")
+    public ResponseEntity<PostHistoryResponse> getPostHistory(
+            @Parameter(description = "게시글 ID") @PathVariable Long postId,
+            @Parameter(description = "버전") @PathVariable int version
+    ) {
+        return ResponseEntity.ok(postImproveService.getPostHistory(postId, version));
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.bloghelper.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.List;
@@ -13,14 +14,54 @@ import java.util.List;
  * @param messages    모델에 전달할 메시지 목록
  * @param temperature 생성 결과의 창의성(랜덤성)을 조절하는 파라미터
  * @param maxTokens   응답에 사용할 최대 토큰 수 (max_completion_tokens로 매핑)
+ * @param stream      true이면 응답을 SSE(Server-Sent Events) 조각(delta)으로 나누어 받습니다. null이면 필드를 전송하지 않습니다.
+ * @param streamOptions 스트리밍 옵션 (stream이 true일 때만 사용, null이면 필드를 전송하지 않습니다)
  */
 public record ChatGptRequest(
         String model,
         List<Message> messages,
         Double temperature,
-        @JsonProperty("max_completion_tokens") Integer maxTokens
+        @JsonProperty("max_completion_tokens") Integer maxTokens,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Boolean stream,
+        @JsonProperty("stream_options") @JsonInclude(JsonInclude.Include.NON_NULL) StreamOptions streamOptions
 ) {
 
+    /**
+     * 모델만 바꾼 복사본을 반환합니다. 업스트림 대상마다 모델이 다를 때 사용합니다.
+     *
+     * @param model 사용할 모델의 이름
+     * @return 모델이 바뀐 ChatGptRequest 객체
+     */
+    public ChatGptRequest withModel(String model) {
+        if (model == null || model.equals(this.model)) {
+            return this;
+        }
+        return new ChatGptRequest(model, messages, temperature, maxTokens, stream, streamOptions);
+    }
+
+    /**
+     * 응답 최대 토큰 수만 바꾼 복사본을 반환합니다. 프롬프트 종류별로 응답 길이 상한을 다르게 줄 때 사용합니다.
+     *
+     * @param maxTokens 응답에 사용할 최대 토큰 수
+     * @return 최대 토큰 수가 바뀐 ChatGptRequest 객체
+     */
+    public ChatGptRequest withMaxTokens(Integer maxTokens) {
+        if (maxTokens == null || maxTokens.equals(this.maxTokens)) {
+            return this;
+        }
+        return new ChatGptRequest(model, messages, temperature, maxTokens, stream, streamOptions);
+    }
+
+    /**
+     * StreamOptions 클래스는 스트리밍 요청의 추가 옵션을 정의합니다.
+     *
+     * @param includeUsage true이면 마지막 조각에 토큰 사용량(usage)을 포함해 달라고 요청합니다.
+     */
+    public record StreamOptions(
+            @JsonProperty("include_usage") Boolean includeUsage
+    ) {
+    }
+
     /**
      * Message 클래스는 개별 메시지의 형식을 정의합니다.
      * role은 메시지를 전달하는 주체("user", "system", "assistant")를 의미하고,
@@ -42,5 +83,15 @@ public record ChatGptRequest(
         public static Message userMessage(String content) {
             return new Message("user", content);
         }
+
+        /**
+         * 시스템 메시지(모델의 역할과 고정 지시사항) 형태를 편리하게 생성하기 위한 헬퍼 메서드입니다.
+         *
+         * @param content 시스템 메시지 내용
+         * @return "system" 역할을 가진 Message 객체를 반환합니다.
+         */
+        public static Message systemMessage(String content) {
+            return new Message("system", content);
+        }
     }
 }
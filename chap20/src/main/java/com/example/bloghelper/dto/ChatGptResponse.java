@@ -62,14 +62,34 @@ public record ChatGptResponse(
      * ChatGPT는 텍스트를 처리하기 위해 토큰 단위로 계산하는데, prompt_tokens는 요청에 사용한 토큰 수,
      * completion_tokens는 응답 생성에 사용한 토큰 수, total_tokens는 둘을 합한 총 토큰 수를 의미합니다.
      *
-     * @param promptTokens     요청(프롬프트)에 사용된 토큰 수
-     * @param completionTokens 응답(완성)에 사용된 토큰 수
-     * @param totalTokens      요청 + 응답 토큰 수의 합
+     * @param promptTokens        요청(프롬프트)에 사용된 토큰 수
+     * @param completionTokens    응답(완성)에 사용된 토큰 수
+     * @param totalTokens         요청 + 응답 토큰 수의 합
+     * @param promptTokensDetails 프롬프트 토큰의 세부 정보 (제공하지 않는 서버에서는 null)
      */
     public record Usage(
             @JsonProperty("prompt_tokens") Integer promptTokens,
             @JsonProperty("completion_tokens") Integer completionTokens,
-            @JsonProperty("total_tokens") Integer totalTokens
+            @JsonProperty("total_tokens") Integer totalTokens,
+            @JsonProperty("prompt_tokens_details") PromptTokensDetails promptTokensDetails
+    ) {
+        /**
+         * @return 프롬프트 토큰 중 업스트림의 프롬프트 접두사 캐시에서 처리된 토큰 수 (정보가 없으면 0)
+         */
+        public int cachedTokens() {
+            return promptTokensDetails != null && promptTokensDetails.cachedTokens() != null
+                    ? promptTokensDetails.cachedTokens()
+                    : 0;
+        }
+    }
+
+    /**
+     * PromptTokensDetails 클래스는 프롬프트 토큰 수의 세부 정보를 담습니다.
+     *
+     * @param cachedTokens 프롬프트 접두사 캐시에서 처리된 토큰 수
+     */
+    public record PromptTokensDetails(
+            @JsonProperty("cached_tokens") Integer cachedTokens
     ) {
     }
 }
@@ -0,0 +1,66 @@
+package com.example.bloghelper.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * ChatGptStreamResponse 클래스는 stream: true 모드에서 ChatGPT API가 SSE로 전송하는 조각(chunk) 하나를 매핑합니다.
+ * <p>
+ * 스트리밍 응답은 "data: {...}" 형태의 이벤트가 여러 번 전달되고, 마지막에 "data: [DONE]"으로 종료됩니다.
+ * 각 조각의 choices[0].delta.content에 새로 생성된 텍스트 일부가 담겨 있습니다.
+ *
+ * @param id      응답을 식별하는 고유한 ID (모든 조각이 같은 값을 가집니다)
+ * @param object  응답 객체 타입(예: "chat.completion.chunk")
+ * @param choices 이번 조각에 포함된 선택지 목록
+ * @param usage   토큰 사용량 정보 (요청 시 포함하도록 지정한 경우 마지막 조각에만 전달됩니다)
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ChatGptStreamResponse(
+        String id,
+        String object,
+        List<Choice> choices,
+        ChatGptResponse.Usage usage
+) {
+
+    /**
+     * 이번 조각에서 새로 생성된 텍스트를 반환합니다.
+     *
+     * @return delta 텍스트, 내용이 없는 조각(역할 정보, 종료 신호 등)이면 null
+     */
+    public String deltaContent() {
+        if (choices == null || choices.isEmpty() || choices.get(0).delta() == null) {
+            return null;
+        }
+        return choices.get(0).delta().content();
+    }
+
+    /**
+     * Choice 클래스는 스트리밍 조각 안의 선택지 하나를 나타냅니다.
+     *
+     * @param delta        이번 조각에서 추가된 메시지 일부
+     * @param index        선택지 인덱스
+     * @param finishReason 마지막 조각에서만 채워지는 종료 이유(예: "stop", "length")
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Choice(
+            Delta delta,
+            Integer index,
+            @JsonProperty("finish_reason") String finishReason
+    ) {
+    }
+
+    /**
+     * Delta 클래스는 이전 조각 이후에 추가된 메시지 내용을 담습니다.
+     *
+     * @param role    첫 조각에서만 전달되는 메시지 주체("assistant")
+     * @param content 새로 생성된 텍스트 일부
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Delta(
+            String role,
+            String content
+    ) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.bloghelper.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * CursorPage는 커서(keyset) 방식으로 조회한 목록의 한 페이지입니다.
+ * 다음 페이지는 nextCursor를 cursor 파라미터로 보내 조회합니다.
+ *
+ * @param items      이번 페이지의 항목
+ * @param nextCursor 다음 페이지를 조회할 불투명한 커서 토큰 (마지막 페이지이면 null)
+ * @param hasNext    다음 페이지가 있는지 여부
+ * @param <T>        항목 타입
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor,
+        boolean hasNext
+) {
+    /**
+     * pageSize + 1개까지 조회한 목록을 한 페이지로 자릅니다. pageSize보다 많으면 마지막 항목의 위치를 다음 커서로 만듭니다.
+     *
+     * @param rows     pageSize + 1개까지 조회한 목록
+     * @param pageSize 페이지 크기
+     * @param cursorOf 항목의 위치를 커서 토큰으로 만드는 함수
+     * @param <T>      항목 타입
+     * @return 페이지
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null, false);
+        }
+        List<T> page = rows.subList(0, pageSize);
+        return new CursorPage<>(page, cursorOf.apply(page.get(pageSize - 1)), true);
+    }
+
+    /**
+     * 커서는 그대로 두고 항목만 변환합니다.
+     *
+     * @param mapper 항목 변환 함수
+     * @param <R>    변환한 항목 타입
+     * @return 변환한 페이지
+     */
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor, hasNext);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.bloghelper.dto;
 
 import com.example.bloghelper.entity.Keyword;
 import com.example.bloghelper.util.JsonConverter;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.type.TypeReference;
 
 import java.time.LocalDateTime;
@@ -21,13 +22,15 @@ import java.util.List;
  * @param relatedKeywords 연관 키워드 목록
  * @param suggestedTopics 추천 주제 목록
  * @param analyzedAt      분석 수행 시간
+ * @param error           배치 분석에서 이 키워드만 분석하지 못했을 때의 오류 메시지 (성공하면 응답에서 빠집니다)
  */
 public record KeywordAnalyzeResponse(
         Long id,
         String originalKeyword,
         List<String> relatedKeywords,
         List<String> suggestedTopics,
-        LocalDateTime analyzedAt
+        LocalDateTime analyzedAt,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String error
 ) {
 
     /**
@@ -45,7 +48,19 @@ public record KeywordAnalyzeResponse(
                 }),
                 JsonConverter.fromJson(keyword.getSuggestedTopics(), new TypeReference<List<String>>() {
                 }),
-                keyword.getAnalyzedAt()
+                keyword.getAnalyzedAt(),
+                null
         );
     }
+
+    /**
+     * 배치 분석에서 분석하거나 저장하지 못한 키워드를 나타내는 DTO를 만듭니다.
+     *
+     * @param originalKeyword 원본 키워드
+     * @param error           오류 메시지
+     * @return 분석 결과 없이 오류 메시지만 담은 KeywordAnalyzeResponse DTO
+     */
+    public static KeywordAnalyzeResponse failed(String originalKeyword, String error) {
+        return new KeywordAnalyzeResponse(null, originalKeyword, List.of(), List.of(), null, error);
+    }
 }
@@ -0,0 +1,19 @@
+package com.example.bloghelper.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * KeywordBatchAnalyzeRequest는 여러 키워드를 한 번에 분석하기 위한 요청 DTO입니다.
+ *
+ * @param keywords 분석할 키워드 목록 (최대 500개, 키워드마다 최대 255자, 중복은 한 번만 분석)
+ */
+public record KeywordBatchAnalyzeRequest(
+        @NotEmpty(message = "키워드 목록은 필수입니다")
+        @Size(max = 500, message = "키워드는 한 번에 500개까지 분석할 수 있습니다")
+        List<@NotBlank(message = "빈 키워드는 분석할 수 없습니다")
+             @Size(max = 255, message = "키워드는 255자까지 입력할 수 있습니다") String> keywords
+) {}
@@ -1,8 +1,10 @@
 package com.example.bloghelper.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 public record PostCreateRequest(
         @NotBlank(message = "키워드는 필수입니다")
+        @Size(max = 255, message = "키워드는 255자까지 입력할 수 있습니다")
         String keyword
-) {}
\ No newline at end of file
+) {}
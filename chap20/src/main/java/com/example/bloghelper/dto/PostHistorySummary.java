@@ -0,0 +1,18 @@
+package com.example.bloghelper.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * PostHistorySummary는 개선 이력 목록에서 쓰는 버전 정보입니다.
+ * 생성자 표현식 JPQL로 조회하므로 이력의 제목/본문은 읽지 않습니다. 본문은 버전별 조회(PostHistoryResponse)로 받습니다.
+ *
+ * @param version           개선 후 버전
+ * @param improvementReason 개선한 이유
+ * @param createdAt         개선한 시간
+ */
+public record PostHistorySummary(
+        Integer version,
+        String improvementReason,
+        LocalDateTime createdAt
+) {
+}
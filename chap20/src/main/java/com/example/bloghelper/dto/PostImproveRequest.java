@@ -6,8 +6,24 @@ public record PostImproveRequest(
         @NotNull(message = "개선 방향은 필수입니다")
         ImprovementType type,
         // 선택: 추가 지시
-        String additionalInstructions
+        String additionalInstructions,
+        // 선택: 응답 방식 (비어 있으면 AUTO)
+        ImprovementMode mode
 ) {
+    public PostImproveRequest(ImprovementType type, String additionalInstructions) {
+        this(type, additionalInstructions, null);
+    }
+
+    // AUTO이면 일부 문장만 고치는 개선 방향(SEO 최적화, 가독성 개선)은 EDITS, 나머지는 REWRITE를 사용합니다.
+    public ImprovementMode resolvedMode() {
+        if (mode != null && mode != ImprovementMode.AUTO) {
+            return mode;
+        }
+        return type == ImprovementType.SEO_OPTIMIZE || type == ImprovementType.READABILITY
+                ? ImprovementMode.EDITS
+                : ImprovementMode.REWRITE;
+    }
+
     public enum ImprovementType {
         SEO_OPTIMIZE("SEO 최적화"),
         READABILITY("가독성 개선"),
@@ -24,4 +40,13 @@ public record PostImproveRequest(
             return description;
         }
     }
+
+    public enum ImprovementMode {
+        // 개선 방향에 따라 자동으로 선택
+        AUTO,
+        // 본문 전체를 다시 작성
+        REWRITE,
+        // 바꿀 문장만 편집 연산(교체/삽입/삭제)으로 받아 서버에서 적용 (응답 토큰 수 감소)
+        EDITS
+    }
 }
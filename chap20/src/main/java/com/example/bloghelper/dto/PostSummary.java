@@ -0,0 +1,31 @@
+package com.example.bloghelper.dto;
+
+import com.example.bloghelper.entity.Post;
+
+import java.time.LocalDateTime;
+
+/**
+ * PostSummary는 목록과 대시보드 화면에서 쓰는 게시글 요약입니다.
+ * <p>
+ * PostRepository의 생성자 표현식(select new ...) JPQL로 필요한 컬럼만 조회하여 바로 만듭니다.
+ * 엔티티를 읽지 않으므로 본문(content)과 연관 키워드(relatedKeywords) TEXT 컬럼, 연관 엔티티를 읽지 않고
+ * 영속성 컨텍스트에도 올리지 않습니다.
+ *
+ * @param id        게시글 식별자
+ * @param title     게시글 제목
+ * @param status    게시글 상태(DRAFT, PUBLISHED)
+ * @param keyword   게시글과 연관된 원본 키워드
+ * @param version   현재 버전 (개선할 때마다 1씩 증가)
+ * @param createdAt 게시글 생성 시간 (목록 커서의 기준)
+ * @param updatedAt 게시글 수정 시간
+ */
+public record PostSummary(
+        Long id,
+        String title,
+        Post.PostStatus status,
+        String keyword,
+        Integer version,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
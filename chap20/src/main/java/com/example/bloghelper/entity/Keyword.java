@@ -13,9 +13,14 @@ import java.time.LocalDateTime;
 @Entity // 이 클래스가 JPA 엔티티임을 나타내며, 데이터베이스 테이블과 매핑됩니다.
 @Getter // Lombok 어노테이션으로 필드에 대한 Getter 메서드를 자동으로 생성합니다.
 public class Keyword {
+    // 시퀀스 값 하나로 발급하는 id 개수입니다. (시퀀스의 increment와 같아야 합니다)
+    public static final int ID_BLOCK_SIZE = 50;
+
     @Id // 이 필드를 엔티티의 기본 키(primary key)로 지정합니다.
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    // 기본 키 값 자동 생성을 위해 데이터베이스의 IDENTITY 전략을 사용합니다.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "keyword_seq")
+    @SequenceGenerator(name = "keyword_seq", sequenceName = "keyword_seq", allocationSize = ID_BLOCK_SIZE)
+    // 시퀀스 값 하나로 id ID_BLOCK_SIZE개를 발급합니다. (pooled-lo: 시퀀스 값이 블록의 첫 id)
+    // 분석 결과는 KeywordWriteBuffer가 INSERT 전에 id를 정해 배치로 저장합니다.
     private Long id;
 
     @Column(nullable = false)
@@ -41,7 +46,22 @@ public class Keyword {
      */
     @PrePersist
     protected void onCreate() {
-        analyzedAt = LocalDateTime.now();
+        if (analyzedAt == null) {
+            analyzedAt = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * 저장하기 전에 미리 발급한 id를 지정합니다.
+     * 쓰기 지연 버퍼(KeywordWriteBuffer)가 INSERT를 나중에 묶어서 실행하므로, 호출자에게 id를 바로 돌려주기 위해 사용합니다.
+     *
+     * @param id 시퀀스에서 발급한 id
+     */
+    public void assignId(Long id) {
+        if (this.id != null) {
+            throw new IllegalStateException("이미 id가 지정된 키워드입니다: " + this.id);
+        }
+        this.id = id;
     }
 
     /**
@@ -57,6 +77,8 @@ public class Keyword {
         keyword.originalKeyword = originalKeyword;
         keyword.relatedKeywords = relatedKeywords;
         keyword.suggestedTopics = suggestedTopics;
+        // 저장이 뒤로 미뤄져도 분석 시간은 분석이 끝난 시점으로 기록합니다.
+        keyword.analyzedAt = LocalDateTime.now();
         return keyword;
     }
 }
@@ -15,12 +15,15 @@ import java.util.List;
  * 데이터베이스의 'posts' 테이블과 매핑되어 게시글 정보를 저장하고 관리합니다.
  */
 @Entity // 이 클래스가 엔티티(데이터베이스 테이블과 매핑되는 클래스)임을 나타냅니다.
+// 회원별 포스트 목록을 최신 글부터 keyset 방식으로 조회하기 위한 인덱스입니다.
+@Table(indexes = @Index(name = "idx_post_member_created_at_id", columnList = "member_id, createdAt, id"))
 @Getter // Lombok 어노테이션으로, 엔티티의 필드에 대한 Getter 메서드를 자동으로 생성합니다.
 @NoArgsConstructor // Lombok 어노테이션으로, 파라미터가 없는 기본 생성자를 자동으로 생성합니다.
 public class Post {
     @Id // 해당 필드가 엔티티의 기본 키(primary key)임을 나타냅니다.
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    // 데이터베이스가 키 값을 자동으로 생성하는 전략을 사용합니다. (예: MySQL의 AUTO_INCREMENT)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_seq")
+    @SequenceGenerator(name = "post_seq", sequenceName = "post_seq", allocationSize = 50)
+    // 시퀀스에서 id를 50개씩 미리 가져옵니다. (pooled-lo) INSERT 전에 id를 알 수 있으므로 Hibernate가 INSERT를 배치로 묶습니다.
     private Long id;
 
     @Column(nullable = false)
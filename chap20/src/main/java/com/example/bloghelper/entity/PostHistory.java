@@ -9,9 +9,13 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @NoArgsConstructor
+// 포스트별 이력을 버전 순서로 조회하기 위한 인덱스입니다. (목록 페이지, 버전별 본문 조회)
+@Table(indexes = @Index(name = "idx_post_history_post_version", columnList = "post_id, version"))
 public class PostHistory {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_history_seq")
+    @SequenceGenerator(name = "post_history_seq", sequenceName = "post_history_seq", allocationSize = 50)
     private Long id;
 
     private Integer version;
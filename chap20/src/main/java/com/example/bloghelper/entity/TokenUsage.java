@@ -0,0 +1,68 @@
+package com.example.bloghelper.entity;
+
+import com.example.bloghelper.chatgpt.PromptType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * TokenUsage 엔티티는 한 번의 집계 주기(flush) 동안 쌓인 회원/용도/모델별 ChatGPT 토큰 사용량입니다.
+ * 요청마다 행을 쓰지 않고 UsageMeter가 메모리에 모은 값을 주기적으로 한꺼번에 저장합니다.
+ * 같은 날짜의 행을 더하면 회원의 일일 사용량이 됩니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(indexes = @Index(name = "idx_token_usage_date_member", columnList = "usageDate, memberEmail"))
+public class TokenUsage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "token_usage_seq")
+    @SequenceGenerator(name = "token_usage_seq", sequenceName = "token_usage_seq", allocationSize = 50)
+    private Long id;
+
+    // 호출한 회원의 이메일 (비회원/내부 호출은 "anonymous")
+    @Column(nullable = false)
+    private String memberEmail;
+
+    // 프롬프트 용도
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PromptType promptType;
+
+    // 실제로 호출한 모델
+    @Column(nullable = false)
+    private String model;
+
+    // 사용한 날짜 (일일 한도 기준)
+    @Column(nullable = false)
+    private LocalDate usageDate;
+
+    private long calls;
+
+    private long promptTokens;
+
+    private long completionTokens;
+
+    // 프롬프트 토큰 중 업스트림 프롬프트 캐시에서 처리된 토큰 수
+    private long cachedTokens;
+
+    // 이 행을 저장한 시간
+    private LocalDateTime flushedAt;
+
+    public TokenUsage(String memberEmail, PromptType promptType, String model, LocalDate usageDate,
+                      long calls, long promptTokens, long completionTokens, long cachedTokens) {
+        this.memberEmail = memberEmail;
+        this.promptType = promptType;
+        this.model = model;
+        this.usageDate = usageDate;
+        this.calls = calls;
+        this.promptTokens = promptTokens;
+        this.completionTokens = completionTokens;
+        this.cachedTokens = cachedTokens;
+        this.flushedAt = LocalDateTime.now();
+    }
+}
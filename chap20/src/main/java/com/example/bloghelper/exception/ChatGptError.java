@@ -1,4 +1,7 @@
 package com.example.bloghelper.exception;
+
+import java.time.Duration;
+
 /**
  * ChatGPT 연동 시 발생할 수 있는 오류 상황을 표현하기 위한 sealed 인터페이스입니다.
  * Sealed 인터페이스를 사용함으로써, 해당 인터페이스를 구현하는 클래스(여기서는 record)가 제한되어
@@ -20,4 +23,40 @@ public sealed interface ChatGptError {
      * @param message 오류 상세 메시지
      */
     record ServerError(String message) implements ChatGptError {}
-}
\ No newline at end of file
+
+    /**
+     * 요청 한도 초과(HTTP 429)를 나타내는 record입니다.
+     * 서버가 Retry-After 헤더로 알려준 재시도 대기 시간을 함께 담습니다.
+     *
+     * @param message    오류 상세 메시지
+     * @param retryAfter 재시도 전에 기다려야 하는 시간 (헤더가 없으면 null)
+     */
+    record RateLimited(String message, Duration retryAfter) implements ChatGptError {}
+
+    /**
+     * 프롬프트가 토큰 한도를 넘어 API를 호출하지 않고 거절했음을 나타내는 record입니다.
+     *
+     * @param message      오류 상세 메시지
+     * @param promptTokens 프롬프트 토큰 수
+     * @param limit        허용되는 최대 프롬프트 토큰 수
+     */
+    record PromptTooLarge(String message, int promptTokens, int limit) implements ChatGptError {}
+
+    /**
+     * 회원의 일일 토큰 한도를 모두 사용하여 API를 호출하지 않고 거절했음을 나타내는 record입니다.
+     *
+     * @param message    오류 상세 메시지
+     * @param used       오늘 사용한 토큰 수
+     * @param limit      일일 토큰 한도
+     * @param retryAfter 사용량이 초기화될 때까지 남은 시간
+     */
+    record QuotaExceeded(String message, long used, long limit, Duration retryAfter) implements ChatGptError {}
+
+    /**
+     * 애플리케이션 안의 대기열(속도 제한기, 입장 스케줄러 등)이 가득 차 API를 호출하지 않고 거절했음을 나타내는 record입니다.
+     * 업스트림의 장애가 아니므로 재시도하지 않고, 서킷 브레이커와 대상 상태 판단에도 반영하지 않습니다.
+     *
+     * @param message 오류 상세 메시지
+     */
+    record LocalRejected(String message) implements ChatGptError {}
+}
@@ -1,5 +1,7 @@
 package com.example.bloghelper.exception;
 
+import org.springframework.http.HttpStatusCode;
+
 /**
  * ChatGPT 연동 과정에서 발생하는 예외를 처리하기 위한 사용자 정의 예외 클래스입니다.
  *
@@ -8,6 +10,8 @@ package com.example.bloghelper.exception;
  */
 public class ChatGptException extends RuntimeException {
     private final ChatGptError error;
+    // 오류를 일으킨 HTTP 응답 상태 코드 (HTTP 응답이 아닌 오류이면 null)
+    private final HttpStatusCode status;
 
     /**
      * ChatGptException 생성자
@@ -18,9 +22,32 @@ public class ChatGptException extends RuntimeException {
      *              예외 메시지로 설정합니다.
      */
     public ChatGptException(ChatGptError error) {
+        this(error, null);
+    }
+
+    /**
+     * HTTP 응답 상태 코드를 함께 담는 ChatGptException 생성자
+     *
+     * @param error  ChatGptError 인터페이스의 구현체
+     * @param status 오류를 일으킨 HTTP 응답 상태 코드
+     */
+    public ChatGptException(ChatGptError error, HttpStatusCode status) {
         super(error instanceof ChatGptError.ClientError ce ? ce.message() :
                 error instanceof ChatGptError.ServerError se ? se.message() :
-                        "Unknown error");
+                        error instanceof ChatGptError.RateLimited rl ? rl.message() :
+                                error instanceof ChatGptError.PromptTooLarge ptl ? ptl.message() :
+                                        error instanceof ChatGptError.QuotaExceeded qe ? qe.message() :
+                                                error instanceof ChatGptError.LocalRejected lr ? lr.message() :
+                                                        "Unknown error");
         this.error = error;
+        this.status = status;
+    }
+
+    public ChatGptError getError() {
+        return error;
+    }
+
+    public HttpStatusCode getStatus() {
+        return status;
     }
 }
@@ -1,6 +1,9 @@
 package com.example.bloghelper.exception;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -20,12 +23,37 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 public class GlobalExceptionHandler {
     /**
      * ChatGptException 발생 시 이 메서드가 호출됩니다.
+     * 프롬프트가 토큰 한도를 넘어 호출하지 않은 경우에는 413(Payload Too Large)으로,
+     * 회원의 일일 토큰 한도를 모두 사용한 경우에는 사용량이 초기화될 때까지의 Retry-After와 함께 429(Too Many Requests)로,
+     * 애플리케이션 안의 호출 대기열이 가득 차 거절한 경우에는 Retry-After와 함께 503(Service Unavailable)으로 응답합니다.
      *
      * @param e 처리할 ChatGptException 객체
-     * @return SERVICE_UNAVAILABLE(503) 상태 코드와 함께 문제 세부 사항(ProblemDetail)을 담은 응답
+     * @return SERVICE_UNAVAILABLE(503), PAYLOAD_TOO_LARGE(413) 또는 TOO_MANY_REQUESTS(429) 상태 코드와 함께 문제 세부 사항(ProblemDetail)을 담은 응답
      */
     @ExceptionHandler(ChatGptException.class)
     public ResponseEntity<ProblemDetail> handleChatGptException(ChatGptException e) {
+        if (e.getError() instanceof ChatGptError.QuotaExceeded quotaExceeded) {
+            log.warn("회원 일일 토큰 한도 초과: {}", e.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, quotaExceeded.retryAfter().toSeconds())))
+                    .body(ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, e.getMessage()));
+        }
+        if (e.getError() instanceof ChatGptError.PromptTooLarge) {
+            log.warn("ChatGPT 프롬프트 토큰 한도 초과: {}", e.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(ProblemDetail.forStatusAndDetail(HttpStatus.PAYLOAD_TOO_LARGE, e.getMessage()));
+        }
+
+        if (e.getError() instanceof ChatGptError.LocalRejected) {
+            log.warn("ChatGPT API 호출 대기열 거절: {}", e.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()));
+        }
+
         // 예외 발생 사실을 로그로 기록합니다.
         log.error("ChatGPT API 오류", e);
 
@@ -41,6 +69,130 @@ public class GlobalExceptionHandler {
                 .body(problemDetail);
     }
 
+    /**
+     * ChatGPT API 서킷 브레이커가 열려 있어 호출을 보내지 않았을 때 이 메서드가 호출됩니다.
+     * 업스트림이 회복될 때까지 스레드를 붙잡지 않고 즉시 503으로 응답합니다.
+     *
+     * @param e 처리할 CallNotPermittedException 객체
+     * @return SERVICE_UNAVAILABLE(503) 상태 코드와 ProblemDetail을 담은 응답
+     */
+    @ExceptionHandler(CallNotPermittedException.class)
+    public ResponseEntity<ProblemDetail> handleCallNotPermittedException(CallNotPermittedException e) {
+        log.warn("ChatGPT API 서킷 브레이커 OPEN: {}", e.getMessage());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "ChatGPT API가 일시적으로 응답하지 않아 요청을 처리할 수 없습니다. 잠시 후 다시 시도해주세요."
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(problemDetail);
+    }
+
+    /**
+     * 유스케이스별 동시 호출 수 제한(벌크헤드)을 넘었을 때 이 메서드가 호출됩니다.
+     *
+     * @param e 처리할 BulkheadFullException 객체
+     * @return SERVICE_UNAVAILABLE(503) 상태 코드와 ProblemDetail을 담은 응답
+     */
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ProblemDetail> handleBulkheadFullException(BulkheadFullException e) {
+        log.warn("ChatGPT API 동시 호출 수 초과: {}", e.getMessage());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "요청이 많아 지금은 처리할 수 없습니다. 잠시 후 다시 시도해주세요."
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(problemDetail);
+    }
+
+    /**
+     * 키워드 저장 대기열이 가득 차 분석 결과를 저장하지 못했을 때 이 메서드가 호출됩니다.
+     *
+     * @param e 처리할 KeywordWriteRejectedException 객체
+     * @return SERVICE_UNAVAILABLE(503) 상태 코드와 ProblemDetail을 담은 응답
+     */
+    @ExceptionHandler(KeywordWriteRejectedException.class)
+    public ResponseEntity<ProblemDetail> handleKeywordWriteRejectedException(KeywordWriteRejectedException e) {
+        log.warn("키워드 저장 거절: {}", e.getMessage());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "요청이 많아 지금은 분석 결과를 저장할 수 없습니다. 잠시 후 다시 시도해주세요."
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(problemDetail);
+    }
+
+    /**
+     * 목록 조회의 커서 토큰이 올바르지 않을 때 이 메서드가 호출됩니다.
+     *
+     * @param e 처리할 InvalidCursorException 객체
+     * @return BAD_REQUEST(400) 상태 코드와 ProblemDetail을 담은 응답
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidCursorException(InvalidCursorException e) {
+        log.warn("잘못된 커서: {}", e.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+
+    /**
+     * 요청한 포스트나 포스트의 이력이 없을 때 이 메서드가 호출됩니다.
+     *
+     * @param e 처리할 PostNotFoundException 객체
+     * @return NOT_FOUND(404) 상태 코드와 ProblemDetail을 담은 응답
+     */
+    @ExceptionHandler(PostNotFoundException.class)
+    public ResponseEntity<ProblemDetail> handlePostNotFoundException(PostNotFoundException e) {
+        log.warn("포스트 조회 실패: {}", e.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage()));
+    }
+
+    /**
+     * 포스트를 개선하는 동안 다른 요청이 같은 포스트를 먼저 수정했을 때 이 메서드가 호출됩니다.
+     *
+     * @param e 처리할 PostConflictException 객체
+     * @return CONFLICT(409) 상태 코드와 ProblemDetail을 담은 응답
+     */
+    @ExceptionHandler(PostConflictException.class)
+    public ResponseEntity<ProblemDetail> handlePostConflictException(PostConflictException e) {
+        log.warn("포스트 동시 수정: {}", e.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage()));
+    }
+
+    /**
+     * 초안 생성/개선 요청이 마감 시간 안에 끝나지 않았을 때 이 메서드가 호출됩니다.
+     * 마감 시간이 지난 요청의 결과는 저장하지 않습니다.
+     *
+     * @param e 처리할 RequestDeadlineExceededException 객체
+     * @return GATEWAY_TIMEOUT(504) 상태 코드와 ProblemDetail을 담은 응답
+     */
+    @ExceptionHandler(RequestDeadlineExceededException.class)
+    public ResponseEntity<ProblemDetail> handleRequestDeadlineExceededException(RequestDeadlineExceededException e) {
+        log.warn("요청 마감 시간 초과: {}", e.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.GATEWAY_TIMEOUT, e.getMessage()));
+    }
+
     @ExceptionHandler(AuthenticationException.class)
     public ResponseEntity<ProblemDetail> handleAuthenticationException(AuthenticationException e) {
         log.error("인증 오류", e);
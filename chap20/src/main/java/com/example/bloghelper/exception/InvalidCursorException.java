@@ -0,0 +1,14 @@
+package com.example.bloghelper.exception;
+
+/**
+ * 목록 조회의 커서 토큰을 해석할 수 없을 때 발생합니다.
+ */
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.bloghelper.exception;
+
+/**
+ * 키워드 저장 대기열이 가득 차 분석 결과를 저장할 수 없을 때 발생합니다.
+ */
+public class KeywordWriteRejectedException extends RuntimeException {
+    public KeywordWriteRejectedException(String message) {
+        super(message);
+    }
+}
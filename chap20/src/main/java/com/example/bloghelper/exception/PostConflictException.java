@@ -0,0 +1,7 @@
+package com.example.bloghelper.exception;
+
+public class PostConflictException extends RuntimeException {
+    public PostConflictException(String message) {
+        super(message);
+    }
+}
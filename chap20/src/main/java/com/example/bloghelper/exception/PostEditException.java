@@ -0,0 +1,7 @@
+package com.example.bloghelper.exception;
+
+public class PostEditException extends RuntimeException {
+    public PostEditException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.bloghelper.exception;
+
+public class RequestDeadlineExceededException extends RuntimeException {
+    public RequestDeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.bloghelper.repository;
+
+import com.example.bloghelper.entity.Keyword;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.support.incrementer.AbstractSequenceMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * KeywordIdAllocator는 keyword_seq 시퀀스에서 Keyword id를 블록 단위로 미리 가져와 발급합니다.
+ * <p>
+ * 시퀀스 값 하나가 id Keyword.ID_BLOCK_SIZE개(시퀀스 값부터 연속)를 나타내는 pooled-lo 방식이므로,
+ * 같은 시퀀스를 쓰는 Hibernate와 id가 겹치지 않고 DB 왕복은 블록당 한 번뿐입니다.
+ * 블록을 다 쓰기 전에 애플리케이션이 종료되면 남은 id는 사용되지 않습니다. (id에 빈 구간이 생길 수 있습니다)
+ * 시퀀스 조회 SQL은 Hibernate가 사용하는 방언(Dialect)으로 만들므로 H2 외의 데이터베이스에서도 같은 시퀀스를 읽습니다.
+ */
+@Component
+public class KeywordIdAllocator {
+    private final DataFieldMaxValueIncrementer sequence;
+    // 현재 블록에서 다음에 발급할 id와 블록의 끝(제외)입니다.
+    private long next;
+    private long limit;
+
+    public KeywordIdAllocator(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        if (!dialect.getSequenceSupport().supportsSequences()) {
+            throw new IllegalStateException("Keyword id 발급에는 시퀀스를 지원하는 데이터베이스가 필요합니다: " + dialect);
+        }
+        String sequenceQuery = dialect.getSequenceSupport().getSequenceNextValString("keyword_seq");
+        this.sequence = new AbstractSequenceMaxValueIncrementer(dataSource, "keyword_seq") {
+            @Override
+            protected String getSequenceQuery() {
+                return sequenceQuery;
+            }
+        };
+    }
+
+    /**
+     * 현재 블록에 남은 id를 발급합니다. DB에 접근하지 않으므로 이벤트 루프 스레드에서 호출해도 됩니다.
+     *
+     * @return 발급한 id, 블록을 다 썼으면 null
+     */
+    public synchronized Long tryNext() {
+        return next < limit ? next++ : null;
+    }
+
+    /**
+     * id를 발급합니다. 블록을 다 썼으면 시퀀스에서 새 블록을 가져오므로 JDBC를 호출할 수 있는 스레드에서 호출해야 합니다.
+     *
+     * @return 발급한 id
+     */
+    public long next() {
+        Long id = tryNext();
+        if (id != null) {
+            return id;
+        }
+        // 시퀀스 조회는 락 밖에서 합니다. 동시에 가져온 블록이 여럿이면 먼저 도착한 블록만 쓰고 나머지는 버립니다.
+        long lo = sequence.nextLongValue();
+        synchronized (this) {
+            if (next >= limit) {
+                next = lo;
+                limit = lo + Keyword.ID_BLOCK_SIZE;
+            }
+            return next++;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.example.bloghelper.repository;
+
+import com.example.bloghelper.config.KeywordWriteBehindProperties;
+import com.example.bloghelper.entity.Keyword;
+import com.example.bloghelper.exception.KeywordWriteRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * KeywordWriteBuffer는 키워드 분석 결과(Keyword)를 바로 INSERT하지 않고 대기열에 모았다가 JDBC 배치로 저장합니다. (write-behind)
+ * <p>
+ * - 발급: add()는 id를 미리 발급(KeywordIdAllocator)하여 지정한 뒤 대기열에 넣고 바로 반환합니다. 호출자는 저장을 기다리지 않고 id를 사용할 수 있습니다.
+ * - 대기열: 여러 생산자가 넣고 저장 스레드 하나만 꺼내는 MPSC 큐입니다. 크기는 세마포어(capacity)로 제한합니다.
+ *   자리는 배치가 커밋된 뒤에 돌려주므로 DB가 느려지면 대기열이 차고, 생산자는 maxEnqueueWait까지 기다린 뒤 거절(503)됩니다.
+ * - 저장: 저장 스레드가 batchSize개가 모이거나 flushInterval이 지날 때마다 배치 INSERT 한 번, 트랜잭션 한 번으로 저장합니다.
+ *   연결 끊김 등 일시적인 오류로 실패한 배치는 버리지 않고 flushInterval 뒤에 다시 저장합니다.
+ *   제약 조건 위반처럼 다시 시도해도 실패하는 오류면 한 행씩 저장하여, 저장할 수 없는 행만 로그를 남기고 버립니다.
+ *   (버리지 않으면 그 배치를 영원히 다시 저장하느라 대기열이 막힙니다)
+ * - 종료: 종료할 때 대기열에 남은 키워드를 모두 저장한 뒤 멈춥니다. (shutdownTimeout까지 기다립니다)
+ *   프로세스가 비정상 종료되면 대기열의 키워드(최대 capacity개)는 저장되지 않습니다.
+ * - 메트릭: keyword.write-behind.pending, keyword.write-behind.rejected, keyword.write-behind.failed(버린 키워드 수)
+ */
+@Component
+@Slf4j
+public class KeywordWriteBuffer {
+    private static final String INSERT_SQL =
+            "insert into keyword (id, original_keyword, related_keywords, suggested_topics, analyzed_at) values (?, ?, ?, ?, ?)";
+
+    private final KeywordWriteBehindProperties properties;
+    private final KeywordIdAllocator idAllocator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Scheduler jpaScheduler;
+
+    private final Queue<Keyword> queue = Queues.<Keyword>unboundedMultiproducer().get();
+    private final Semaphore capacity;
+    // 대기열에 있는(아직 꺼내지 않은) 키워드 수입니다. batchSize에 도달하면 저장 스레드를 깨웁니다.
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong accepted = new AtomicLong();
+    // 저장했거나 저장할 수 없어 버린 키워드 수입니다. flush()는 이 값이 accepted에 도달할 때까지 기다립니다.
+    private final AtomicLong completed = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean flushRequested;
+
+    private final Counter rejected;
+    private final Counter failed;
+
+    public KeywordWriteBuffer(
+            KeywordWriteBehindProperties properties,
+            KeywordIdAllocator idAllocator,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            Scheduler jpaScheduler,
+            MeterRegistry meterRegistry
+    ) {
+        if (properties.getBatchSize() < 1 || properties.getCapacity() < properties.getBatchSize()) {
+            throw new IllegalArgumentException("blog.keyword-write-behind.capacity는 batch-size 이상이어야 합니다.");
+        }
+        this.properties = properties;
+        this.idAllocator = idAllocator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jpaScheduler = jpaScheduler;
+        this.capacity = new Semaphore(properties.getCapacity());
+        this.writer = new Thread(this::runWriter, "keyword-writer");
+        this.writer.setDaemon(true);
+
+        Gauge.builder("keyword.write-behind.pending", capacity, c -> properties.getCapacity() - c.availablePermits())
+                .description("저장을 기다리거나 저장 중인 키워드 수")
+                .register(meterRegistry);
+        this.rejected = meterRegistry.counter("keyword.write-behind.rejected");
+        this.failed = Counter.builder("keyword.write-behind.failed")
+                .description("저장할 수 없어 버린 키워드 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    /**
+     * 키워드에 id를 발급하여 지정하고 저장 대기열에 넣습니다.
+     *
+     * @param keyword 저장할 키워드 (id가 없어야 합니다)
+     * @return id가 지정된 키워드. 대기열이 가득 찬 상태가 maxEnqueueWait 동안 계속되면 KeywordWriteRejectedException
+     */
+    public Mono<Keyword> add(Keyword keyword) {
+        return Mono.defer(() -> {
+            Long id = idAllocator.tryNext();
+            // 블록을 다 썼으면 시퀀스를 조회해야 하므로 JPA 스케줄러에서 발급합니다.
+            Mono<Long> nextId = id != null
+                    ? Mono.just(id)
+                    : Mono.fromCallable(idAllocator::next).subscribeOn(jpaScheduler);
+            return nextId.flatMap(assigned -> {
+                keyword.assignId(assigned);
+                return enqueue(keyword);
+            });
+        });
+    }
+
+    /**
+     * 지금까지 받은 키워드가 모두 저장될 때까지 기다립니다.
+     *
+     * @param timeout 최대 대기 시간
+     * @return 시간 안에 모두 저장했으면 true
+     */
+    public boolean flush(Duration timeout) {
+        long target = accepted.get();
+        flushRequested = true;
+        LockSupport.unpark(writer);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (completed.get() < target) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    /**
+     * 대기열에 남은 키워드를 저장하고 저장 스레드를 멈춥니다.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(properties.getShutdownTimeout().toMillis());
+        if (writer.isAlive()) {
+            log.error("키워드 저장 스레드가 {} 안에 끝나지 않았습니다. 저장하지 못한 키워드: {}개",
+                    properties.getShutdownTimeout(), properties.getCapacity() - capacity.availablePermits());
+        }
+    }
+
+    private Mono<Keyword> enqueue(Keyword keyword) {
+        if (!running) {
+            return Mono.error(reject("애플리케이션이 종료 중이어서 키워드를 저장할 수 없습니다."));
+        }
+        if (capacity.tryAcquire()) {
+            offer(keyword);
+            return Mono.just(keyword);
+        }
+        Duration maxWait = properties.getMaxEnqueueWait();
+        if (maxWait.isZero() || maxWait.isNegative()) {
+            return Mono.error(reject("키워드 저장 대기열이 가득 찼습니다."));
+        }
+        // 자리가 날 때까지 이벤트 루프가 아닌 스레드에서 기다립니다.
+        return Mono.fromCallable(() -> {
+                    if (!capacity.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                        throw reject("키워드 저장 대기열이 %s 동안 가득 차 있었습니다.".formatted(maxWait));
+                    }
+                    offer(keyword);
+                    return keyword;
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private void offer(Keyword keyword) {
+        queue.offer(keyword);
+        accepted.incrementAndGet();
+        if (queued.incrementAndGet() >= properties.getBatchSize()) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private KeywordWriteRejectedException reject(String message) {
+        rejected.increment();
+        return new KeywordWriteRejectedException(message);
+    }
+
+    // 저장 스레드: batchSize가 모이거나 flushInterval이 지날 때마다 대기열을 비웁니다.
+    private void runWriter() {
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        List<Keyword> batch = new ArrayList<>(properties.getBatchSize());
+        while (running) {
+            if (queued.get() < properties.getBatchSize() && !flushRequested) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            flushRequested = false;
+            if (!writeAll(batch)) {
+                // 실패한 배치는 batch에 남겨 두고 잠시 뒤 다시 저장합니다.
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+        // 종료: add()는 더 이상 받지 않으므로 남은 키워드를 모두 저장합니다.
+        if (!writeAll(batch)) {
+            log.error("종료 중 키워드 {}개를 저장하지 못했습니다.", batch.size() + queued.get());
+        }
+    }
+
+    // 이전에 실패한 batch와 대기열의 키워드를 batchSize씩 끊어 모두 저장합니다. 일시적인 오류로 실패하면 남은 행을 batch에 두고 false를 반환합니다.
+    private boolean writeAll(List<Keyword> batch) {
+        while (true) {
+            if (batch.isEmpty()) {
+                drainTo(batch);
+                if (batch.isEmpty()) {
+                    return true;
+                }
+            }
+            if (!write(batch)) {
+                return false;
+            }
+            batch.clear();
+        }
+    }
+
+    private void drainTo(List<Keyword> batch) {
+        int drained = 0;
+        Keyword keyword;
+        while (batch.size() < properties.getBatchSize() && (keyword = queue.poll()) != null) {
+            batch.add(keyword);
+            drained++;
+        }
+        queued.addAndGet(-drained);
+    }
+
+    // 배치 하나를 저장합니다. 일시적인 오류면 batch를 그대로 두고 false를 반환하여 나중에 다시 저장합니다.
+    private boolean write(List<Keyword> batch) {
+        try {
+            insert(batch);
+        } catch (RuntimeException e) {
+            if (!isRowError(e)) {
+                log.warn("키워드 {}개 저장에 실패하여 다시 저장합니다.", batch.size(), e);
+                return false;
+            }
+            log.warn("키워드 {}개 배치 저장에 실패하여 한 행씩 저장합니다.", batch.size(), e);
+            return writeEach(batch);
+        }
+        complete(batch.size());
+        return true;
+    }
+
+    // 한 행씩 저장하여 저장할 수 없는 행만 버립니다. 저장했거나 버린 행은 batch에서 뺍니다.
+    private boolean writeEach(List<Keyword> batch) {
+        Iterator<Keyword> iterator = batch.iterator();
+        while (iterator.hasNext()) {
+            Keyword keyword = iterator.next();
+            try {
+                insert(List.of(keyword));
+            } catch (RuntimeException e) {
+                if (!isRowError(e)) {
+                    log.warn("키워드 {}개 저장에 실패하여 다시 저장합니다.", batch.size(), e);
+                    return false;
+                }
+                failed.increment();
+                log.error("저장할 수 없는 키워드를 버립니다. id={}, keyword={}", keyword.getId(), keyword.getOriginalKeyword(), e);
+            }
+            iterator.remove();
+            complete(1);
+        }
+        return true;
+    }
+
+    private void insert(List<Keyword> keywords) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, keywords, keywords.size(),
+                (ps, keyword) -> {
+                    ps.setLong(1, keyword.getId());
+                    ps.setString(2, keyword.getOriginalKeyword());
+                    ps.setString(3, keyword.getRelatedKeywords());
+                    ps.setString(4, keyword.getSuggestedTopics());
+                    ps.setObject(5, keyword.getAnalyzedAt());
+                }));
+    }
+
+    // 행의 값 때문에 실패하여 다시 시도해도 실패하는 오류인지 확인합니다. (제약 조건 위반, 너무 긴 값 등)
+    // 연결 실패처럼 DB 자원 문제인 오류는 모든 행이 실패하므로 행을 버리지 않고 배치째 다시 저장합니다.
+    private static boolean isRowError(RuntimeException e) {
+        return e instanceof NonTransientDataAccessException
+                && !(e instanceof DataAccessResourceFailureException);
+    }
+
+    private void complete(int count) {
+        capacity.release(count);
+        completed.addAndGet(count);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.bloghelper.repository;
+
+import com.example.bloghelper.dto.PostHistorySummary;
+import com.example.bloghelper.entity.PostHistory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * PostHistoryRepository는 포스트 개선 이력을 post_history(post_id, version) 인덱스로 조회합니다.
+ * 목록은 버전 정보만, 본문은 버전 하나씩 조회하여 이력이 많은 포스트도 응답 크기가 일정하도록 합니다.
+ */
+public interface PostHistoryRepository extends JpaRepository<PostHistory, Long> {
+
+    /**
+     * 포스트의 최신 이력부터 limit개의 버전 정보를 조회합니다.
+     *
+     * @param postId 포스트 id
+     * @param limit  조회할 최대 개수
+     * @return version 내림차순으로 정렬된 버전 정보 목록
+     */
+    @Query("""
+            select new com.example.bloghelper.dto.PostHistorySummary(h.version, h.improvementReason, h.createdAt)
+            from PostHistory h
+            where h.post.id = :postId
+            order by h.version desc
+            """)
+    List<PostHistorySummary> findLatestSummariesByPost(@Param("postId") Long postId, Limit limit);
+
+    /**
+     * 포스트의 이력 중 커서 버전보다 이전 버전의 정보를 limit개 조회합니다.
+     *
+     * @param postId  포스트 id
+     * @param version 커서의 버전
+     * @param limit   조회할 최대 개수
+     * @return version 내림차순으로 정렬된 버전 정보 목록
+     */
+    @Query("""
+            select new com.example.bloghelper.dto.PostHistorySummary(h.version, h.improvementReason, h.createdAt)
+            from PostHistory h
+            where h.post.id = :postId and h.version < :version
+            order by h.version desc
+            """)
+    List<PostHistorySummary> findSummariesByPostBefore(@Param("postId") Long postId,
+                                                       @Param("version") Integer version,
+                                                       Limit limit);
+
+    /**
+     * 포스트의 특정 버전 이력을 본문과 함께 조회합니다.
+     *
+     * @param postId  포스트 id
+     * @param version 버전
+     * @return 이력 (없으면 빈 Optional)
+     */
+    Optional<PostHistory> findByPostIdAndVersion(Long postId, Integer version);
+}
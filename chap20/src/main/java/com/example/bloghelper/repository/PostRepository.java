@@ -1,11 +1,17 @@
 package com.example.bloghelper.repository;
 
+import com.example.bloghelper.dto.PostSummary;
 import com.example.bloghelper.entity.Post;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * PostRepository 인터페이스는 데이터베이스에서 Post 엔티티를 조회, 생성, 수정, 삭제하는 방법을 정의합니다.
@@ -22,4 +28,102 @@ public interface PostRepository extends JpaRepository<Post, Long> {
      */
     List<Post> findAllByOrderByCreatedAtDesc();
 
+    /**
+     * 포스트를 쓰기 잠금(SELECT ... FOR UPDATE)과 함께 조회합니다.
+     * 개선 결과를 저장하는 동안 다른 트랜잭션이 같은 포스트를 고치지 못하게 하여, 버전 비교와 저장 사이에 끼어드는 수정을 막습니다.
+     *
+     * @param id 포스트 id
+     * @return 잠금을 건 포스트
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Post p where p.id = :id")
+    Optional<Post> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * 회원의 포스트를 최신 글부터 limit개 조회합니다. (keyset 페이지의 첫 페이지)
+     * post(member_id, created_at, id) 인덱스를 따라 읽으므로 회원의 포스트 수와 관계없이 limit개만 읽습니다.
+     *
+     * @param memberId 회원 id
+     * @param limit    조회할 최대 개수
+     * @return (createdAt, id) 내림차순으로 정렬된 포스트 목록
+     */
+    @Query("""
+            select p from Post p
+            where p.member.id = :memberId
+            order by p.createdAt desc, p.id desc
+            """)
+    List<Post> findLatestByMember(@Param("memberId") Long memberId, Limit limit);
+
+    /**
+     * 회원의 포스트 중 (createdAt, id)가 커서 위치보다 작은(더 오래된) 포스트를 limit개 조회합니다.
+     * OFFSET 없이 인덱스에서 커서 위치부터 읽으므로 뒤쪽 페이지도 첫 페이지와 같은 비용으로 조회합니다.
+     *
+     * @param memberId  회원 id
+     * @param createdAt 커서의 생성 시각
+     * @param id        커서의 포스트 id
+     * @param limit     조회할 최대 개수
+     * @return (createdAt, id) 내림차순으로 정렬된 포스트 목록
+     */
+    @Query("""
+            select p from Post p
+            where p.member.id = :memberId
+              and (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id))
+            order by p.createdAt desc, p.id desc
+            """)
+    List<Post> findByMemberBefore(@Param("memberId") Long memberId,
+                                  @Param("createdAt") LocalDateTime createdAt,
+                                  @Param("id") Long id,
+                                  Limit limit);
+
+    /**
+     * 회원의 포스트 요약을 최신 글부터 limit개 조회합니다.
+     * 생성자 표현식으로 요약에 필요한 컬럼만 조회하므로 본문 등 TEXT 컬럼은 읽지 않습니다.
+     *
+     * @param memberId 회원 id
+     * @param limit    조회할 최대 개수
+     * @return (createdAt, id) 내림차순으로 정렬된 포스트 요약 목록
+     */
+    @Query("""
+            select new com.example.bloghelper.dto.PostSummary(p.id, p.title, p.status, p.keyword, p.version, p.createdAt, p.updatedAt)
+            from Post p
+            where p.member.id = :memberId
+            order by p.createdAt desc, p.id desc
+            """)
+    List<PostSummary> findLatestSummariesByMember(@Param("memberId") Long memberId, Limit limit);
+
+    /**
+     * 회원의 포스트 요약 중 (createdAt, id)가 커서 위치보다 작은(더 오래된) 것을 limit개 조회합니다.
+     *
+     * @param memberId  회원 id
+     * @param createdAt 커서의 생성 시각
+     * @param id        커서의 포스트 id
+     * @param limit     조회할 최대 개수
+     * @return (createdAt, id) 내림차순으로 정렬된 포스트 요약 목록
+     */
+    @Query("""
+            select new com.example.bloghelper.dto.PostSummary(p.id, p.title, p.status, p.keyword, p.version, p.createdAt, p.updatedAt)
+            from Post p
+            where p.member.id = :memberId
+              and (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id))
+            order by p.createdAt desc, p.id desc
+            """)
+    List<PostSummary> findSummariesByMemberBefore(@Param("memberId") Long memberId,
+                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") Long id,
+                                                  Limit limit);
+
+    /**
+     * 회원이 최근에 수정한 포스트 요약을 limit개 조회합니다. (대시보드)
+     *
+     * @param memberId 회원 id
+     * @param limit    조회할 최대 개수
+     * @return (updatedAt, id) 내림차순으로 정렬된 포스트 요약 목록
+     */
+    @Query("""
+            select new com.example.bloghelper.dto.PostSummary(p.id, p.title, p.status, p.keyword, p.version, p.createdAt, p.updatedAt)
+            from Post p
+            where p.member.id = :memberId
+            order by p.updatedAt desc, p.id desc
+            """)
+    List<PostSummary> findRecentlyUpdatedSummariesByMember(@Param("memberId") Long memberId, Limit limit);
 }
@@ -0,0 +1,23 @@
+package com.example.bloghelper.repository;
+
+import com.example.bloghelper.entity.TokenUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface TokenUsageRepository extends JpaRepository<TokenUsage, Long> {
+
+    /**
+     * 날짜의 회원별 토큰 사용량(프롬프트 + 응답) 합계를 조회합니다.
+     * 애플리케이션이 다시 시작될 때 메모리의 일일 사용량을 복원하는 데 사용합니다.
+     *
+     * @param usageDate 사용 날짜
+     * @return [회원 이메일, 토큰 수 합계] 목록
+     */
+    @Query("select u.memberEmail, sum(u.promptTokens + u.completionTokens) from TokenUsage u " +
+            "where u.usageDate = :usageDate group by u.memberEmail")
+    List<Object[]> sumTokensByMember(@Param("usageDate") LocalDate usageDate);
+}
@@ -1,18 +1,47 @@
 package com.example.bloghelper.service;
 
+import com.example.bloghelper.chatgpt.AdmissionScheduler;
+import com.example.bloghelper.chatgpt.ChatGptResponseDecoder;
+import com.example.bloghelper.chatgpt.CompletionCache;
+import com.example.bloghelper.chatgpt.CompletionKey;
+import com.example.bloghelper.chatgpt.CompletionOptions;
+import com.example.bloghelper.chatgpt.CompletionRetryPolicy;
+import com.example.bloghelper.chatgpt.CompletionTokenBudget;
+import com.example.bloghelper.chatgpt.HedgingPolicy;
+import com.example.bloghelper.chatgpt.InFlightRequests;
+import com.example.bloghelper.chatgpt.Prompt;
+import com.example.bloghelper.chatgpt.PromptMetrics;
+import com.example.bloghelper.chatgpt.PromptType;
+import com.example.bloghelper.chatgpt.TokenEstimator;
+import com.example.bloghelper.chatgpt.UpstreamResilience;
+import com.example.bloghelper.chatgpt.UpstreamRouter;
+import com.example.bloghelper.chatgpt.UpstreamTarget;
+import com.example.bloghelper.chatgpt.UsageMeter;
 import com.example.bloghelper.config.ChatGptConfig;
 import com.example.bloghelper.dto.ChatGptRequest;
 import com.example.bloghelper.dto.ChatGptResponse;
+import com.example.bloghelper.dto.ChatGptStreamResponse;
 import com.example.bloghelper.exception.ChatGptError;
 import com.example.bloghelper.exception.ChatGptException;
+import com.example.bloghelper.util.JsonConverter;
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * ChatGptService는 ChatGPT API와 비동기로 통신하여 사용자의 프롬프트에 대한 응답(Completion)을 얻는 기능을 제공합니다.
@@ -21,10 +50,35 @@ import java.util.List;
 @RequiredArgsConstructor // Lombok 어노테이션으로 final 필드에 대한 생성자를 자동 생성합니다.
 @Slf4j // Lombok 어노테이션으로 로깅을 위한 Logger 객체를 자동으로 생성합니다.
 public class ChatGptService {
-    // ChatGPT API 호출을 위한 WebClient 인스턴스입니다.
-    private final WebClient chatGptWebClient;
+    // 스트리밍 응답의 마지막 이벤트로 전달되는 종료 표시입니다.
+    private static final String STREAM_DONE = "[DONE]";
+    // SSE 이벤트의 data 부분을 문자열 그대로 받기 위한 타입 정보입니다.
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    // 요청을 보낼 업스트림 대상(엔드포인트/API 키)을 고르는 라우터입니다. 대상마다 WebClient와 속도 제한기를 가집니다.
+    private final UpstreamRouter upstreamRouter;
     // ChatGPT API 호출에 필요한 설정 정보(API URL, 모델, 키 등)를 담고 있는 설정 객체입니다.
     private final ChatGptConfig chatGptConfig;
+    // 동일한 요청의 응답을 재사용하기 위한 캐시입니다.
+    private final CompletionCache completionCache;
+    // 동일한 요청이 동시에 들어오면 API 호출을 한 번으로 묶어주는 컴포넌트입니다.
+    private final InFlightRequests inFlightRequests;
+    // 일시적인 오류에 대한 재시도 정책입니다.
+    private final CompletionRetryPolicy retryPolicy;
+    // 서킷 브레이커와 유스케이스별 벌크헤드입니다.
+    private final UpstreamResilience resilience;
+    // 응답이 늦을 때 같은 요청을 한 번 더 보내는 헤지 정책입니다.
+    private final HedgingPolicy hedgingPolicy;
+    // 우선순위 클래스와 회원별 공정 큐로 호출 시작 순서를 정하는 스케줄러입니다.
+    private final AdmissionScheduler admissionScheduler;
+    // 프롬프트 종류별 응답 최대 토큰 수(max_completion_tokens)를 정하는 컴포넌트입니다.
+    private final CompletionTokenBudget completionTokenBudget;
+    // 템플릿별 프롬프트 크기와 프롬프트 접두사 캐시 적중률 메트릭입니다.
+    private final PromptMetrics promptMetrics;
+    // 회원/용도/모델별 토큰 사용량 집계와 회원별 일일 한도입니다.
+    private final UsageMeter usageMeter;
 
     /**
      * 사용자가 입력한 prompt(질문 또는 요청)에 대해 ChatGPT 모델로부터 응답을 받아오는 메서드입니다.
@@ -34,26 +88,327 @@ public class ChatGptService {
      * @return Mono<String> ChatGPT의 응답(Completion) 내용
      */
     public Mono<String> getCompletion(String prompt) {
+        return getCompletion(prompt, CompletionOptions.of(PromptType.GENERAL));
+    }
+
+    /**
+     * 호출 옵션을 지정하여 prompt에 대한 응답을 받아옵니다.
+     * 같은 (모델, temperature, 최대 토큰 수, 프롬프트) 조합의 응답이 캐시에 있으면 API를 호출하지 않고 캐시된 응답을 반환합니다.
+     * 캐시 사용 여부와 관계없이, 같은 요청이 이미 진행 중이면 새로 호출하지 않고 그 결과를 함께 받습니다.
+     * 프롬프트가 종류별 토큰 한도를 넘으면 호출하지 않고 PromptTooLarge 오류를 반환합니다.
+     *
+     * @param prompt  사용자가 ChatGPT에게 묻고자 하는 질문이나 요청 문장
+     * @param options 프롬프트 종류, 캐시 우회 여부 등 호출 옵션
+     * @return Mono<String> ChatGPT의 응답(Completion) 내용
+     */
+    public Mono<String> getCompletion(String prompt, CompletionOptions options) {
+        return getCompletion(Prompt.of(prompt), options);
+    }
+
+    /**
+     * 템플릿으로 만든 프롬프트(시스템 메시지 + 사용자 메시지)에 대한 응답을 받아옵니다.
+     *
+     * @param prompt  렌더링된 프롬프트
+     * @param options 프롬프트 종류, 캐시 우회 여부 등 호출 옵션
+     * @return Mono<String> ChatGPT의 응답(Completion) 내용
+     */
+    public Mono<String> getCompletion(Prompt prompt, CompletionOptions options) {
+        promptMetrics.recordRendered(prompt);
 
         // ChatGPT API로 요청하기 위한 요청 객체를 생성합니다.
         // model: 사용할 모델명, messages: 메시지 목록, temperature: 응답 창의성 정도, maxTokens: 응답 최대 토큰 수
-        ChatGptRequest request = new ChatGptRequest(
+        ChatGptRequest request = createRequest(prompt, null);
+
+        // 보내기 전에 프롬프트 토큰 수를 계산하여 한도를 넘으면 바로 거절합니다.
+        int promptTokens = TokenEstimator.estimatePromptTokens(request);
+        ChatGptException rejected = checkPromptTokens(options.type(), promptTokens);
+        if (rejected != null) {
+            return Mono.error(rejected);
+        }
+
+        // 캐시 키는 응답 최대 토큰 수를 조정하기 전의 요청으로 만듭니다. (조정된 상한은 시점마다 달라질 수 있습니다)
+        // 업스트림 대상은 키를 만든 뒤 시도마다 고르므로, 캐시와 진행 중인 요청 병합은 대상의 모델을 구분하지 않습니다.
+        // 대상마다 모델이 다르면 어느 대상의 응답이든 같은 요청의 응답으로 재사용됩니다.
+        String key = CompletionKey.of(request);
+
+        // 진행 중인 요청은 같은 회원의 요청끼리만 묶어, 토큰 사용량과 일일 한도 확인이 호출한 회원 기준으로 이루어지게 합니다.
+        String inFlightKey = options.member() != null ? key + ":" + options.member() : key;
+
+        if (!completionCache.isCacheable(options)) {
+            return inFlightRequests.execute(inFlightKey, () -> guardedCompletion(request, options, promptTokens, prompt.template()));
+        }
+
+        return Mono.defer(() -> completionCache.get(key)
+                .map(Mono::just)
+                // 캐시에 없으면 API를 호출하고, 성공한 응답을 캐시에 저장합니다.
+                .orElseGet(() -> inFlightRequests.execute(inFlightKey, () -> guardedCompletion(request, options, promptTokens, prompt.template())
+                        .doOnNext(content -> completionCache.put(key, options.type(), content)))));
+    }
+
+    /**
+     * 응답 최대 토큰 수를 프롬프트 종류별 상한으로 줄여 호출합니다.
+     * 줄인 상한 때문에 응답이 잘리면(finish_reason = "length") 설정된 최대 토큰 수로 한 번 더 요청합니다.
+     *
+     * @param request      전송할 요청 객체 (설정된 최대 토큰 수)
+     * @param options      호출 옵션
+     * @param promptTokens 프롬프트 토큰 수
+     * @param template     프롬프트를 만든 템플릿 이름 (메트릭 태그)
+     * @return Mono<String> ChatGPT의 응답(Completion) 내용
+     */
+    private Mono<String> guardedCompletion(ChatGptRequest request, CompletionOptions options, int promptTokens, String template) {
+        ChatGptRequest capped = request.withMaxTokens(completionTokenBudget.maxTokensOf(options.type(), promptTokens));
+        return guardedCall(capped, options, promptTokens)
+                .doOnNext(response -> promptMetrics.recordUsage(template, response.usage()))
+                .flatMap(response -> {
+                    if (CompletionTokenBudget.isTruncated(response) && !Objects.equals(capped.maxTokens(), request.maxTokens())) {
+                        log.warn("{} 응답이 max_completion_tokens({})에서 잘려 {}로 다시 요청합니다.",
+                                options.type(), capped.maxTokens(), request.maxTokens());
+                        return guardedCall(request, options, promptTokens)
+                                .doOnNext(retried -> promptMetrics.recordUsage(template, retried.usage()));
+                    }
+                    return Mono.just(response);
+                })
+                // ChatGptResponse에서 choices 목록의 첫 번째 메시지의 content를 추출합니다.
+                .map(response -> response.choices().get(0).message().content());
+    }
+
+    /**
+     * API 호출에 장애 대응 정책을 적용합니다.
+     * 회원의 일일 토큰 한도를 넘었으면 호출하지 않고 QuotaExceeded 오류를 반환합니다.
+     * 입장 스케줄링(우선순위/회원별 공정 큐) > 벌크헤드(유스케이스별 동시 호출 제한) > 재시도 > 헤지(옵션)
+     * > 대상 선택과 속도 제한 한도 확보 > 서킷 브레이커(요청마다) > 실제 호출 순서로 감쌉니다.
+     * 서킷 브레이커와 대상의 응답 시간에는 속도 제한 대기 시간을 빼고 HTTP 요청/응답만 반영합니다.
+     *
+     * @param request      전송할 요청 객체
+     * @param options      호출 옵션
+     * @param promptTokens 프롬프트 토큰 수
+     * @return Mono<ChatGptResponse> ChatGPT의 응답
+     */
+    private Mono<ChatGptResponse> guardedCall(ChatGptRequest request, CompletionOptions options, int promptTokens) {
+        PromptType type = options.type();
+        Mono<ChatGptResponse> attempt = options.hedge()
+                ? hedgingPolicy.apply(type, () -> requestCompletion(request, options, promptTokens))
+                : requestCompletion(request, options, promptTokens);
+        Mono<ChatGptResponse> scheduled = admissionScheduler.schedule(type, options.member(), totalTokens(request, promptTokens),
+                resilience.withBulkhead(type, retryPolicy.apply(attempt)));
+        return Mono.defer(() -> {
+            ChatGptException overQuota = usageMeter.checkQuota(options.member());
+            return overQuota != null ? Mono.error(overQuota) : scheduled;
+        });
+    }
+
+    /**
+     * ChatGPT API를 실제로 호출하여 응답을 받아옵니다.
+     *
+     * @param request      전송할 요청 객체
+     * @param options      호출 옵션 (프롬프트 종류로 응답 타임아웃 결정, 응답 길이와 회원별 사용량 기록에 사용)
+     * @param promptTokens 프롬프트 토큰 수
+     * @return Mono<ChatGptResponse> ChatGPT의 응답
+     */
+    private Mono<ChatGptResponse> requestCompletion(ChatGptRequest request, CompletionOptions options, int promptTokens) {
+        PromptType type = options.type();
+        // 요청을 보낼 대상을 고르고, 그 대상의 속도 제한기에서 요청 1건과 예상 토큰 수만큼의 한도를 확보한 뒤 호출합니다.
+        // 서킷 브레이커는 한도를 확보한 뒤의 HTTP 요청/응답에만 적용합니다.
+        // 대상마다 모델(토크나이저)이 다를 수 있으므로 한도 차감과 보정에는 그 대상의 모델로 센 프롬프트 토큰 수를 씁니다.
+        return upstreamRouter.route(
+                        target -> target.getRateLimiter().acquire(totalTokens(request, promptTokensOf(target, request, promptTokens))),
+                        (target, permit) -> resilience.withCircuitBreaker(retrieve(target, request, MediaType.APPLICATION_JSON, type)
+                                        // 응답 바디를 모으지 않고 도착하는 버퍼에서 content, finish_reason, usage만 바로 읽어냅니다.
+                                        .bodyToFlux(DataBuffer.class)
+                                        .as(ChatGptResponseDecoder::decode))
+                                // 실제 토큰 사용량으로 한도를 보정하고, 회원/용도/모델별 사용량에 더합니다.
+                                .doOnNext(response -> {
+                                    permit.reconcile(response.usage());
+                                    usageMeter.record(options.member(), type, target.getModel(), response.usage());
+                                })
+                                // 실패한 요청은 응답 토큰을 사용하지 않았으므로 프롬프트 토큰만 차감된 것으로 보정합니다.
+                                // 서킷 브레이커가 열려 보내지 않은 요청은 토큰을 모두 돌려줍니다.
+                                .doOnError(error -> permit.reconcile(error instanceof CallNotPermittedException ? 0 : promptTokensOf(target, request, promptTokens)))
+                                // 헤지 경쟁에서 져 취소된 요청도 응답 토큰을 다 쓰지 않았으므로 프롬프트 토큰만 차감된 것으로 보정합니다.
+                                .doOnCancel(() -> permit.reconcile(promptTokensOf(target, request, promptTokens))))
+                // 응답 길이를 기록하여 다음 요청의 응답 최대 토큰 수를 정합니다.
+                .doOnNext(response -> completionTokenBudget.record(type, response))
+                // 에러 발생 시 로그를 남깁니다.
+                .doOnError(error -> log.error("ChatGPT API 호출 중 오류 발생", error));
+    }
+
+    /**
+     * prompt에 대한 응답을 stream: true 모드로 요청하여, 생성되는 텍스트 조각(delta)을 순서대로 흘려보냅니다.
+     * 전체 응답이 완성될 때까지 기다리지 않으므로 첫 글자를 받기까지의 시간이 크게 줄어듭니다.
+     *
+     * @param prompt 사용자가 ChatGPT에게 묻고자 하는 질문이나 요청 문장
+     * @return Flux<String> 생성 순서대로 전달되는 응답 텍스트 조각
+     */
+    public Flux<String> streamCompletion(String prompt) {
+        return streamCompletion(prompt, CompletionOptions.of(PromptType.GENERAL));
+    }
+
+    /**
+     * 호출 옵션을 지정하여 스트리밍으로 응답을 받습니다. 캐시와 헤지 옵션은 사용하지 않습니다.
+     * 이미 전달한 조각을 되돌릴 수 없으므로 응답 최대 토큰 수는 줄이지 않고 설정값을 그대로 사용합니다.
+     *
+     * @param prompt  사용자가 ChatGPT에게 묻고자 하는 질문이나 요청 문장
+     * @param options 프롬프트 종류(응답 타임아웃, 우선순위 결정에 사용)와 호출한 회원
+     * @return Flux<String> 생성 순서대로 전달되는 응답 텍스트 조각
+     */
+    public Flux<String> streamCompletion(String prompt, CompletionOptions options) {
+        return streamCompletion(Prompt.of(prompt), options);
+    }
+
+    /**
+     * 템플릿으로 만든 프롬프트(시스템 메시지 + 사용자 메시지)에 대한 응답을 스트리밍으로 받습니다.
+     *
+     * @param prompt  렌더링된 프롬프트
+     * @param options 프롬프트 종류(응답 타임아웃, 우선순위 결정에 사용)와 호출한 회원
+     * @return Flux<String> 생성 순서대로 전달되는 응답 텍스트 조각
+     */
+    public Flux<String> streamCompletion(Prompt prompt, CompletionOptions options) {
+        promptMetrics.recordRendered(prompt);
+
+        PromptType type = options.type();
+        ChatGptRequest request = createRequest(prompt, true);
+
+        int promptTokens = TokenEstimator.estimatePromptTokens(request);
+        ChatGptException tooLarge = checkPromptTokens(type, promptTokens);
+        if (tooLarge != null) {
+            return Flux.error(tooLarge);
+        }
+
+        // 스트리밍은 이미 전달한 조각이 중복될 수 있으므로 재시도하지 않고, 서킷 브레이커와 벌크헤드만 적용합니다.
+        // 서킷 브레이커는 속도 제한 한도를 확보한 뒤의 HTTP 요청/응답에만 적용합니다.
+        // 한도 차감과 보정에는 요청을 보낼 대상의 모델로 센 프롬프트 토큰 수를 씁니다.
+        Flux<String> stream = upstreamRouter.routeMany(
+                        target -> target.getRateLimiter().acquire(totalTokens(request, promptTokensOf(target, request, promptTokens))),
+                        (target, permit) -> resilience.withCircuitBreaker(retrieve(target, request, MediaType.TEXT_EVENT_STREAM, type)
+                                        // SSE 이벤트를 하나씩 받아 data 부분만 꺼냅니다.
+                                        .bodyToFlux(SSE_TYPE)
+                                        .mapNotNull(ServerSentEvent::data)
+                                        // [DONE] 이벤트가 오면 스트림을 종료합니다.
+                                        .takeWhile(data -> !STREAM_DONE.equals(data))
+                                        .map(data -> JsonConverter.fromJson(data, new TypeReference<ChatGptStreamResponse>() {
+                                        })))
+                                // 마지막 조각에 포함된 토큰 사용량으로 한도를 보정하고 프롬프트 캐시 적중과 회원별 사용량을 기록합니다.
+                                .doOnNext(chunk -> {
+                                    permit.reconcile(chunk.usage());
+                                    promptMetrics.recordUsage(prompt.template(), chunk.usage());
+                                    usageMeter.record(options.member(), type, target.getModel(), chunk.usage());
+                                })
+                                .doOnError(error -> permit.reconcile(error instanceof CallNotPermittedException ? 0 : promptTokensOf(target, request, promptTokens)))
+                                // 클라이언트가 연결을 끊어 취소되면 사용량을 받지 못하므로 프롬프트 토큰만 차감된 것으로 보정합니다.
+                                .doOnCancel(() -> permit.reconcile(promptTokensOf(target, request, promptTokens))))
+                // 텍스트가 없는 조각(역할 정보, 종료 신호, 사용량 등)은 건너뜁니다.
+                .mapNotNull(ChatGptStreamResponse::deltaContent);
+
+        Flux<String> scheduled = admissionScheduler.scheduleMany(type, options.member(), totalTokens(request, promptTokens),
+                resilience.withBulkhead(type, stream));
+        // 회원의 일일 토큰 한도는 Flux를 만들 때가 아니라 구독할 때마다 확인합니다.
+        return Flux.defer(() -> {
+                    ChatGptException overQuota = usageMeter.checkQuota(options.member());
+                    return overQuota != null ? Flux.<String>error(overQuota) : scheduled;
+                })
+                .doOnError(error -> log.error("ChatGPT 스트리밍 호출 중 오류 발생", error));
+    }
+
+    /**
+     * 프롬프트 토큰 수가 프롬프트 종류별 한도와 컨텍스트 윈도우 안에 들어오는지 확인합니다.
+     *
+     * @param type         프롬프트 종류
+     * @param promptTokens 프롬프트 토큰 수
+     * @return 한도를 넘으면 PromptTooLarge 예외, 아니면 null
+     */
+    private ChatGptException checkPromptTokens(PromptType type, int promptTokens) {
+        int limit = chatGptConfig.getTokens().maxPromptTokensOf(type);
+        if (promptTokens <= limit) {
+            return null;
+        }
+        return new ChatGptException(new ChatGptError.PromptTooLarge(
+                "프롬프트가 너무 깁니다. (토큰 수: %d, 최대: %d)".formatted(promptTokens, limit), promptTokens, limit));
+    }
+
+    /**
+     * 요청을 보낼 대상의 모델 기준 프롬프트 토큰 수를 계산합니다.
+     * 대상 모델이 요청을 만들 때의 모델과 같으면 이미 센 값을 그대로 씁니다.
+     *
+     * @param target       요청을 보낼 대상
+     * @param request      전송할 요청 객체
+     * @param promptTokens 요청 모델 기준 프롬프트 토큰 수
+     * @return 대상 모델 기준 프롬프트 토큰 수
+     */
+    private static int promptTokensOf(UpstreamTarget target, ChatGptRequest request, int promptTokens) {
+        if (Objects.equals(target.getModel(), request.model())) {
+            return promptTokens;
+        }
+        return TokenEstimator.estimatePromptTokens(request.withModel(target.getModel()));
+    }
+
+    // 분당 토큰 한도에서 차감할 토큰 수(프롬프트 + 최대 응답 토큰)입니다.
+    private static int totalTokens(ChatGptRequest request, int promptTokens) {
+        return promptTokens + (request.maxTokens() != null ? request.maxTokens() : 0);
+    }
+
+    /**
+     * 설정 정보를 바탕으로 ChatGPT API 요청 객체를 생성합니다.
+     *
+     * 시스템 메시지(고정 지시사항)가 있으면 사용자 메시지 앞에 두어 요청의 앞부분이 항상 같도록 합니다.
+     *
+     * @param prompt 시스템 메시지와 사용자 메시지로 전달할 프롬프트
+     * @param stream 스트리밍 여부 (null이면 일반 요청)
+     * @return ChatGptRequest 요청 객체
+     */
+    private ChatGptRequest createRequest(Prompt prompt, Boolean stream) {
+        List<ChatGptRequest.Message> messages = prompt.system() != null
+                ? List.of(ChatGptRequest.Message.systemMessage(prompt.system()), ChatGptRequest.Message.userMessage(prompt.user()))
+                : List.of(ChatGptRequest.Message.userMessage(prompt.user()));
+        return new ChatGptRequest(
                 chatGptConfig.getModel(),
-                List.of(ChatGptRequest.Message.userMessage(prompt)),
+                messages,
                 chatGptConfig.getTemperature(),
-                chatGptConfig.getMaxCompletionTokens()
+                chatGptConfig.getMaxCompletionTokens(),
+                stream,
+                // 스트리밍 요청이면 마지막 조각에 토큰 사용량을 포함하도록 요청합니다.
+                Boolean.TRUE.equals(stream) ? new ChatGptRequest.StreamOptions(true) : null
         );
+    }
 
-        // WebClient를 이용해 ChatGPT API에 POST 요청을 보냅니다.
-        return chatGptWebClient.post()
-                .bodyValue(request) // 요청 바디에 ChatGptRequest DTO를 담습니다.
+    /**
+     * 업스트림 대상에 POST 요청을 보내고, 오류 상태 코드를 ChatGptException으로 변환하는 공통 처리를 적용합니다.
+     *
+     * @param target  요청을 보낼 업스트림 대상
+     * @param request 요청 바디로 전송할 ChatGptRequest
+     * @param accept  응답으로 받을 미디어 타입 (일반 JSON 또는 text/event-stream)
+     * @param type    프롬프트 종류 (응답 타임아웃 결정에 사용)
+     * @return 응답 바디 변환 직전의 ResponseSpec
+     */
+    private WebClient.ResponseSpec retrieve(UpstreamTarget target, ChatGptRequest request, MediaType accept, PromptType type) {
+        return target.getWebClient().post()
+                .accept(accept)
+                // 프롬프트 종류별 응답 타임아웃을 이 요청에만 적용합니다.
+                .httpRequest(httpRequest -> {
+                    HttpClientRequest reactorRequest = httpRequest.getNativeRequest();
+                    reactorRequest.responseTimeout(chatGptConfig.getPool().responseTimeoutOf(type));
+                })
+                .bodyValue(request.withModel(target.getModel())) // 요청 바디에 대상의 모델을 적용한 ChatGptRequest DTO를 담습니다.
                 .retrieve() // 서버 응답을 받아옵니다.
+                // HTTP 상태 코드가 429(Too Many Requests)일 경우, Retry-After와 함께 한도 초과 예외로 처리
+                .onStatus(
+                        status -> status.value() == HttpStatus.TOO_MANY_REQUESTS.value(),
+                        response -> Mono.error(
+                                new ChatGptException(
+                                        new ChatGptError.RateLimited(
+                                                "ChatGPT API 요청 한도 초과",
+                                                CompletionRetryPolicy.parseRetryAfter(response.headers().asHttpHeaders())
+                                        ),
+                                        response.statusCode()
+                                )
+                        )
+                )
                 // HTTP 상태 코드가 4xx(Client Error)일 경우의 예외 처리
                 .onStatus(
                         HttpStatusCode::is4xxClientError,
                         response -> Mono.error(
                                 new ChatGptException(
-                                        new ChatGptError.ClientError("ChatGPT API 클라이언트 오류")
+                                        new ChatGptError.ClientError("ChatGPT API 클라이언트 오류"),
+                                        response.statusCode()
                                 )
                         )
                 )
@@ -62,15 +417,10 @@ public class ChatGptService {
                         HttpStatusCode::is5xxServerError,
                         response -> Mono.error(
                                 new ChatGptException(
-                                        new ChatGptError.ServerError("ChatGPT API 서버 오류")
+                                        new ChatGptError.ServerError("ChatGPT API 서버 오류"),
+                                        response.statusCode()
                                 )
                         )
-                )
-                // 응답 바디를 ChatGptResponse 클래스로 변환합니다.
-                .bodyToMono(ChatGptResponse.class)
-                // ChatGptResponse에서 choices 목록의 첫 번째 메시지의 content를 추출합니다.
-                .map(response -> response.choices().get(0).message().content())
-                // 에러 발생 시 로그를 남깁니다.
-                .doOnError(error -> log.error("ChatGPT API 호출 중 오류 발생", error));
+                );
     }
 }
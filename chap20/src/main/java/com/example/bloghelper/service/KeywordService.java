@@ -1,30 +1,74 @@
 package com.example.bloghelper.service;
 
+import com.example.bloghelper.chatgpt.CompletionOptions;
+import com.example.bloghelper.chatgpt.Prompt;
+import com.example.bloghelper.chatgpt.PromptTemplate;
+import com.example.bloghelper.chatgpt.PromptType;
+import com.example.bloghelper.chatgpt.TokenEstimator;
+import com.example.bloghelper.config.ChatGptConfig;
 import com.example.bloghelper.dto.KeywordAnalyzeResponse;
 import com.example.bloghelper.entity.Keyword;
 import com.example.bloghelper.exception.KeywordAnalysisException;
-import com.example.bloghelper.repository.KeywordRepository;
+import com.example.bloghelper.repository.KeywordWriteBuffer;
 import com.example.bloghelper.util.JsonConverter;
 import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * KeywordService 클래스는 사용자가 입력한 키워드에 대해 ChatGPT를 활용하여
  * 관련 키워드 및 추천 주제를 분석하고, 그 결과를 저장 및 반환하는 비즈니스 로직을 담당합니다.
  */
 @Service
-@Transactional // 메서드 실행 시 트랜잭션이 적용되며, 종료 시점에 커밋 또는 롤백합니다.
 @RequiredArgsConstructor // final 필드에 대한 생성자를 자동으로 생성합니다.
 @Slf4j // 로깅을 위한 Logger 객체를 자동으로 생성합니다.
 public class KeywordService {
+    // 키워드 하나를 분석하는 프롬프트 템플릿입니다.
+    private static final PromptTemplate KEYWORD_ANALYSIS_TEMPLATE = PromptTemplate.compile("keyword-analysis", """
+            사용자가 보낸 키워드와 관련된 블로그 주제를 추천해주세요.
+            다음 형식의 순수한 JSON으로 응답해주세요(다른 형식 불가 ex: md, xml 등):
+            {
+                "relatedKeywords": ["연관 키워드1", "연관 키워드2", ...],
+                "suggestedTopics": ["추천 주제1", "추천 주제2", ...]
+            }
+            """, """
+            키워드: {{keyword}}
+            """);
+    // 여러 키워드를 한 번에 분석하는 프롬프트 템플릿입니다.
+    // 키워드 목록은 JSON 배열로 넣어 특수 문자가 섞여도 경계가 분명하도록 합니다.
+    private static final PromptTemplate KEYWORD_BATCH_TEMPLATE = PromptTemplate.compile("keyword-batch", """
+            사용자가 보낸 키워드 목록의 키워드 각각에 대해 관련된 블로그 주제를 추천해주세요.
+            다음 형식의 순수한 JSON으로 응답해주세요(다른 형식 불가 ex: md, xml 등).
+            results에는 키워드 목록의 모든 키워드를 같은 순서로, keyword 값은 입력 그대로 넣어주세요:
+            {
+                "results": [
+                    {
+                        "keyword": "입력 키워드",
+                        "relatedKeywords": ["연관 키워드1", "연관 키워드2", ...],
+                        "suggestedTopics": ["추천 주제1", "추천 주제2", ...]
+                    }
+                ]
+            }
+            """, """
+            키워드 목록(JSON 배열): {{keywords}}
+            """);
+
     private final ChatGptService chatGptService; // ChatGPT API 호출을 담당하는 서비스
-    private final KeywordRepository keywordRepository; // Keyword 엔티티 저장소
+    private final KeywordWriteBuffer keywordWriteBuffer; // 분석 결과를 모아서 배치로 저장하는 쓰기 지연 버퍼
+    private final ChatGptConfig chatGptConfig; // 배치 분석 토큰 예산 설정
+
+    // 배치 분석에서 관찰한 키워드 하나당 응답 토큰 수(EWMA)입니다. 관찰 전에는 null입니다.
+    private final AtomicReference<Double> completionTokensPerKeyword = new AtomicReference<>();
 
     /**
      * 사용자가 입력한 키워드를 바탕으로 ChatGPT에 요청하여 관련 키워드와 추천 주제를 분석합니다.
@@ -34,30 +78,205 @@ public class KeywordService {
      * @return 분석 결과를 포함한 KeywordAnalyzeResponse를 Mono로 래핑한 객체
      */
     public Mono<KeywordAnalyzeResponse> analyzeKeyword(String keyword) {
-        return chatGptService.getCompletion(createPrompt(keyword)) // ChatGPT에 프롬프트를 보내고 응답 수신
+        return analyzeKeyword(keyword, false, null);
+    }
+
+    /**
+     * 캐시 우회 여부와 요청한 회원을 지정하여 키워드를 분석합니다.
+     *
+     * @param keyword     사용자가 입력한 키워드
+     * @param bypassCache true이면 캐시된 분석 결과를 사용하지 않고 ChatGPT를 다시 호출합니다.
+     * @param email       요청한 회원의 이메일 (회원별 공정 스케줄링 기준, null이면 비회원)
+     * @return 분석 결과를 포함한 KeywordAnalyzeResponse를 Mono로 래핑한 객체
+     */
+    public Mono<KeywordAnalyzeResponse> analyzeKeyword(String keyword, boolean bypassCache, String email) {
+        // 키워드 분석 프롬프트는 짧으므로 응답이 늦으면 헤지 요청을 보내 꼬리 지연을 줄입니다.
+        CompletionOptions options = CompletionOptions.of(PromptType.KEYWORD_ANALYSIS).withHedging().forMember(email);
+        return chatGptService.getCompletion(createPrompt(keyword), bypassCache ? options.withoutCache() : options) // ChatGPT에 프롬프트를 보내고 응답 수신
                 .map(this::parseGptResponse) // 수신한 문자열 응답을 KeywordAnalysis 객체로 파싱
-                .map(analysis -> saveKeywordAnalysis(keyword, analysis)) // 파싱한 결과를 데이터베이스에 저장하고 Keyword 엔티티 반환
+                // 파싱한 결과를 쓰기 지연 버퍼에 넣고, id가 지정된 Keyword 엔티티 반환 (INSERT는 버퍼가 배치로 실행)
+                .flatMap(analysis -> saveKeywordAnalysis(keyword, analysis))
                 .map(KeywordAnalyzeResponse::from); // Keyword 엔티티를 KeywordAnalyzeResponse DTO로 변환
     }
 
+    /**
+     * 여러 키워드를 몇 개씩 묶어 하나의 프롬프트로 분석하고, 묶음별 분석이 끝나는 대로 결과를 흘려보냅니다.
+     * 묶음 크기는 프롬프트 토큰 예산과 (관찰된 키워드당 응답 토큰 수 x 키워드 수)가 응답 토큰 예산을 넘지 않도록 정하며,
+     * 앞 묶음의 응답 길이를 반영하여 다음 묶음의 크기를 조정합니다.
+     * 응답에서 빠진 키워드는 하나씩 다시 분석하고, 배치 호출 자체가 실패하면 묶음의 모든 키워드를 하나씩 다시 분석합니다.
+     * 다시 분석해도 실패한 키워드는 스트림을 끝내지 않고 error가 담긴 항목으로 보냅니다.
+     *
+     * @param keywords 분석할 키워드 목록 (중복은 한 번만 분석)
+     * @param email    요청한 회원의 이메일 (회원별 공정 스케줄링 기준, null이면 비회원)
+     * @return 키워드별 분석 결과 스트림 (순서는 분석이 끝난 순서)
+     */
+    public Flux<KeywordAnalyzeResponse> analyzeKeywords(List<String> keywords, String email) {
+        List<String> distinct = keywords.stream()
+                .map(String::trim)
+                .filter(keyword -> !keyword.isEmpty())
+                .distinct()
+                .toList();
+
+        // 묶음은 flatMap이 요청할 때마다 만들어지므로, 먼저 끝난 묶음의 응답 길이가 다음 묶음 크기에 반영됩니다.
+        Flux<List<String>> chunks = Flux.<List<String>, Integer>generate(() -> 0, (from, sink) -> {
+            if (from >= distinct.size()) {
+                sink.complete();
+                return from;
+            }
+            List<String> chunk = nextChunk(distinct, from);
+            sink.next(chunk);
+            return from + chunk.size();
+        });
+
+        return chunks.flatMap(chunk -> analyzeChunk(chunk, email), chatGptConfig.getBatch().getConcurrency());
+    }
+
+    /**
+     * from 위치부터 토큰 예산 안에 들어가는 만큼 키워드를 묶습니다. 최소 한 개는 포함합니다.
+     *
+     * @param keywords 전체 키워드 목록
+     * @param from     시작 위치
+     * @return 한 번의 호출로 분석할 키워드 묶음
+     */
+    private List<String> nextChunk(List<String> keywords, int from) {
+        ChatGptConfig.Batch batch = chatGptConfig.getBatch();
+        int completionBudget = batch.getCompletionTokenBudget() != null
+                ? batch.getCompletionTokenBudget()
+                : chatGptConfig.getMaxCompletionTokens();
+        double perKeyword = completionTokensPerKeyword();
+
+        int promptTokens = TokenEstimator.estimateTokens(createBatchPrompt(List.of()), chatGptConfig.getModel());
+        int end = from;
+        while (end < keywords.size() && end - from < batch.getMaxKeywordsPerCall()) {
+            // 키워드 하나는 JSON 배열의 원소(따옴표, 쉼표 포함)로 들어갑니다.
+            int nextPromptTokens = promptTokens + TokenEstimator.estimateTokens(JsonConverter.toJson(keywords.get(end)), chatGptConfig.getModel()) + 1;
+            boolean fits = nextPromptTokens <= batch.getPromptTokenBudget()
+                    && (end - from + 1) * perKeyword <= completionBudget;
+            if (!fits && end > from) {
+                break;
+            }
+            promptTokens = nextPromptTokens;
+            end++;
+        }
+        return keywords.subList(from, end);
+    }
+
+    /**
+     * 키워드 묶음 하나를 분석하고, 결과를 한 번에 저장합니다.
+     *
+     * @param chunk 분석할 키워드 묶음
+     * @param email 요청한 회원의 이메일
+     * @return 묶음에 포함된 키워드별 분석 결과
+     */
+    private Flux<KeywordAnalyzeResponse> analyzeChunk(List<String> chunk, String email) {
+        CompletionOptions options = CompletionOptions.of(PromptType.KEYWORD_BATCH).forMember(email);
+        return chatGptService.getCompletion(createBatchPrompt(chunk), options)
+                .map(response -> {
+                    Map<String, KeywordAnalysis> analyses = parseBatchResponse(response, chunk);
+                    observeCompletionTokens(response, analyses.size());
+                    return analyses;
+                })
+                // 배치 호출이 실패하거나 응답 전체를 해석할 수 없으면 모든 키워드를 하나씩 다시 분석합니다.
+                .onErrorResume(e -> {
+                    log.warn("키워드 {}개의 배치 분석에 실패하여 하나씩 다시 분석합니다: {}", chunk.size(), e.getMessage());
+                    return Mono.just(Map.of());
+                })
+                .flatMapMany(analyses -> {
+                    List<String> missing = chunk.stream()
+                            .filter(keyword -> !analyses.containsKey(keyword))
+                            .toList();
+                    if (!missing.isEmpty()) {
+                        log.warn("배치 응답에서 빠진 키워드 {}개를 하나씩 다시 분석합니다: {}", missing.size(), missing);
+                    }
+
+                    Flux<KeywordAnalyzeResponse> saved = Flux.fromIterable(analyses.entrySet())
+                            .concatMap(entry -> orFailed(entry.getKey(), saveKeywordAnalysis(entry.getKey(), entry.getValue())
+                                    .map(KeywordAnalyzeResponse::from)));
+                    // 하나씩 다시 분석하는 호출도 묶음 단위와 같은 동시 호출 수로 제한합니다.
+                    Flux<KeywordAnalyzeResponse> retried = Flux.fromIterable(missing)
+                            .flatMap(keyword -> orFailed(keyword, analyzeKeyword(keyword, false, email)),
+                                    chatGptConfig.getBatch().getConcurrency());
+                    return saved.concatWith(retried);
+                });
+    }
+
+    // 키워드 하나의 분석/저장 실패를 스트림 전체의 실패 대신 error가 담긴 항목으로 바꿉니다.
+    private Mono<KeywordAnalyzeResponse> orFailed(String keyword, Mono<KeywordAnalyzeResponse> result) {
+        return result.onErrorResume(e -> {
+            log.warn("키워드 분석에 실패했습니다: {}", keyword, e);
+            return Mono.just(KeywordAnalyzeResponse.failed(keyword, e.getMessage()));
+        });
+    }
+
+    /**
+     * 여러 키워드를 한 번에 분석하기 위한 프롬프트를 생성합니다.
+     *
+     * @param keywords 분석할 키워드 묶음
+     * @return ChatGPT에 전달할 프롬프트
+     */
+    private Prompt createBatchPrompt(List<String> keywords) {
+        return KEYWORD_BATCH_TEMPLATE.render(Map.of("keywords", JsonConverter.toJson(keywords)));
+    }
+
+    /**
+     * 배치 응답을 키워드별 분석 결과로 나눕니다. 키워드는 앞뒤 공백과 대소문자를 무시하고 대응시킵니다.
+     *
+     * @param response ChatGPT 응답 JSON 문자열
+     * @param keywords 요청한 키워드 묶음
+     * @return 요청한 키워드 순서대로 정렬된, 응답에 포함된 키워드별 분석 결과
+     */
+    private Map<String, KeywordAnalysis> parseBatchResponse(String response, List<String> keywords) {
+        KeywordBatchAnalysis batchAnalysis = JsonConverter.fromJson(response, new TypeReference<KeywordBatchAnalysis>() {});
+        if (batchAnalysis.results() == null) {
+            throw new KeywordAnalysisException("ChatGPT 배치 응답에 results가 없습니다.");
+        }
+
+        Map<String, KeywordAnalysis> byNormalizedKeyword = new HashMap<>();
+        for (KeywordBatchItem item : batchAnalysis.results()) {
+            if (item != null && item.keyword() != null) {
+                byNormalizedKeyword.putIfAbsent(normalize(item.keyword()),
+                        new KeywordAnalysis(item.relatedKeywords(), item.suggestedTopics()));
+            }
+        }
+
+        Map<String, KeywordAnalysis> analyses = new LinkedHashMap<>();
+        for (String keyword : keywords) {
+            KeywordAnalysis analysis = byNormalizedKeyword.get(normalize(keyword));
+            if (analysis != null && analysis.relatedKeywords() != null && analysis.suggestedTopics() != null) {
+                analyses.put(keyword, analysis);
+            }
+        }
+        return analyses;
+    }
+
+    private String normalize(String keyword) {
+        return keyword.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // 키워드당 응답 토큰 수의 추정치입니다. 관찰 전에는 설정의 초기값을 사용합니다.
+    private double completionTokensPerKeyword() {
+        Double observed = completionTokensPerKeyword.get();
+        return observed != null ? observed : chatGptConfig.getBatch().getInitialCompletionTokensPerKeyword();
+    }
+
+    // 배치 응답의 길이로 키워드당 응답 토큰 수를 보정합니다. (EWMA, 최근 값 20% 반영)
+    private void observeCompletionTokens(String response, int keywordCount) {
+        if (keywordCount == 0) {
+            return;
+        }
+        double sample = (double) TokenEstimator.estimateTokens(response) / keywordCount;
+        completionTokensPerKeyword.updateAndGet(previous -> previous == null ? sample : previous * 0.8 + sample * 0.2);
+    }
+
     /**
      * ChatGPT에 전달할 프롬프트를 생성하는 메서드입니다.
      * 키워드와 관련된 블로그 주제를 JSON 형식으로 달라고 요청합니다.
      *
      * @param keyword 요청할 키워드
-     * @return ChatGPT에 전달할 문자열 프롬프트
+     * @return ChatGPT에 전달할 프롬프트
      */
-    private String createPrompt(String keyword) {
-        return """
-                다음 키워드와 관련된 블로그 주제를 추천해주세요:
-                키워드: %s
-
-                다음 형식의 순수한 JSON으로 응답해주세요(다른 형식 불가 ex: md, xml 등):
-                {
-                    "relatedKeywords": ["연관 키워드1", "연관 키워드2", ...],
-                    "suggestedTopics": ["추천 주제1", "추천 주제2", ...]
-                }
-                """.formatted(keyword);
+    private Prompt createPrompt(String keyword) {
+        return KEYWORD_ANALYSIS_TEMPLATE.render(Map.of("keyword", keyword));
     }
 
     /**
@@ -76,21 +295,22 @@ public class KeywordService {
     }
 
     /**
-     * 파싱한 분석 결과(KeywordAnalysis)를 데이터베이스에 저장합니다.
+     * 파싱한 분석 결과(KeywordAnalysis)를 쓰기 지연 버퍼에 넣어 저장합니다.
      * Keyword 엔티티에 JSON 문자열로 연관 키워드와 추천 주제를 저장합니다.
+     * INSERT는 버퍼가 다른 분석 결과와 묶어서 실행하며, id는 버퍼에 넣을 때 미리 발급합니다.
      *
      * @param originalKeyword 사용자 입력 키워드
      * @param analysis        파싱한 분석 결과
-     * @return 저장된 Keyword 엔티티 객체
+     * @return id가 지정된 Keyword 엔티티 객체
      */
-    private Keyword saveKeywordAnalysis(String originalKeyword, KeywordAnalysis analysis) {
+    private Mono<Keyword> saveKeywordAnalysis(String originalKeyword, KeywordAnalysis analysis) {
         // Keyword 엔티티 생성 및 JSON 직렬화 후 저장
         Keyword keyword = Keyword.createFromAnalysis(
                 originalKeyword,
                 JsonConverter.toJson(analysis.relatedKeywords()),
                 JsonConverter.toJson(analysis.suggestedTopics())
         );
-        return keywordRepository.save(keyword);
+        return keywordWriteBuffer.add(keyword);
     }
 }
 
@@ -101,3 +321,16 @@ public class KeywordService {
  */
 record KeywordAnalysis(List<String> relatedKeywords, List<String> suggestedTopics) {
 }
+
+/**
+ * KeywordBatchAnalysis 레코드는 배치 분석 응답을 매핑하기 위한 데이터 구조입니다.
+ * results: 키워드별 분석 결과 목록
+ */
+record KeywordBatchAnalysis(List<KeywordBatchItem> results) {
+}
+
+/**
+ * KeywordBatchItem 레코드는 배치 분석 응답의 키워드 하나에 대한 결과입니다.
+ */
+record KeywordBatchItem(String keyword, List<String> relatedKeywords, List<String> suggestedTopics) {
+}
@@ -1,91 +1,420 @@
 package com.example.bloghelper.service;
 
+import com.example.bloghelper.chatgpt.CompletionOptions;
+import com.example.bloghelper.chatgpt.Prompt;
+import com.example.bloghelper.chatgpt.PromptTemplate;
+import com.example.bloghelper.chatgpt.PromptType;
+import com.example.bloghelper.chatgpt.TokenEstimator;
+import com.example.bloghelper.config.ChatGptConfig;
+import com.example.bloghelper.config.RequestDeadlineProperties;
+import com.example.bloghelper.dto.CursorPage;
 import com.example.bloghelper.dto.PostHistoryResponse;
+import com.example.bloghelper.dto.PostHistorySummary;
 import com.example.bloghelper.dto.PostImproveRequest;
 import com.example.bloghelper.dto.PostImproveResponse;
 import com.example.bloghelper.entity.Post;
 import com.example.bloghelper.entity.PostHistory;
+import com.example.bloghelper.exception.ChatGptError;
+import com.example.bloghelper.exception.ChatGptException;
+import com.example.bloghelper.exception.KeywordAnalysisException;
+import com.example.bloghelper.exception.PostConflictException;
+import com.example.bloghelper.exception.PostEditException;
 import com.example.bloghelper.exception.PostNotFoundException;
+import com.example.bloghelper.repository.PostHistoryRepository;
 import com.example.bloghelper.repository.PostRepository;
+import com.example.bloghelper.util.HistoryCursor;
 import com.example.bloghelper.util.JsonConverter;
+import com.example.bloghelper.util.ParagraphChunker;
+import com.example.bloghelper.util.SentenceEdits;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
-@Transactional
 @Slf4j
 @RequiredArgsConstructor
 public class PostImproveService {
+    // 개선 이력 목록 한 페이지의 최대 크기입니다.
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    // 메시지 구분자 등 프롬프트 본문 밖에서 추가되는 토큰 수의 여유분
+    private static final int PROMPT_OVERHEAD_TOKENS = 16;
+    // 블로그 포스트를 개선하는 프롬프트 템플릿입니다. 길이가 가장 긴 본문은 사용자 메시지의 마지막에 둡니다.
+    private static final PromptTemplate POST_IMPROVE_TEMPLATE = PromptTemplate.compile("post-improve", """
+            사용자가 보낸 블로그 포스트를 개선 방향과 추가 지시사항에 맞게 개선해주세요.
+            다음 형식의 순수한 JSON으로 응답해주세요(다른형식 불가: md, xml 등...):
+            {
+                "title": "개선된 제목",
+                "content": "개선된 내용",
+                "improvementReason": "개선 내용 설명"
+            }
+            """, """
+            개선 방향: {{type}}
+            추가 지시사항: {{instructions}}
+
+            제목: {{title}}
+            내용: {{content}}
+            """);
+    // 바꿀 문장만 편집 연산으로 받는 포스트 개선 프롬프트 템플릿입니다.
+    private static final PromptTemplate POST_EDIT_TEMPLATE = PromptTemplate.compile("post-improve-edits", """
+            사용자가 보낸 블로그 포스트를 개선 방향과 추가 지시사항에 맞게 개선해주세요.
+            본문 전체를 다시 쓰지 말고, 바꿀 문장만 편집 연산으로 알려주세요. 본문의 각 문장 앞에는 [번호]가 붙어 있습니다.
+            - replace: from ~ to(포함) 번호의 문장을 text로 바꿉니다.
+            - insert_after: at 번호의 문장 뒤에 text를 추가합니다. (-1이면 맨 앞)
+            - delete: from ~ to(포함) 번호의 문장을 삭제합니다.
+            anchor에는 from(insert_after이면 at) 번호 문장의 처음 10글자를 그대로 적어주세요. text에는 [번호]를 붙이지 마세요.
+            다음 형식의 순수한 JSON으로 응답해주세요(다른형식 불가: md, xml 등...):
+            {
+                "title": "개선된 제목",
+                "edits": [
+                    {"op": "replace", "from": 0, "to": 0, "anchor": "문장 앞부분", "text": "바꾼 문장"},
+                    {"op": "insert_after", "at": 3, "anchor": "문장 앞부분", "text": "추가할 문장"},
+                    {"op": "delete", "from": 5, "to": 6, "anchor": "문장 앞부분"}
+                ],
+                "improvementReason": "개선 내용 설명"
+            }
+            """, """
+            개선 방향: {{type}}
+            추가 지시사항: {{instructions}}
+
+            제목: {{title}}
+            내용:
+            {{sentences}}
+            """);
+    // 긴 포스트를 나눈 구간 하나를 개선하는 프롬프트 템플릿입니다.
+    private static final PromptTemplate POST_IMPROVE_CHUNK_TEMPLATE = PromptTemplate.compile("post-improve-chunk", """
+            사용자가 보낸 블로그 포스트 구간을 개선 방향과 추가 지시사항에 맞게 개선해주세요.
+            구간은 전체 본문의 일부입니다. 앞뒤 구간과 자연스럽게 이어지도록 요약하거나 서론/결론을 새로 추가하지 마세요.
+            다음 형식의 순수한 JSON으로 응답해주세요(다른형식 불가: md, xml 등...):
+            {
+                "content": "개선된 구간 내용"
+            }
+            """, """
+            개선 방향: {{type}}
+            추가 지시사항: {{instructions}}
+
+            제목: {{title}}
+            구간: {{index}}/{{total}}
+            내용: {{content}}
+            """);
+    // 긴 포스트의 제목을 개선하고 개선 내용을 설명하는 프롬프트 템플릿입니다. (본문은 앞부분만 전달합니다)
+    private static final PromptTemplate POST_IMPROVE_TITLE_TEMPLATE = PromptTemplate.compile("post-improve-title", """
+            사용자가 보낸 블로그 포스트의 제목을 개선 방향과 추가 지시사항에 맞게 개선하고, 본문을 어떻게 개선하면 좋을지 설명해주세요.
+            본문은 앞부분만 전달됩니다.
+            다음 형식의 순수한 JSON으로 응답해주세요(다른형식 불가: md, xml 등...):
+            {
+                "title": "개선된 제목",
+                "improvementReason": "개선 내용 설명"
+            }
+            """, """
+            개선 방향: {{type}}
+            추가 지시사항: {{instructions}}
+
+            제목: {{title}}
+            본문 앞부분: {{content}}
+            """);
 
     private final ChatGptService chatGptService;
     private final PostRepository postRepository;
+    private final PostHistoryRepository postHistoryRepository;
+    private final ChatGptConfig chatGptConfig;
+    private final TransactionRunner transactionRunner;
+    private final RequestDeadlineProperties requestDeadlineProperties;
 
     // 블로그포스트를 개선하는 로직
-    public Mono<PostImproveResponse> improvePost(Long postId, PostImproveRequest request) {
+    // email은 회원별 공정 스케줄링 기준으로 사용합니다.
+    // EDITS 방식이면 바꿀 문장만 편집 연산으로 받아 적용하고,
+    // REWRITE 방식이면 본문 전체를 다시 작성합니다. (본문이 chunk-threshold-tokens보다 길면 구간으로 나누어 동시에 개선)
+    // 포스트 읽기와 개선 결과 저장은 각각 짧은 트랜잭션으로 실행하고, ChatGPT 호출 동안에는 트랜잭션을 열어두지 않습니다.
+    public Mono<PostImproveResponse> improvePost(Long postId, PostImproveRequest request, String email) {
+        return findPost(postId)
+                .flatMap(post -> request.resolvedMode() == PostImproveRequest.ImprovementMode.EDITS
+                        ? improveWithEdits(post, request, email)
+                        : rewritePost(post, request, email));
+    }
+
+    // 개선할 포스트를 읽습니다. 반환된 엔티티는 트랜잭션이 끝난 준영속 상태이므로 기본 필드만 사용합니다.
+    private Mono<Post> findPost(Long postId) {
+        return transactionRunner.read(() -> postRepository.findById(postId)
+                .orElseThrow(() -> new PostNotFoundException("블로그 포스트를 찾을 수 없습니다: " + postId)));
+    }
+
+    // 본문 전체를 다시 작성하는 방식으로 개선합니다.
+    private Mono<PostImproveResponse> rewritePost(Post post, PostImproveRequest request, String email) {
+        if (shouldImproveInChunks(post)) {
+            return improveInChunks(post, request, email);
+        }
 
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new PostNotFoundException("블로그 포스트를 찾을 수 없습니다: " + postId));
+        String content = fitContent(post, request);
 
-        return chatGptService.getCompletion(createImprovePrompt(post, request))
+        return chatGptService.getCompletion(createImprovePrompt(post, content, request), CompletionOptions.of(PromptType.POST_IMPROVE).forMember(email))
                 .map(response -> JsonConverter.fromJson(response, new TypeReference<PostImprovement>() {
                 }))
-                .map(postImprovement -> applyImprovement(post, postImprovement))
-                ;
+                .flatMap(postImprovement -> applyImprovement(post, restoreRemainder(post, content, postImprovement)));
+    }
+
+    // 본문을 문장 번호와 함께 보내고, 모델이 돌려준 편집 연산(교체/삽입/삭제)을 서버에서 본문에 적용합니다.
+    // 편집 연산의 번호나 anchor가 본문과 맞지 않거나 응답을 해석할 수 없으면 전체 다시 쓰기로 대신합니다.
+    private Mono<PostImproveResponse> improveWithEdits(Post post, PostImproveRequest request, String email) {
+        List<String> sentences = SentenceEdits.split(post.getContent());
+        Prompt prompt = createEditPrompt(post, sentences, request);
+        int limit = chatGptConfig.getTokens().maxPromptTokensOf(PromptType.POST_IMPROVE_EDITS) - PROMPT_OVERHEAD_TOKENS;
+        if (TokenEstimator.estimateTokens(prompt, chatGptConfig.getModel()) > limit) {
+            return rewritePost(post, request, email);
+        }
+
+        // 편집 연산 응답은 본문 전체를 다시 쓴 응답보다 훨씬 짧으므로 별도 종류로 호출하여 응답 토큰 상한을 따로 계산합니다.
+        return chatGptService.getCompletion(prompt, CompletionOptions.of(PromptType.POST_IMPROVE_EDITS).forMember(email))
+                .map(response -> {
+                    PostEditScript script = JsonConverter.fromJson(response, new TypeReference<PostEditScript>() {
+                    });
+                    return new PostImprovement(
+                            script.title() != null ? script.title() : post.getTitle(),
+                            SentenceEdits.apply(sentences, script.edits()),
+                            script.improvementReason()
+                    );
+                })
+                .flatMap(postImprovement -> applyImprovement(post, postImprovement))
+                .onErrorResume(e -> e instanceof PostEditException || e instanceof KeywordAnalysisException, e -> {
+                    log.warn("포스트 {} 편집 연산을 적용할 수 없어 전체 다시 쓰기로 개선합니다: {}", post.getId(), e.getMessage());
+                    return rewritePost(post, request, email);
+                });
+    }
+
+    // 문장마다 [번호]를 붙여 편집 연산 프롬프트를 만듭니다. 공백뿐인 문장은 번호만 유지하고 목록에서 뺍니다.
+    private Prompt createEditPrompt(Post post, List<String> sentences, PostImproveRequest request) {
+        StringBuilder numbered = new StringBuilder(post.getContent().length() + sentences.size() * 6);
+        for (int i = 0; i < sentences.size(); i++) {
+            String sentence = sentences.get(i).strip();
+            if (!sentence.isEmpty()) {
+                numbered.append('[').append(i).append("] ").append(sentence).append('\n');
+            }
+        }
+        return POST_EDIT_TEMPLATE.render(Map.of(
+                "type", request.type().getDescription(),
+                "instructions", request.additionalInstructions() != null ? request.additionalInstructions() : "없음",
+                "title", post.getTitle(),
+                "sentences", numbered.toString()
+        ));
+    }
+
+    // 블로그포스트 개선 결과를 SSE 이벤트 스트림으로 전달하는 로직
+    // 생성 중인 텍스트는 "delta" 이벤트로, 저장이 끝난 결과는 "complete" 이벤트로 전달합니다.
+    // 스트림은 blog.request-deadline.stream까지만 진행하고, 마감 시각이 지났으면 개선 결과를 저장하지 않습니다.
+    public Flux<ServerSentEvent<Object>> streamImprovePost(Long postId, PostImproveRequest request, String email) {
+        return Flux.defer(() -> {
+            RequestDeadline deadline = RequestDeadline.after(requestDeadlineProperties.getStream());
+            return findPost(postId).flatMapMany(post -> {
+                String content = fitContent(post, request);
+                StringBuilder buffer = new StringBuilder();
+
+                Flux<ServerSentEvent<Object>> deltas = deadline.bound(chatGptService.streamCompletion(createImprovePrompt(post, content, request), CompletionOptions.of(PromptType.POST_IMPROVE).forMember(email)))
+                        .doOnNext(buffer::append)
+                        .map(delta -> ServerSentEvent.<Object>builder(delta).event("delta").build());
+
+                Mono<ServerSentEvent<Object>> completed = Mono.fromCallable(() -> JsonConverter.fromJson(buffer.toString(), new TypeReference<PostImprovement>() {
+                        }))
+                        .flatMap(postImprovement -> applyImprovement(post, restoreRemainder(post, content, postImprovement), deadline))
+                        .map(response -> ServerSentEvent.<Object>builder(response).event("complete").build());
+
+                return deltas.concatWith(completed);
+            });
+        });
+    }
+
+    private boolean shouldImproveInChunks(Post post) {
+        int threshold = chatGptConfig.getImprove().getChunkThresholdTokens();
+        return threshold > 0 && TokenEstimator.estimateTokens(post.getContent(), chatGptConfig.getModel()) > threshold;
+    }
+
+    // 본문을 문단 경계(긴 문단은 문장 경계)에서 토큰 예산 이하의 구간으로 나누어 최대 concurrency개씩 동시에 개선하고, 원래 순서대로 이어 붙입니다.
+    // 제목과 개선 설명은 본문 앞부분만 참고하는 별도 호출로 만들며, 구간 개선과 동시에 진행합니다.
+    private Mono<PostImproveResponse> improveInChunks(Post post, PostImproveRequest request, String email) {
+        ChatGptConfig.Improve improve = chatGptConfig.getImprove();
+        String model = chatGptConfig.getModel();
+        // 구간과 제목 호출은 응답 길이 분포와 동시 호출 수가 전체 다시 쓰기와 다르므로 별도 종류로 호출합니다.
+        CompletionOptions options = CompletionOptions.of(PromptType.POST_IMPROVE_CHUNK).forMember(email);
+
+        List<String> chunks = ParagraphChunker.split(post.getContent(), improve.getChunkTokens(),
+                text -> TokenEstimator.estimateTokens(text, model));
+        log.info("포스트 {} 본문을 {}개 구간으로 나누어 개선합니다.", post.getId(), chunks.size());
+
+        // flatMapSequential은 구간을 동시에 개선하되, 결과는 원래 구간 순서대로 내보냅니다.
+        Mono<String> content = Flux.range(0, chunks.size())
+                .flatMapSequential(index -> improveChunk(post, request, chunks, index, options), improve.getConcurrency())
+                .collectList()
+                .map(ParagraphChunker::join);
+
+        String leading = TokenEstimator.truncate(post.getContent(), improve.getTitleContextTokens(), model);
+        Mono<PostTitleImprovement> title = chatGptService.getCompletion(createImprovePrompt(POST_IMPROVE_TITLE_TEMPLATE, post, leading, request), options)
+                .map(response -> JsonConverter.fromJson(response, new TypeReference<PostTitleImprovement>() {
+                }));
+
+        return Mono.zip(title, content)
+                .flatMap(tuple -> applyImprovement(post, new PostImprovement(
+                        tuple.getT1().title(),
+                        tuple.getT2(),
+                        tuple.getT1().improvementReason()
+                )));
+    }
+
+    // 구간 하나를 개선합니다. 빈 구간은 호출하지 않고, 응답에 내용이 없으면 원래 구간을 유지합니다.
+    private Mono<String> improveChunk(Post post, PostImproveRequest request, List<String> chunks, int index, CompletionOptions options) {
+        String chunk = chunks.get(index);
+        if (chunk.isBlank()) {
+            return Mono.just(chunk);
+        }
+        Prompt prompt = POST_IMPROVE_CHUNK_TEMPLATE.render(Map.of(
+                "type", request.type().getDescription(),
+                "instructions", request.additionalInstructions() != null ? request.additionalInstructions() : "없음",
+                "title", post.getTitle(),
+                "index", String.valueOf(index + 1),
+                "total", String.valueOf(chunks.size()),
+                "content", chunk
+        ));
+        return chatGptService.getCompletion(prompt, options)
+                .map(response -> JsonConverter.fromJson(response, new TypeReference<PostChunkImprovement>() {
+                }))
+                // 구간 끝의 빈 줄은 원래 구간의 것을 유지합니다.
+                .map(improvement -> improvement.content() != null
+                        ? improvement.content().stripTrailing() + chunk.substring(chunk.stripTrailing().length())
+                        : chunk);
     }
 
     // 개선된 내용을 데이터베이스에 반영
-    private PostImproveResponse applyImprovement(Post post, PostImprovement improvement) {
-        // 원본을 수정
-        PostHistory history = post.improve(
-                improvement.title(),
-                improvement.content(),
-                improvement.improvementReason()
-        );
-        postRepository.save(post);
-        return PostImproveResponse.from(post, history);
+    // ChatGPT 응답을 받은 뒤 쓰기 트랜잭션을 열어 포스트를 잠금과 함께 다시 읽고, 변경 감지로 수정과 이력 추가를 커밋합니다.
+    // 처음 읽은 뒤 버전이 바뀌었으면 다른 수정을 덮어쓰지 않도록 PostConflictException(409)으로 실패합니다.
+    private Mono<PostImproveResponse> applyImprovement(Post post, PostImprovement improvement) {
+        return applyImprovement(post, improvement, null);
+    }
+
+    // deadline이 있으면 마감 시각이 지난 요청의 결과는 저장하지 않습니다.
+    private Mono<PostImproveResponse> applyImprovement(Post post, PostImprovement improvement, RequestDeadline deadline) {
+        return transactionRunner.write(() -> {
+            if (deadline != null) {
+                deadline.check();
+            }
+            Post managed = postRepository.findByIdForUpdate(post.getId())
+                    .orElseThrow(() -> new PostNotFoundException("블로그 포스트를 찾을 수 없습니다: " + post.getId()));
+            // ChatGPT를 호출하는 동안 다른 요청이 포스트를 고쳤다면 그 수정을 덮어쓰지 않도록 저장하지 않고 실패합니다.
+            if (!managed.getVersion().equals(post.getVersion())) {
+                throw new PostConflictException("개선하는 동안 포스트가 수정되었습니다. 다시 시도해주세요. (읽은 버전: %d, 현재 버전: %d)"
+                        .formatted(post.getVersion(), managed.getVersion()));
+            }
+            // 원본을 수정
+            PostHistory history = managed.improve(
+                    improvement.title(),
+                    improvement.content(),
+                    improvement.improvementReason()
+            );
+            return PostImproveResponse.from(managed, history);
+        });
+    }
+
+    // 본문이 프롬프트 토큰 한도에 들어가도록 맞춥니다.
+    // 한도를 넘으면 설정에 따라 뒷부분을 잘라내거나(TRIM), 호출하지 않고 413으로 거절합니다(REJECT).
+    private String fitContent(Post post, PostImproveRequest request) {
+        String model = chatGptConfig.getModel();
+        int limit = chatGptConfig.getTokens().maxPromptTokensOf(PromptType.POST_IMPROVE) - PROMPT_OVERHEAD_TOKENS;
+        int baseTokens = TokenEstimator.estimateTokens(createImprovePrompt(post, "", request), model);
+        int contentTokens = TokenEstimator.estimateTokens(post.getContent(), model);
+        if (baseTokens + contentTokens <= limit) {
+            return post.getContent();
+        }
+
+        if (chatGptConfig.getTokens().getOversizedContent() == ChatGptConfig.Tokens.Oversized.REJECT || baseTokens >= limit) {
+            throw new ChatGptException(new ChatGptError.PromptTooLarge(
+                    "포스트 본문이 너무 깁니다. (토큰 수: %d, 최대: %d)".formatted(baseTokens + contentTokens, limit),
+                    baseTokens + contentTokens, limit));
+        }
+        log.info("포스트 {} 본문이 프롬프트 한도를 넘어 앞부분 {}토큰만 개선합니다. (본문 {}토큰)", post.getId(), limit - baseTokens, contentTokens);
+        return TokenEstimator.truncate(post.getContent(), limit - baseTokens, model);
+    }
+
+    // 본문을 잘라서 보낸 경우, 보내지 않은 뒷부분을 개선된 본문 뒤에 그대로 이어 붙입니다.
+    private PostImprovement restoreRemainder(Post post, String sentContent, PostImprovement improvement) {
+        if (sentContent.length() == post.getContent().length()) {
+            return improvement;
+        }
+        String remainder = post.getContent().substring(sentContent.length());
+        return new PostImprovement(improvement.title(), improvement.content() + remainder, improvement.improvementReason());
     }
 
     // 프롬프트 생성
-    private String createImprovePrompt(Post post, PostImproveRequest request) {
-        return """
-                다음 블로그 포스트를 개선해주세요:
-                제목: %s
-                내용: %s
-
-                개선 방향: %s
-                추가 지시사항: %s
-
-                다음 형식의 순수한 JSON으로 응답해주세요(다른형식 불가: md, xml 등...):
-                {
-                    "title": "개선된 제목",
-                    "content": "개선된 내용",
-                    "improvementReason": "개선 내용 설명"
-                }
-                """.formatted(
-                post.getTitle(),
-                post.getContent(),
-                request.type().getDescription(),
-                request.additionalInstructions() != null ? request.additionalInstructions() : "없음"
-        );
-    }
-
-    // 이력 조회
+    private Prompt createImprovePrompt(Post post, String content, PostImproveRequest request) {
+        return createImprovePrompt(POST_IMPROVE_TEMPLATE, post, content, request);
+    }
+
+    private Prompt createImprovePrompt(PromptTemplate template, Post post, String content, PostImproveRequest request) {
+        return template.render(Map.of(
+                "type", request.type().getDescription(),
+                "instructions", request.additionalInstructions() != null ? request.additionalInstructions() : "없음",
+                "title", post.getTitle(),
+                "content", content
+        ));
+    }
+
+    /**
+     * 포스트의 개선 이력을 최신 버전부터 한 페이지 조회합니다.
+     * 이력 컬렉션(post.getHistories())을 읽지 않고 post_history(post_id, version) 인덱스에서 버전 정보만 size + 1개 읽으므로,
+     * 이력이 수백 개인 포스트도 응답 크기와 조회 비용이 페이지 크기만큼으로 일정합니다.
+     *
+     * @param postId 포스트 id
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지이면 null)
+     * @param size   페이지 크기 (1 ~ MAX_HISTORY_PAGE_SIZE)
+     * @return 버전 정보(version, improvementReason, createdAt) 페이지
+     */
     @Transactional(readOnly = true)
-    public List<PostHistoryResponse> getPostHistories(Long postId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new PostNotFoundException("포스트를 찾을 수 없습니다: " + postId));
+    public CursorPage<PostHistorySummary> getPostHistories(Long postId, String cursor, int size) {
+        if (!postRepository.existsById(postId)) {
+            throw new PostNotFoundException("포스트를 찾을 수 없습니다: " + postId);
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_HISTORY_PAGE_SIZE);
+        // 한 개를 더 읽어 다음 페이지가 있는지 확인합니다.
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<PostHistorySummary> histories = cursor == null || cursor.isBlank()
+                ? postHistoryRepository.findLatestSummariesByPost(postId, limit)
+                : postHistoryRepository.findSummariesByPostBefore(postId, HistoryCursor.decode(cursor).version(), limit);
 
-        return post.getHistories().stream()
+        return CursorPage.of(histories, pageSize, history -> new HistoryCursor(history.version()).encode());
+    }
+
+    /**
+     * 포스트의 특정 버전 이력을 본문과 함께 조회합니다.
+     *
+     * @param postId  포스트 id
+     * @param version 버전
+     * @return 해당 버전의 이력
+     */
+    @Transactional(readOnly = true)
+    public PostHistoryResponse getPostHistory(Long postId, int version) {
+        return postHistoryRepository.findByPostIdAndVersion(postId, version)
                 .map(PostHistoryResponse::from)
-                .toList();
+                .orElseThrow(() -> new PostNotFoundException("포스트 %d의 버전 %d 이력을 찾을 수 없습니다.".formatted(postId, version)));
     }
 
 
     record PostImprovement(String title, String content, String improvementReason) {}
+
+    // 편집 연산 방식의 개선 응답
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record PostEditScript(String title, List<SentenceEdits.Edit> edits, String improvementReason) {}
+
+    // 긴 포스트의 구간 개선 응답
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record PostChunkImprovement(String content) {}
+
+    // 긴 포스트의 제목 개선 응답
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record PostTitleImprovement(String title, String improvementReason) {}
 }
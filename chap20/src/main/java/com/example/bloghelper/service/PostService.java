@@ -1,8 +1,15 @@
 package com.example.bloghelper.service;
 
+import com.example.bloghelper.chatgpt.CompletionOptions;
+import com.example.bloghelper.chatgpt.Prompt;
+import com.example.bloghelper.chatgpt.PromptTemplate;
+import com.example.bloghelper.chatgpt.PromptType;
+import com.example.bloghelper.config.RequestDeadlineProperties;
+import com.example.bloghelper.dto.CursorPage;
 import com.example.bloghelper.dto.KeywordAnalyzeResponse;
 import com.example.bloghelper.dto.PostCreateRequest;
 import com.example.bloghelper.dto.PostResponse;
+import com.example.bloghelper.dto.PostSummary;
 import com.example.bloghelper.entity.Member;
 import com.example.bloghelper.entity.Post;
 import com.example.bloghelper.exception.AuthenticationException;
@@ -10,30 +17,62 @@ import com.example.bloghelper.exception.PostGenerationException;
 import com.example.bloghelper.repository.MemberRepository;
 import com.example.bloghelper.repository.PostRepository;
 import com.example.bloghelper.util.JsonConverter;
+import com.example.bloghelper.util.PostCursor;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuples;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 /**
  * PostService는 키워드 분석을 바탕으로 ChatGPT를 통해 포스트를 생성하고
  * 해당 결과를 데이터베이스에 저장한 뒤, 사용자에게 응답하는 역할을 합니다.
  */
 @Service
-@Transactional // 트랜잭션 범위 내에서 데이터베이스 작업을 처리
 @RequiredArgsConstructor // Lombok 어노테이션: final 필드에 대한 생성자를 자동 생성
 @Slf4j // Lombok 어노테이션: Logger 객체를 자동으로 생성
 public class PostService {
+    // 목록 조회 한 페이지의 최대 크기입니다.
+    static final int MAX_PAGE_SIZE = 100;
+
+    // 키워드 분석 결과로 포스트 초안을 작성하는 프롬프트 템플릿입니다.
+    private static final PromptTemplate POST_DRAFT_TEMPLATE = PromptTemplate.compile("post-draft", """
+            사용자가 보낸 주제 키워드와 관련 키워드로 블로그 포스트를 작성해주세요.
+            다음 형식의 순수한 JSON으로 응답해주세요(마크다운 형식 X):
+            {
+                "title": "블로그 포스트 제목",
+                "content": "블로그 포스트 내용"
+            }
+
+            작성 시 다음 사항을 고려해주세요:
+            1. SEO를 고려한 제목 작성
+            2. 명확한 문단 구분
+            3. 읽기 쉬운 설명
+            4. 전문적이고 신뢰할 수 있는 톤
+            5. 관련 키워드를 자연스럽게 포함
+            6. "content" 필드의 문자열에서 줄바꿈은 반드시 '\\n'로 표시해주세요.
+            """, """
+            주제 키워드: {{keyword}}
+            관련 키워드: {{relatedKeywords}}
+            """);
+
     private final ChatGptService chatGptService; // ChatGPT API 연동 서비스
     private final KeywordService keywordService; // 키워드 분석 서비스
     private final PostRepository postRepository; // Post 엔티티 데이터베이스 액세스
     private final MemberRepository memberRepository;
+    private final TransactionRunner transactionRunner; // 짧은 읽기/쓰기 트랜잭션 (ChatGPT 호출 중에는 커넥션을 잡지 않음)
+    private final RequestDeadlineProperties requestDeadlineProperties; // 요청 전체의 마감 시간
 
     /**
      * 사용자가 전달한 키워드 기반으로:
@@ -41,68 +80,188 @@ public class PostService {
      * 2. ChatGPT를 통해 분석 결과를 바탕으로 초안 상태의 포스트 생성
      * 3. 데이터베이스에 생성된 포스트를 저장
      * 4. PostResponse DTO 형태로 응답 반환
+     * <p>
+     * 전체가 하나의 리액티브 흐름이므로 ChatGPT 응답을 기다리는 동안 요청 스레드를 점유하지 않습니다.
+     * 회원 조회(읽기)와 포스트 저장(쓰기)은 각각 짧은 트랜잭션으로 jpaScheduler에서 실행하며,
+     * ChatGPT 호출 동안에는 트랜잭션과 JDBC 커넥션을 잡지 않습니다.
+     * 전체가 blog.request-deadline.draft 안에 끝나지 않으면 RequestDeadlineExceededException(504)으로 실패하고 저장하지 않습니다.
      *
      * @param request 포스트 생성 요청 DTO (키워드 포함)
+     * @param email   인증된 회원의 이메일
      * @return 생성된 포스트 정보(PostResponse)를 Mono로 반환
      */
     public Mono<PostResponse> createPostDraft(PostCreateRequest request, String email) {
+        // 구독할 때 마감 시각을 정합니다. 키워드 분석과 ChatGPT 호출(재시도 포함)은 마감 시각까지만 기다리고,
+        // 마감 시각이 지났으면 응답을 받지 못할 요청이므로 저장하지 않습니다.
+        return Mono.defer(() -> {
+            RequestDeadline deadline = RequestDeadline.after(requestDeadlineProperties.getDraft());
+            return findMember(email)
+                    .flatMap(member -> deadline.bound(keywordService.analyzeKeyword(request.keyword(), false, email)
+                                    .timeout(Duration.ofMinutes(2))
+                                    .flatMap(keywordAnalysis -> chatGptService.getCompletion(createPostPrompt(keywordAnalysis), CompletionOptions.of(PromptType.POST_DRAFT).forMember(email))
+                                            .map(response -> {
+                                                log.info(response);
+                                                // ChatGPT의 JSON 응답을 PostGenerationResponse로 파싱
+                                                return JsonConverter.fromJson(response, new TypeReference<PostGenerationResponse>() {
+                                                });
+                                            })
+                                            .map(generateContent -> Tuples.of(keywordAnalysis, generateContent))))
+                            .flatMap(tuple -> transactionRunner.write(() -> {
+                                deadline.check();
+                                return PostResponse.from(createAndSavePost(tuple.getT2(), tuple.getT1(), member));
+                            })));
+        });
+    }
+
+    /**
+     * createPostDraft와 같은 흐름을 SSE 이벤트 스트림으로 제공합니다.
+     * 1. 즉시 코멘트 이벤트를 보내 응답을 시작합니다.
+     * 2. 키워드 분석이 끝나면 "keywords" 이벤트로 분석 결과를 전달합니다.
+     * 3. ChatGPT가 생성하는 텍스트 조각을 "delta" 이벤트로 그대로 전달합니다.
+     * 4. 스트림이 끝나면 모아둔 전체 응답을 파싱해 저장하고, "complete" 이벤트로 PostResponse를 전달합니다.
+     *
+     * @param request 포스트 생성 요청 DTO (키워드 포함)
+     * @param email   인증된 회원의 이메일
+     * @return 초안 생성 과정을 담은 SSE 이벤트 스트림
+     */
+    public Flux<ServerSentEvent<Object>> streamPostDraft(PostCreateRequest request, String email) {
+        // 스트림 전체(키워드 분석 + 생성)는 마감 시각까지만 진행하고, 마감 시각이 지났으면 저장하지 않습니다.
+        Flux<ServerSentEvent<Object>> generation = Mono.fromSupplier(() -> RequestDeadline.after(requestDeadlineProperties.getStream()))
+                .flatMapMany(deadline -> findMember(email)
+                        .flatMap(member -> deadline.bound(keywordService.analyzeKeyword(request.keyword(), false, email)
+                                        .timeout(Duration.ofMinutes(2)))
+                                .map(keywordAnalysis -> Tuples.of(member, keywordAnalysis)))
+                        .flatMapMany(tuple -> {
+                            Member member = tuple.getT1();
+                            KeywordAnalyzeResponse keywordAnalysis = tuple.getT2();
+                            // 구독마다 전체 응답을 모아둘 버퍼를 새로 만듭니다.
+                            StringBuilder buffer = new StringBuilder();
+
+                            Flux<ServerSentEvent<Object>> deltas = deadline.bound(chatGptService.streamCompletion(createPostPrompt(keywordAnalysis), CompletionOptions.of(PromptType.POST_DRAFT).forMember(email)))
+                                    .doOnNext(buffer::append)
+                                    .map(delta -> ServerSentEvent.<Object>builder(delta).event("delta").build());
 
-        Member member = memberRepository.findByEmail(email)
-                .orElseThrow();
+                            // 스트림이 정상 종료된 뒤에만 파싱과 저장을 수행합니다.
+                            Mono<ServerSentEvent<Object>> completed = Mono.fromCallable(() -> JsonConverter.fromJson(
+                                            buffer.toString(), new TypeReference<PostGenerationResponse>() {
+                                            }))
+                                    .flatMap(generateContent -> transactionRunner.write(() -> {
+                                        deadline.check();
+                                        Post savedPost = createAndSavePost(generateContent, keywordAnalysis, member);
+                                        return ServerSentEvent.<Object>builder(PostResponse.from(savedPost)).event("complete").build();
+                                    }));
 
-        KeywordAnalyzeResponse keywordAnalysis = keywordService.analyzeKeyword(request.keyword())
-                .timeout(Duration.ofMinutes(2))
-                .block();
+                            return Flux.concat(
+                                    Mono.just(ServerSentEvent.<Object>builder(keywordAnalysis).event("keywords").build()),
+                                    deltas,
+                                    completed
+                            );
+                        }));
+
+        return Flux.concat(
+                Mono.just(ServerSentEvent.<Object>builder().comment("analyzing keyword").build()),
+                generation
+        );
+    }
 
-        PostGenerationResponse generateContent = chatGptService.getCompletion(createPostPrompt(keywordAnalysis))
-                .map(response -> {
-                    log.info(response);
-                    // ChatGPT의 JSON 응답을 PostGenerationResponse로 파싱
-                    return JsonConverter.fromJson(response, new TypeReference<PostGenerationResponse>() {
-                    });
-                })
-                .block();
 
-        Post savedPost = createAndSavePost(generateContent, keywordAnalysis, member);
+    /**
+     * 회원의 포스트 목록을 최신 글부터 한 페이지 조회합니다.
+     * OFFSET 대신 마지막으로 받은 포스트의 (createdAt, id) 다음부터 읽는 keyset 방식이므로,
+     * 회원의 포스트가 10개이든 10만 개이든, 몇 번째 페이지이든 인덱스에서 size + 1개만 읽습니다.
+     *
+     * @param email  인증된 회원의 이메일
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지이면 null)
+     * @param size   페이지 크기 (1 ~ MAX_PAGE_SIZE)
+     * @return 포스트 목록 페이지
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PostResponse> getPosts(String email, String cursor, int size) {
+        Long memberId = getMemberId(email);
+        int pageSize = pageSize(size);
+        // 한 개를 더 읽어 다음 페이지가 있는지 확인합니다.
+        Limit limit = Limit.of(pageSize + 1);
 
-        PostResponse response = PostResponse.from(savedPost);
+        PostCursor position = decodeCursor(cursor);
+        List<Post> posts = position == null
+                ? postRepository.findLatestByMember(memberId, limit)
+                : postRepository.findByMemberBefore(memberId, position.createdAt(), position.id(), limit);
 
-        return Mono.just(response);
+        return CursorPage.of(posts, pageSize, post -> new PostCursor(post.getCreatedAt(), post.getId()).encode())
+                .map(PostResponse::from);
     }
 
+    /**
+     * 회원의 포스트 요약 목록을 최신 글부터 한 페이지 조회합니다.
+     * getPosts와 같은 keyset 방식이지만 요약에 필요한 컬럼만 조회하므로 본문(content)과 연관 키워드는 읽지 않습니다.
+     *
+     * @param email  인증된 회원의 이메일
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지이면 null)
+     * @param size   페이지 크기 (1 ~ MAX_PAGE_SIZE)
+     * @return 포스트 요약 목록 페이지
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PostSummary> getPostSummaries(String email, String cursor, int size) {
+        Long memberId = getMemberId(email);
+        int pageSize = pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
 
+        PostCursor position = decodeCursor(cursor);
+        List<PostSummary> summaries = position == null
+                ? postRepository.findLatestSummariesByMember(memberId, limit)
+                : postRepository.findSummariesByMemberBefore(memberId, position.createdAt(), position.id(), limit);
+
+        return CursorPage.of(summaries, pageSize, summary -> new PostCursor(summary.createdAt(), summary.id()).encode());
+    }
+
+    /**
+     * 회원이 최근에 수정한 포스트 요약을 조회합니다. (대시보드)
+     *
+     * @param email 인증된 회원의 이메일
+     * @param size  조회할 개수 (1 ~ MAX_PAGE_SIZE)
+     * @return 최근 수정한 순서의 포스트 요약 목록
+     */
+    @Transactional(readOnly = true)
+    public List<PostSummary> getRecentlyUpdatedPostSummaries(String email, int size) {
+        return postRepository.findRecentlyUpdatedSummariesByMember(getMemberId(email), Limit.of(pageSize(size)));
+    }
+
+    private Long getMemberId(String email) {
+        return memberRepository.findByEmail(email)
+                .orElseThrow(() -> new AuthenticationException("가입되지 않은 이메일입니다."))
+                .getId();
+    }
+
+    private int pageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    private PostCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : PostCursor.decode(cursor);
+    }
+
+    /**
+     * 이메일로 회원을 조회합니다. 조회는 읽기 전용 트랜잭션으로 jpaScheduler에서 실행합니다.
+     *
+     * @param email 인증된 회원의 이메일
+     * @return 회원 (없으면 NoSuchElementException)
+     */
+    private Mono<Member> findMember(String email) {
+        return transactionRunner.read(() -> memberRepository.findByEmail(email).orElseThrow());
+    }
 
     /**
      * 키워드 분석 결과(relatedKeywords, originalKeyword)를 바탕으로
      * ChatGPT에 포스트 작성을 요청할 프롬프트를 생성합니다.
      *
      * @param keywordAnalysis 키워드 분석 결과
-     * @return ChatGPT에 전달할 문자열 프롬프트
+     * @return ChatGPT에 전달할 프롬프트
      */
-    private String createPostPrompt(KeywordAnalyzeResponse keywordAnalysis) {
-        return """
-                다음 키워드와 관련된 블로그 포스트를 작성해주세요:
-                주제 키워드: %s
-                관련 키워드: %s
-                
-
-                다음 형식의 순수한 JSON으로 응답해주세요(마크다운 형식 X):
-                {
-                    "title": "블로그 포스트 제목",
-                    "content": "블로그 포스트 내용"
-                }
-
-                작성 시 다음 사항을 고려해주세요:
-                1. SEO를 고려한 제목 작성
-                2. 명확한 문단 구분
-                3. 읽기 쉬운 설명
-                4. 전문적이고 신뢰할 수 있는 톤
-                5. 관련 키워드를 자연스럽게 포함
-                6. "content" 필드의 문자열에서 줄바꿈은 반드시 '\\n'로 표시해주세요.
-                """.formatted(
-                keywordAnalysis.originalKeyword(),
-                String.join(", ", keywordAnalysis.relatedKeywords())
-        );
+    private Prompt createPostPrompt(KeywordAnalyzeResponse keywordAnalysis) {
+        return POST_DRAFT_TEMPLATE.render(Map.of(
+                "keyword", keywordAnalysis.originalKeyword(),
+                "relatedKeywords", String.join(", ", keywordAnalysis.relatedKeywords())
+        ));
     }
 
     /**
@@ -0,0 +1,71 @@
+package com.example.bloghelper.service;
+
+import com.example.bloghelper.exception.RequestDeadlineExceededException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * 요청 하나 전체에 주어진 마감 시각입니다.
+ * <p>
+ * 키워드 분석, ChatGPT 호출처럼 오래 걸리는 단계는 bound로 마감 시각까지만 기다리고,
+ * 결과 저장은 마감 시각 안에 시작했을 때만 하도록 저장 트랜잭션 안에서 check로 확인합니다.
+ * 저장 단계는 마감 시각으로 끊지 않으므로, 저장을 시작했다면 그 결과는 항상 응답으로 전달됩니다.
+ */
+final class RequestDeadline {
+    private final Duration timeout;
+    private final long deadlineNanos;
+
+    private RequestDeadline(Duration timeout) {
+        this.timeout = timeout;
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+    }
+
+    /**
+     * 지금부터 timeout 뒤를 마감 시각으로 정합니다.
+     *
+     * @param timeout 요청 전체에 허용할 시간
+     * @return 마감 시각
+     */
+    static RequestDeadline after(Duration timeout) {
+        return new RequestDeadline(timeout);
+    }
+
+    /**
+     * @return 마감 시각까지 남은 시간 (지났으면 0)
+     */
+    Duration remaining() {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    /**
+     * 마감 시각까지 결과가 오지 않으면 RequestDeadlineExceededException으로 실패하고 원래 호출은 취소합니다.
+     */
+    <T> Mono<T> bound(Mono<T> mono) {
+        return mono.timeout(Mono.defer(() -> Mono.delay(remaining())), Mono.error(this::exceeded));
+    }
+
+    /**
+     * 마감 시각까지 스트림이 끝나지 않으면 RequestDeadlineExceededException으로 실패하고 원래 스트림은 취소합니다.
+     * 다음 요소를 기다리는 시간을 매번 남은 시간으로 정하므로 요소 사이 간격이 아니라 스트림 전체가 제한됩니다.
+     */
+    <T> Flux<T> bound(Flux<T> flux) {
+        return flux.timeout(Mono.defer(() -> Mono.delay(remaining())), item -> Mono.delay(remaining()), Flux.error(this::exceeded));
+    }
+
+    /**
+     * 마감 시각이 지났으면 RequestDeadlineExceededException을 던집니다.
+     * 저장 트랜잭션 안에서 호출하여, 응답을 받지 못할 요청의 결과는 저장하지 않습니다.
+     */
+    void check() {
+        if (remaining().isZero()) {
+            throw exceeded();
+        }
+    }
+
+    private RequestDeadlineExceededException exceeded() {
+        return new RequestDeadlineExceededException(
+                "요청 처리 시간(%d초)을 넘어 결과를 저장하지 않았습니다. 잠시 후 다시 시도해주세요.".formatted(timeout.toSeconds()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.bloghelper.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.function.Supplier;
+
+/**
+ * TransactionRunner는 리액티브 흐름 안의 DB 작업을 짧은 트랜잭션 하나로 묶어 jpaScheduler에서 실행합니다.
+ * <p>
+ * ChatGPT 호출이 포함된 기능은 다음 세 단계로 나눕니다.
+ * 1. 읽기: read()로 필요한 엔티티를 읽고 트랜잭션을 끝냅니다.
+ * 2. ChatGPT 호출: 트랜잭션과 JDBC 커넥션 없이 응답을 기다립니다.
+ * 3. 쓰기: write()에서 엔티티를 다시 읽어 변경하고 바로 커밋합니다.
+ * 커넥션은 1, 3단계의 짧은 시간 동안만 사용하므로, 응답을 기다리는 요청이 아무리 많아도 커넥션 풀을 차지하지 않습니다.
+ * (@Transactional은 호출한 스레드에 묶이므로 Mono를 반환하는 메서드에서는 ChatGPT 응답 이후의 작업을 감싸지 못합니다)
+ */
+@Component
+public class TransactionRunner {
+    private final TransactionTemplate readTemplate;
+    private final TransactionTemplate writeTemplate;
+    private final Scheduler jpaScheduler;
+
+    public TransactionRunner(PlatformTransactionManager transactionManager, Scheduler jpaScheduler) {
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.jpaScheduler = jpaScheduler;
+    }
+
+    /**
+     * 읽기 전용 트랜잭션에서 work를 실행합니다.
+     *
+     * @param work 실행할 작업 (트랜잭션 안에서 필요한 지연 로딩을 모두 마쳐야 합니다)
+     * @param <T>  결과 타입
+     * @return work의 결과 (null이면 빈 Mono)
+     */
+    public <T> Mono<T> read(Supplier<T> work) {
+        return execute(readTemplate, work);
+    }
+
+    /**
+     * 쓰기 트랜잭션에서 work를 실행하고 커밋합니다. work가 예외를 던지면 롤백합니다.
+     *
+     * @param work 실행할 작업
+     * @param <T>  결과 타입
+     * @return work의 결과 (null이면 빈 Mono)
+     */
+    public <T> Mono<T> write(Supplier<T> work) {
+        return execute(writeTemplate, work);
+    }
+
+    private <T> Mono<T> execute(TransactionTemplate template, Supplier<T> work) {
+        return Mono.fromCallable(() -> template.execute(status -> work.get()))
+                .subscribeOn(jpaScheduler);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.bloghelper.util;
+
+import com.example.bloghelper.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * HistoryCursor는 개선 이력 목록의 keyset 페이지 위치(마지막으로 받은 이력의 version)입니다.
+ * 클라이언트에는 PostCursor와 같이 내용을 알 수 없는 토큰(Base64 URL)으로 전달합니다.
+ *
+ * @param version 마지막으로 받은 이력의 버전
+ */
+public record HistoryCursor(int version) {
+    private static final String PREFIX = "v";
+
+    /**
+     * 커서를 토큰 문자열로 만듭니다.
+     *
+     * @return Base64 URL 토큰
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((PREFIX + version).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 토큰 문자열을 커서로 해석합니다.
+     *
+     * @param token encode()로 만든 토큰
+     * @return 커서
+     * @throws InvalidCursorException 토큰 형식이 올바르지 않을 때
+     */
+    public static HistoryCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidCursorException("올바르지 않은 커서입니다.");
+            }
+            return new HistoryCursor(Integer.parseInt(raw.substring(PREFIX.length())));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("올바르지 않은 커서입니다.", e);
+        }
+    }
+}
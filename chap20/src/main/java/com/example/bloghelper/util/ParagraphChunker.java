@@ -0,0 +1,99 @@
+package com.example.bloghelper.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * ParagraphChunker 클래스는 긴 본문을 문단(줄) 경계에서 토큰 예산 이하의 구간으로 나눕니다.
+ * <p>
+ * 예산보다 긴 문단은 문장 경계(SentenceEdits.split)에서 나누고, 예산보다 긴 문장 하나는 예산에 맞춰 글자 단위로 자릅니다.
+ * 각 구간은 뒤따르는 줄바꿈을 포함하므로, 나눈 구간을 그대로 이어 붙이면 원래 본문과 같습니다.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ParagraphChunker {
+    private static final String LINE_SEPARATOR = "\n";
+
+    /**
+     * 본문을 구간으로 나눕니다.
+     *
+     * @param content       나눌 본문
+     * @param maxTokens     구간 하나의 최대 토큰 수
+     * @param tokenCounter  문자열의 토큰 수를 세는 함수
+     * @return 순서대로 정렬된 구간 목록 (본문이 비어 있으면 원래 본문 하나)
+     */
+    public static List<String> split(String content, int maxTokens, ToIntFunction<String> tokenCounter) {
+        List<String> chunks = new ArrayList<>();
+        StringBuilder chunk = new StringBuilder();
+        int chunkTokens = 0;
+        for (String piece : pieces(content, maxTokens, tokenCounter)) {
+            int tokens = tokenCounter.applyAsInt(piece);
+            if (chunkTokens > 0 && chunkTokens + tokens > maxTokens) {
+                chunks.add(chunk.toString());
+                chunk.setLength(0);
+                chunkTokens = 0;
+            }
+            chunk.append(piece);
+            chunkTokens += tokens;
+        }
+        chunks.add(chunk.toString());
+        return chunks;
+    }
+
+    /**
+     * 구간들을 이어 붙입니다.
+     *
+     * @param chunks 순서대로 정렬된 구간 목록
+     * @return 이어 붙인 본문
+     */
+    public static String join(List<String> chunks) {
+        return String.join("", chunks);
+    }
+
+    // 본문을 줄바꿈을 포함한 문단으로 나누고, 예산보다 긴 문단은 문장으로, 예산보다 긴 문장은 글자 단위로 더 나눕니다.
+    private static List<String> pieces(String content, int maxTokens, ToIntFunction<String> tokenCounter) {
+        List<String> pieces = new ArrayList<>();
+        for (String paragraph : content.split("(?<=" + LINE_SEPARATOR + ")")) {
+            if (tokenCounter.applyAsInt(paragraph) <= maxTokens) {
+                pieces.add(paragraph);
+                continue;
+            }
+            for (String sentence : SentenceEdits.split(paragraph)) {
+                if (tokenCounter.applyAsInt(sentence) <= maxTokens) {
+                    pieces.add(sentence);
+                } else {
+                    pieces.addAll(cut(sentence, maxTokens, tokenCounter));
+                }
+            }
+        }
+        return pieces;
+    }
+
+    // 문장을 앞에서부터 예산에 들어가는 가장 긴 부분으로 잘라 나갑니다. 서로게이트 쌍은 가르지 않습니다.
+    private static List<String> cut(String sentence, int maxTokens, ToIntFunction<String> tokenCounter) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        while (start < sentence.length()) {
+            int low = start + 1;
+            int high = sentence.length();
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (tokenCounter.applyAsInt(sentence.substring(start, mid)) <= maxTokens) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            int end = low;
+            if (end < sentence.length() && Character.isHighSurrogate(sentence.charAt(end - 1)) && end - start > 1) {
+                end--;
+            }
+            parts.add(sentence.substring(start, end));
+            start = end;
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.bloghelper.util;
+
+import com.example.bloghelper.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * PostCursor는 포스트 목록의 keyset 페이지 위치(마지막으로 받은 포스트의 createdAt, id)입니다.
+ * <p>
+ * 클라이언트에는 내용을 알 수 없는 토큰(Base64 URL)으로 전달하며,
+ * 다음 페이지는 (createdAt, id)가 이 위치보다 작은(더 오래된) 포스트부터 조회합니다.
+ * createdAt이 같은 포스트는 id로 순서를 정하므로 건너뛰거나 중복되는 포스트가 없습니다.
+ *
+ * @param createdAt 마지막으로 받은 포스트의 생성 시각
+ * @param id        마지막으로 받은 포스트의 id
+ */
+public record PostCursor(LocalDateTime createdAt, Long id) {
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 커서를 토큰 문자열로 만듭니다.
+     *
+     * @return Base64 URL 토큰
+     */
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 토큰 문자열을 커서로 해석합니다.
+     *
+     * @param token encode()로 만든 토큰
+     * @return 커서
+     * @throws InvalidCursorException 토큰 형식이 올바르지 않을 때
+     */
+    public static PostCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("올바르지 않은 커서입니다.");
+            }
+            return new PostCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("올바르지 않은 커서입니다.", e);
+        }
+    }
+}
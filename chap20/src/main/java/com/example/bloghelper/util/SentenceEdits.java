@@ -0,0 +1,196 @@
+package com.example.bloghelper.util;
+
+import com.example.bloghelper.exception.PostEditException;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SentenceEdits 클래스는 본문을 문장 단위로 나누고, 문장 번호에 맞춘 편집 연산(교체/뒤에 삽입/삭제)을 적용합니다.
+ * <p>
+ * 모델이 본문 전체를 다시 쓰지 않고 바꿀 문장만 편집 연산으로 돌려주면 응답 토큰 수가 크게 줄어듭니다.
+ * 편집 연산마다 대상 문장의 앞부분(anchor)을 함께 받아, 번호가 어긋난 편집은 적용하지 않고 PostEditException을 던집니다.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SentenceEdits {
+
+    /**
+     * 본문을 문장으로 나눕니다. 각 문장은 뒤따르는 공백/줄바꿈을 포함하므로, 이어 붙이면 원래 본문과 같습니다.
+     *
+     * @param content 나눌 본문
+     * @return 문장 목록
+     */
+    public static List<String> split(String content) {
+        BreakIterator iterator = BreakIterator.getSentenceInstance(Locale.KOREAN);
+        iterator.setText(content);
+        List<String> sentences = new ArrayList<>();
+        int start = iterator.first();
+        for (int end = iterator.next(); end != BreakIterator.DONE; start = end, end = iterator.next()) {
+            sentences.add(content.substring(start, end));
+        }
+        return sentences;
+    }
+
+    /**
+     * 편집 연산을 검증하고 적용합니다.
+     *
+     * @param sentences 원래 본문의 문장 목록
+     * @param edits     편집 연산 목록 (순서 무관)
+     * @return 편집된 본문
+     * @throws PostEditException 번호가 범위를 벗어나거나, 범위가 겹치거나, anchor가 문장과 맞지 않는 경우
+     */
+    public static String apply(List<String> sentences, List<Edit> edits) {
+        // 문장 번호별로 교체/삭제 범위와 뒤에 삽입할 문장을 모읍니다.
+        Map<Integer, Edit> ranges = new HashMap<>();
+        Map<Integer, List<String>> inserts = new HashMap<>();
+        boolean[] covered = new boolean[sentences.size()];
+        Set<Integer> replacedEnds = new HashSet<>();
+        for (Edit edit : edits != null ? edits : List.<Edit>of()) {
+            validate(sentences, edit);
+            if (edit.op() == Op.INSERT_AFTER) {
+                inserts.computeIfAbsent(edit.at(), at -> new ArrayList<>()).add(edit.text().strip());
+                continue;
+            }
+            for (int i = edit.from(); i <= edit.to(); i++) {
+                if (covered[i]) {
+                    throw new PostEditException("편집 범위가 겹칩니다: " + i + "번 문장");
+                }
+                covered[i] = true;
+            }
+            ranges.put(edit.from(), edit);
+            if (edit.op() == Op.REPLACE && !edit.text().isBlank()) {
+                replacedEnds.add(edit.to());
+            }
+        }
+        // 삭제되는 문장 뒤에는 삽입할 수 없습니다. (교체된 범위의 마지막 문장 뒤는 가능)
+        for (Integer at : inserts.keySet()) {
+            if (at >= 0 && covered[at] && !replacedEnds.contains(at)) {
+                throw new PostEditException("삭제되는 문장 뒤에는 삽입할 수 없습니다: " + at + "번 문장");
+            }
+        }
+
+        StringBuilder content = new StringBuilder();
+        // 맨 앞에 삽입한 문장과 첫 문장 사이는 공백 하나로 구분합니다.
+        appendInserts(content, inserts.get(-1), inserts.containsKey(-1) ? " " : "");
+        for (int i = 0; i < sentences.size(); i++) {
+            Edit range = ranges.get(i);
+            if (range == null) {
+                String sentence = sentences.get(i);
+                String body = sentence.stripTrailing();
+                content.append(body);
+                appendInserts(content, inserts.get(i), sentence.substring(body.length()));
+                continue;
+            }
+
+            String last = sentences.get(range.to());
+            String trailing = last.substring(last.stripTrailing().length());
+            String text = range.op() == Op.REPLACE ? range.text().strip() : "";
+            if (text.isEmpty()) {
+                // 삭제한 문장이 문단의 끝이었으면 문단 구분을 유지합니다.
+                if (trailing.contains("\n") && !content.isEmpty()) {
+                    int end = content.length();
+                    while (end > 0 && Character.isWhitespace(content.charAt(end - 1))) {
+                        end--;
+                    }
+                    content.setLength(end);
+                    content.append(trailing);
+                }
+            } else {
+                content.append(text);
+                appendInserts(content, inserts.get(range.to()), trailing);
+            }
+            i = range.to();
+        }
+        return content.toString();
+    }
+
+    // 문장 뒤에 삽입할 문장을 공백 하나로 이어 붙이고, 마지막에 원래 문장 뒤의 공백/줄바꿈을 붙입니다.
+    private static void appendInserts(StringBuilder content, List<String> texts, String trailing) {
+        if (texts != null) {
+            for (String text : texts) {
+                if (!content.isEmpty() && !Character.isWhitespace(content.charAt(content.length() - 1))) {
+                    content.append(' ');
+                }
+                content.append(text);
+            }
+        }
+        content.append(trailing);
+    }
+
+    private static void validate(List<String> sentences, Edit edit) {
+        if (edit == null || edit.op() == null) {
+            throw new PostEditException("편집 연산의 종류가 없습니다.");
+        }
+        if (edit.op() == Op.INSERT_AFTER) {
+            if (edit.at() == null || edit.at() < -1 || edit.at() >= sentences.size()) {
+                throw new PostEditException("삽입 위치가 범위를 벗어났습니다: " + edit.at());
+            }
+            if (edit.text() == null || edit.text().isBlank()) {
+                throw new PostEditException("삽입할 문장이 없습니다: " + edit.at());
+            }
+            // -1(맨 앞)은 기준 문장이 없으므로 anchor를 확인하지 않습니다.
+            if (edit.at() >= 0) {
+                checkAnchor(sentences, edit.at(), edit.anchor());
+            }
+            return;
+        }
+        if (edit.from() == null || edit.to() == null || edit.from() < 0 || edit.from() > edit.to() || edit.to() >= sentences.size()) {
+            throw new PostEditException("편집 범위가 잘못되었습니다: " + edit.from() + " ~ " + edit.to());
+        }
+        if (edit.op() == Op.REPLACE && edit.text() == null) {
+            throw new PostEditException("교체할 문장이 없습니다: " + edit.from());
+        }
+        checkAnchor(sentences, edit.from(), edit.anchor());
+    }
+
+    // anchor는 대상 문장의 앞부분이어야 합니다. (공백 차이는 무시)
+    private static void checkAnchor(List<String> sentences, int index, String anchor) {
+        if (anchor == null || anchor.isBlank()) {
+            throw new PostEditException("anchor가 없습니다: " + index + "번 문장");
+        }
+        String sentence = normalize(sentences.get(index));
+        if (!sentence.startsWith(normalize(anchor))) {
+            throw new PostEditException("anchor가 " + index + "번 문장과 맞지 않습니다: " + anchor);
+        }
+    }
+
+    private static String normalize(String text) {
+        return text.strip().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * 편집 연산의 종류입니다.
+     */
+    public enum Op {
+        // from ~ to(포함) 문장을 text로 바꿉니다.
+        @JsonProperty("replace") REPLACE,
+        // at 문장 뒤에 text를 추가합니다. (-1이면 맨 앞)
+        @JsonProperty("insert_after") INSERT_AFTER,
+        // from ~ to(포함) 문장을 삭제합니다.
+        @JsonProperty("delete") DELETE
+    }
+
+    /**
+     * 편집 연산 하나입니다.
+     *
+     * @param op     연산 종류
+     * @param from   교체/삭제 시작 문장 번호
+     * @param to     교체/삭제 끝 문장 번호 (포함)
+     * @param at     삽입 기준 문장 번호
+     * @param anchor 기준 문장(from 또는 at)의 앞부분
+     * @param text   교체하거나 삽입할 문장
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Edit(Op op, Integer from, Integer to, Integer at, String anchor, String text) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.config.ChatGptConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionSchedulerTest {
+
+    private AdmissionScheduler createScheduler() {
+        ChatGptConfig config = new ChatGptConfig();
+        config.getScheduler().setMaxConcurrentCalls(1);
+        return new AdmissionScheduler(config, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("대기 중인 호출은 우선순위가 높은 종류부터 시작한다")
+    void higherPriorityStartsFirst() {
+        // given: 동시 호출 1개, 첫 호출이 자리를 차지한 상태
+        AdmissionScheduler scheduler = createScheduler();
+        Sinks.One<String> blocker = Sinks.one();
+        List<String> started = new CopyOnWriteArrayList<>();
+        scheduler.schedule(PromptType.POST_DRAFT, "a@example.com", 10, blocker.asMono()).subscribe();
+
+        // when: 초안 생성, 포스트 개선 순서로 대기열에 넣고 첫 호출을 끝냅니다.
+        scheduler.schedule(PromptType.POST_DRAFT, "a@example.com", 10, Mono.fromCallable(() -> started.add("draft"))).subscribe();
+        scheduler.schedule(PromptType.POST_IMPROVE, "b@example.com", 10, Mono.fromCallable(() -> started.add("improve"))).subscribe();
+        blocker.tryEmitValue("done");
+
+        // then
+        assertThat(started).containsExactly("improve", "draft");
+    }
+
+    @Test
+    @DisplayName("같은 종류 안에서는 호출을 몰아서 보낸 회원이 다른 회원을 굶주리게 하지 않는다")
+    void fairAmongMembers() {
+        // given: 동시 호출 1개, 첫 호출이 자리를 차지한 상태
+        AdmissionScheduler scheduler = createScheduler();
+        Sinks.One<String> blocker = Sinks.one();
+        List<String> started = new CopyOnWriteArrayList<>();
+        scheduler.schedule(PromptType.POST_DRAFT, "heavy@example.com", 10, blocker.asMono()).subscribe();
+
+        // when: heavy 회원이 3건을 먼저 넣고, light 회원이 1건을 넣습니다.
+        for (int i = 0; i < 3; i++) {
+            scheduler.schedule(PromptType.POST_DRAFT, "heavy@example.com", 10, Mono.fromCallable(() -> started.add("heavy"))).subscribe();
+        }
+        scheduler.schedule(PromptType.POST_DRAFT, "light@example.com", 10, Mono.fromCallable(() -> started.add("light"))).subscribe();
+        blocker.tryEmitValue("done");
+
+        // then: light 회원의 호출이 heavy 회원의 두 번째 호출보다 먼저 시작합니다.
+        assertThat(started).containsExactly("heavy", "light", "heavy", "heavy");
+    }
+
+    @Test
+    @DisplayName("종류별 벌크헤드 한도에 도달한 종류는 대기열에서 기다리고, 다른 종류의 호출이 먼저 시작한다")
+    void perTypeLimitFollowsBulkhead() {
+        // given: 전체 동시 호출 3개, 키워드 분석은 1개까지
+        ChatGptConfig config = new ChatGptConfig();
+        config.getScheduler().setMaxConcurrentCalls(3);
+        config.getBulkhead().getMaxConcurrentCalls().put(PromptType.KEYWORD_ANALYSIS, 1);
+        AdmissionScheduler scheduler = new AdmissionScheduler(config, new SimpleMeterRegistry());
+        Sinks.One<String> blocker = Sinks.one();
+        List<String> started = new CopyOnWriteArrayList<>();
+        scheduler.schedule(PromptType.KEYWORD_ANALYSIS, "a@example.com", 10, blocker.asMono()).subscribe();
+
+        // when: 키워드 분석 1건과 초안 생성 1건을 넣습니다.
+        scheduler.schedule(PromptType.KEYWORD_ANALYSIS, "a@example.com", 10, Mono.fromCallable(() -> started.add("keyword"))).subscribe();
+        scheduler.schedule(PromptType.POST_DRAFT, "b@example.com", 10, Mono.fromCallable(() -> started.add("draft"))).subscribe();
+
+        // then: 키워드 분석은 첫 호출이 끝날 때까지 기다리고, 초안 생성은 바로 시작합니다.
+        assertThat(started).containsExactly("draft");
+        blocker.tryEmitValue("done");
+        assertThat(started).containsExactly("draft", "keyword");
+    }
+}
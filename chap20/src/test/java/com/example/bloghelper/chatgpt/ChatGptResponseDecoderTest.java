@@ -0,0 +1,73 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.dto.ChatGptResponse;
+import com.example.bloghelper.exception.ChatGptException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatGptResponseDecoderTest {
+
+    private static final String BODY = """
+            {"id":"chatcmpl-1","object":"chat.completion","created":1700000000,"model":"gpt-4o-mini",
+             "choices":[
+               {"index":0,"message":{"role":"assistant","content":"{\\"title\\":\\"한글 제목\\",\\"content\\":\\"본문\\\\n둘째 줄\\"}","refusal":null},
+                "logprobs":null,"finish_reason":"stop"},
+               {"index":1,"message":{"role":"assistant","content":"두 번째 답변"},"finish_reason":"length"}
+             ],
+             "usage":{"prompt_tokens":120,"completion_tokens":30,"total_tokens":150,
+                      "prompt_tokens_details":{"cached_tokens":64},"completion_tokens_details":{"reasoning_tokens":0}}}
+            """;
+
+    // 본문을 size 바이트씩 잘라 버퍼 스트림으로 만듭니다. (한글 글자의 UTF-8 바이트 중간에서도 잘립니다)
+    private Flux<DataBuffer> chunks(String body, int size) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += size) {
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                    Arrays.copyOfRange(bytes, offset, Math.min(bytes.length, offset + size))));
+        }
+        return Flux.fromIterable(buffers);
+    }
+
+    @Test
+    @DisplayName("버퍼가 어디서 잘려도 첫 번째 choice의 content, finish_reason과 usage만 읽는다")
+    void decodeAcrossBufferBoundaries() {
+        for (int size : new int[]{1, 7, 64, 4096}) {
+            // when
+            ChatGptResponse response = ChatGptResponseDecoder.decode(chunks(BODY, size)).block();
+
+            // then
+            assertThat(response.choices()).hasSize(1);
+            ChatGptResponse.Choice choice = response.choices().get(0);
+            assertThat(choice.message().role()).isEqualTo("assistant");
+            assertThat(choice.message().content()).isEqualTo("{\"title\":\"한글 제목\",\"content\":\"본문\\n둘째 줄\"}");
+            assertThat(choice.finishReason()).isEqualTo("stop");
+            assertThat(response.usage().promptTokens()).isEqualTo(120);
+            assertThat(response.usage().completionTokens()).isEqualTo(30);
+            assertThat(response.usage().totalTokens()).isEqualTo(150);
+            assertThat(response.usage().cachedTokens()).isEqualTo(64);
+        }
+    }
+
+    @Test
+    @DisplayName("choices가 없거나 JSON이 깨진 응답은 ChatGptException으로 실패한다")
+    void invalidResponse() {
+        StepVerifier.create(ChatGptResponseDecoder.decode(chunks("{\"usage\":{\"prompt_tokens\":1}}", 8)))
+                .expectError(ChatGptException.class)
+                .verify();
+        StepVerifier.create(ChatGptResponseDecoder.decode(chunks("{\"choices\":[{\"message\":", 8)))
+                .expectError(ChatGptException.class)
+                .verify();
+    }
+}
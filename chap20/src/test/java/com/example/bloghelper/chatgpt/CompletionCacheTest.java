@@ -0,0 +1,76 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.config.ChatGptConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompletionCacheTest {
+
+    @Test
+    @DisplayName("캐시 우회 요청, TTL이 0인 종류, 캐시를 끈 경우에는 캐시를 사용하지 않는다")
+    void cacheable() {
+        // given: 초안 생성은 TTL 0
+        ChatGptConfig config = new ChatGptConfig();
+        config.getCache().getTtl().put(PromptType.POST_DRAFT, Duration.ZERO);
+        CompletionCache cache = new CompletionCache(config, new SimpleMeterRegistry());
+
+        // when & then
+        assertThat(cache.isCacheable(CompletionOptions.of(PromptType.KEYWORD_ANALYSIS))).isTrue();
+        assertThat(cache.isCacheable(CompletionOptions.of(PromptType.KEYWORD_ANALYSIS).withoutCache())).isFalse();
+        assertThat(cache.isCacheable(CompletionOptions.of(PromptType.POST_DRAFT))).isFalse();
+
+        config.getCache().setEnabled(false);
+        assertThat(cache.isCacheable(CompletionOptions.of(PromptType.KEYWORD_ANALYSIS))).isFalse();
+    }
+
+    @Test
+    @DisplayName("항목은 프롬프트 종류별 TTL이 지나면 만료되고, 읽어도 만료 시간이 연장되지 않는다")
+    void expireByPromptType() throws InterruptedException {
+        // given: 키워드 분석은 300ms, 나머지는 기본 TTL(30분)
+        ChatGptConfig config = new ChatGptConfig();
+        config.getCache().getTtl().put(PromptType.KEYWORD_ANALYSIS, Duration.ofMillis(300));
+        CompletionCache cache = new CompletionCache(config, new SimpleMeterRegistry());
+        cache.put("keyword", PromptType.KEYWORD_ANALYSIS, "키워드 분석 결과");
+        cache.put("general", PromptType.GENERAL, "일반 응답");
+
+        // when: TTL 안에 읽은 뒤 TTL이 지날 때까지 기다립니다.
+        Thread.sleep(200);
+        assertThat(cache.get("keyword")).contains("키워드 분석 결과");
+        Thread.sleep(200);
+
+        // then
+        assertThat(cache.get("keyword")).isEmpty();
+        assertThat(cache.get("general")).contains("일반 응답");
+    }
+
+    @Test
+    @DisplayName("전체 무게(키 + 내용의 문자 수)가 상한을 넘으면 항목을 제거해 상한 이하로 유지한다")
+    void evictByWeight() throws InterruptedException {
+        // given: 상한 250, 항목 하나의 무게는 키 10 + 내용 100 = 110이므로 두 개까지 보관할 수 있습니다.
+        ChatGptConfig config = new ChatGptConfig();
+        config.getCache().setMaximumWeight(250);
+        CompletionCache cache = new CompletionCache(config, new SimpleMeterRegistry());
+        List<String> keys = IntStream.range(0, 5).mapToObj(i -> "key-%06d".formatted(i)).toList();
+
+        // when
+        keys.forEach(key -> cache.put(key, PromptType.GENERAL, "가".repeat(100)));
+
+        // then: 제거는 비동기로 진행되므로 상한 이하가 될 때까지 잠시 기다립니다.
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (present(cache, keys) > 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(present(cache, keys)).isBetween(1L, 2L);
+    }
+
+    private static long present(CompletionCache cache, List<String> keys) {
+        return keys.stream().filter(key -> cache.get(key).isPresent()).count();
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.config.ChatGptConfig;
+import com.example.bloghelper.exception.ChatGptError;
+import com.example.bloghelper.exception.ChatGptException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompletionRetryPolicyTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("일시적인 오류는 0 ~ min(maxBackoff, initialBackoff x 2^n) 사이만큼 기다린 뒤 재시도한다")
+    void retryWithFullJitterBackoff() {
+        // given: 최대 4번 시도, 대기 상한은 500ms, 700ms(1000ms에서 제한), 700ms(2000ms에서 제한)
+        ChatGptConfig config = new ChatGptConfig();
+        ChatGptConfig.Retry retry = config.getRetry();
+        retry.setMaxAttempts(4);
+        retry.setInitialBackoff(Duration.ofMillis(500));
+        retry.setMaxBackoff(Duration.ofMillis(700));
+        retry.setBudgetMinPerWindow(1_000);
+
+        // 무작위 대기 시간이 매번 상한 안에 드는지 여러 번 확인합니다.
+        for (int run = 0; run < 20; run++) {
+            CompletionRetryPolicy policy = createPolicy(config);
+            List<Long> subscribedAt = new CopyOnWriteArrayList<>();
+
+            // when: 세 번 실패한 뒤 네 번째 시도에 성공합니다.
+            StepVerifier.withVirtualTime(() -> policy.apply(Mono.defer(() -> {
+                        subscribedAt.add(VirtualTimeScheduler.get().now(TimeUnit.MILLISECONDS));
+                        return subscribedAt.size() < 4 ? Mono.error(serverError()) : Mono.just("ok");
+                    })))
+                    .thenAwait(Duration.ofMillis(500 + 700 + 700))
+                    .expectNext("ok")
+                    .verifyComplete();
+
+            // then
+            assertThat(subscribedAt).hasSize(4);
+            assertThat(subscribedAt.get(1) - subscribedAt.get(0)).isBetween(0L, 500L);
+            assertThat(subscribedAt.get(2) - subscribedAt.get(1)).isBetween(0L, 700L);
+            assertThat(subscribedAt.get(3) - subscribedAt.get(2)).isBetween(0L, 700L);
+        }
+    }
+
+    @Test
+    @DisplayName("최대 시도 횟수를 넘으면 마지막 오류를 전달하고, 재시도 횟수를 메트릭으로 기록한다")
+    void failAfterMaxAttempts() {
+        // given
+        ChatGptConfig config = new ChatGptConfig();
+        ChatGptConfig.Retry retry = config.getRetry();
+        retry.setMaxAttempts(3);
+        CompletionRetryPolicy policy = createPolicy(config);
+        AtomicInteger calls = new AtomicInteger();
+
+        // when & then
+        StepVerifier.withVirtualTime(() -> policy.apply(Mono.defer(() -> {
+                    calls.incrementAndGet();
+                    return Mono.<String>error(serverError());
+                })))
+                .thenAwait(Duration.ofMinutes(1))
+                .expectError(ChatGptException.class)
+                .verify();
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(meterRegistry.counter("chatgpt.retry.attempts").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("429 응답의 Retry-After가 백오프보다 길면 그 시간만큼 기다리고, maxRetryAfter보다 길면 재시도하지 않는다")
+    void honorAndCapRetryAfter() {
+        // given: 백오프 상한은 500ms, Retry-After 상한은 30초
+        ChatGptConfig config = new ChatGptConfig();
+        ChatGptConfig.Retry retry = config.getRetry();
+        retry.setInitialBackoff(Duration.ofMillis(500));
+        retry.setMaxRetryAfter(Duration.ofSeconds(30));
+        CompletionRetryPolicy policy = createPolicy(config);
+        AtomicInteger calls = new AtomicInteger();
+
+        // when & then: Retry-After 5초 동안은 다시 호출하지 않습니다.
+        StepVerifier.withVirtualTime(() -> policy.apply(Mono.defer(() -> calls.getAndIncrement() == 0
+                        ? Mono.error(rateLimited(Duration.ofSeconds(5)))
+                        : Mono.just("ok"))))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(4_999))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNext("ok")
+                .verifyComplete();
+        assertThat(calls.get()).isEqualTo(2);
+
+        // Retry-After가 60초이면 기다리지 않고 바로 실패합니다.
+        calls.set(0);
+        StepVerifier.withVirtualTime(() -> policy.apply(Mono.defer(() -> {
+                    calls.incrementAndGet();
+                    return Mono.<String>error(rateLimited(Duration.ofSeconds(60)));
+                })))
+                .expectError(ChatGptException.class)
+                .verify();
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("재시도 예산을 모두 쓰면 더 이상 재시도하지 않고 예산 소진을 메트릭으로 기록한다")
+    void stopRetryingWhenBudgetIsExhausted() {
+        // given: 윈도우당 재시도 1번만 허용
+        ChatGptConfig config = new ChatGptConfig();
+        ChatGptConfig.Retry retry = config.getRetry();
+        retry.setMaxAttempts(3);
+        retry.setBudgetRatio(0);
+        retry.setBudgetMinPerWindow(1);
+        retry.setBudgetWindow(Duration.ofHours(1));
+        CompletionRetryPolicy policy = createPolicy(config);
+        AtomicInteger calls = new AtomicInteger();
+
+        // when & then: 한 번 재시도한 뒤 두 번째 재시도는 예산이 없어 실패합니다.
+        StepVerifier.withVirtualTime(() -> policy.apply(Mono.defer(() -> {
+                    calls.incrementAndGet();
+                    return Mono.<String>error(serverError());
+                })))
+                .thenAwait(Duration.ofMinutes(1))
+                .expectError(ChatGptException.class)
+                .verify();
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(meterRegistry.counter("chatgpt.retry.budget.exhausted").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("추가 호출 예산은 max(최소 허용치, 원래 호출 수 x 비율)까지만 허용한다")
+    void callBudgetFollowsRatio() {
+        // given: 원래 호출의 10%, 최소 3번
+        CallBudget budget = new CallBudget(0.1, 3, Duration.ofHours(1));
+
+        // when & then: 호출이 적을 때는 최소 허용치 3번까지
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+
+        // 원래 호출이 50번이면 50 x 0.1 = 5번까지 (이미 3번 사용)
+        for (int i = 0; i < 50; i++) {
+            budget.recordCall();
+        }
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    @DisplayName("5xx, 429, 408, 네트워크 오류만 재시도 대상이고, 애플리케이션 안에서 거절한 호출은 재시도하지 않는다")
+    void classifyRetryableFailures() {
+        // 재시도 대상
+        assertThat(CompletionRetryPolicy.isRetryable(serverError())).isTrue();
+        assertThat(CompletionRetryPolicy.isRetryable(rateLimited(Duration.ofSeconds(1)))).isTrue();
+        assertThat(CompletionRetryPolicy.isRetryable(new ChatGptException(
+                new ChatGptError.ClientError("요청 시간 초과"), HttpStatus.REQUEST_TIMEOUT))).isTrue();
+        assertThat(CompletionRetryPolicy.isRetryable(new TimeoutException())).isTrue();
+        assertThat(CompletionRetryPolicy.isRetryable(new WebClientRequestException(
+                new IOException("연결 실패"), HttpMethod.POST, URI.create("http://localhost:9"), new HttpHeaders()))).isTrue();
+
+        // 재시도하지 않음
+        assertThat(CompletionRetryPolicy.isRetryable(new ChatGptException(
+                new ChatGptError.ClientError("잘못된 요청"), HttpStatus.BAD_REQUEST))).isFalse();
+        assertThat(CompletionRetryPolicy.isRetryable(new ChatGptException(
+                new ChatGptError.LocalRejected("대기열 가득 참")))).isFalse();
+        assertThat(CompletionRetryPolicy.isRetryable(new ChatGptException(
+                new ChatGptError.PromptTooLarge("프롬프트가 너무 깁니다", 5_000, 4_000)))).isFalse();
+        assertThat(CompletionRetryPolicy.isRetryable(new ChatGptException(
+                new ChatGptError.QuotaExceeded("한도 초과", 100, 100, Duration.ofHours(1))))).isFalse();
+        assertThat(CompletionRetryPolicy.isRetryable(new IllegalStateException())).isFalse();
+    }
+
+    @Test
+    @DisplayName("retry-after-ms, Retry-After(초), Retry-After(HTTP 날짜) 순서로 대기 시간을 읽고, 해석할 수 없으면 null을 반환한다")
+    void parseRetryAfterHeaders() {
+        // 밀리초 헤더가 초 헤더보다 우선합니다.
+        assertThat(CompletionRetryPolicy.parseRetryAfter(headers("retry-after-ms", "1500.7", HttpHeaders.RETRY_AFTER, "7")))
+                .isEqualTo(Duration.ofMillis(1500));
+        // 밀리초 헤더를 해석할 수 없으면 초 헤더를 사용합니다.
+        assertThat(CompletionRetryPolicy.parseRetryAfter(headers("retry-after-ms", "abc", HttpHeaders.RETRY_AFTER, "7")))
+                .isEqualTo(Duration.ofSeconds(7));
+
+        // HTTP 날짜는 지금부터 그 시각까지의 시간, 지난 시각이면 0입니다.
+        String later = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(120));
+        assertThat(CompletionRetryPolicy.parseRetryAfter(headers(HttpHeaders.RETRY_AFTER, later)))
+                .isBetween(Duration.ofSeconds(110), Duration.ofSeconds(120));
+        String earlier = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).minusSeconds(120));
+        assertThat(CompletionRetryPolicy.parseRetryAfter(headers(HttpHeaders.RETRY_AFTER, earlier)))
+                .isEqualTo(Duration.ZERO);
+
+        assertThat(CompletionRetryPolicy.parseRetryAfter(headers(HttpHeaders.RETRY_AFTER, "잠시 후"))).isNull();
+        assertThat(CompletionRetryPolicy.parseRetryAfter(new HttpHeaders())).isNull();
+    }
+
+    private CompletionRetryPolicy createPolicy(ChatGptConfig config) {
+        return new CompletionRetryPolicy(config, meterRegistry);
+    }
+
+    private static HttpHeaders headers(String... namesAndValues) {
+        HttpHeaders headers = new HttpHeaders();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            headers.add(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return headers;
+    }
+
+    private static ChatGptException serverError() {
+        return new ChatGptException(new ChatGptError.ServerError("ChatGPT API 서버 오류"));
+    }
+
+    private static ChatGptException rateLimited(Duration retryAfter) {
+        return new ChatGptException(new ChatGptError.RateLimited("요청 한도 초과", retryAfter));
+    }
+}
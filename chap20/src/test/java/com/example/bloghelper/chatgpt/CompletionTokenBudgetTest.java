@@ -0,0 +1,55 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.config.ChatGptConfig;
+import com.example.bloghelper.dto.ChatGptResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompletionTokenBudgetTest {
+
+    private CompletionTokenBudget createBudget() {
+        ChatGptConfig config = new ChatGptConfig();
+        config.setMaxCompletionTokens(4000);
+        config.getTokens().setMinSamples(10);
+        return new CompletionTokenBudget(config, new SimpleMeterRegistry());
+    }
+
+    private ChatGptResponse response(int completionTokens, String finishReason) {
+        return new ChatGptResponse("id", "chat.completion",
+                List.of(new ChatGptResponse.Choice(new ChatGptResponse.Message("assistant", "{}"), 0, finishReason)),
+                new ChatGptResponse.Usage(100, completionTokens, 100 + completionTokens, null));
+    }
+
+    @Test
+    @DisplayName("응답 길이 샘플이 충분하면 백분위수에 여유 배수를 곱한 값을 상한으로 사용한다")
+    void capFromObservedPercentile() {
+        // given
+        CompletionTokenBudget budget = createBudget();
+        assertThat(budget.maxTokensOf(PromptType.KEYWORD_ANALYSIS, 100)).isEqualTo(4000);
+
+        // when: 응답 길이 400토큰 샘플 10개, 잘린 응답 1개
+        for (int i = 0; i < 10; i++) {
+            budget.record(PromptType.KEYWORD_ANALYSIS, response(400, "stop"));
+        }
+        budget.record(PromptType.KEYWORD_ANALYSIS, response(4000, "length"));
+
+        // then: p99(400) x 1.25, 다른 종류는 영향을 받지 않습니다.
+        assertThat(budget.maxTokensOf(PromptType.KEYWORD_ANALYSIS, 100)).isEqualTo(500);
+        assertThat(budget.maxTokensOf(PromptType.POST_DRAFT, 100)).isEqualTo(4000);
+    }
+
+    @Test
+    @DisplayName("상한은 컨텍스트 윈도우에 남은 토큰 수를 넘지 않는다")
+    void capWithinContextWindow() {
+        // given
+        CompletionTokenBudget budget = createBudget();
+
+        // when & then
+        assertThat(budget.maxTokensOf(PromptType.POST_IMPROVE, 127_000)).isEqualTo(1000);
+    }
+}
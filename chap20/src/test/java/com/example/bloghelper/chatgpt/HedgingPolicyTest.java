@@ -0,0 +1,116 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.config.ChatGptConfig;
+import com.example.bloghelper.exception.ChatGptError;
+import com.example.bloghelper.exception.ChatGptException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgingPolicyTest {
+
+    @Test
+    @DisplayName("첫 요청이 늦으면 헤지 요청을 보내고 먼저 끝난 응답을 사용한다")
+    void hedgeWinsWhenPrimaryIsSlow() {
+        // given: 100ms 후 헤지, 첫 요청은 5초, 헤지 요청은 즉시 응답
+        ChatGptConfig config = new ChatGptConfig();
+        config.getHedge().setInitialDelay(Duration.ofMillis(100));
+        config.getHedge().setMinDelay(Duration.ZERO);
+        HedgingPolicy policy = new HedgingPolicy(config, new SimpleMeterRegistry());
+
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger cancelled = new AtomicInteger();
+
+        // when
+        Mono<String> result = policy.apply(PromptType.KEYWORD_ANALYSIS, () -> calls.getAndIncrement() == 0
+                ? Mono.delay(Duration.ofSeconds(5)).thenReturn("slow").doOnCancel(cancelled::incrementAndGet)
+                : Mono.just("fast"));
+
+        // then: 헤지 요청의 응답을 받고, 첫 요청은 취소됩니다.
+        StepVerifier.create(result)
+                .expectNext("fast")
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(cancelled.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("헤지 요청을 보낸 뒤 첫 요청이 실패하면 헤지 요청의 응답을 사용한다")
+    void hedgeWinsWhenPrimaryFailsAfterHedging() {
+        // given: 100ms 후 헤지, 첫 요청은 200ms 후 실패, 헤지 요청은 300ms 후 응답
+        HedgingPolicy policy = createPolicy();
+        AtomicInteger calls = new AtomicInteger();
+
+        // when
+        Mono<String> result = policy.apply(PromptType.KEYWORD_ANALYSIS, () -> calls.getAndIncrement() == 0
+                ? Mono.delay(Duration.ofMillis(200)).then(Mono.error(serverError("첫 요청 실패")))
+                : Mono.delay(Duration.ofMillis(300)).thenReturn("hedged"));
+
+        // then
+        StepVerifier.create(result)
+                .expectNext("hedged")
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("두 요청이 모두 실패하면 첫 요청의 오류를, 헤지 전에 실패하면 헤지 없이 바로 오류를 전달한다")
+    void failOnlyWhenBothFail() {
+        // given
+        HedgingPolicy policy = createPolicy();
+        AtomicInteger calls = new AtomicInteger();
+
+        // when & then: 헤지 요청이 먼저 실패해도 첫 요청의 결과를 기다린 뒤 첫 요청의 오류를 전달합니다.
+        StepVerifier.create(policy.apply(PromptType.KEYWORD_ANALYSIS, () -> calls.getAndIncrement() == 0
+                        ? Mono.delay(Duration.ofMillis(300)).then(Mono.<String>error(serverError("첫 요청 실패")))
+                        : Mono.<String>error(serverError("헤지 요청 실패"))))
+                .expectErrorMessage("첫 요청 실패")
+                .verify(Duration.ofSeconds(2));
+        assertThat(calls.get()).isEqualTo(2);
+
+        // 헤지 대기 시간 전에 첫 요청이 실패하면 헤지 요청을 보내지 않습니다.
+        calls.set(0);
+        StepVerifier.create(policy.apply(PromptType.KEYWORD_ANALYSIS, () -> {
+                    calls.incrementAndGet();
+                    return Mono.<String>error(serverError("바로 실패"));
+                }))
+                .expectErrorMessage("바로 실패")
+                .verify(Duration.ofSeconds(1));
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    // 100ms 후 헤지 요청을 보내는 정책입니다.
+    private HedgingPolicy createPolicy() {
+        ChatGptConfig config = new ChatGptConfig();
+        config.getHedge().setInitialDelay(Duration.ofMillis(100));
+        config.getHedge().setMinDelay(Duration.ZERO);
+        return new HedgingPolicy(config, new SimpleMeterRegistry());
+    }
+
+    private ChatGptException serverError(String message) {
+        return new ChatGptException(new ChatGptError.ServerError(message));
+    }
+
+    @Test
+    @DisplayName("응답 시간 백분위수는 샘플이 충분할 때만 계산한다")
+    void percentileRequiresMinSamples() {
+        // given
+        RollingPercentile window = new RollingPercentile(100);
+        for (int i = 1; i <= 100; i++) {
+            window.record(i);
+        }
+
+        // when & then
+        assertThat(window.percentile(0.95, 10)).isEqualTo(95);
+        assertThat(window.percentile(0.95, 200)).isEqualTo(-1);
+    }
+}
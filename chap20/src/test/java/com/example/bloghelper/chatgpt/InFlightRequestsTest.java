@@ -0,0 +1,62 @@
+package com.example.bloghelper.chatgpt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InFlightRequestsTest {
+
+    @Test
+    @DisplayName("동시에 들어온 같은 키의 요청은 한 번만 호출된다")
+    void coalesceConcurrentRequests() {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        InFlightRequests inFlightRequests = new InFlightRequests(meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        // when: 같은 키로 10개의 요청을 동시에 구독합니다.
+        List<String> results = Flux.range(0, 10)
+                .flatMap(i -> inFlightRequests.execute("same-key", () -> Mono.fromCallable(() -> {
+                            calls.incrementAndGet();
+                            return "응답";
+                        })
+                        .delayElement(Duration.ofMillis(200))))
+                .collectList()
+                .block();
+
+        // then
+        assertThat(results).hasSize(10).containsOnly("응답");
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(meterRegistry.counter("chatgpt.inflight.coalesced").count()).isEqualTo(9.0);
+    }
+
+    @Test
+    @DisplayName("호출이 끝나면 등록이 해제되어 다음 요청은 다시 호출된다")
+    void removeEntryAfterCompletion() {
+        // given
+        InFlightRequests inFlightRequests = new InFlightRequests(new SimpleMeterRegistry());
+        AtomicInteger calls = new AtomicInteger();
+
+        // when: 실패한 호출 이후 같은 키로 다시 요청합니다.
+        Mono<String> failing = inFlightRequests.execute("key", () -> Mono.fromCallable(() -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("실패");
+        }));
+        String recovered = failing.onErrorResume(e -> inFlightRequests.execute("key", () -> Mono.fromCallable(() -> {
+            calls.incrementAndGet();
+            return "성공";
+        }))).block();
+
+        // then
+        assertThat(recovered).isEqualTo("성공");
+        assertThat(calls.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.bloghelper.chatgpt;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PromptTemplateTest {
+
+    @Test
+    @DisplayName("고정 지시사항은 시스템 메시지로, 슬롯 값은 사용자 메시지로 렌더링한다")
+    void renderSlots() {
+        // given
+        PromptTemplate template = PromptTemplate.compile("test", "JSON으로 응답해주세요.\n", "키워드: {{keyword}}, 관련: {{ related }}!");
+
+        // when
+        Prompt first = template.render(Map.of("keyword", "스타벅스", "related", "커피"));
+        Prompt second = template.render(Map.of("keyword", "{{keyword}}", "related", ""));
+
+        // then: 시스템 메시지는 요청마다 같고, 값에 포함된 중괄호는 다시 해석하지 않습니다.
+        assertThat(first.template()).isEqualTo("test");
+        assertThat(first.system()).endsWith("JSON으로 응답해주세요.\n").isEqualTo(second.system());
+        assertThat(first.user()).isEqualTo("키워드: 스타벅스, 관련: 커피!");
+        assertThat(second.user()).isEqualTo("키워드: {{keyword}}, 관련: !");
+    }
+
+    @Test
+    @DisplayName("값이 없는 슬롯이나 닫히지 않은 슬롯은 오류가 발생한다")
+    void invalidSlots() {
+        PromptTemplate template = PromptTemplate.compile("test", "", "키워드: {{keyword}}");
+
+        assertThatThrownBy(() -> template.render(Map.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PromptTemplate.compile("test", "", "키워드: {{keyword"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
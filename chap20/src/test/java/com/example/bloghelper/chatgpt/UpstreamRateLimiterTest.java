@@ -0,0 +1,80 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.config.ChatGptConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamRateLimiterTest {
+
+    private UpstreamRateLimiter createLimiter(int requestsPerMinute, int tokensPerMinute) {
+        ChatGptConfig.RateLimit rateLimit = new ChatGptConfig.RateLimit();
+        rateLimit.setRequestsPerMinute(requestsPerMinute);
+        rateLimit.setTokensPerMinute(tokensPerMinute);
+        return new UpstreamRateLimiter("test", rateLimit, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("요청 한도를 모두 쓰면 다음 요청은 대기열에서 기다린다")
+    void waitWhenRequestBucketIsEmpty() {
+        // given: 분당 2건만 허용
+        UpstreamRateLimiter limiter = createLimiter(2, 100_000);
+
+        // when & then: 두 건은 바로 통과하고, 세 번째는 200ms 안에 통과하지 못합니다.
+        StepVerifier.create(limiter.acquire(10)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(limiter.acquire(10)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(limiter.acquire(10))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(200))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("실제 사용량이 예상보다 적으면 남은 토큰을 돌려받는다")
+    void reconcileReturnsUnusedTokens() {
+        // given: 분당 1,000 토큰, 900 토큰을 예약
+        UpstreamRateLimiter limiter = createLimiter(100, 1_000);
+        UpstreamRateLimiter.Permit permit = limiter.acquire(900).block();
+        assertThat(permit).isNotNull();
+
+        // when: 실제로는 100 토큰만 사용
+        permit.reconcile(100);
+
+        // then: 800 토큰 요청이 기다리지 않고 통과합니다.
+        StepVerifier.create(limiter.acquire(800))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofMillis(500));
+    }
+
+    @Test
+    @DisplayName("한도를 기다리다 취소된 요청은 바로 대기열에서 빠져 대기열 크기에 세지 않는다")
+    void cancelledWaiterLeavesQueue() {
+        // given: 분당 1건, 대기열 1개
+        ChatGptConfig.RateLimit rateLimit = new ChatGptConfig.RateLimit();
+        rateLimit.setRequestsPerMinute(1);
+        rateLimit.setMaxQueueSize(1);
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter("test", rateLimit, new SimpleMeterRegistry());
+        StepVerifier.create(limiter.acquire(10)).expectNextCount(1).verifyComplete();
+
+        // when: 대기열에 들어간 요청을 취소합니다.
+        StepVerifier.create(limiter.acquire(10))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify();
+
+        // then: 다음 요청은 거절되지 않고 대기열에서 기다립니다.
+        StepVerifier.create(limiter.acquire(10))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.config.ChatGptConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+class UpstreamResilienceTest {
+
+    @Test
+    @DisplayName("스트림은 첫 조각까지의 시간만 느린 호출 판단에 쓰므로, 뒷부분이 오래 걸려도 서킷 브레이커가 열리지 않는다")
+    void streamTimedByFirstChunk() {
+        // given: 100ms보다 오래 걸린 호출이 절반 이상이면 OPEN
+        UpstreamResilience resilience = new UpstreamResilience(slowCallSensitiveConfig(), new SimpleMeterRegistry());
+
+        // when: 첫 조각은 바로 오고 마지막 조각은 300ms 뒤에 오는 스트림을 두 번 받습니다.
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(resilience.withCircuitBreaker(
+                            Flux.concat(Mono.just("첫 조각"), Mono.delay(Duration.ofMillis(300)).thenReturn("끝 조각"))))
+                    .expectNext("첫 조각", "끝 조각")
+                    .verifyComplete();
+        }
+
+        // then: 다음 호출도 통과합니다.
+        StepVerifier.create(resilience.withCircuitBreaker(Flux.just("조각")))
+                .expectNext("조각")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("첫 조각이 늦게 오는 스트림이 이어지면 서킷 브레이커가 열려 호출을 즉시 거절한다")
+    void slowFirstChunkOpensBreaker() {
+        // given
+        UpstreamResilience resilience = new UpstreamResilience(slowCallSensitiveConfig(), new SimpleMeterRegistry());
+
+        // when: 첫 조각이 200ms 뒤에 오는 스트림을 두 번 받습니다.
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(resilience.withCircuitBreaker(
+                            Mono.delay(Duration.ofMillis(200)).thenReturn("첫 조각").flux()))
+                    .expectNext("첫 조각")
+                    .verifyComplete();
+        }
+
+        // then
+        StepVerifier.create(resilience.withCircuitBreaker(Flux.just("조각")))
+                .expectError(CallNotPermittedException.class)
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("유스케이스별 동시 호출 수가 가득 차면 기다리지 않고 BulkheadFullException으로 거절한다")
+    void rejectWhenBulkheadFull() {
+        // given: 키워드 분석은 동시에 2개까지
+        ChatGptConfig config = new ChatGptConfig();
+        config.getBulkhead().getMaxConcurrentCalls().put(PromptType.KEYWORD_ANALYSIS, 2);
+        UpstreamResilience resilience = new UpstreamResilience(config, new SimpleMeterRegistry());
+        Disposable first = resilience.withBulkhead(PromptType.KEYWORD_ANALYSIS, Mono.never()).subscribe();
+        Disposable second = resilience.withBulkhead(PromptType.KEYWORD_ANALYSIS, Mono.never()).subscribe();
+
+        // when & then: 세 번째 호출은 거절되고, 다른 유스케이스는 영향을 받지 않습니다.
+        StepVerifier.create(resilience.withBulkhead(PromptType.KEYWORD_ANALYSIS, Mono.just("분석")))
+                .expectError(BulkheadFullException.class)
+                .verify(Duration.ofSeconds(1));
+        StepVerifier.create(resilience.withBulkhead(PromptType.POST_DRAFT, Mono.just("초안")))
+                .expectNext("초안")
+                .verifyComplete();
+
+        // 자리가 나면 다시 받습니다.
+        first.dispose();
+        StepVerifier.create(resilience.withBulkhead(PromptType.KEYWORD_ANALYSIS, Mono.just("분석")))
+                .expectNext("분석")
+                .verifyComplete();
+        second.dispose();
+    }
+
+    // 최근 2번의 호출 중 100ms보다 오래 걸린 호출이 절반 이상이면 OPEN으로 전환하는 설정입니다.
+    private static ChatGptConfig slowCallSensitiveConfig() {
+        ChatGptConfig config = new ChatGptConfig();
+        ChatGptConfig.CircuitBreaker breaker = config.getCircuitBreaker();
+        breaker.setSlowCallDurationThreshold(Duration.ofMillis(100));
+        breaker.setSlowCallRateThreshold(50);
+        breaker.setSlidingWindowSize(2);
+        breaker.setMinimumNumberOfCalls(2);
+        return config;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.config.ChatGptConfig;
+import com.example.bloghelper.exception.ChatGptError;
+import com.example.bloghelper.exception.ChatGptException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamRouterTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UpstreamTarget createTarget(String name) {
+        return new UpstreamTarget(name, "gpt-4-turbo", 1, WebClient.create(),
+                new UpstreamRateLimiter(name, new ChatGptConfig.RateLimit(), meterRegistry),
+                0.3, 2, Duration.ofMinutes(1).toNanos());
+    }
+
+    @Test
+    @DisplayName("연속으로 실패한 대상은 라우팅에서 제외되고 다른 대상으로 넘어간다")
+    void failOverWhenTargetIsUnhealthy() {
+        // given: 연속 2회 실패하면 제외되는 두 대상
+        UpstreamTarget primary = createTarget("primary");
+        UpstreamTarget secondary = createTarget("secondary");
+        UpstreamRouter router = new UpstreamRouter(List.of(primary, secondary),
+                ChatGptConfig.Routing.Strategy.LEAST_OUTSTANDING, meterRegistry);
+
+        // when: primary로 간 요청은 모두 503으로 실패
+        for (int i = 0; i < 10; i++) {
+            Mono<String> call = router.route(target -> target == primary
+                    ? Mono.error(new ChatGptException(new ChatGptError.ServerError("서버 오류"), HttpStatus.SERVICE_UNAVAILABLE))
+                    : Mono.just(target.getName()));
+            call.onErrorResume(error -> Mono.empty()).block();
+        }
+
+        // then: primary는 비정상으로 표시되고, 이후 요청은 secondary로 갑니다.
+        assertThat(primary.isHealthy()).isFalse();
+        StepVerifier.create(router.route(target -> Mono.just(target.getName())))
+                .expectNext("secondary")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("호출 자격을 기다린 시간과 자격 확보 중의 거절은 대상의 응답 시간과 상태에 반영하지 않는다")
+    void admissionIsNotCountedAgainstTarget() {
+        // given: 연속 2회 실패하면 제외되는 대상 하나
+        UpstreamTarget target = createTarget("only");
+        UpstreamRouter router = new UpstreamRouter(List.of(target),
+                ChatGptConfig.Routing.Strategy.EWMA, meterRegistry);
+
+        // when: 로컬 대기열에서 거절된 요청 3건과, 200ms 기다려 자격을 얻은 뒤 바로 응답한 요청 1건
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(router.route(
+                            t -> Mono.error(new ChatGptException(new ChatGptError.LocalRejected("대기열이 가득 찼습니다."))),
+                            (t, permit) -> Mono.just("호출되지 않음")))
+                    .expectError(ChatGptException.class)
+                    .verify();
+        }
+        StepVerifier.create(router.route(
+                        t -> Mono.delay(Duration.ofMillis(200)),
+                        (t, permit) -> Mono.just(t.getName())))
+                .expectNext("only")
+                .verifyComplete();
+
+        // then: 대상은 정상이고, 응답 시간에는 대기 시간이 들어가지 않습니다.
+        assertThat(target.isHealthy()).isTrue();
+        assertThat(target.outstanding()).isZero();
+        assertThat(target.ewmaMillis()).isLessThan(100);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.bloghelper.chatgpt;
+
+import com.example.bloghelper.config.ChatGptConfig;
+import com.example.bloghelper.dto.ChatGptResponse;
+import com.example.bloghelper.entity.TokenUsage;
+import com.example.bloghelper.exception.ChatGptError;
+import com.example.bloghelper.exception.ChatGptException;
+import com.example.bloghelper.repository.TokenUsageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UsageMeterTest {
+
+    private final TokenUsageRepository repository = mock(TokenUsageRepository.class);
+
+    private UsageMeter createMeter(long dailyQuota) {
+        ChatGptConfig config = new ChatGptConfig();
+        config.getUsage().setDailyTokenQuota(dailyQuota);
+        return new UsageMeter(config, repository, new SimpleMeterRegistry());
+    }
+
+    private ChatGptResponse.Usage usage(int promptTokens, int completionTokens) {
+        return new ChatGptResponse.Usage(promptTokens, completionTokens, promptTokens + completionTokens, null);
+    }
+
+    @Test
+    @DisplayName("오늘 사용량이 일일 한도에 도달한 회원의 호출은 QuotaExceeded로 거절한다")
+    void rejectWhenDailyQuotaReached() {
+        // given
+        UsageMeter meter = createMeter(1_000);
+
+        // when: 400 + 200 토큰 응답 두 번
+        meter.record("user@example.com", PromptType.POST_DRAFT, "gpt-4o-mini", usage(400, 200));
+        assertThat(meter.checkQuota("user@example.com")).isNull();
+        meter.record("user@example.com", PromptType.POST_DRAFT, "gpt-4o-mini", usage(400, 200));
+
+        // then
+        ChatGptException rejected = meter.checkQuota("user@example.com");
+        assertThat(meter.usedToday("user@example.com")).isEqualTo(1_200);
+        assertThat(rejected).isNotNull();
+        assertThat(rejected.getError()).isInstanceOf(ChatGptError.QuotaExceeded.class);
+        // 다른 회원과 비회원은 영향을 받지 않습니다.
+        assertThat(meter.checkQuota("other@example.com")).isNull();
+        assertThat(meter.checkQuota(null)).isNull();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    @DisplayName("저장 주기에는 회원/용도/모델별로 모은 사용량을 한 행씩 저장하고 카운터를 비운다")
+    void flushAggregatedRows() {
+        // given: 같은 기준으로 동시에 100번, 다른 용도로 1번 기록
+        UsageMeter meter = createMeter(1_000_000);
+        IntStream.range(0, 100).parallel().forEach(i ->
+                meter.record("user@example.com", PromptType.KEYWORD_ANALYSIS, "gpt-4o-mini", usage(10, 5)));
+        meter.record("user@example.com", PromptType.POST_IMPROVE, "gpt-4o-mini", usage(1_000, 500));
+
+        // when
+        meter.flush();
+        meter.flush();
+
+        // then: 두 번째 저장 주기에는 새로 기록된 사용량이 없으므로 저장하지 않습니다.
+        ArgumentCaptor<List<TokenUsage>> rows = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(1)).saveAll(rows.capture());
+        assertThat(rows.getValue()).hasSize(2);
+        TokenUsage keyword = rows.getValue().stream()
+                .filter(row -> row.getPromptType() == PromptType.KEYWORD_ANALYSIS)
+                .findFirst()
+                .orElseThrow();
+        assertThat(keyword.getCalls()).isEqualTo(100);
+        assertThat(keyword.getPromptTokens()).isEqualTo(1_000);
+        assertThat(keyword.getCompletionTokens()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("저장에 실패한 사용량은 다음 저장 주기에 다시 저장한다")
+    void retryFailedFlush() {
+        // given
+        UsageMeter meter = createMeter(1_000_000);
+        meter.record("user@example.com", PromptType.POST_DRAFT, "gpt-4o-mini", usage(100, 50));
+        when(repository.saveAll(anyList()))
+                .thenThrow(new IllegalStateException("DB 연결 실패"))
+                .thenReturn(List.of());
+
+        // when
+        meter.flush();
+        meter.flush();
+
+        // then
+        verify(repository, times(2)).saveAll(anyList());
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.bloghelper.controller;
+
+import com.example.bloghelper.dto.PostCreateRequest;
+import com.example.bloghelper.dto.PostResponse;
+import com.example.bloghelper.entity.Member;
+import com.example.bloghelper.jwt.JwtProvider;
+import com.example.bloghelper.repository.MemberRepository;
+import com.example.bloghelper.support.FakeChatGptServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 초안 생성 API의 동시 처리 수가 톰캣 요청 스레드 수에 묶이지 않는지 확인하는 부하 테스트입니다.
+ * <p>
+ * 가짜 ChatGPT 서버(FakeChatGptServer)가 호출마다 LLM_LATENCY만큼 늦게 응답하고, 동시에 받은 요청 수의 최댓값을 기록합니다.
+ * 초안 하나는 키워드 분석과 초안 생성으로 ChatGPT를 두 번 호출합니다.
+ * 요청 스레드가 응답을 기다리며 막혀 있다면 가짜 서버가 동시에 받는 요청은 톰캣 스레드 수(TOMCAT_THREADS)를 넘을 수 없습니다.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "server.tomcat.threads.max=" + PostDraftLoadTest.TOMCAT_THREADS,
+                "server.tomcat.threads.min-spare=1",
+                "chatgpt.api-key=test",
+                "chatgpt.model=gpt-4o-mini",
+                "chatgpt.cache.enabled=false",
+                "chatgpt.hedge.enabled=false"
+        }
+)
+class PostDraftLoadTest {
+    static final int TOMCAT_THREADS = 4;
+    private static final int CONCURRENT_DRAFTS = 16;
+    private static final Duration LLM_LATENCY = Duration.ofMillis(500);
+
+    private static final FakeChatGptServer llmServer = FakeChatGptServer.start().latency(LLM_LATENCY);
+
+    @LocalServerPort
+    int port;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    JwtProvider jwtProvider;
+
+    @DynamicPropertySource
+    static void chatGptProperties(DynamicPropertyRegistry registry) {
+        registry.add("chatgpt.api-url", llmServer::url);
+    }
+
+    @AfterAll
+    static void stopLlmServer() {
+        llmServer.stop();
+    }
+
+    @Test
+    @DisplayName("동시에 들어온 초안 생성 요청은 톰캣 스레드 수보다 많이 동시에 ChatGPT를 기다린다")
+    void concurrentDraftsAreNotCappedByTomcatThreads() {
+        // given
+        Member member = memberRepository.save(Member.builder()
+                .email("load-test@example.com")
+                .password("password")
+                .nickname("부하테스트")
+                .build());
+        String token = jwtProvider.generateToken(member);
+        WebClient client = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .build();
+
+        // when: 서로 다른 키워드로 초안을 동시에 요청합니다.
+        long start = System.nanoTime();
+        List<PostResponse> drafts = Flux.range(0, CONCURRENT_DRAFTS)
+                .flatMap(i -> client.post()
+                        .uri("/api/posts/drafts")
+                        .bodyValue(new PostCreateRequest("부하 테스트 키워드 " + i))
+                        .retrieve()
+                        .bodyToMono(PostResponse.class), CONCURRENT_DRAFTS)
+                .collectList()
+                .block(Duration.ofSeconds(60));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // then: 모든 초안이 저장되고, 요청 스레드 수보다 많은 ChatGPT 호출이 동시에 진행됩니다.
+        assertThat(drafts).hasSize(CONCURRENT_DRAFTS)
+                .allSatisfy(draft -> assertThat(draft.id()).isNotNull());
+        assertThat(llmServer.peakInFlight()).isGreaterThan(TOMCAT_THREADS);
+        // 스레드에 묶였다면 (16 / 4)묶음 x 호출 2번 x 500ms = 최소 4초가 걸립니다.
+        assertThat(elapsed).isLessThan(LLM_LATENCY.multipliedBy(2L * CONCURRENT_DRAFTS / TOMCAT_THREADS));
+        System.out.printf("초안 %d개: %dms, ChatGPT 최대 동시 호출 %d%n", drafts.size(), elapsed.toMillis(), llmServer.peakInFlight());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.bloghelper.exception;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GlobalExceptionHandlerTest {
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new FailingController())
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+
+    @Test
+    @DisplayName("서킷 브레이커가 열려 있으면 Retry-After와 함께 503 ProblemDetail로 응답한다")
+    void breakerOpen() throws Exception {
+        mockMvc.perform(get("/breaker-open"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "30"))
+                .andExpect(jsonPath("$.status").value(503))
+                .andExpect(jsonPath("$.detail").isNotEmpty());
+    }
+
+    @Test
+    @DisplayName("벌크헤드가 가득 차면 503 ProblemDetail로 응답한다")
+    void bulkheadFull() throws Exception {
+        mockMvc.perform(get("/bulkhead-full"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value(503))
+                .andExpect(jsonPath("$.detail").isNotEmpty());
+    }
+
+    // 실제 Resilience4j가 만드는 예외를 그대로 던지는 컨트롤러입니다.
+    @RestController
+    static class FailingController {
+
+        @GetMapping("/breaker-open")
+        String breakerOpen() {
+            CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("chatgpt");
+            circuitBreaker.transitionToOpenState();
+            return circuitBreaker.executeSupplier(() -> "호출되지 않음");
+        }
+
+        @GetMapping("/bulkhead-full")
+        String bulkheadFull() {
+            Bulkhead bulkhead = Bulkhead.of("chatgpt-keyword_analysis", BulkheadConfig.custom()
+                    .maxConcurrentCalls(1)
+                    .maxWaitDuration(Duration.ZERO)
+                    .build());
+            bulkhead.acquirePermission();
+            return bulkhead.executeSupplier(() -> "호출되지 않음");
+        }
+    }
+}
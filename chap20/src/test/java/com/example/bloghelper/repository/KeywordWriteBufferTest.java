@@ -0,0 +1,144 @@
+package com.example.bloghelper.repository;
+
+import com.example.bloghelper.config.KeywordWriteBehindProperties;
+import com.example.bloghelper.entity.Keyword;
+import com.example.bloghelper.exception.KeywordWriteRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "chatgpt.api-key=test",
+        "chatgpt.api-url=http://localhost:9/v1/chat/completions",
+        "chatgpt.model=gpt-4o-mini"
+})
+class KeywordWriteBufferTest {
+
+    @Autowired
+    KeywordWriteBuffer keywordWriteBuffer;
+    @Autowired
+    KeywordRepository keywordRepository;
+    @Autowired
+    KeywordIdAllocator idAllocator;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    Scheduler jpaScheduler;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Keyword keyword(String name) {
+        return Keyword.createFromAnalysis(name, "[\"연관\"]", "[\"주제\"]");
+    }
+
+    // 저장 스레드를 시작하지 않은 버퍼입니다. 테스트가 start()를 호출하기 전에는 대기열이 비워지지 않습니다.
+    private KeywordWriteBuffer createBuffer(int capacity, int batchSize, Duration flushInterval) {
+        KeywordWriteBehindProperties properties = new KeywordWriteBehindProperties();
+        properties.setCapacity(capacity);
+        properties.setBatchSize(batchSize);
+        properties.setFlushInterval(flushInterval);
+        properties.setMaxEnqueueWait(Duration.ZERO);
+        return new KeywordWriteBuffer(properties, idAllocator, jdbcTemplate, transactionManager, jpaScheduler, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("동시에 넣은 키워드는 바로 서로 다른 id를 받고, 배치로 모두 저장된다")
+    void assignIdsUpFrontAndWriteInBatches() {
+        // given
+        long before = keywordRepository.count();
+
+        // when: 여러 스레드에서 키워드 1,000개를 넣습니다.
+        List<Keyword> added = Flux.range(0, 1_000)
+                .parallel(8)
+                .runOn(jpaScheduler)
+                .flatMap(i -> keywordWriteBuffer.add(keyword("키워드 " + i)))
+                .sequential()
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        // then: id는 저장 전에 모두 지정되어 있고, flush 뒤에는 모두 조회됩니다.
+        assertThat(added).hasSize(1_000)
+                .allSatisfy(keyword -> assertThat(keyword.getId()).isNotNull());
+        assertThat(added.stream().map(Keyword::getId).distinct()).hasSize(1_000);
+        assertThat(keywordWriteBuffer.flush(Duration.ofSeconds(10))).isTrue();
+        assertThat(keywordRepository.count()).isEqualTo(before + 1_000);
+        Keyword saved = keywordRepository.findById(added.get(0).getId()).orElseThrow();
+        assertThat(saved.getOriginalKeyword()).isEqualTo(added.get(0).getOriginalKeyword());
+        assertThat(saved.getAnalyzedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 기다리지 않고 거절하고, 저장이 끝나면 다시 받는다")
+    void rejectWhenFull() throws Exception {
+        // given: 저장 스레드가 멈춰 있는 용량 2의 버퍼
+        KeywordWriteBuffer buffer = createBuffer(2, 2, Duration.ofMillis(50));
+        buffer.add(keyword("첫 번째")).block();
+        buffer.add(keyword("두 번째")).block();
+
+        // when & then
+        StepVerifier.create(buffer.add(keyword("세 번째")))
+                .expectError(KeywordWriteRejectedException.class)
+                .verify();
+
+        buffer.start();
+        assertThat(buffer.flush(Duration.ofSeconds(10))).isTrue();
+        StepVerifier.create(buffer.add(keyword("네 번째")))
+                .assertNext(keyword -> assertThat(keyword.getId()).isNotNull())
+                .verifyComplete();
+        buffer.shutdown();
+    }
+
+    @Test
+    @DisplayName("종료할 때 대기열에 남은 키워드를 모두 저장한다")
+    void flushOnShutdown() throws Exception {
+        // given: 저장 주기가 길어 종료 전에는 저장하지 않는 버퍼
+        KeywordWriteBuffer buffer = createBuffer(100, 100, Duration.ofHours(1));
+        buffer.start();
+        List<Keyword> added = Flux.range(0, 10)
+                .concatMap(i -> buffer.add(keyword("종료 " + i)))
+                .collectList()
+                .block();
+
+        // when
+        buffer.shutdown();
+
+        // then
+        assertThat(keywordRepository.findAllById(added.stream().map(Keyword::getId).toList())).hasSize(10);
+    }
+
+    @Test
+    @DisplayName("저장할 수 없는 키워드는 버리고 같은 배치의 나머지 키워드는 저장한다")
+    void dropRowsThatCanNeverBeInserted() throws Exception {
+        // given: original_keyword 컬럼(varchar 255)보다 긴 키워드가 섞인 배치
+        KeywordWriteBuffer buffer = createBuffer(10, 10, Duration.ofMillis(50));
+        Keyword first = buffer.add(keyword("앞 키워드")).block();
+        Keyword tooLong = buffer.add(keyword("가".repeat(300))).block();
+        Keyword last = buffer.add(keyword("뒤 키워드")).block();
+
+        // when
+        buffer.start();
+
+        // then: flush가 끝나고, 긴 키워드만 버려지고, 대기열 자리도 모두 돌려받습니다.
+        assertThat(buffer.flush(Duration.ofSeconds(10))).isTrue();
+        assertThat(keywordRepository.findById(first.getId())).isPresent();
+        assertThat(keywordRepository.findById(last.getId())).isPresent();
+        assertThat(keywordRepository.findById(tooLong.getId())).isEmpty();
+        assertThat(meterRegistry.counter("keyword.write-behind.failed").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("keyword.write-behind.pending").gauge().value()).isZero();
+        buffer.shutdown();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.bloghelper.service;
+
+import com.example.bloghelper.chatgpt.CompletionOptions;
+import com.example.bloghelper.chatgpt.PromptType;
+import com.example.bloghelper.chatgpt.UsageMeter;
+import com.example.bloghelper.exception.ChatGptError;
+import com.example.bloghelper.exception.ChatGptException;
+import com.example.bloghelper.support.FakeChatGptServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ChatGptService.streamCompletion이 가짜 ChatGPT 서버(FakeChatGptServer)의 SSE 응답을 처리하는 방식을 확인합니다.
+ * 가짜 서버는 [DONE] 뒤에도 연결을 닫지 않으므로, 스트림이 끝나는 것은 [DONE]을 받았기 때문입니다.
+ */
+@SpringBootTest(properties = {
+        "chatgpt.api-key=test",
+        "chatgpt.model=gpt-4o-mini",
+        "chatgpt.hedge.enabled=false",
+        "chatgpt.rate-limit.enabled=false",
+        "chatgpt.usage.member-daily-token-quota[quota-test@example.com]=150"
+})
+class ChatGptServiceStreamTest {
+    private static final String CONTENT = "스텁 서버의 응답입니다.";
+    private static final FakeChatGptServer llmServer = FakeChatGptServer.start();
+
+    @Autowired
+    ChatGptService chatGptService;
+    @Autowired
+    UsageMeter usageMeter;
+
+    @DynamicPropertySource
+    static void chatGptProperties(DynamicPropertyRegistry registry) {
+        registry.add("chatgpt.api-url", llmServer::url);
+    }
+
+    @AfterEach
+    void restoreStream() {
+        llmServer.breakStreamAfter(-1);
+    }
+
+    @AfterAll
+    static void stopLlmServer() {
+        llmServer.stop();
+    }
+
+    @Test
+    @DisplayName("SSE 조각의 텍스트를 순서대로 전달하고 [DONE]에서 끝나며, usage 조각의 토큰 사용량을 기록한다")
+    void streamUntilDone() {
+        // given
+        String member = "stream-test@example.com";
+
+        // when & then
+        StepVerifier.create(chatGptService.streamCompletion("안녕하세요", CompletionOptions.of(PromptType.GENERAL).forMember(member))
+                        .collect(Collectors.joining()))
+                .expectNext(CONTENT)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        // 가짜 서버의 usage 조각: 프롬프트 100 + 응답 50
+        assertThat(usageMeter.usedToday(member)).isEqualTo(150);
+    }
+
+    @Test
+    @DisplayName("스트림이 도중에 끊기면 받은 조각까지 전달한 뒤 오류로 끝나고, 사용량 조각을 받지 못했으므로 기록하지 않는다")
+    void streamBrokenBeforeDone() {
+        // given: 첫 조각만 보내고 연결을 끊습니다.
+        String member = "broken-stream-test@example.com";
+        llmServer.breakStreamAfter(1);
+
+        // when & then
+        StepVerifier.create(chatGptService.streamCompletion("안녕하세요", CompletionOptions.of(PromptType.GENERAL).forMember(member)))
+                .expectNext(CONTENT.substring(0, 8))
+                .expectError()
+                .verify(Duration.ofSeconds(5));
+        assertThat(usageMeter.usedToday(member)).isZero();
+    }
+
+    @Test
+    @DisplayName("일일 토큰 한도는 스트림을 구독할 때마다 확인한다")
+    void checkQuotaOnEverySubscription() {
+        // given: 한도 150토큰인 회원의 스트림 하나
+        Flux<String> stream = chatGptService.streamCompletion("안녕하세요",
+                CompletionOptions.of(PromptType.GENERAL).forMember("quota-test@example.com"));
+
+        // when: 첫 구독에서 150토큰을 사용합니다.
+        StepVerifier.create(stream.collect(Collectors.joining()))
+                .expectNext(CONTENT)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        // then: 같은 스트림을 다시 구독하면 호출하지 않고 한도 초과로 실패합니다.
+        StepVerifier.create(stream)
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOfSatisfying(ChatGptException.class, exception ->
+                                assertThat(exception.getError()).isInstanceOf(ChatGptError.QuotaExceeded.class)))
+                .verify(Duration.ofSeconds(5));
+    }
+}
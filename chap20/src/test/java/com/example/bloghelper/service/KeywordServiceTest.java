@@ -0,0 +1,119 @@
+package com.example.bloghelper.service;
+
+import com.example.bloghelper.chatgpt.CompletionOptions;
+import com.example.bloghelper.chatgpt.Prompt;
+import com.example.bloghelper.chatgpt.PromptType;
+import com.example.bloghelper.config.ChatGptConfig;
+import com.example.bloghelper.dto.KeywordAnalyzeResponse;
+import com.example.bloghelper.entity.Keyword;
+import com.example.bloghelper.exception.ChatGptError;
+import com.example.bloghelper.exception.ChatGptException;
+import com.example.bloghelper.repository.KeywordWriteBuffer;
+import com.example.bloghelper.util.JsonConverter;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class KeywordServiceTest {
+    // 가짜 ChatGPT 응답 규칙: 배치 응답은 "누락"이 들어간 키워드를 빼고, "배치오류"가 들어간 묶음은 실패합니다.
+    // 키워드 하나 분석은 "단건오류"가 들어간 키워드만 실패합니다.
+    private static final String MISSING = "누락";
+    private static final String BATCH_ERROR = "배치오류";
+    private static final String SINGLE_ERROR = "단건오류";
+
+    private final ChatGptService chatGptService = mock(ChatGptService.class);
+    private final KeywordWriteBuffer keywordWriteBuffer = mock(KeywordWriteBuffer.class);
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final List<String> singleCalls = new CopyOnWriteArrayList<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    private KeywordService createService(int maxKeywordsPerCall) {
+        ChatGptConfig config = new ChatGptConfig();
+        config.setModel("gpt-4o-mini");
+        config.getBatch().setMaxKeywordsPerCall(maxKeywordsPerCall);
+        config.getBatch().setCompletionTokenBudget(10_000);
+        config.getBatch().setConcurrency(1);
+
+        when(chatGptService.getCompletion(any(Prompt.class), any(CompletionOptions.class)))
+                .thenAnswer(invocation -> respond(invocation.getArgument(0), invocation.getArgument(1)));
+        when(keywordWriteBuffer.add(any(Keyword.class))).thenAnswer(invocation -> {
+            Keyword keyword = invocation.getArgument(0);
+            keyword.assignId(ids.incrementAndGet());
+            return Mono.just(keyword);
+        });
+        return new KeywordService(chatGptService, keywordWriteBuffer, config);
+    }
+
+    private Mono<String> respond(Prompt prompt, CompletionOptions options) {
+        if (options.type() == PromptType.KEYWORD_BATCH) {
+            String json = prompt.user().substring(prompt.user().indexOf('[')).trim();
+            List<String> keywords = JsonConverter.fromJson(json, new TypeReference<List<String>>() {});
+            batchSizes.add(keywords.size());
+            if (keywords.stream().anyMatch(keyword -> keyword.contains(BATCH_ERROR))) {
+                return Mono.error(new ChatGptException(new ChatGptError.ServerError("ChatGPT API 서버 오류")));
+            }
+            List<Map<String, Object>> results = keywords.stream()
+                    .filter(keyword -> !keyword.contains(MISSING))
+                    .map(keyword -> Map.<String, Object>of(
+                            "keyword", keyword,
+                            "relatedKeywords", List.of(keyword + " 연관"),
+                            "suggestedTopics", List.of(keyword + " 주제")))
+                    .toList();
+            return Mono.just(JsonConverter.toJson(Map.of("results", results)));
+        }
+        String keyword = prompt.user().substring(prompt.user().indexOf(':') + 1).trim();
+        singleCalls.add(keyword);
+        if (keyword.contains(SINGLE_ERROR)) {
+            return Mono.error(new ChatGptException(new ChatGptError.ServerError("ChatGPT API 서버 오류")));
+        }
+        return Mono.just(JsonConverter.toJson(Map.of(
+                "relatedKeywords", List.of(keyword + " 연관"),
+                "suggestedTopics", List.of(keyword + " 주제"))));
+    }
+
+    @Test
+    @DisplayName("키워드를 묶음 크기대로 나누어 분석하고, 빠진 키워드와 실패한 묶음은 하나씩 다시 분석하며, 다시 실패한 키워드는 오류 항목으로 보낸다")
+    void analyzeInChunksWithFallback() {
+        // given: 한 번에 3개씩 묶는 설정
+        KeywordService keywordService = createService(3);
+        List<String> keywords = List.of(
+                "키워드1", MISSING, "키워드3",
+                BATCH_ERROR, "키워드5", "키워드6",
+                MISSING + " " + SINGLE_ERROR);
+
+        // when
+        List<KeywordAnalyzeResponse> results = keywordService.analyzeKeywords(keywords, "user@example.com")
+                .collectList()
+                .block();
+
+        // then: 배치 호출은 3, 3, 1개씩 세 번이고, 빠진 키워드와 실패한 묶음의 키워드만 하나씩 분석합니다.
+        assertThat(batchSizes).containsExactly(3, 3, 1);
+        assertThat(singleCalls).containsExactlyInAnyOrder(
+                MISSING, BATCH_ERROR, "키워드5", "키워드6", MISSING + " " + SINGLE_ERROR);
+        assertThat(results).extracting(KeywordAnalyzeResponse::originalKeyword)
+                .containsExactlyInAnyOrderElementsOf(keywords);
+        assertThat(results).filteredOn(result -> result.error() == null)
+                .hasSize(6)
+                .allSatisfy(result -> {
+                    assertThat(result.id()).isNotNull();
+                    assertThat(result.relatedKeywords()).containsExactly(result.originalKeyword() + " 연관");
+                });
+        assertThat(results).filteredOn(result -> result.error() != null)
+                .singleElement()
+                .satisfies(result -> {
+                    assertThat(result.originalKeyword()).isEqualTo(MISSING + " " + SINGLE_ERROR);
+                    assertThat(result.id()).isNull();
+                });
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.bloghelper.service;
+
+import com.example.bloghelper.dto.PostCreateRequest;
+import com.example.bloghelper.dto.PostResponse;
+import com.example.bloghelper.entity.Member;
+import com.example.bloghelper.repository.MemberRepository;
+import com.example.bloghelper.support.FakeChatGptServer;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ChatGPT 응답을 기다리는 초안 생성 요청이 JDBC 커넥션을 붙잡지 않는지 확인합니다.
+ * <p>
+ * 가짜 ChatGPT 서버(FakeChatGptServer)는 키워드 분석에는 바로 응답하고, 초안 생성 요청은 테스트가 풀어줄 때까지 붙잡아 둡니다.
+ * 초안 생성 100건이 모두 ChatGPT 응답을 기다리는 동안 커넥션 풀(기본 10개)의 사용 중 커넥션 수를 관찰합니다.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.open-in-view=false",
+        "chatgpt.api-key=test",
+        "chatgpt.model=gpt-4o-mini",
+        "chatgpt.cache.enabled=false",
+        "chatgpt.hedge.enabled=false",
+        "chatgpt.rate-limit.enabled=false",
+        "chatgpt.pool.max-connections=300",
+        "chatgpt.scheduler.max-concurrent-calls=300",
+        "chatgpt.bulkhead.default-max-concurrent-calls=300",
+        "chatgpt.bulkhead.max-concurrent-calls.KEYWORD_ANALYSIS=300",
+        "chatgpt.bulkhead.max-concurrent-calls.POST_DRAFT=300",
+        "chatgpt.usage.enabled=false"
+})
+class PostDraftConnectionPoolTest {
+    private static final int CONCURRENT_DRAFTS = 100;
+
+    // 초안 생성 응답을 붙잡아 두었다가 테스트가 값을 넣으면 한꺼번에 응답합니다.
+    private static final Sinks.One<Boolean> releaseDrafts = Sinks.one();
+    private static final FakeChatGptServer llmServer = FakeChatGptServer.start()
+            .hold(body -> body.contains("주제 키워드"), releaseDrafts.asMono());
+
+    @Autowired
+    PostService postService;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    DataSource dataSource;
+
+    @DynamicPropertySource
+    static void chatGptProperties(DynamicPropertyRegistry registry) {
+        registry.add("chatgpt.api-url", llmServer::url);
+    }
+
+    @AfterAll
+    static void stopLlmServer() {
+        llmServer.stop();
+    }
+
+    @Test
+    @DisplayName("초안 100건이 ChatGPT 응답을 기다리는 동안 커넥션 풀 사용량은 늘지 않는다")
+    void draftsDoNotHoldConnectionsWhileWaitingForChatGpt() throws Exception {
+        // given
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        memberRepository.save(Member.builder()
+                .email("pool-test@example.com")
+                .password("password")
+                .nickname("풀테스트")
+                .build());
+
+        // when: 초안 100건을 동시에 시작하고, 모두 초안 생성 응답을 기다릴 때까지 기다립니다.
+        CompletableFuture<List<PostResponse>> drafts = Flux.range(0, CONCURRENT_DRAFTS)
+                .flatMap(i -> postService.createPostDraft(new PostCreateRequest("풀 테스트 키워드 " + i), "pool-test@example.com"),
+                        CONCURRENT_DRAFTS)
+                .collectList()
+                .toFuture();
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (llmServer.held() < CONCURRENT_DRAFTS && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(llmServer.held()).isEqualTo(CONCURRENT_DRAFTS);
+
+        // then: 기다리는 동안 사용 중인 커넥션과 커넥션을 기다리는 스레드가 없고, 다른 DB 작업은 바로 처리됩니다.
+        int maxActive = 0;
+        int maxAwaiting = 0;
+        for (int i = 0; i < 50; i++) {
+            maxActive = Math.max(maxActive, pool.getActiveConnections());
+            maxAwaiting = Math.max(maxAwaiting, pool.getThreadsAwaitingConnection());
+            Thread.sleep(10);
+        }
+        assertThat(maxActive).isZero();
+        assertThat(maxAwaiting).isZero();
+        long start = System.nanoTime();
+        assertThat(memberRepository.findByEmail("pool-test@example.com")).isPresent();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+
+        // 응답을 풀어주면 모든 초안이 짧은 쓰기 트랜잭션으로 저장됩니다.
+        releaseDrafts.tryEmitValue(true);
+        assertThat(drafts.get())
+                .hasSize(CONCURRENT_DRAFTS)
+                .allSatisfy(draft -> assertThat(draft.id()).isNotNull());
+        assertThat(pool.getActiveConnections()).isZero();
+    }
+}
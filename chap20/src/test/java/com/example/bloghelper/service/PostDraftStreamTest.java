@@ -0,0 +1,109 @@
+package com.example.bloghelper.service;
+
+import com.example.bloghelper.dto.PostCreateRequest;
+import com.example.bloghelper.dto.PostResponse;
+import com.example.bloghelper.entity.Member;
+import com.example.bloghelper.repository.MemberRepository;
+import com.example.bloghelper.repository.PostRepository;
+import com.example.bloghelper.support.FakeChatGptServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 스트리밍 초안 생성(PostService.streamPostDraft)이 스트림이 정상 종료된 뒤에만 포스트를 저장하는지 확인합니다.
+ */
+@SpringBootTest(properties = {
+        "chatgpt.api-key=test",
+        "chatgpt.model=gpt-4o-mini",
+        "chatgpt.cache.enabled=false",
+        "chatgpt.hedge.enabled=false",
+        "chatgpt.rate-limit.enabled=false",
+        "chatgpt.usage.enabled=false"
+})
+class PostDraftStreamTest {
+    private static final String EMAIL = "draft-stream-test@example.com";
+    private static final FakeChatGptServer llmServer = FakeChatGptServer.start();
+
+    @Autowired
+    PostService postService;
+    @Autowired
+    PostRepository postRepository;
+    @Autowired
+    MemberRepository memberRepository;
+
+    @DynamicPropertySource
+    static void chatGptProperties(DynamicPropertyRegistry registry) {
+        registry.add("chatgpt.api-url", llmServer::url);
+    }
+
+    @BeforeEach
+    void saveMember() {
+        if (memberRepository.findByEmail(EMAIL).isEmpty()) {
+            memberRepository.save(Member.builder()
+                    .email(EMAIL)
+                    .password("password")
+                    .nickname("스트림테스트")
+                    .build());
+        }
+    }
+
+    @AfterEach
+    void restoreStream() {
+        llmServer.breakStreamAfter(-1);
+    }
+
+    @AfterAll
+    static void stopLlmServer() {
+        llmServer.stop();
+    }
+
+    @Test
+    @DisplayName("조각을 받는 동안에는 저장하지 않고, 스트림이 끝난 뒤 포스트를 저장해 complete 이벤트로 보낸다")
+    void saveAfterStreamCompletes() {
+        // given
+        long before = postRepository.count();
+
+        // when & then
+        StepVerifier.create(postService.streamPostDraft(new PostCreateRequest("스트림 키워드"), EMAIL))
+                .expectNextMatches(event -> event.comment() != null)
+                .expectNextMatches(event -> "keywords".equals(event.event()))
+                .thenConsumeWhile(event -> "delta".equals(event.event()),
+                        event -> assertThat(postRepository.count()).isEqualTo(before))
+                .assertNext(event -> {
+                    assertThat(event.event()).isEqualTo("complete");
+                    assertThat(((PostResponse) event.data()).id()).isNotNull();
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+        assertThat(postRepository.count()).isEqualTo(before + 1);
+    }
+
+    @Test
+    @DisplayName("스트림이 도중에 끊기면 오류로 끝나고 포스트를 저장하지 않는다")
+    void notSavedWhenStreamFails() {
+        // given: 초안 생성 스트림은 조각 두 개만 보내고 연결을 끊습니다.
+        long before = postRepository.count();
+        llmServer.breakStreamAfter(2);
+
+        // when & then
+        StepVerifier.create(postService.streamPostDraft(new PostCreateRequest("끊기는 스트림 키워드"), EMAIL))
+                .expectNextMatches(event -> event.comment() != null)
+                .expectNextMatches(event -> "keywords".equals(event.event()))
+                .thenConsumeWhile(event -> "delta".equals(event.event()))
+                .expectError()
+                .verify(Duration.ofSeconds(10));
+        assertThat(postRepository.count()).isEqualTo(before);
+    }
+}
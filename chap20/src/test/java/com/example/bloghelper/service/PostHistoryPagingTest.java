@@ -0,0 +1,79 @@
+package com.example.bloghelper.service;
+
+import com.example.bloghelper.dto.CursorPage;
+import com.example.bloghelper.dto.PostHistoryResponse;
+import com.example.bloghelper.dto.PostHistorySummary;
+import com.example.bloghelper.entity.Post;
+import com.example.bloghelper.exception.PostNotFoundException;
+import com.example.bloghelper.repository.PostRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "chatgpt.api-key=test",
+        "chatgpt.api-url=http://localhost:9/v1/chat/completions",
+        "chatgpt.model=gpt-4o-mini"
+})
+class PostHistoryPagingTest {
+
+    @Autowired
+    PostImproveService postImproveService;
+    @Autowired
+    PostRepository postRepository;
+
+    // 개선을 count번 거친 포스트를 저장합니다. (이력 버전 2 ~ count + 1)
+    private Post savePostWithHistories(int count) {
+        Post post = Post.createDraft("제목", "본문", "키워드", "[\"연관\"]", null);
+        for (int i = 1; i <= count; i++) {
+            post.improve("제목 v" + (i + 1), "본문 v" + (i + 1), "개선 " + i);
+        }
+        return postRepository.save(post);
+    }
+
+    @Test
+    @DisplayName("개선 이력은 최신 버전부터 버전 정보만 페이지로 조회한다")
+    void pageThroughHistoryMetadata() {
+        // given
+        Post post = savePostWithHistories(5);
+
+        // when
+        List<PostHistorySummary> listed = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<PostHistorySummary> page = postImproveService.getPostHistories(post.getId(), cursor, 2);
+            assertThat(page.items()).hasSizeLessThanOrEqualTo(2);
+            listed.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // then
+        assertThat(listed).extracting(PostHistorySummary::version).containsExactly(6, 5, 4, 3, 2);
+        assertThat(listed.get(0).improvementReason()).isEqualTo("개선 5");
+    }
+
+    @Test
+    @DisplayName("버전을 지정하면 그 버전의 본문을 조회하고, 없는 버전은 PostNotFoundException을 던진다")
+    void getOneVersionWithContent() {
+        // given
+        Post post = savePostWithHistories(3);
+
+        // when
+        PostHistoryResponse history = postImproveService.getPostHistory(post.getId(), 3);
+
+        // then
+        assertThat(history.version()).isEqualTo(3);
+        assertThat(history.content()).isEqualTo("본문 v3");
+        assertThatThrownBy(() -> postImproveService.getPostHistory(post.getId(), 99))
+                .isInstanceOf(PostNotFoundException.class);
+        assertThatThrownBy(() -> postImproveService.getPostHistories(Long.MAX_VALUE, null, 10))
+                .isInstanceOf(PostNotFoundException.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.bloghelper.service;
+
+import com.example.bloghelper.chatgpt.CompletionOptions;
+import com.example.bloghelper.chatgpt.Prompt;
+import com.example.bloghelper.dto.PostImproveRequest;
+import com.example.bloghelper.entity.Post;
+import com.example.bloghelper.exception.PostConflictException;
+import com.example.bloghelper.repository.PostRepository;
+import com.example.bloghelper.util.JsonConverter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "chatgpt.api-key=test",
+        "chatgpt.api-url=http://localhost:9/v1/chat/completions",
+        "chatgpt.model=gpt-4o-mini"
+})
+class PostImproveConflictTest {
+
+    @Autowired
+    PostImproveService postImproveService;
+    @Autowired
+    PostRepository postRepository;
+    @Autowired
+    TransactionRunner transactionRunner;
+    @MockBean
+    ChatGptService chatGptService;
+
+    @Test
+    @DisplayName("ChatGPT를 호출하는 동안 다른 요청이 포스트를 수정하면 개선 결과를 저장하지 않고 PostConflictException을 던진다")
+    void rejectImprovementOfModifiedPost() {
+        // given: ChatGPT 응답이 오기 전에 다른 요청이 같은 포스트를 먼저 개선합니다.
+        Long postId = postRepository.save(Post.createDraft("제목", "본문", "키워드", "[\"연관\"]", null)).getId();
+        when(chatGptService.getCompletion(any(Prompt.class), any(CompletionOptions.class)))
+                .thenAnswer(invocation -> transactionRunner.write(() -> {
+                            Post post = postRepository.findById(postId).orElseThrow();
+                            post.improve("다른 요청의 제목", "다른 요청의 본문", "다른 요청");
+                            return post.getVersion();
+                        })
+                        .then(Mono.fromSupplier(() -> JsonConverter.toJson(Map.of(
+                                "title", "개선된 제목",
+                                "content", "개선된 본문",
+                                "improvementReason", "개선")))));
+        PostImproveRequest request = new PostImproveRequest(
+                PostImproveRequest.ImprovementType.CASUAL, null, PostImproveRequest.ImprovementMode.REWRITE);
+
+        // when
+        StepVerifier.create(postImproveService.improvePost(postId, request, null))
+                .expectError(PostConflictException.class)
+                .verify();
+
+        // then: 먼저 저장된 다른 요청의 수정이 그대로 남습니다.
+        Post saved = postRepository.findById(postId).orElseThrow();
+        assertThat(saved.getVersion()).isEqualTo(2);
+        assertThat(saved.getTitle()).isEqualTo("다른 요청의 제목");
+    }
+}
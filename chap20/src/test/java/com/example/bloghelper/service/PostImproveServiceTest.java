@@ -29,7 +29,7 @@ class PostImproveServiceTest {
         );
 
         PostImproveResponse response
-                = postImproveService.improvePost(1L, request).block();
+                = postImproveService.improvePost(1L, request, null).block();
 
         System.out.println("Improve Response = " + response);
     }
@@ -0,0 +1,92 @@
+package com.example.bloghelper.service;
+
+import com.example.bloghelper.dto.CursorPage;
+import com.example.bloghelper.dto.PostResponse;
+import com.example.bloghelper.entity.Member;
+import com.example.bloghelper.entity.Post;
+import com.example.bloghelper.exception.InvalidCursorException;
+import com.example.bloghelper.repository.MemberRepository;
+import com.example.bloghelper.repository.PostRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "chatgpt.api-key=test",
+        "chatgpt.api-url=http://localhost:9/v1/chat/completions",
+        "chatgpt.model=gpt-4o-mini"
+})
+class PostListingTest {
+
+    @Autowired
+    PostService postService;
+    @Autowired
+    PostRepository postRepository;
+    @Autowired
+    MemberRepository memberRepository;
+
+    private Member saveMember(String email) {
+        return memberRepository.save(Member.builder()
+                .email(email)
+                .password("password")
+                .nickname(email)
+                .build());
+    }
+
+    private List<Post> savePosts(Member member, int count) {
+        return postRepository.saveAll(IntStream.range(0, count)
+                .mapToObj(i -> Post.createDraft("제목 " + i, "본문 " + i, "키워드", "[\"연관\"]", member))
+                .toList());
+    }
+
+    @Test
+    @DisplayName("커서를 따라가면 회원의 포스트를 최신 글부터 빠짐없이, 중복 없이 조회한다")
+    void pageThroughMemberPosts() {
+        // given: 같은 시각에 저장된 포스트가 섞여 있어도 id로 순서가 정해집니다.
+        Member member = saveMember("listing@example.com");
+        Member other = saveMember("listing-other@example.com");
+        List<Post> posts = savePosts(member, 25);
+        savePosts(other, 5);
+
+        // when
+        List<PostResponse> listed = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<PostResponse> page = postService.getPosts("listing@example.com", cursor, 10);
+            listed.addAll(page.items());
+            cursor = page.nextCursor();
+            assertThat(page.hasNext()).isEqualTo(cursor != null);
+            pages++;
+        } while (cursor != null);
+
+        // then
+        assertThat(pages).isEqualTo(3);
+        assertThat(listed).extracting(PostResponse::id)
+                .containsExactlyInAnyOrderElementsOf(posts.stream().map(Post::getId).toList())
+                .doesNotHaveDuplicates();
+        assertThat(listed).isSortedAccordingTo(Comparator.comparing(PostResponse::createdAt)
+                .thenComparing(PostResponse::id)
+                .reversed());
+    }
+
+    @Test
+    @DisplayName("형식이 올바르지 않은 커서는 InvalidCursorException으로 거절한다")
+    void rejectMalformedCursor() {
+        // given
+        saveMember("listing-cursor@example.com");
+
+        // when & then
+        assertThatThrownBy(() -> postService.getPosts("listing-cursor@example.com", "not-a-cursor", 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
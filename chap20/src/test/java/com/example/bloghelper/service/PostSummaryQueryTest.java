@@ -0,0 +1,87 @@
+package com.example.bloghelper.service;
+
+import com.example.bloghelper.dto.CursorPage;
+import com.example.bloghelper.dto.PostSummary;
+import com.example.bloghelper.entity.Member;
+import com.example.bloghelper.entity.Post;
+import com.example.bloghelper.repository.MemberRepository;
+import com.example.bloghelper.repository.PostRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 포스트 요약 조회가 본문 등 TEXT 컬럼을 읽지 않는지 Hibernate가 실행하는 SQL로 확인합니다.
+ */
+@SpringBootTest(properties = {
+        "chatgpt.api-key=test",
+        "chatgpt.api-url=http://localhost:9/v1/chat/completions",
+        "chatgpt.model=gpt-4o-mini",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.bloghelper.service.PostSummaryQueryTest$SqlCapture"
+})
+class PostSummaryQueryTest {
+
+    @Autowired
+    PostService postService;
+    @Autowired
+    PostRepository postRepository;
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    @DisplayName("포스트 요약 조회는 content, related_keywords 컬럼과 연관 엔티티를 읽지 않는다")
+    void summariesDoNotSelectTextColumns() {
+        // given
+        Member member = memberRepository.save(Member.builder()
+                .email("summary@example.com")
+                .password("password")
+                .nickname("요약")
+                .build());
+        postRepository.saveAll(IntStream.range(0, 3)
+                .mapToObj(i -> Post.createDraft("제목 " + i, "아주 긴 본문 " + i, "키워드", "[\"연관\"]", member))
+                .toList());
+
+        // when
+        SqlCapture.STATEMENTS.clear();
+        CursorPage<PostSummary> page = postService.getPostSummaries("summary@example.com", null, 2);
+        CursorPage<PostSummary> next = postService.getPostSummaries("summary@example.com", page.nextCursor(), 2);
+        List<PostSummary> recent = postService.getRecentlyUpdatedPostSummaries("summary@example.com", 5);
+
+        // then
+        assertThat(page.items()).hasSize(2);
+        assertThat(next.items()).hasSize(1);
+        assertThat(recent).hasSize(3)
+                .allSatisfy(summary -> assertThat(summary.title()).startsWith("제목"));
+        List<String> postQueries = SqlCapture.STATEMENTS.stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.contains(" from post "))
+                .toList();
+        assertThat(postQueries).hasSize(3)
+                .allSatisfy(sql -> assertThat(sql)
+                        .doesNotContain("content")
+                        .doesNotContain("related_keywords")
+                        .doesNotContain("join"));
+    }
+
+    /**
+     * Hibernate가 실행하는 SQL을 모아둡니다.
+     */
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.bloghelper.service;
+
+import com.example.bloghelper.exception.RequestDeadlineExceededException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestDeadlineTest {
+
+    @Test
+    @DisplayName("요소가 계속 도착해도 스트림 전체가 마감 시각을 넘으면 실패한다")
+    void boundWholeStream() {
+        // given: 마감 시간 300ms, 50ms마다 요소가 오는 끝나지 않는 스트림
+        RequestDeadline deadline = RequestDeadline.after(Duration.ofMillis(300));
+
+        // when & then
+        StepVerifier.create(deadline.bound(Flux.interval(Duration.ofMillis(50))))
+                .thenConsumeWhile(tick -> true)
+                .expectError(RequestDeadlineExceededException.class)
+                .verify(Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("마감 시각 안에 끝나면 결과를 그대로 전달하고, 마감 시각이 지나면 저장 전 확인에서 실패한다")
+    void checkBeforeSave() throws InterruptedException {
+        // given
+        RequestDeadline deadline = RequestDeadline.after(Duration.ofMillis(200));
+
+        // when & then: 마감 시각 전
+        StepVerifier.create(deadline.bound(Mono.just("초안")))
+                .expectNext("초안")
+                .verifyComplete();
+        assertThatCode(deadline::check).doesNotThrowAnyException();
+
+        // 마감 시각 후
+        Thread.sleep(250);
+        StepVerifier.create(deadline.bound(Mono.never()))
+                .expectError(RequestDeadlineExceededException.class)
+                .verify(Duration.ofSeconds(1));
+        assertThatThrownBy(deadline::check).isInstanceOf(RequestDeadlineExceededException.class);
+    }
+}
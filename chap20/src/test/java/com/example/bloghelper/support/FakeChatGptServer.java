@@ -0,0 +1,211 @@
+package com.example.bloghelper.support;
+
+import com.example.llmstub.dto.ChatCompletionRequest;
+import com.example.llmstub.dto.ChatCompletionResponse;
+import com.example.llmstub.service.CannedResponses;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * 테스트 안에서 띄우는 가짜 ChatGPT 서버입니다. (POST /v1/chat/completions)
+ * <p>
+ * 응답 내용은 llm-stub 모듈의 CannedResponses로 프롬프트가 요청한 JSON 형식에 맞춰 만들고,
+ * stream: true 요청에는 llm-stub과 같은 형식의 SSE 조각(내용 조각, 종료 조각, usage 조각, [DONE])으로 응답합니다.
+ * 테스트마다 필요한 만큼 응답 지연, 특정 요청 붙잡아 두기, 스트림 도중 연결 끊기를 설정합니다.
+ * 동시에 처리 중인 요청 수의 최댓값과 붙잡아 둔 요청 수를 기록합니다.
+ */
+public class FakeChatGptServer {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    // 스트리밍 응답의 내용 조각 하나의 글자 수
+    private static final int STREAM_PIECE_LENGTH = 8;
+
+    private final CannedResponses cannedResponses = new CannedResponses(OBJECT_MAPPER);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final AtomicInteger held = new AtomicInteger();
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Predicate<String> holdWhen = body -> false;
+    private volatile Mono<?> release = Mono.empty();
+    private volatile int breakStreamAfter = -1;
+    private final DisposableServer server;
+
+    private FakeChatGptServer() {
+        this.server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.post("/v1/chat/completions", (request, response) -> request.receive()
+                        .aggregate()
+                        .asString()
+                        .flatMap(body -> {
+                            ChatCompletionRequest completionRequest = fromJson(body);
+                            String content = cannedResponses.contentFor(completionRequest.promptText());
+                            if (completionRequest.isStream()) {
+                                return response.header(HttpHeaders.CONTENT_TYPE, "text/event-stream")
+                                        .sendString(waitFor(body).thenMany(events(completionRequest, content))
+                                                .doFinally(signal -> inFlight.decrementAndGet()))
+                                        .then();
+                            }
+                            return response.header(HttpHeaders.CONTENT_TYPE, "application/json")
+                                    .sendString(waitFor(body).thenReturn(completion(completionRequest, content))
+                                            .doFinally(signal -> inFlight.decrementAndGet()))
+                                    .then();
+                        })))
+                .bindNow();
+    }
+
+    /**
+     * 임의의 포트에서 서버를 시작합니다.
+     */
+    public static FakeChatGptServer start() {
+        return new FakeChatGptServer();
+    }
+
+    /**
+     * 모든 응답을 latency만큼 늦게 보냅니다.
+     */
+    public FakeChatGptServer latency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * 요청 바디가 조건에 맞는 요청은 release가 값을 내보낼 때까지 응답하지 않고 붙잡아 둡니다.
+     */
+    public FakeChatGptServer hold(Predicate<String> requestBody, Mono<?> release) {
+        this.holdWhen = requestBody;
+        this.release = release;
+        return this;
+    }
+
+    /**
+     * 스트리밍 응답을 내용 조각 chunks개까지 보낸 뒤 종료 조각과 [DONE] 없이 연결을 끊습니다. 음수이면 끊지 않습니다.
+     */
+    public FakeChatGptServer breakStreamAfter(int chunks) {
+        this.breakStreamAfter = chunks;
+        return this;
+    }
+
+    /**
+     * @return chatgpt.api-url에 넣을 주소
+     */
+    public String url() {
+        return "http://localhost:" + server.port() + "/v1/chat/completions";
+    }
+
+    /**
+     * @return 동시에 처리 중이던 요청 수의 최댓값
+     */
+    public int peakInFlight() {
+        return peakInFlight.get();
+    }
+
+    /**
+     * @return 지금까지 붙잡아 둔 요청 수
+     */
+    public int held() {
+        return held.get();
+    }
+
+    public void stop() {
+        server.disposeNow();
+    }
+
+    // 처리 중인 요청 수를 세고, 설정한 지연 시간과 붙잡아 두기가 끝날 때까지 기다립니다.
+    // 처리 중인 요청 수는 응답을 다 보낸 뒤 호출한 쪽에서 줄입니다.
+    private Mono<?> waitFor(String body) {
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        Mono<?> wait = Mono.delay(latency);
+        if (holdWhen.test(body)) {
+            held.incrementAndGet();
+            wait = wait.then(release);
+        }
+        return wait;
+    }
+
+    // content를 조각으로 나눈 SSE 이벤트입니다. 마지막 조각 뒤에 종료 조각, usage 조각(요청한 경우), [DONE]을 보냅니다.
+    private Flux<String> events(ChatCompletionRequest request, String content) {
+        List<String> pieces = new ArrayList<>();
+        for (int i = 0; i < content.length(); i += STREAM_PIECE_LENGTH) {
+            pieces.add(content.substring(i, Math.min(content.length(), i + STREAM_PIECE_LENGTH)));
+        }
+        int breakAfter = breakStreamAfter;
+        if (breakAfter >= 0) {
+            return Flux.fromIterable(pieces.subList(0, Math.min(breakAfter, pieces.size())))
+                    .map(piece -> event(chunk(request, new ChatCompletionResponse.Choice(
+                            0, null, new ChatCompletionResponse.Message(null, piece), null), null)))
+                    .concatWith(Flux.error(new IllegalStateException("스트림 도중 연결을 끊습니다.")))
+                    .delayElements(Duration.ofMillis(5));
+        }
+
+        List<String> events = new ArrayList<>();
+        for (int i = 0; i < pieces.size(); i++) {
+            events.add(event(chunk(request, new ChatCompletionResponse.Choice(
+                    0, null, new ChatCompletionResponse.Message(i == 0 ? "assistant" : null, pieces.get(i)), null), null)));
+        }
+        events.add(event(chunk(request, new ChatCompletionResponse.Choice(
+                0, null, new ChatCompletionResponse.Message(null, null), "stop"), null)));
+        if (request.includeUsage()) {
+            events.add(event(chunk(request, null, ChatCompletionResponse.Usage.of(100, 50))));
+        }
+        events.add(event("[DONE]"));
+        // [DONE] 뒤에도 연결을 닫지 않으므로, 클라이언트가 [DONE]에서 스트림을 끝내는지 확인할 수 있습니다.
+        return Flux.fromIterable(events)
+                .delayElements(Duration.ofMillis(5))
+                .concatWith(Flux.never());
+    }
+
+    // chat.completion.chunk 조각 하나입니다. choice가 없으면 choices가 빈 조각(usage 조각)입니다.
+    private static String chunk(ChatCompletionRequest request, ChatCompletionResponse.Choice choice, ChatCompletionResponse.Usage usage) {
+        return toJson(new ChatCompletionResponse(
+                "chatcmpl-test",
+                "chat.completion.chunk",
+                System.currentTimeMillis() / 1000,
+                request.model(),
+                choice != null ? List.of(choice) : List.of(),
+                usage
+        ));
+    }
+
+    private static String event(String data) {
+        return "data: " + data + "\n\n";
+    }
+
+    // content를 담은 chat/completions 응답입니다.
+    private static String completion(ChatCompletionRequest request, String content) {
+        return toJson(new ChatCompletionResponse(
+                "chatcmpl-test",
+                "chat.completion",
+                System.currentTimeMillis() / 1000,
+                request.model(),
+                List.of(new ChatCompletionResponse.Choice(
+                        0, new ChatCompletionResponse.Message("assistant", content), null, "stop")),
+                ChatCompletionResponse.Usage.of(100, 50)
+        ));
+    }
+
+    private static ChatCompletionRequest fromJson(String json) {
+        try {
+            return OBJECT_MAPPER.readValue(json, ChatCompletionRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toJson(Object value) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.bloghelper.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParagraphChunkerTest {
+
+    @Test
+    @DisplayName("문단 경계에서 토큰 예산 이하로 나누고, 다시 이어 붙이면 원래 본문과 같다")
+    void splitOnParagraphs() {
+        // given: 글자 수(줄바꿈 포함)를 토큰 수로 계산, 구간당 최대 12토큰 (문단 하나 = 4글자 + 줄바꿈 1)
+        String content = "첫째문단\n둘째문단\n\n셋째문단\n아주아주긴넷째문단입니다";
+
+        // when
+        List<String> chunks = ParagraphChunker.split(content, 12, String::length);
+
+        // then: 각 구간은 뒤따르는 줄바꿈을 포함하고, 빈 줄은 앞 구간에 붙습니다.
+        assertThat(chunks).containsExactly("첫째문단\n둘째문단\n\n", "셋째문단\n", "아주아주긴넷째문단입니다");
+        assertThat(ParagraphChunker.join(chunks)).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("줄바꿈 없는 긴 본문은 문장 경계에서, 예산보다 긴 문장은 글자 단위로 나누어 모든 구간이 예산 이하가 된다")
+    void splitOversizedParagraph() {
+        // given: 줄바꿈이 없는 한 문단, 구간당 최대 12토큰
+        String content = "첫 문장입니다. 둘째 문장입니다. 마침표 없이 아주 길게 이어지는 셋째 문장";
+
+        // when
+        List<String> chunks = ParagraphChunker.split(content, 12, String::length);
+
+        // then
+        assertThat(chunks).hasSizeGreaterThan(1);
+        assertThat(chunks).allSatisfy(chunk -> assertThat(chunk.length()).isLessThanOrEqualTo(12));
+        assertThat(chunks.get(0)).isEqualTo("첫 문장입니다. ");
+        assertThat(ParagraphChunker.join(chunks)).isEqualTo(content);
+    }
+}
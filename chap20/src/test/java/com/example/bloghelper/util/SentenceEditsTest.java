@@ -0,0 +1,47 @@
+package com.example.bloghelper.util;
+
+import com.example.bloghelper.exception.PostEditException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SentenceEditsTest {
+
+    private static final String CONTENT = "첫 문장입니다. 둘째 문장입니다.\n셋째 문장이에요! 넷째?\n\n다섯째 문장.";
+
+    @Test
+    @DisplayName("문장 번호에 맞춘 교체/삽입/삭제를 적용하고 문단 구분은 유지한다")
+    void applyEdits() {
+        // given
+        List<String> sentences = SentenceEdits.split(CONTENT);
+        assertThat(String.join("", sentences)).isEqualTo(CONTENT);
+
+        // when
+        String edited = SentenceEdits.apply(sentences, List.of(
+                new SentenceEdits.Edit(SentenceEdits.Op.REPLACE, 1, 1, null, "둘째", "바뀐 둘째 문장."),
+                new SentenceEdits.Edit(SentenceEdits.Op.INSERT_AFTER, null, null, 1, "둘째 문장", "추가 문장."),
+                new SentenceEdits.Edit(SentenceEdits.Op.DELETE, 3, 3, null, "넷째", null)
+        ));
+
+        // then
+        assertThat(edited).isEqualTo("첫 문장입니다. 바뀐 둘째 문장. 추가 문장.\n셋째 문장이에요!\n\n다섯째 문장.");
+    }
+
+    @Test
+    @DisplayName("anchor가 맞지 않거나 범위가 겹치면 적용하지 않는다")
+    void rejectMismatchedEdits() {
+        List<String> sentences = SentenceEdits.split(CONTENT);
+
+        assertThatThrownBy(() -> SentenceEdits.apply(sentences, List.of(
+                new SentenceEdits.Edit(SentenceEdits.Op.REPLACE, 0, 0, null, "다른 문장", "x"))))
+                .isInstanceOf(PostEditException.class);
+        assertThatThrownBy(() -> SentenceEdits.apply(sentences, List.of(
+                new SentenceEdits.Edit(SentenceEdits.Op.DELETE, 0, 1, null, "첫 문장", null),
+                new SentenceEdits.Edit(SentenceEdits.Op.REPLACE, 1, 1, null, "둘째", "x"))))
+                .isInstanceOf(PostEditException.class);
+    }
+}